@@ -0,0 +1,256 @@
+package com.sedmelluq.discord.lavaplayer.benchmark.container;
+
+import com.sedmelluq.discord.lavaplayer.benchmark.fixture.MediaFixtures;
+import com.sedmelluq.discord.lavaplayer.container.flac.FlacFileLoader;
+import com.sedmelluq.discord.lavaplayer.container.flac.FlacTrackInfo;
+import com.sedmelluq.discord.lavaplayer.container.flac.frame.FlacFrameReader;
+import com.sedmelluq.discord.lavaplayer.container.matroska.MatroskaStreamDataSource;
+import com.sedmelluq.discord.lavaplayer.container.matroska.MatroskaStreamingFile;
+import com.sedmelluq.discord.lavaplayer.container.matroska.MatroskaTrackConsumer;
+import com.sedmelluq.discord.lavaplayer.container.mp3.Mp3FrameReader;
+import com.sedmelluq.discord.lavaplayer.container.mpeg.MpegStreamingFile;
+import com.sedmelluq.discord.lavaplayer.container.mpeg.MpegTrackConsumer;
+import com.sedmelluq.discord.lavaplayer.container.mpeg.MpegTrackInfo;
+import com.sedmelluq.discord.lavaplayer.container.ogg.OggPacketInputStream;
+import com.sedmelluq.discord.lavaplayer.natives.mp3.Mp3Decoder;
+import com.sedmelluq.discord.lavaplayer.tools.io.BitStreamReader;
+import com.sedmelluq.discord.lavaplayer.tools.io.DirectBufferStreamBroker;
+import com.sedmelluq.discord.lavaplayer.tools.io.MemorySeekableInputStream;
+import org.ebml.matroska.MatroskaFileFrame;
+import org.ebml.matroska.MatroskaFileTrack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading all audio packets of a generated file in each supported container format from memory. Only the container is
+ * parsed, codecs are not involved, except for FLAC where the codec is implemented in Java and decoding is included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ContainerReadBenchmark {
+  private static final int DURATION_SECONDS = 10;
+
+  private byte[] mp3File;
+  private byte[] oggFile;
+  private byte[] flacFile;
+  private byte[] webmFile;
+  private byte[] mp4File;
+  private byte[] mp3FrameBuffer;
+  private DirectBufferStreamBroker oggBroker;
+  private ByteBuffer mp4Buffer;
+
+  /**
+   * Generate the files and the buffers reused across operations.
+   */
+  @Setup
+  public void setup() {
+    mp3File = MediaFixtures.createMp3(DURATION_SECONDS);
+    oggFile = MediaFixtures.createOggOpus(DURATION_SECONDS);
+    flacFile = MediaFixtures.createFlac(DURATION_SECONDS);
+    webmFile = MediaFixtures.createWebmOpus(DURATION_SECONDS);
+    mp4File = MediaFixtures.createMp4(DURATION_SECONDS);
+    mp3FrameBuffer = new byte[Mp3Decoder.getMaximumFrameSize()];
+    oggBroker = new DirectBufferStreamBroker(1024);
+    mp4Buffer = ByteBuffer.allocateDirect(4096);
+  }
+
+  /**
+   * @param blackhole Blackhole for the frames
+   * @return Number of frames read
+   * @throws IOException Never, the input is in memory
+   */
+  @Benchmark
+  public int mp3(Blackhole blackhole) throws IOException {
+    Mp3FrameReader reader = new Mp3FrameReader(new MemorySeekableInputStream(mp3File), mp3FrameBuffer);
+    int frames = 0;
+
+    while (reader.fillFrameBuffer()) {
+      blackhole.consume(mp3FrameBuffer[reader.getFrameSize() - 1]);
+      reader.nextFrame();
+      frames++;
+    }
+
+    return frames;
+  }
+
+  /**
+   * @param blackhole Blackhole for the packets
+   * @return Number of packets read
+   * @throws IOException Never, the input is in memory
+   */
+  @Benchmark
+  public int ogg(Blackhole blackhole) throws IOException {
+    OggPacketInputStream packetInputStream = new OggPacketInputStream(new MemorySeekableInputStream(oggFile));
+    int packets = 0;
+
+    packetInputStream.startNewTrack();
+
+    while (packetInputStream.startNewPacket()) {
+      oggBroker.consume(true, packetInputStream);
+      blackhole.consume(oggBroker.getBuffer());
+      packets++;
+    }
+
+    return packets;
+  }
+
+  /**
+   * @param blackhole Blackhole for the decoded samples
+   * @return Number of samples decoded per channel
+   * @throws IOException Never, the input is in memory
+   */
+  @Benchmark
+  public long flac(Blackhole blackhole) throws IOException {
+    MemorySeekableInputStream inputStream = new MemorySeekableInputStream(flacFile);
+    FlacTrackInfo info = new FlacFileLoader(inputStream).parseHeaders();
+    BitStreamReader bitStreamReader = new BitStreamReader(inputStream);
+
+    int[][] rawSampleBuffers = new int[info.stream.channelCount][info.stream.maximumBlockSize];
+    short[][] sampleBuffers = new short[info.stream.channelCount][info.stream.maximumBlockSize];
+    int[] temporaryBuffer = new int[FlacFrameReader.TEMPORARY_BUFFER_SIZE];
+    long samples = 0;
+    int sampleCount;
+
+    while ((sampleCount = FlacFrameReader.readFlacFrame(inputStream, bitStreamReader, info.stream, rawSampleBuffers,
+        sampleBuffers, temporaryBuffer)) != 0) {
+
+      blackhole.consume(sampleBuffers);
+      samples += sampleCount;
+    }
+
+    return samples;
+  }
+
+  /**
+   * @param blackhole Blackhole for the frames
+   * @throws InterruptedException Never, the consumer does not block
+   */
+  @Benchmark
+  public void webm(Blackhole blackhole) throws InterruptedException {
+    MatroskaStreamingFile file = new MatroskaStreamingFile(new MatroskaStreamDataSource(new MemorySeekableInputStream(webmFile)));
+    file.readFile();
+    file.provideFrames(new BlackholeMatroskaConsumer(file.getTrackList()[0], blackhole));
+  }
+
+  /**
+   * @param blackhole Blackhole for the frames
+   * @throws InterruptedException Never, the consumer does not block
+   */
+  @Benchmark
+  public void mp4(Blackhole blackhole) throws InterruptedException {
+    MpegStreamingFile file = new MpegStreamingFile(new MemorySeekableInputStream(mp4File));
+    file.readFile();
+    file.provideFrames(new BlackholeMpegConsumer(file.getTrackList().get(0), mp4Buffer, blackhole));
+  }
+
+  private static class BlackholeMatroskaConsumer implements MatroskaTrackConsumer {
+    private final MatroskaFileTrack track;
+    private final Blackhole blackhole;
+
+    private BlackholeMatroskaConsumer(MatroskaFileTrack track, Blackhole blackhole) {
+      this.track = track;
+      this.blackhole = blackhole;
+    }
+
+    @Override
+    public MatroskaFileTrack getTrack() {
+      return track;
+    }
+
+    @Override
+    public void initialise() {
+      // Nothing to set up
+    }
+
+    @Override
+    public void seekPerformed(long requestedTimecode, long providedTimecode) {
+      // Never seeks
+    }
+
+    @Override
+    public void flush() {
+      // Nothing is buffered
+    }
+
+    @Override
+    public void consume(MatroskaFileFrame frame) {
+      blackhole.consume(frame.getData());
+    }
+
+    @Override
+    public void close() {
+      // No resources held
+    }
+  }
+
+  private static class BlackholeMpegConsumer implements MpegTrackConsumer {
+    private final MpegTrackInfo track;
+    private final ByteBuffer buffer;
+    private final Blackhole blackhole;
+
+    private BlackholeMpegConsumer(MpegTrackInfo track, ByteBuffer buffer, Blackhole blackhole) {
+      this.track = track;
+      this.buffer = buffer;
+      this.blackhole = blackhole;
+    }
+
+    @Override
+    public MpegTrackInfo getTrack() {
+      return track;
+    }
+
+    @Override
+    public void initialise() {
+      // Nothing to set up
+    }
+
+    @Override
+    public void seekPerformed(long requestedTimecode, long providedTimecode) {
+      // Never seeks
+    }
+
+    @Override
+    public void flush() {
+      // Nothing is buffered
+    }
+
+    @Override
+    public void consume(ReadableByteChannel channel, int length) {
+      buffer.clear();
+      buffer.limit(length);
+
+      try {
+        while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+          // Keep reading until the whole sample is in the buffer
+        }
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+
+      blackhole.consume(buffer);
+    }
+
+    @Override
+    public void close() {
+      // No resources held
+    }
+  }
+}
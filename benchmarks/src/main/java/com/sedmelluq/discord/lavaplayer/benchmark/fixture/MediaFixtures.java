@@ -0,0 +1,613 @@
+package com.sedmelluq.discord.lavaplayer.benchmark.fixture;
+
+import com.sedmelluq.discord.lavaplayer.tools.io.BitStreamWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Generates media files in the container formats supported by the library, so that benchmarks do not depend on sample
+ * files. The FLAC files contain real encoded audio, MP3 frames decode to silence and the Opus packets in Ogg and WebM
+ * files are CELT frames with random content, which is only valid for passing through. The AAC frames in MP4 files are
+ * random data and can only be demuxed.
+ */
+public class MediaFixtures {
+  private static final int OPUS_FRAME_SIZE = 160;
+  private static final int OPUS_TOC_CELT_20MS_STEREO = 0xFC;
+  private static final int OPUS_FRAMES_PER_SECOND = 50;
+
+  private static final int MP3_FRAME_SIZE = 384;
+  private static final int MP3_SAMPLES_PER_FRAME = 1152;
+  private static final int MP3_SAMPLE_RATE = 48000;
+
+  private static final int FLAC_BLOCK_SIZE = 4096;
+  private static final int FLAC_SAMPLE_RATE = 44100;
+  private static final int FLAC_CHANNELS = 2;
+
+  private static final int AAC_SAMPLES_PER_FRAME = 1024;
+  private static final int AAC_SAMPLE_RATE = 48000;
+
+  /**
+   * @param seconds Duration of the file
+   * @return MP3 file of 128kbps 48kHz stereo frames with empty side info, which decode to silence
+   */
+  public static byte[] createMp3(int seconds) {
+    int frameCount = seconds * MP3_SAMPLE_RATE / MP3_SAMPLES_PER_FRAME;
+    byte[] file = new byte[frameCount * MP3_FRAME_SIZE];
+
+    for (int i = 0; i < frameCount; i++) {
+      int offset = i * MP3_FRAME_SIZE;
+
+      // MPEG-1 layer III without CRC, 128kbps, 48kHz, no padding, stereo
+      file[offset] = (byte) 0xFF;
+      file[offset + 1] = (byte) 0xFB;
+      file[offset + 2] = (byte) 0x94;
+      file[offset + 3] = (byte) 0x00;
+    }
+
+    return file;
+  }
+
+  /**
+   * @param seconds Duration of the file
+   * @return Ogg file with one 48kHz stereo Opus stream, with one page per second of audio
+   */
+  public static byte[] createOggOpus(int seconds) {
+    OggWriter writer = new OggWriter();
+    writer.writePage(0x02, 0, new byte[][] { createOpusHead() });
+    writer.writePage(0x00, 0, new byte[][] { createOpusTags() });
+
+    Random random = new Random(seconds);
+    long granulePosition = 0;
+
+    for (int second = 0; second < seconds; second++) {
+      byte[][] packets = new byte[OPUS_FRAMES_PER_SECOND][];
+
+      for (int i = 0; i < packets.length; i++) {
+        packets[i] = createOpusPacket(random);
+      }
+
+      granulePosition += OPUS_FRAMES_PER_SECOND * 960;
+      writer.writePage(second == seconds - 1 ? 0x04 : 0x00, granulePosition, packets);
+    }
+
+    return writer.output.toByteArray();
+  }
+
+  /**
+   * @param seconds Duration of the file
+   * @return FLAC file of 16-bit 44.1kHz stereo audio with two tones and some noise, encoded with second order fixed
+   *         prediction and rice coded residuals
+   */
+  public static byte[] createFlac(int seconds) {
+    int frameCount = (seconds * FLAC_SAMPLE_RATE + FLAC_BLOCK_SIZE - 1) / FLAC_BLOCK_SIZE;
+
+    try {
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      output.write(new byte[] { 'f', 'L', 'a', 'C' });
+
+      BitStreamWriter writer = new BitStreamWriter(output);
+      writer.write(1, 1); // last metadata block
+      writer.write(0, 7); // stream info
+      writer.write(34, 24);
+      writer.write(FLAC_BLOCK_SIZE, 16);
+      writer.write(FLAC_BLOCK_SIZE, 16);
+      writer.write(0, 24);
+      writer.write(0, 24);
+      writer.write(FLAC_SAMPLE_RATE, 20);
+      writer.write(FLAC_CHANNELS - 1, 3);
+      writer.write(15, 5);
+      writer.write((long) frameCount * FLAC_BLOCK_SIZE, 36);
+      writer.flush();
+      output.write(new byte[16]);
+
+      Random random = new Random(seconds);
+      int[][] samples = new int[FLAC_CHANNELS][FLAC_BLOCK_SIZE];
+
+      for (int frame = 0; frame < frameCount; frame++) {
+        for (int channel = 0; channel < FLAC_CHANNELS; channel++) {
+          double frequency = channel == 0 ? 440.0 : 660.0;
+
+          for (int i = 0; i < FLAC_BLOCK_SIZE; i++) {
+            long sampleIndex = (long) frame * FLAC_BLOCK_SIZE + i;
+            double value = Math.sin(2.0 * Math.PI * frequency * sampleIndex / FLAC_SAMPLE_RATE) * 12000.0;
+            samples[channel][i] = (int) value + random.nextInt(256) - 128;
+          }
+        }
+
+        output.write(createFlacFrame(frame, samples));
+      }
+
+      return output.toByteArray();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static byte[] createFlacFrame(int frameNumber, int[][] samples) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BitStreamWriter writer = new BitStreamWriter(output);
+
+    writer.write(0xFFF8, 16); // sync code, fixed block size
+    writer.write(0x0C, 4); // 4096 samples
+    writer.write(0x09, 4); // 44.1kHz
+    writer.write(FLAC_CHANNELS - 1, 4); // independent channels
+    writer.write(0x04, 3); // 16 bits per sample
+    writer.write(0, 1);
+    writer.flush();
+
+    writeFlacFrameNumber(output, frameNumber);
+    output.write(flacCrc8(output.toByteArray()));
+
+    for (int[] channelSamples : samples) {
+      writeFixedSubFrame(writer, channelSamples);
+    }
+
+    writer.flush();
+
+    int crc = flacCrc16(output.toByteArray());
+    output.write(crc >> 8);
+    output.write(crc);
+    return output.toByteArray();
+  }
+
+  private static void writeFlacFrameNumber(ByteArrayOutputStream output, int value) {
+    if (value < 0x80) {
+      output.write(value);
+    } else if (value < 0x800) {
+      output.write(0xC0 | (value >> 6));
+      output.write(0x80 | (value & 0x3F));
+    } else {
+      output.write(0xE0 | (value >> 12));
+      output.write(0x80 | ((value >> 6) & 0x3F));
+      output.write(0x80 | (value & 0x3F));
+    }
+  }
+
+  private static void writeFixedSubFrame(BitStreamWriter writer, int[] samples) throws IOException {
+    int order = 2;
+    long[] residuals = new long[samples.length - order];
+    long residualSum = 0;
+
+    for (int i = order; i < samples.length; i++) {
+      int residual = samples[i] - 2 * samples[i - 1] + samples[i - 2];
+      residuals[i - order] = residual >= 0 ? residual * 2L : -residual * 2L - 1;
+      residualSum += residuals[i - order];
+    }
+
+    long mean = Math.max(1, residualSum / residuals.length);
+    int parameter = Math.min(14, 63 - Long.numberOfLeadingZeros(mean));
+
+    writer.write(0, 1);
+    writer.write(0x08 | order, 6); // fixed predictor
+    writer.write(0, 1); // no wasted bits
+
+    for (int i = 0; i < order; i++) {
+      writer.write(samples[i], 16);
+    }
+
+    writer.write(0, 2); // rice coding with 4-bit parameters
+    writer.write(0, 4); // single partition
+    writer.write(parameter, 4);
+
+    for (long residual : residuals) {
+      long quotient = residual >> parameter;
+
+      for (long i = 0; i < quotient; i++) {
+        writer.write(0, 1);
+      }
+
+      writer.write(1, 1);
+      writer.write(residual, parameter);
+    }
+  }
+
+  private static int flacCrc8(byte[] data) {
+    int crc = 0;
+
+    for (byte value : data) {
+      crc ^= value & 0xFF;
+
+      for (int i = 0; i < 8; i++) {
+        crc = (crc & 0x80) != 0 ? ((crc << 1) ^ 0x07) & 0xFF : (crc << 1) & 0xFF;
+      }
+    }
+
+    return crc;
+  }
+
+  private static int flacCrc16(byte[] data) {
+    int crc = 0;
+
+    for (byte value : data) {
+      crc ^= (value & 0xFF) << 8;
+
+      for (int i = 0; i < 8; i++) {
+        crc = (crc & 0x8000) != 0 ? ((crc << 1) ^ 0x8005) & 0xFFFF : (crc << 1) & 0xFFFF;
+      }
+    }
+
+    return crc;
+  }
+
+  /**
+   * @param seconds Duration of the file
+   * @return WebM file with one 48kHz stereo Opus track, with one cluster per second of audio
+   */
+  public static byte[] createWebmOpus(int seconds) {
+    EbmlWriter header = new EbmlWriter()
+        .unsigned(0x4286, 1)
+        .unsigned(0x42F7, 1)
+        .unsigned(0x42F2, 4)
+        .unsigned(0x42F3, 8)
+        .string(0x4282, "webm")
+        .unsigned(0x4287, 2)
+        .unsigned(0x4285, 2);
+
+    EbmlWriter info = new EbmlWriter()
+        .unsigned(0x2AD7B1, 1000000)
+        .floating(0x4489, seconds * 1000.0);
+
+    EbmlWriter audio = new EbmlWriter()
+        .floating(0xB5, 48000.0)
+        .unsigned(0x9F, 2);
+
+    EbmlWriter trackEntry = new EbmlWriter()
+        .unsigned(0xD7, 1)
+        .unsigned(0x73C5, 1)
+        .unsigned(0x83, 2)
+        .string(0x86, "A_OPUS")
+        .binary(0x63A2, createOpusHead())
+        .master(0xE1, audio);
+
+    EbmlWriter segment = new EbmlWriter()
+        .master(0x1549A966, info)
+        .master(0x1654AE6B, new EbmlWriter().master(0xAE, trackEntry));
+
+    Random random = new Random(seconds);
+
+    for (int second = 0; second < seconds; second++) {
+      EbmlWriter cluster = new EbmlWriter().unsigned(0xE7, second * 1000L);
+
+      for (int i = 0; i < OPUS_FRAMES_PER_SECOND; i++) {
+        byte[] packet = createOpusPacket(random);
+        byte[] block = new byte[packet.length + 4];
+        int relativeTimecode = i * 20;
+
+        block[0] = (byte) 0x81; // track number 1
+        block[1] = (byte) (relativeTimecode >> 8);
+        block[2] = (byte) relativeTimecode;
+        block[3] = (byte) 0x80; // keyframe
+        System.arraycopy(packet, 0, block, 4, packet.length);
+
+        cluster.binary(0xA3, block);
+      }
+
+      segment.master(0x1F43B675, cluster);
+    }
+
+    return new EbmlWriter()
+        .master(0x1A45DFA3, header)
+        .master(0x18538067, segment)
+        .output.toByteArray();
+  }
+
+  /**
+   * @param seconds Duration of the file
+   * @return Fragmented MP4 file with one 48kHz stereo AAC track and a segment index, with one fragment per second of
+   *         audio
+   */
+  public static byte[] createMp4(int seconds) {
+    BoxWriter file = new BoxWriter();
+
+    file.box("ftyp", new BoxWriter().fourCc("dash").int32(0).fourCc("iso6").fourCc("mp41"));
+
+    BoxWriter tkhd = new BoxWriter().int32(0x00000003).int32(0).int32(0).int32(1).int32(0).int32(0)
+        .zeroes(8).int16(0).int16(0).int16(0x0100).int16(0).zeroes(36).int32(0).int32(0);
+
+    BoxWriter hdlr = new BoxWriter().int32(0).int32(0).fourCc("soun").zeroes(12).int8(0);
+
+    BoxWriter mp4a = new BoxWriter().zeroes(6).int16(1).zeroes(8).int16(2).int16(16).int16(0).int16(0)
+        .int32(AAC_SAMPLE_RATE << 16);
+
+    BoxWriter stsd = new BoxWriter().int32(0).int32(1).box("mp4a", mp4a);
+    BoxWriter stbl = new BoxWriter().box("stsd", stsd);
+    BoxWriter mdia = new BoxWriter().box("hdlr", hdlr).box("minf", new BoxWriter().box("stbl", stbl));
+    BoxWriter trak = new BoxWriter().box("tkhd", tkhd).box("mdia", mdia);
+    BoxWriter mvex = new BoxWriter().box("trex", new BoxWriter().int32(0).int32(1).int32(1).int32(0).int32(0).int32(0));
+
+    file.box("moov", new BoxWriter().box("trak", trak).box("mvex", mvex));
+
+    Random random = new Random(seconds);
+    byte[][] fragments = new byte[seconds][];
+    int[] fragmentDurations = new int[seconds];
+    long baseTimecode = 0;
+
+    for (int second = 0; second < seconds; second++) {
+      long endSample = (long) (second + 1) * AAC_SAMPLE_RATE;
+      int frameCount = (int) ((endSample - baseTimecode + AAC_SAMPLES_PER_FRAME - 1) / AAC_SAMPLES_PER_FRAME);
+
+      fragments[second] = createMp4Fragment(second + 1, baseTimecode, frameCount, random);
+      fragmentDurations[second] = frameCount * AAC_SAMPLES_PER_FRAME;
+      baseTimecode += fragmentDurations[second];
+    }
+
+    BoxWriter sidx = new BoxWriter().int32(0).int32(1).int32(AAC_SAMPLE_RATE).int32(0).int32(0).int16(0).int16(seconds);
+
+    for (int i = 0; i < seconds; i++) {
+      sidx.int32(fragments[i].length).int32(fragmentDurations[i]).int32(0x90000000);
+    }
+
+    file.box("sidx", sidx);
+
+    for (byte[] fragment : fragments) {
+      file.bytes(fragment);
+    }
+
+    return file.output.toByteArray();
+  }
+
+  private static byte[] createMp4Fragment(int sequence, long baseTimecode, int frameCount, Random random) {
+    byte[][] frames = new byte[frameCount][];
+    int dataSize = 0;
+
+    for (int i = 0; i < frameCount; i++) {
+      frames[i] = new byte[200 + random.nextInt(200)];
+      random.nextBytes(frames[i]);
+      dataSize += frames[i].length;
+    }
+
+    // The data offset is relative to the start of moof, so the size of moof is needed before writing it for real
+    int moofSize = createMp4Moof(sequence, baseTimecode, frames, 0).length;
+    BoxWriter fragment = new BoxWriter().bytes(createMp4Moof(sequence, baseTimecode, frames, moofSize + 8));
+    BoxWriter mdat = new BoxWriter();
+
+    for (byte[] frame : frames) {
+      mdat.bytes(frame);
+    }
+
+    fragment.box("mdat", mdat);
+
+    if (fragment.output.size() != moofSize + 8 + dataSize) {
+      throw new IllegalStateException("Unexpected fragment size.");
+    }
+
+    return fragment.output.toByteArray();
+  }
+
+  private static byte[] createMp4Moof(int sequence, long baseTimecode, byte[][] frames, int dataOffset) {
+    BoxWriter trun = new BoxWriter().int32(0x00000201).int32(frames.length).int32(dataOffset);
+
+    for (byte[] frame : frames) {
+      trun.int32(frame.length);
+    }
+
+    BoxWriter traf = new BoxWriter()
+        .box("tfhd", new BoxWriter().int32(0x00020000).int32(1))
+        .box("tfdt", new BoxWriter().int32(0x01000000).int64(baseTimecode))
+        .box("trun", trun);
+
+    return new BoxWriter()
+        .box("moof", new BoxWriter().box("mfhd", new BoxWriter().int32(0).int32(sequence)).box("traf", traf))
+        .output.toByteArray();
+  }
+
+  private static byte[] createOpusHead() {
+    return new byte[] {
+        'O', 'p', 'u', 's', 'H', 'e', 'a', 'd', 1, 2, 0x38, 0x01, (byte) 0x80, (byte) 0xBB, 0, 0, 0, 0, 0
+    };
+  }
+
+  private static byte[] createOpusTags() {
+    return new byte[] { 'O', 'p', 'u', 's', 'T', 'a', 'g', 's', 0, 0, 0, 0, 0, 0, 0, 0 };
+  }
+
+  private static byte[] createOpusPacket(Random random) {
+    byte[] packet = new byte[OPUS_FRAME_SIZE];
+    random.nextBytes(packet);
+    packet[0] = (byte) OPUS_TOC_CELT_20MS_STEREO;
+    return packet;
+  }
+
+  private static class OggWriter {
+    private static final int[] CRC_TABLE = createCrcTable();
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private int sequence;
+
+    private void writePage(int flags, long granulePosition, byte[][] packets) {
+      ByteArrayOutputStream lacing = new ByteArrayOutputStream();
+      ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+      for (byte[] packet : packets) {
+        int remaining = packet.length;
+
+        for (; remaining >= 255; remaining -= 255) {
+          lacing.write(255);
+        }
+
+        lacing.write(remaining);
+        body.write(packet, 0, packet.length);
+      }
+
+      ByteArrayOutputStream page = new ByteArrayOutputStream();
+      page.write('O');
+      page.write('g');
+      page.write('g');
+      page.write('S');
+      page.write(0);
+      page.write(flags);
+      writeLittleEndian(page, granulePosition, 8);
+      writeLittleEndian(page, 1, 4);
+      writeLittleEndian(page, sequence++, 4);
+      writeLittleEndian(page, 0, 4);
+      page.write(lacing.size());
+      page.write(lacing.toByteArray(), 0, lacing.size());
+      page.write(body.toByteArray(), 0, body.size());
+
+      byte[] pageBytes = page.toByteArray();
+      int crc = 0;
+
+      for (byte value : pageBytes) {
+        crc = (crc << 8) ^ CRC_TABLE[((crc >>> 24) ^ (value & 0xFF)) & 0xFF];
+      }
+
+      for (int i = 0; i < 4; i++) {
+        pageBytes[22 + i] = (byte) (crc >>> (8 * i));
+      }
+
+      output.write(pageBytes, 0, pageBytes.length);
+    }
+
+    private static void writeLittleEndian(ByteArrayOutputStream output, long value, int bytes) {
+      for (int i = 0; i < bytes; i++) {
+        output.write((int) (value >>> (8 * i)));
+      }
+    }
+
+    private static int[] createCrcTable() {
+      int[] table = new int[256];
+
+      for (int i = 0; i < 256; i++) {
+        int value = i << 24;
+
+        for (int j = 0; j < 8; j++) {
+          value = (value & 0x80000000) != 0 ? (value << 1) ^ 0x04C11DB7 : value << 1;
+        }
+
+        table[i] = value;
+      }
+
+      return table;
+    }
+  }
+
+  private static class EbmlWriter {
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    private EbmlWriter unsigned(int id, long value) {
+      int length = 1;
+
+      while (length < 8 && (value >>> (8 * length)) != 0) {
+        length++;
+      }
+
+      byte[] data = new byte[length];
+
+      for (int i = 0; i < length; i++) {
+        data[i] = (byte) (value >>> (8 * (length - i - 1)));
+      }
+
+      return binary(id, data);
+    }
+
+    private EbmlWriter floating(int id, double value) {
+      long bits = Double.doubleToLongBits(value);
+      byte[] data = new byte[8];
+
+      for (int i = 0; i < 8; i++) {
+        data[i] = (byte) (bits >>> (8 * (7 - i)));
+      }
+
+      return binary(id, data);
+    }
+
+    private EbmlWriter string(int id, String value) {
+      return binary(id, value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private EbmlWriter master(int id, EbmlWriter children) {
+      return binary(id, children.output.toByteArray());
+    }
+
+    private EbmlWriter binary(int id, byte[] data) {
+      writeId(id);
+      writeSize(data.length);
+      output.write(data, 0, data.length);
+      return this;
+    }
+
+    private void writeId(int id) {
+      int length = (32 - Integer.numberOfLeadingZeros(id) + 7) / 8;
+
+      for (int i = length - 1; i >= 0; i--) {
+        output.write(id >>> (8 * i));
+      }
+    }
+
+    private void writeSize(long size) {
+      int length = 1;
+
+      while (length < 8 && size >= (1L << (7 * length)) - 1) {
+        length++;
+      }
+
+      long marked = size | (1L << (7 * length));
+
+      for (int i = length - 1; i >= 0; i--) {
+        output.write((int) (marked >>> (8 * i)));
+      }
+    }
+  }
+
+  private static class BoxWriter {
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final DataOutputStream data = new DataOutputStream(output);
+
+    private BoxWriter box(String type, BoxWriter content) {
+      return int32(content.output.size() + 8).fourCc(type).bytes(content.output.toByteArray());
+    }
+
+    private BoxWriter fourCc(String value) {
+      return bytes(value.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private BoxWriter int8(int value) {
+      output.write(value);
+      return this;
+    }
+
+    private BoxWriter int16(int value) {
+      try {
+        data.writeShort(value);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+
+      return this;
+    }
+
+    private BoxWriter int32(int value) {
+      try {
+        data.writeInt(value);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+
+      return this;
+    }
+
+    private BoxWriter int64(long value) {
+      try {
+        data.writeLong(value);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+
+      return this;
+    }
+
+    private BoxWriter zeroes(int count) {
+      return bytes(new byte[count]);
+    }
+
+    private BoxWriter bytes(byte[] value) {
+      output.write(value, 0, value.length);
+      return this;
+    }
+  }
+}
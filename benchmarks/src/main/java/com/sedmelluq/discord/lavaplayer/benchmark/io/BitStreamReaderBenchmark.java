@@ -0,0 +1,84 @@
+package com.sedmelluq.discord.lavaplayer.benchmark.io;
+
+import com.sedmelluq.discord.lavaplayer.tools.io.BitStreamReader;
+import com.sedmelluq.discord.lavaplayer.tools.io.MemorySeekableInputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bit level reading used by the FLAC decoder. Each operation reads 16 kilobytes from an in-memory stream, either as
+ * fixed width values like sample data and headers or as rice codes like residuals.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BitStreamReaderBenchmark {
+  private static final int DATA_SIZE = 16384;
+
+  @Param({ "1", "5", "16", "24" })
+  public int bitsPerValue;
+
+  private byte[] randomData;
+
+  /**
+   * Fill the input with random bits. For rice codes this gives a quotient of one on average.
+   */
+  @Setup
+  public void setup() {
+    randomData = new byte[DATA_SIZE];
+    new Random(0).nextBytes(randomData);
+  }
+
+  /**
+   * @return Sum of the read values
+   * @throws IOException Never, the input is in memory
+   */
+  @Benchmark
+  public long readFixedWidth() throws IOException {
+    BitStreamReader reader = new BitStreamReader(new MemorySeekableInputStream(randomData));
+    long valueCount = (long) DATA_SIZE * 8 / bitsPerValue;
+    long sum = 0;
+
+    for (long i = 0; i < valueCount; i++) {
+      sum += reader.asSignedInteger(bitsPerValue);
+    }
+
+    return sum;
+  }
+
+  /**
+   * Reads rice codes with the parameter being the number of bits per value, the same way as FLAC residuals.
+   * @return Sum of the read values
+   * @throws IOException Never, the input is in memory
+   */
+  @Benchmark
+  public long readRiceCodes() throws IOException {
+    BitStreamReader reader = new BitStreamReader(new MemorySeekableInputStream(randomData));
+    long bitsLeft = (long) DATA_SIZE * 8 - 64;
+    long sum = 0;
+
+    while (bitsLeft > 0) {
+      int quotient = reader.readAllZeroes();
+      sum += (quotient << bitsPerValue) | reader.asInteger(bitsPerValue);
+      bitsLeft -= quotient + 1 + bitsPerValue;
+    }
+
+    return sum;
+  }
+}
@@ -0,0 +1,85 @@
+package com.sedmelluq.discord.lavaplayer.benchmark.pipeline;
+
+import com.sedmelluq.discord.lavaplayer.tools.metrics.AudioPipelineMetrics;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Frame buffer of one track with the playback thread inserting frames and a sending thread taking them out at the same
+ * time. The producer never blocks on a full buffer, so both sides measure the cost of the buffer operations under
+ * contention rather than waiting for each other.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class AudioFrameBufferBenchmark {
+  @Param({ "400", "5000" })
+  public int bufferDuration;
+
+  private AudioFrameBuffer buffer;
+  private AudioFrame frame;
+
+  /**
+   * Create the buffer and the frame inserted into it.
+   */
+  @Setup
+  public void setup() {
+    buffer = new AudioFrameBuffer(bufferDuration, new AudioPipelineMetrics());
+    frame = new AudioFrame(0, new byte[160], 100);
+  }
+
+  /**
+   * @return Whether a frame was inserted
+   * @throws InterruptedException Never, the buffer is checked to have room before inserting
+   */
+  @Benchmark
+  @Group("contended")
+  @GroupThreads(1)
+  public boolean consume() throws InterruptedException {
+    if (buffer.getRemainingCapacity() > 0) {
+      buffer.consume(frame);
+      return true;
+    }
+
+    return false;
+  }
+
+  /**
+   * @return The provided frame, null if the buffer was empty
+   */
+  @Benchmark
+  @Group("contended")
+  @GroupThreads(1)
+  public AudioFrame provide() {
+    return buffer.provide();
+  }
+
+  /**
+   * @return The frame inserted and taken back out by the same thread
+   * @throws InterruptedException Never, the buffer is empty before inserting
+   */
+  @Benchmark
+  @Group("uncontended")
+  public AudioFrame consumeAndProvide() throws InterruptedException {
+    buffer.consume(frame);
+    return buffer.provide();
+  }
+}
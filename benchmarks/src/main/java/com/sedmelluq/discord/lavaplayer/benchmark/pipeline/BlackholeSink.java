@@ -0,0 +1,68 @@
+package com.sedmelluq.discord.lavaplayer.benchmark.pipeline;
+
+import com.sedmelluq.discord.lavaplayer.filter.FloatPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.filter.ShortPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameConsumer;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameRebuilder;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ShortBuffer;
+
+/**
+ * End of a filter chain under benchmark. Everything passed to it goes to a blackhole, so that the work done by the
+ * filters cannot be eliminated.
+ */
+public class BlackholeSink implements ShortPcmAudioFilter, FloatPcmAudioFilter, AudioFrameConsumer {
+  private final Blackhole blackhole;
+
+  /**
+   * @param blackhole Blackhole of the benchmark
+   */
+  public BlackholeSink(Blackhole blackhole) {
+    this.blackhole = blackhole;
+  }
+
+  @Override
+  public void process(short[] input, int offset, int length) {
+    blackhole.consume(input);
+    blackhole.consume(length);
+  }
+
+  @Override
+  public void process(ShortBuffer buffer) {
+    blackhole.consume(buffer);
+    buffer.position(buffer.limit());
+  }
+
+  @Override
+  public void process(float[][] input, int offset, int length) {
+    blackhole.consume(input);
+    blackhole.consume(length);
+  }
+
+  @Override
+  public void consume(AudioFrame frame) {
+    blackhole.consume(frame);
+  }
+
+  @Override
+  public void rebuild(AudioFrameRebuilder rebuilder) {
+    // Nothing is buffered
+  }
+
+  @Override
+  public void seekPerformed(long requestedTime, long providedTime) {
+    // Nothing to reset
+  }
+
+  @Override
+  public void flush() {
+    // Nothing is buffered
+  }
+
+  @Override
+  public void close() {
+    // No resources held
+  }
+}
@@ -0,0 +1,95 @@
+package com.sedmelluq.discord.lavaplayer.benchmark.pipeline;
+
+import com.sedmelluq.discord.lavaplayer.filter.OpusEncodingPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.tools.metrics.AudioPipelineMetrics;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+import com.sedmelluq.discord.lavaplayer.track.playback.TrackResourceAccounting;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Applying the volume to and encoding exactly one 20ms stereo frame with the native Opus encoder. Requires the natives
+ * for the current platform.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OpusEncodingFilterBenchmark {
+  @Param({ "10", "5" })
+  public int encodingQuality;
+
+  @Param({ "100", "50" })
+  public int volume;
+
+  private float[][] floatFrame;
+  private short[] shortFrame;
+  private OpusEncodingPcmAudioFilter filter;
+
+  /**
+   * Create the filter and fill the input with a tone.
+   * @param blackhole Blackhole for the encoded frames
+   */
+  @Setup
+  public void setup(Blackhole blackhole) {
+    AudioConfiguration configuration = new AudioConfiguration();
+    configuration.setOpusEncodingQuality(encodingQuality);
+
+    AudioProcessingContext context = new AudioProcessingContext(configuration, new BlackholeSink(blackhole),
+        new AtomicInteger(volume), new AudioPipelineMetrics(), new TrackResourceAccounting());
+
+    floatFrame = PcmTones.create(OpusEncodingPcmAudioFilter.CHANNEL_COUNT, OpusEncodingPcmAudioFilter.FRAME_SIZE,
+        OpusEncodingPcmAudioFilter.FREQUENCY);
+
+    shortFrame = new short[OpusEncodingPcmAudioFilter.FRAME_SIZE * OpusEncodingPcmAudioFilter.CHANNEL_COUNT];
+
+    for (int i = 0; i < shortFrame.length; i++) {
+      shortFrame[i] = (short) (floatFrame[i % 2][i / 2] * Short.MAX_VALUE);
+    }
+
+    filter = new OpusEncodingPcmAudioFilter(context);
+  }
+
+  /**
+   * Free the native encoder.
+   */
+  @TearDown
+  public void tearDown() {
+    filter.close();
+  }
+
+  /**
+   * Encode from split float channels, as produced by decoders of float formats and the resampler.
+   * @throws InterruptedException Never, the sink does not block
+   */
+  @Benchmark
+  public void encodeFloat() throws InterruptedException {
+    filter.process(floatFrame, 0, floatFrame[0].length);
+  }
+
+  /**
+   * Encode from interleaved short samples, as produced by the MP3 and AAC decoders.
+   * @throws InterruptedException Never, the sink does not block
+   */
+  @Benchmark
+  public void encodeShort() throws InterruptedException {
+    filter.process(shortFrame, 0, shortFrame.length);
+  }
+}
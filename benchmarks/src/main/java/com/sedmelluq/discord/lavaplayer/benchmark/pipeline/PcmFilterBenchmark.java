@@ -0,0 +1,87 @@
+package com.sedmelluq.discord.lavaplayer.benchmark.pipeline;
+
+import com.sedmelluq.discord.lavaplayer.filter.ChannelCountPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.filter.ShortToFloatPcmAudioFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filters implemented in Java which process the decoded PCM of a track. Each operation processes one 20ms chunk of
+ * 48kHz audio, which is the amount a track needs to produce for every frame.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PcmFilterBenchmark {
+  private static final int CHUNK_SAMPLES = 960;
+
+  @Param({ "1", "2" })
+  public int inputChannels;
+
+  private short[] samples;
+  private short[][] splitSamples;
+  private ChannelCountPcmAudioFilter channelCountFilter;
+  private ShortToFloatPcmAudioFilter shortToFloatFilter;
+
+  /**
+   * Create the filters and fill the input with random samples.
+   * @param blackhole Blackhole for the filter output
+   */
+  @Setup
+  public void setup(Blackhole blackhole) {
+    Random random = new Random(0);
+    BlackholeSink sink = new BlackholeSink(blackhole);
+
+    samples = new short[CHUNK_SAMPLES * inputChannels];
+    splitSamples = new short[inputChannels][CHUNK_SAMPLES];
+
+    for (int i = 0; i < samples.length; i++) {
+      samples[i] = (short) random.nextInt();
+      splitSamples[i % inputChannels][i / inputChannels] = samples[i];
+    }
+
+    channelCountFilter = new ChannelCountPcmAudioFilter(inputChannels, 3 - inputChannels, sink);
+    shortToFloatFilter = new ShortToFloatPcmAudioFilter(inputChannels, sink);
+  }
+
+  /**
+   * Converts mono input to stereo and stereo input to mono.
+   * @throws InterruptedException Never, the sink does not block
+   */
+  @Benchmark
+  public void channelCount() throws InterruptedException {
+    channelCountFilter.process(samples, 0, samples.length);
+  }
+
+  /**
+   * @throws InterruptedException Never, the sink does not block
+   */
+  @Benchmark
+  public void shortToFloatInterleaved() throws InterruptedException {
+    shortToFloatFilter.process(samples, 0, samples.length);
+  }
+
+  /**
+   * @throws InterruptedException Never, the sink does not block
+   */
+  @Benchmark
+  public void shortToFloatSplit() throws InterruptedException {
+    shortToFloatFilter.process(splitSamples, 0, CHUNK_SAMPLES);
+  }
+}
@@ -0,0 +1,26 @@
+package com.sedmelluq.discord.lavaplayer.benchmark.pipeline;
+
+/**
+ * Generates split float PCM input for filter benchmarks.
+ */
+public class PcmTones {
+  /**
+   * @param channels Number of channels
+   * @param length Number of samples per channel
+   * @param sampleRate Sample rate of the output
+   * @return A tone of a different frequency in each channel, at half of the full amplitude
+   */
+  public static float[][] create(int channels, int length, int sampleRate) {
+    float[][] chunk = new float[channels][length];
+
+    for (int channel = 0; channel < channels; channel++) {
+      double frequency = 440.0 + 220.0 * channel;
+
+      for (int i = 0; i < length; i++) {
+        chunk[channel][i] = (float) (Math.sin(2.0 * Math.PI * frequency * i / sampleRate) * 0.5);
+      }
+    }
+
+    return chunk;
+  }
+}
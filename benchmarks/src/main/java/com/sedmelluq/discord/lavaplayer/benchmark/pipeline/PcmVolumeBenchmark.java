@@ -0,0 +1,71 @@
+package com.sedmelluq.discord.lavaplayer.benchmark.pipeline;
+
+import com.sedmelluq.discord.lavaplayer.filter.volume.PcmVolumeProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ShortBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Volume processing of one 20ms stereo frame, as done before encoding and when rebuilding buffered frames after a
+ * volume change. The copy of the samples into the buffer is included, as the processor works in place.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PcmVolumeBenchmark {
+  private static final int FRAME_SAMPLES = 960 * 2;
+
+  @Param({ "100", "50", "150" })
+  public int targetVolume;
+
+  @Param({ "100", "50" })
+  public int initialVolume;
+
+  private short[] samples;
+  private ShortBuffer buffer;
+  private PcmVolumeProcessor processor;
+
+  /**
+   * Create the processor and fill the input with random samples.
+   */
+  @Setup
+  public void setup() {
+    Random random = new Random(0);
+    samples = new short[FRAME_SAMPLES];
+
+    for (int i = 0; i < samples.length; i++) {
+      samples[i] = (short) random.nextInt();
+    }
+
+    buffer = ShortBuffer.allocate(FRAME_SAMPLES);
+    processor = new PcmVolumeProcessor(100);
+  }
+
+  /**
+   * @return The buffer with the volume applied
+   */
+  @Benchmark
+  public ShortBuffer applyVolume() {
+    buffer.clear();
+    buffer.put(samples);
+    buffer.flip();
+
+    processor.applyVolume(initialVolume, targetVolume, buffer);
+    return buffer;
+  }
+}
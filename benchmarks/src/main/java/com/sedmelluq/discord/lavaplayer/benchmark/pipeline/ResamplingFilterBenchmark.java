@@ -0,0 +1,80 @@
+package com.sedmelluq.discord.lavaplayer.benchmark.pipeline;
+
+import com.sedmelluq.discord.lavaplayer.filter.ResamplingPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.tools.metrics.AudioPipelineMetrics;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+import com.sedmelluq.discord.lavaplayer.track.playback.TrackResourceAccounting;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resampling 20ms of stereo audio to 48kHz with the native resampler at each quality setting. Requires the natives for
+ * the current platform.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ResamplingFilterBenchmark {
+  private static final int CHANNELS = 2;
+  private static final int TARGET_RATE = 48000;
+
+  @Param({ "LOW", "MEDIUM", "HIGH" })
+  public AudioConfiguration.ResamplingQuality quality;
+
+  @Param({ "44100", "22050" })
+  public int sourceRate;
+
+  private float[][] chunk;
+  private ResamplingPcmAudioFilter filter;
+
+  /**
+   * Create the filter and fill the input with a tone.
+   * @param blackhole Blackhole for the filter output
+   */
+  @Setup
+  public void setup(Blackhole blackhole) {
+    AudioConfiguration configuration = new AudioConfiguration();
+    configuration.setResamplingQuality(quality);
+
+    BlackholeSink sink = new BlackholeSink(blackhole);
+    AudioProcessingContext context = new AudioProcessingContext(configuration, sink, new AtomicInteger(100),
+        new AudioPipelineMetrics(), new TrackResourceAccounting());
+
+    chunk = PcmTones.create(CHANNELS, sourceRate / 50, sourceRate);
+    filter = new ResamplingPcmAudioFilter(context, CHANNELS, sink, sourceRate, TARGET_RATE);
+  }
+
+  /**
+   * Free the native resamplers.
+   */
+  @TearDown
+  public void tearDown() {
+    filter.close();
+  }
+
+  /**
+   * @throws InterruptedException Never, the sink does not block
+   */
+  @Benchmark
+  public void resample() throws InterruptedException {
+    filter.process(chunk, 0, chunk[0].length);
+  }
+}
@@ -0,0 +1,465 @@
+package com.sedmelluq.discord.lavaplayer.benchmark.playback;
+
+import com.sedmelluq.discord.lavaplayer.benchmark.fixture.MediaFixtures;
+import com.sedmelluq.discord.lavaplayer.player.AudioLoadResultHandler;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayer;
+import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.player.event.AudioEventAdapter;
+import com.sedmelluq.discord.lavaplayer.source.local.LocalAudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.tools.DaemonThreadFactory;
+import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.tools.GarbageCollectionReport;
+import com.sedmelluq.discord.lavaplayer.tools.metrics.MetricHistogram;
+import com.sedmelluq.discord.lavaplayer.track.AudioPlaylist;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrackEndReason;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.sun.management.GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION;
+import static com.sun.management.GarbageCollectionNotificationInfo.from;
+
+/**
+ * Plays local files of mixed formats on an increasing number of {@link AudioPlayer}s of one
+ * {@link DefaultAudioPlayerManager}, polling each player every 20 ms on a fixed schedule like a sending thread would.
+ * For each step it reports the underrun rate, the lateness of the polls, CPU usage per track, memory usage and GC
+ * pauses, and at the end the largest number of players which played without problems.
+ *
+ * By default the files are generated with {@link MediaFixtures}: MP3 (decoded and encoded), FLAC (decoded in Java,
+ * resampled and encoded) and Ogg and WebM Opus (passed through). Native memory used by codecs is not visible in the
+ * reported off-heap usage, which only includes direct buffers.
+ *
+ * Arguments: maximum player count (500), players added per step (50), step duration in seconds (30), directory of
+ * files to play instead of the generated ones (none).
+ */
+public class PlaybackLoadSimulator {
+  private static final long FRAME_INTERVAL = TimeUnit.MILLISECONDS.toNanos(20);
+  private static final int FIXTURE_SECONDS = 60;
+  private static final double HEALTHY_UNDERRUN_RATE = 0.001;
+  private static final long HEALTHY_LATENESS = TimeUnit.MILLISECONDS.toMicros(20);
+
+  private final int maximumPlayers;
+  private final int playersPerStep;
+  private final long stepDuration;
+  private final File fixtureDirectory;
+  private final List<SimulatedPlayer> players;
+  private final AtomicReference<StepStatistics> currentStep;
+  private final AtomicInteger failedTracks;
+  private volatile boolean running;
+
+  private PlaybackLoadSimulator(int maximumPlayers, int playersPerStep, long stepDuration, File fixtureDirectory) {
+    this.maximumPlayers = maximumPlayers;
+    this.playersPerStep = playersPerStep;
+    this.stepDuration = stepDuration;
+    this.fixtureDirectory = fixtureDirectory;
+    this.players = new CopyOnWriteArrayList<>();
+    this.currentStep = new AtomicReference<>(new StepStatistics());
+    this.failedTracks = new AtomicInteger();
+  }
+
+  public static void main(String[] args) throws Exception {
+    int maximumPlayers = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+    int playersPerStep = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+    long stepDuration = TimeUnit.SECONDS.toNanos(args.length > 2 ? Long.parseLong(args[2]) : 30);
+    File fixtureDirectory = args.length > 3 ? new File(args[3]) : null;
+
+    new PlaybackLoadSimulator(maximumPlayers, playersPerStep, stepDuration, fixtureDirectory).run();
+    System.exit(0);
+  }
+
+  private void run() throws Exception {
+    DefaultAudioPlayerManager manager = new DefaultAudioPlayerManager();
+    manager.registerSourceManager(new LocalAudioSourceManager());
+    manager.enableGcMonitoring();
+
+    List<AudioTrack> tracks = loadTracks(manager, fixtureDirectory != null ? listFiles(fixtureDirectory) : writeFixtures());
+    int pollerCount = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    GcPauseRecorder gcPauses = new GcPauseRecorder();
+    ResourceSampler resources = new ResourceSampler();
+    List<StepStatistics> steps = new ArrayList<>();
+
+    running = true;
+    startPollers(pollerCount);
+    gcPauses.register();
+
+    System.out.println(String.format("%d formats, up to %d players, %d per step, %d s per step, %d pollers", tracks.size(),
+        maximumPlayers, playersPerStep, TimeUnit.NANOSECONDS.toSeconds(stepDuration), pollerCount));
+    System.out.println(String.format("%8s %10s %10s %9s %9s %9s %9s %8s %11s %10s %9s %9s %7s %9s %9s", "players",
+        "underrun-%", "underruns", "late-p50", "late-p99", "late-p999", "late-max", "cpu-%", "cpu-%/track", "play-%/trk",
+        "heap-mb", "nonheap", "direct", "gc-count", "gc-max-ms"));
+
+    while (players.size() < maximumPlayers) {
+      int target = Math.min(maximumPlayers, players.size() + playersPerStep);
+
+      while (players.size() < target) {
+        addPlayer(manager, tracks.get(players.size() % tracks.size()));
+      }
+
+      StepStatistics step = new StepStatistics();
+      step.players = players.size();
+
+      // Give the new tracks time to start before measuring
+      Thread.sleep(2000);
+
+      long startUnderruns = manager.getMetrics().bufferUnderruns.get();
+      resources.startInterval();
+      gcPauses.startInterval();
+      currentStep.set(step);
+
+      Thread.sleep(TimeUnit.NANOSECONDS.toMillis(stepDuration));
+
+      currentStep.set(new StepStatistics());
+      resources.finishInterval(step);
+      gcPauses.finishInterval(step);
+      step.bufferUnderruns = manager.getMetrics().bufferUnderruns.get() - startUnderruns;
+
+      printStep(step);
+      steps.add(step);
+    }
+
+    running = false;
+    printSummary(steps, manager.getGcReport());
+
+    for (SimulatedPlayer player : players) {
+      player.player.destroy();
+    }
+
+    manager.shutdown();
+  }
+
+  private List<File> writeFixtures() throws IOException {
+    Path directory = Files.createTempDirectory("lavaplayer-fixtures");
+    List<File> files = new ArrayList<>();
+
+    files.add(writeFixture(directory, "fixture.mp3", MediaFixtures.createMp3(FIXTURE_SECONDS)));
+    files.add(writeFixture(directory, "fixture.flac", MediaFixtures.createFlac(FIXTURE_SECONDS)));
+    files.add(writeFixture(directory, "fixture.ogg", MediaFixtures.createOggOpus(FIXTURE_SECONDS)));
+    files.add(writeFixture(directory, "fixture.webm", MediaFixtures.createWebmOpus(FIXTURE_SECONDS)));
+
+    return files;
+  }
+
+  private static File writeFixture(Path directory, String name, byte[] content) throws IOException {
+    File file = Files.write(directory.resolve(name), content).toFile();
+    file.deleteOnExit();
+    return file;
+  }
+
+  private static List<File> listFiles(File directory) {
+    List<File> files = new ArrayList<>();
+    File[] entries = directory.listFiles();
+
+    if (entries != null) {
+      for (File entry : entries) {
+        if (entry.isFile()) {
+          files.add(entry);
+        }
+      }
+    }
+
+    return files;
+  }
+
+  private static List<AudioTrack> loadTracks(DefaultAudioPlayerManager manager, List<File> files) throws Exception {
+    List<AudioTrack> tracks = new ArrayList<>();
+
+    for (File file : files) {
+      Future<Void> future = manager.loadItem(file.getAbsolutePath(), new AudioLoadResultHandler() {
+        @Override
+        public void trackLoaded(AudioTrack track) {
+          tracks.add(track);
+        }
+
+        @Override
+        public void playlistLoaded(AudioPlaylist playlist) {
+          tracks.addAll(playlist.getTracks());
+        }
+
+        @Override
+        public void noMatches() {
+          System.out.println("Skipping " + file.getName() + ", not a supported file.");
+        }
+
+        @Override
+        public void loadFailed(FriendlyException exception) {
+          System.out.println("Skipping " + file.getName() + ": " + exception.getMessage());
+        }
+      });
+
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        // Already reported to the load result handler
+      }
+    }
+
+    if (tracks.isEmpty()) {
+      throw new IllegalStateException("No playable files.");
+    }
+
+    return tracks;
+  }
+
+  private void addPlayer(DefaultAudioPlayerManager manager, AudioTrack template) {
+    SimulatedPlayer simulated = new SimulatedPlayer(manager.createPlayer());
+
+    simulated.player.addListener(new AudioEventAdapter() {
+      @Override
+      public void onTrackStart(AudioPlayer player, AudioTrack track) {
+        simulated.receivedFrames = false;
+      }
+
+      @Override
+      public void onTrackEnd(AudioPlayer player, AudioTrack track, AudioTrackEndReason endReason) {
+        // Loop the same file for as long as the simulation runs, unless it failed
+        if (endReason == AudioTrackEndReason.FINISHED && !simulated.failed && running) {
+          player.playTrack(track.makeClone());
+        }
+      }
+
+      @Override
+      public void onTrackException(AudioPlayer player, AudioTrack track, FriendlyException exception) {
+        simulated.failed = true;
+        failedTracks.incrementAndGet();
+        System.out.println("Track " + track.getIdentifier() + " failed: " + exception.getMessage());
+      }
+    });
+
+    simulated.player.playTrack(template.makeClone());
+    players.add(simulated);
+  }
+
+  private void startPollers(int pollerCount) {
+    ThreadFactory threadFactory = new DaemonThreadFactory("simulator");
+
+    for (int i = 0; i < pollerCount; i++) {
+      int slice = i;
+      threadFactory.newThread(() -> runPoller(slice, pollerCount)).start();
+    }
+  }
+
+  private void runPoller(int slice, int sliceCount) {
+    long deadline = System.nanoTime();
+
+    while (running) {
+      deadline += FRAME_INTERVAL;
+
+      long wait;
+      while ((wait = deadline - System.nanoTime()) > 0) {
+        LockSupport.parkNanos(wait);
+      }
+
+      StepStatistics step = currentStep.get();
+
+      for (int i = slice; i < players.size(); i += sliceCount) {
+        pollPlayer(players.get(i), deadline, step);
+      }
+    }
+  }
+
+  private void pollPlayer(SimulatedPlayer simulated, long deadline, StepStatistics step) {
+    long now = System.nanoTime();
+    AudioFrame frame = simulated.player.provide();
+
+    if (simulated.player.getPlayingTrack() == null) {
+      return;
+    }
+
+    step.lateness.record(TimeUnit.NANOSECONDS.toMicros(now - deadline));
+
+    if (frame != null) {
+      simulated.receivedFrames = true;
+      step.polls.incrementAndGet();
+    } else if (simulated.receivedFrames) {
+      // Polls before the first frame of a track are startup latency rather than underruns
+      step.polls.incrementAndGet();
+      step.underrunPolls.incrementAndGet();
+    }
+  }
+
+  private static void printStep(StepStatistics step) {
+    System.out.println(String.format("%8d %10.4f %10d %9.2f %9.2f %9.2f %9.2f %8.1f %11.4f %10.4f %9d %9d %7d %9d %9d",
+        step.players, step.getUnderrunRate() * 100.0, step.bufferUnderruns, toMillis(step.lateness.getValueAtPercentile(50)),
+        toMillis(step.lateness.getValueAtPercentile(99)), toMillis(step.lateness.getValueAtPercentile(99.9)),
+        toMillis(step.lateness.getValueAtPercentile(100)), step.processCpuUsage * 100.0,
+        step.processCpuUsage * 100.0 / step.players, step.playbackCpuUsage * 100.0 / step.players,
+        step.heapUsed >> 20, step.nonHeapUsed >> 20, step.directUsed >> 20, step.gcPauseCount, step.gcMaximumPause));
+  }
+
+  private void printSummary(List<StepStatistics> steps, GarbageCollectionReport gcReport) {
+    int healthyPlayers = 0;
+
+    for (StepStatistics step : steps) {
+      if (step.getUnderrunRate() <= HEALTHY_UNDERRUN_RATE && step.lateness.getValueAtPercentile(99) < HEALTHY_LATENESS) {
+        healthyPlayers = step.players;
+      } else {
+        break;
+      }
+    }
+
+    System.out.println();
+    System.out.println(String.format("largest player count with at most %.1f%% underruns and p99 lateness below %d ms: %d",
+        HEALTHY_UNDERRUN_RATE * 100.0, TimeUnit.MICROSECONDS.toMillis(HEALTHY_LATENESS), healthyPlayers));
+    System.out.println(String.format("failed tracks: %d", failedTracks.get()));
+
+    if (gcReport != null) {
+      System.out.println(String.format("last GC report: %d of %d underruns within a second after a pause, allocation %d kB/s, " +
+          "playback threads %d kB/s, promotion %d kB/s", gcReport.underrunsAfterPauses, gcReport.underruns,
+          gcReport.allocationRate / 1024, gcReport.playbackAllocationRate / 1024, gcReport.promotionRate / 1024));
+    }
+  }
+
+  private static double toMillis(long micros) {
+    return micros / 1000.0;
+  }
+
+  private static class SimulatedPlayer {
+    private final AudioPlayer player;
+    private volatile boolean receivedFrames;
+    private volatile boolean failed;
+
+    private SimulatedPlayer(AudioPlayer player) {
+      this.player = player;
+    }
+  }
+
+  private static class StepStatistics {
+    private final MetricHistogram lateness = new MetricHistogram();
+    private final AtomicLong polls = new AtomicLong();
+    private final AtomicLong underrunPolls = new AtomicLong();
+    private int players;
+    private long bufferUnderruns;
+    private double processCpuUsage;
+    private double playbackCpuUsage;
+    private long heapUsed;
+    private long nonHeapUsed;
+    private long directUsed;
+    private long gcPauseCount;
+    private long gcMaximumPause;
+
+    private double getUnderrunRate() {
+      return (double) underrunPolls.get() / Math.max(1, polls.get());
+    }
+  }
+
+  /**
+   * Measures CPU usage of the process and of the playback threads, and memory usage at the end of an interval.
+   */
+  private static class ResourceSampler {
+    private final OperatingSystemMXBean operatingSystem = ManagementFactory.getOperatingSystemMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private long startWallTime;
+    private long startProcessTime;
+    private long startPlaybackTime;
+
+    private void startInterval() {
+      startWallTime = System.nanoTime();
+      startProcessTime = getProcessCpuTime();
+      startPlaybackTime = getPlaybackCpuTime();
+    }
+
+    private void finishInterval(StepStatistics step) {
+      long wallTime = Math.max(1, System.nanoTime() - startWallTime);
+
+      step.processCpuUsage = (double) (getProcessCpuTime() - startProcessTime) / wallTime;
+      step.playbackCpuUsage = (double) Math.max(0, getPlaybackCpuTime() - startPlaybackTime) / wallTime;
+      step.heapUsed = memory.getHeapMemoryUsage().getUsed();
+      step.nonHeapUsed = memory.getNonHeapMemoryUsage().getUsed();
+
+      for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+        step.directUsed += pool.getMemoryUsed();
+      }
+    }
+
+    private long getProcessCpuTime() {
+      if (operatingSystem instanceof com.sun.management.OperatingSystemMXBean) {
+        return ((com.sun.management.OperatingSystemMXBean) operatingSystem).getProcessCpuTime();
+      }
+
+      return 0;
+    }
+
+    private long getPlaybackCpuTime() {
+      long total = 0;
+
+      if (!threads.isThreadCpuTimeSupported()) {
+        return total;
+      }
+
+      // Playback threads which exit during the interval are not counted, their pool keeps them alive for a while
+      for (long threadId : threads.getAllThreadIds()) {
+        ThreadInfo info = threads.getThreadInfo(threadId);
+        long cpuTime = threads.getThreadCpuTime(threadId);
+
+        if (info != null && cpuTime >= 0 && info.getThreadName().contains("-playback-")) {
+          total += cpuTime;
+        }
+      }
+
+      return total;
+    }
+  }
+
+  /**
+   * Counts GC pauses and records the longest one of an interval from GC notifications.
+   */
+  private static class GcPauseRecorder implements NotificationListener {
+    private final AtomicLong pauseCount = new AtomicLong();
+    private final AtomicLong maximumPause = new AtomicLong();
+
+    private void register() {
+      for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+        if (gcBean instanceof NotificationEmitter) {
+          ((NotificationEmitter) gcBean).addNotificationListener(this, null, gcBean);
+        }
+      }
+    }
+
+    private void startInterval() {
+      pauseCount.set(0);
+      maximumPause.set(0);
+    }
+
+    private void finishInterval(StepStatistics step) {
+      step.gcPauseCount = pauseCount.get();
+      step.gcMaximumPause = maximumPause.get();
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+      if (GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+        long duration = from((CompositeData) notification.getUserData()).getGcInfo().getDuration();
+
+        pauseCount.incrementAndGet();
+        maximumPause.accumulateAndGet(duration, Math::max);
+      }
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package com.sedmelluq.discord.lavaplayer.benchmark.remote;
+
+import com.sedmelluq.discord.lavaplayer.remote.LowestPenaltyNodeBalancer;
+import com.sedmelluq.discord.lavaplayer.remote.PowerOfTwoNodeBalancer;
+import com.sedmelluq.discord.lavaplayer.remote.RemoteNodeBalancer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Replays bursts of track starts against simulated nodes with periodically updated statistics and reports how evenly
+ * the different balancers spread the load. Time is simulated, so the simulation runs as fast as possible.
+ */
+public class BalancerSimulation {
+  private static final long STEP = 10;
+  private static final long DURATION = 180000;
+  private static final long WARMUP = 10000;
+  private static final long SAMPLE_INTERVAL = 100;
+  private static final long STATISTICS_INTERVAL = 1000;
+  private static final long CONFIRMATION_DELAY = 40;
+  private static final double BACKGROUND_STARTS_PER_SECOND = 3.0;
+  private static final long BURST_INTERVAL = 45000;
+  private static final int BURST_SIZE = 400;
+  private static final long BURST_LENGTH = 1000;
+  private static final int PLAYER_COUNT = 2000;
+  private static final long MINIMUM_TRACK_DURATION = 60000;
+  private static final long MAXIMUM_TRACK_DURATION = 300000;
+  private static final int BASE_CAPACITY = 300;
+
+  public static void main(String[] args) {
+    int[] equalWeights = new int[] { 1, 1, 1, 1, 1, 1, 1, 1 };
+    int[] mixedWeights = new int[] { 1, 1, 1, 1, 2, 2, 4, 4 };
+
+    System.out.println(String.format("%-10s %-16s %-9s %10s %10s %10s %10s", "nodes", "balancer", "in-flight",
+        "peak-skew", "mean-skew", "peak-load", "affinity"));
+
+    for (int[] weights : new int[][] { equalWeights, mixedWeights }) {
+      String nodesName = weights == equalWeights ? "equal" : "weighted";
+
+      runScenario(nodesName, "lowest-penalty", false, weights);
+      runScenario(nodesName, "lowest-penalty", true, weights);
+      runScenario(nodesName, "power-of-two", false, weights);
+      runScenario(nodesName, "power-of-two", true, weights);
+    }
+  }
+
+  private static void runScenario(String nodesName, String balancerName, boolean inFlight, int[] weights) {
+    Random random = new Random(1);
+    List<SimulatedNode> nodes = new ArrayList<>();
+    RemoteNodeBalancer balancer;
+
+    for (int i = 0; i < weights.length; i++) {
+      long phase = random.nextInt((int) STATISTICS_INTERVAL);
+      nodes.add(new SimulatedNode("node" + i, BASE_CAPACITY * weights[i], STATISTICS_INTERVAL, phase,
+          CONFIRMATION_DELAY, inFlight));
+    }
+
+    if ("power-of-two".equals(balancerName)) {
+      PowerOfTwoNodeBalancer powerOfTwo = new PowerOfTwoNodeBalancer(new Random(2));
+
+      for (int i = 0; i < weights.length; i++) {
+        powerOfTwo.setCapacityWeight("node" + i, weights[i]);
+      }
+
+      balancer = powerOfTwo;
+    } else {
+      balancer = new LowestPenaltyNodeBalancer();
+    }
+
+    Result result = simulate(nodes, balancer, random);
+
+    System.out.println(String.format("%-10s %-16s %-9s %10.2f %10.2f %10.2f %9.1f%%", nodesName, balancerName,
+        inFlight ? "yes" : "no", result.peakSkew, result.meanSkew, result.peakLoad, result.affinityRate * 100.0));
+  }
+
+  private static Result simulate(List<SimulatedNode> nodes, RemoteNodeBalancer balancer, Random random) {
+    Object[] players = new Object[PLAYER_COUNT];
+    Map<Object, SimulatedNode> lastNodes = new HashMap<>();
+    Result result = new Result();
+    int samples = 0;
+    int repeatedStarts = 0;
+    int sameNodeStarts = 0;
+    double startDebt = 0;
+
+    for (int i = 0; i < players.length; i++) {
+      players[i] = new Object();
+    }
+
+    for (long now = 0; now < DURATION; now += STEP) {
+      for (SimulatedNode node : nodes) {
+        node.advance(now);
+      }
+
+      startDebt += getStartRate(now) * STEP / 1000.0;
+
+      while (startDebt >= 1.0) {
+        startDebt -= 1.0;
+
+        Object player = players[random.nextInt(players.length)];
+        SimulatedNode node = balancer.selectNode(nodes, player);
+        long duration = MINIMUM_TRACK_DURATION + (long) (random.nextDouble() * (MAXIMUM_TRACK_DURATION - MINIMUM_TRACK_DURATION));
+
+        node.startTrack(now, duration);
+
+        SimulatedNode previous = lastNodes.put(player, node);
+
+        if (previous != null) {
+          repeatedStarts++;
+          sameNodeStarts += previous == node ? 1 : 0;
+        }
+      }
+
+      if (now >= WARMUP && now % SAMPLE_INTERVAL == 0) {
+        double skew = measureSkew(nodes, result);
+        result.peakSkew = Math.max(result.peakSkew, skew);
+        result.meanSkew += skew;
+        samples++;
+      }
+    }
+
+    result.meanSkew /= Math.max(1, samples);
+    result.affinityRate = repeatedStarts > 0 ? (double) sameNodeStarts / repeatedStarts : 0.0;
+    return result;
+  }
+
+  private static double getStartRate(long now) {
+    long burstPosition = now % BURST_INTERVAL;
+    double burstRate = burstPosition < BURST_LENGTH && now >= WARMUP ? BURST_SIZE * 1000.0 / BURST_LENGTH : 0.0;
+
+    return BACKGROUND_STARTS_PER_SECOND + burstRate;
+  }
+
+  private static double measureSkew(List<SimulatedNode> nodes, Result result) {
+    double maximum = 0;
+    double total = 0;
+
+    for (SimulatedNode node : nodes) {
+      double load = (double) node.getActualTrackCount() / node.getTrackCapacity();
+      maximum = Math.max(maximum, load);
+      total += load;
+    }
+
+    double mean = total / nodes.size();
+    result.peakLoad = Math.max(result.peakLoad, maximum);
+
+    return mean > 0 ? maximum / mean : 1.0;
+  }
+
+  private static class Result {
+    private double peakSkew;
+    private double meanSkew;
+    private double peakLoad;
+    private double affinityRate;
+  }
+}
@@ -0,0 +1,412 @@
+package com.sedmelluq.discord.lavaplayer.benchmark.remote;
+
+import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.remote.message.NodeStatisticsMessage;
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessage;
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessageMapper;
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteStreamProtocol;
+import com.sedmelluq.discord.lavaplayer.remote.message.TrackExceptionMessage;
+import com.sedmelluq.discord.lavaplayer.remote.message.TrackFrameDataMessage;
+import com.sedmelluq.discord.lavaplayer.remote.message.TrackFrameRequestMessage;
+import com.sedmelluq.discord.lavaplayer.remote.message.TrackStartRequestMessage;
+import com.sedmelluq.discord.lavaplayer.remote.message.TrackStartResponseMessage;
+import com.sedmelluq.discord.lavaplayer.remote.message.TrackStoppedMessage;
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.tools.DaemonThreadFactory;
+import com.sedmelluq.discord.lavaplayer.tools.ExecutorTools;
+import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A remote node that runs inside the current JVM and serves the streaming node protocol on a loopback port, so the
+ * remote playback path can be exercised without running the node application. Tracks are played with the source
+ * managers given to it, typically {@link com.sedmelluq.discord.lavaplayer.benchmark.source.SyntheticOpusSourceManager}.
+ */
+public class EmbeddedRemoteNode implements AutoCloseable {
+  private static final Logger log = LoggerFactory.getLogger(EmbeddedRemoteNode.class);
+
+  private static final int IDLE_WAIT = 5;
+
+  private final DefaultAudioPlayerManager manager;
+  private final ConcurrentMap<Long, NodeTrack> tracks;
+  private final Set<Connection> connections;
+  private final ExecutorService executor;
+  private final OperatingSystemMXBean operatingSystem;
+  private ServerSocket serverSocket;
+
+  /**
+   * @param sourceManagers Source managers to play the tracks with
+   */
+  public EmbeddedRemoteNode(AudioSourceManager... sourceManagers) {
+    this.manager = new DefaultAudioPlayerManager();
+    this.tracks = new ConcurrentHashMap<>();
+    this.connections = ConcurrentHashMap.newKeySet();
+    this.executor = Executors.newCachedThreadPool(new DaemonThreadFactory("embedded-node"));
+    this.operatingSystem = ManagementFactory.getOperatingSystemMXBean();
+
+    manager.setUseSeekGhosting(false);
+
+    for (AudioSourceManager sourceManager : sourceManagers) {
+      manager.registerSourceManager(sourceManager);
+    }
+  }
+
+  /**
+   * Start listening for connections on an ephemeral loopback port.
+   * @throws IOException When binding the port fails
+   */
+  public void start() throws IOException {
+    serverSocket = new ServerSocket();
+    serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+    executor.submit(this::acceptConnections);
+  }
+
+  /**
+   * @return The address to give to the master for connecting to this node
+   */
+  public String getAddress() {
+    return InetAddress.getLoopbackAddress().getHostAddress() + ":" + serverSocket.getLocalPort();
+  }
+
+  /**
+   * @return Number of tracks currently played by this node
+   */
+  public int getTrackCount() {
+    return tracks.size();
+  }
+
+  @Override
+  public void close() {
+    try {
+      serverSocket.close();
+    } catch (IOException e) {
+      log.debug("Failed to close server socket.", e);
+    }
+
+    for (Connection connection : connections) {
+      connection.close();
+    }
+
+    ExecutorTools.shutdownExecutor(executor, "embedded node");
+    manager.shutdown();
+  }
+
+  private void acceptConnections() {
+    while (!serverSocket.isClosed()) {
+      try {
+        Socket socket = serverSocket.accept();
+        socket.setTcpNoDelay(true);
+
+        Connection connection = new Connection(socket);
+        connections.add(connection);
+        executor.submit(connection::readMessages);
+      } catch (IOException e) {
+        if (!serverSocket.isClosed()) {
+          log.warn("Failed to accept connection.", e);
+        }
+      }
+    }
+  }
+
+  private NodeStatisticsMessage createStatistics() {
+    float systemCpu = 0.0f;
+    float processCpu = 0.0f;
+
+    if (operatingSystem instanceof com.sun.management.OperatingSystemMXBean) {
+      com.sun.management.OperatingSystemMXBean extended = (com.sun.management.OperatingSystemMXBean) operatingSystem;
+      systemCpu = (float) Math.max(0.0, extended.getSystemCpuLoad());
+      processCpu = (float) Math.max(0.0, extended.getProcessCpuLoad());
+    }
+
+    // Shares the JVM with the master and the other embedded nodes, so memory and GC statistics would not tell them apart
+    return new NodeStatisticsMessage(tracks.size(), tracks.size(), systemCpu, processCpu, false, 0, 0, 0, new int[0], 0, 0,
+        0, -1, Collections.emptyMap());
+  }
+
+  private class Connection {
+    private final Socket socket;
+    private volatile DataOutputStream output;
+    private volatile RemoteMessageMapper mapper;
+    private volatile boolean closed;
+
+    private Connection(Socket socket) {
+      this.socket = socket;
+    }
+
+    private void readMessages() {
+      try {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        mapper = new RemoteMessageMapper(performHandshake(input));
+
+        executor.submit(this::pushFrames);
+
+        RemoteMessage message;
+
+        while (!closed) {
+          if ((message = mapper.decode(input)) != null) {
+            handleMessage(message);
+          }
+        }
+      } catch (EOFException | SocketException e) {
+        log.debug("Connection to master closed.");
+      } catch (Exception e) {
+        log.warn("Error on connection to master.", e);
+      } finally {
+        close();
+      }
+    }
+
+    private int performHandshake(DataInputStream input) throws IOException {
+      String versionPrefix = RemoteStreamProtocol.VERSION_HEADER + ":";
+      String versionValue = null;
+      String header;
+
+      readHeaderLine(input);
+
+      while (!(header = readHeaderLine(input)).isEmpty()) {
+        if (header.regionMatches(true, 0, versionPrefix, 0, versionPrefix.length())) {
+          versionValue = header.substring(versionPrefix.length());
+        }
+      }
+
+      int version = RemoteStreamProtocol.negotiateVersion(versionValue);
+
+      output.write(("HTTP/1.1 101 Switching Protocols\r\n" +
+          "Connection: Upgrade\r\n" +
+          "Upgrade: " + RemoteStreamProtocol.UPGRADE_PROTOCOL + "\r\n" +
+          RemoteStreamProtocol.VERSION_HEADER + ": " + version + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+      output.flush();
+
+      return version;
+    }
+
+    private String readHeaderLine(DataInputStream input) throws IOException {
+      StringBuilder line = new StringBuilder();
+      int value;
+
+      while ((value = input.read()) != '\n') {
+        if (value == -1) {
+          throw new EOFException("Connection closed during handshake.");
+        } else if (value != '\r') {
+          line.append((char) value);
+        }
+      }
+
+      return line.toString();
+    }
+
+    private void handleMessage(RemoteMessage message) throws IOException {
+      if (message instanceof TrackStartRequestMessage) {
+        handleTrackStart((TrackStartRequestMessage) message);
+      } else if (message instanceof TrackFrameRequestMessage) {
+        handleFrameRequest((TrackFrameRequestMessage) message);
+      } else if (message instanceof TrackStoppedMessage) {
+        stopTrack(((TrackStoppedMessage) message).executorId);
+      }
+    }
+
+    private void handleTrackStart(TrackStartRequestMessage message) throws IOException {
+      InternalAudioTrack audioTrack = (InternalAudioTrack) manager.decodeTrackDetails(message.trackInfo, message.encodedTrack);
+
+      if (audioTrack == null) {
+        send(new TrackStartResponseMessage(message.executorId, false, "No source for track.", false));
+        return;
+      }
+
+      NodeTrack track = new NodeTrack(message.executorId, audioTrack, message.volume, this);
+
+      if (tracks.putIfAbsent(message.executorId, track) != null) {
+        send(new TrackStartResponseMessage(message.executorId, false, "Track is already playing.", false));
+        return;
+      }
+
+      manager.executeTrack((playedTrack, exception) -> track.exception = new TrackExceptionMessage(track.executorId, exception),
+          audioTrack, message.configuration, track.volume);
+
+      if (message.position > 0) {
+        audioTrack.setPosition(message.position);
+      }
+
+      send(new TrackStartResponseMessage(message.executorId, true, null, false));
+    }
+
+    private void handleFrameRequest(TrackFrameRequestMessage message) {
+      NodeTrack track = tracks.get(message.executorId);
+
+      if (track == null) {
+        return;
+      }
+
+      synchronized (track) {
+        track.volume.set(message.volume);
+
+        if (message.seekPosition >= 0) {
+          track.audioTrack.setPosition(message.seekPosition);
+          track.credit = message.maximumFrames;
+          track.seekedPosition = message.seekPosition;
+        } else {
+          track.credit += message.maximumFrames;
+        }
+      }
+    }
+
+    private void pushFrames() {
+      long nextStatistics = 0;
+
+      try {
+        while (!closed) {
+          boolean sentFrames = false;
+
+          for (NodeTrack track : tracks.values()) {
+            if (track.connection == this) {
+              sentFrames |= pushTrackFrames(track);
+            }
+          }
+
+          if (System.currentTimeMillis() >= nextStatistics) {
+            send(createStatistics());
+            nextStatistics = System.currentTimeMillis() + RemoteStreamProtocol.STATISTICS_INTERVAL_MS;
+          }
+
+          synchronized (this) {
+            output.flush();
+          }
+
+          if (!sentFrames) {
+            Thread.sleep(IDLE_WAIT);
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (IOException e) {
+        log.debug("Failed to push frames to master.", e);
+      } finally {
+        close();
+      }
+    }
+
+    private boolean pushTrackFrames(NodeTrack track) throws IOException {
+      List<AudioFrame> frames;
+      boolean finished = false;
+      long seekedPosition;
+
+      synchronized (track) {
+        if (track.exception != null) {
+          send(track.exception);
+          track.exception = null;
+        }
+
+        if (track.credit <= 0 && track.seekedPosition == -1) {
+          return false;
+        }
+
+        frames = new ArrayList<>();
+        AudioFrame frame;
+
+        while (frames.size() < track.credit && (frame = track.audioTrack.provide()) != null) {
+          if (frame.isTerminator()) {
+            finished = true;
+            break;
+          }
+
+          frames.add(frame);
+        }
+
+        seekedPosition = track.seekedPosition;
+
+        if (frames.isEmpty() && !finished && seekedPosition == -1) {
+          return false;
+        }
+
+        track.credit -= frames.size();
+        track.seekedPosition = -1;
+      }
+
+      if (finished) {
+        tracks.remove(track.executorId, track);
+      }
+
+      send(new TrackFrameDataMessage(track.executorId, frames, finished, seekedPosition));
+      return !frames.isEmpty();
+    }
+
+    private void stopTrack(long executorId) {
+      NodeTrack track = tracks.get(executorId);
+
+      if (track != null && track.connection == this && tracks.remove(executorId, track)) {
+        track.audioTrack.stop();
+      }
+    }
+
+    private synchronized void send(RemoteMessage message) throws IOException {
+      mapper.encode(output, message);
+    }
+
+    private void close() {
+      if (closed) {
+        return;
+      }
+
+      closed = true;
+      connections.remove(this);
+
+      try {
+        socket.close();
+      } catch (IOException e) {
+        log.debug("Failed to close connection.", e);
+      }
+
+      for (NodeTrack track : new ArrayList<>(tracks.values())) {
+        if (track.connection == this) {
+          stopTrack(track.executorId);
+        }
+      }
+    }
+  }
+
+  private static class NodeTrack {
+    private final long executorId;
+    private final InternalAudioTrack audioTrack;
+    private final AtomicInteger volume;
+    private final Connection connection;
+    private volatile TrackExceptionMessage exception;
+    private int credit;
+    private long seekedPosition;
+
+    private NodeTrack(long executorId, InternalAudioTrack audioTrack, int volume, Connection connection) {
+      this.executorId = executorId;
+      this.audioTrack = audioTrack;
+      this.volume = new AtomicInteger(volume);
+      this.connection = connection;
+      this.seekedPosition = -1;
+    }
+  }
+}
@@ -0,0 +1,400 @@
+package com.sedmelluq.discord.lavaplayer.benchmark.remote;
+
+import com.sedmelluq.discord.lavaplayer.benchmark.source.SyntheticOpusSourceManager;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.remote.RemoteAudioTrackExecutor;
+import com.sedmelluq.discord.lavaplayer.remote.RemoteNodeManager;
+import com.sedmelluq.discord.lavaplayer.tools.DaemonThreadFactory;
+import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameBuffer;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Plays synthetic tracks through {@link RemoteAudioTrackExecutor} and {@link RemoteNodeManager} against nodes embedded
+ * in the same JVM, polling each track every 20 ms like a sending thread would. Reports the time to the first frame,
+ * underruns, polling lateness and CPU usage per track.
+ *
+ * Arguments: track count (1000), node count (2), duration in seconds (60), track starts per second (500).
+ */
+public class RemoteLoadHarness {
+  private static final long FRAME_INTERVAL = TimeUnit.MILLISECONDS.toNanos(20);
+  private static final long REPORT_INTERVAL = TimeUnit.SECONDS.toNanos(5);
+  private static final long NODE_CONNECT_WAIT = 2000;
+
+  private final int trackCount;
+  private final int nodeCount;
+  private final long duration;
+  private final int startsPerSecond;
+  private final List<HarnessTrack> tracks;
+  private final Histogram firstFrameLatency;
+  private final Histogram pollLateness;
+  private final AtomicLong polls;
+  private final AtomicLong underruns;
+  private final AtomicInteger failures;
+
+  private RemoteLoadHarness(int trackCount, int nodeCount, long duration, int startsPerSecond) {
+    this.trackCount = trackCount;
+    this.nodeCount = nodeCount;
+    this.duration = duration;
+    this.startsPerSecond = startsPerSecond;
+    this.tracks = new ArrayList<>();
+    this.firstFrameLatency = new Histogram();
+    this.pollLateness = new Histogram();
+    this.polls = new AtomicLong();
+    this.underruns = new AtomicLong();
+    this.failures = new AtomicInteger();
+  }
+
+  public static void main(String[] args) throws Exception {
+    int trackCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+    int nodeCount = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+    long duration = TimeUnit.SECONDS.toNanos(args.length > 2 ? Long.parseLong(args[2]) : 60);
+    int startsPerSecond = args.length > 3 ? Integer.parseInt(args[3]) : 500;
+
+    new RemoteLoadHarness(trackCount, nodeCount, duration, startsPerSecond).run();
+    System.exit(0);
+  }
+
+  private void run() throws Exception {
+    SyntheticOpusSourceManager sourceManager = new SyntheticOpusSourceManager();
+    List<EmbeddedRemoteNode> nodes = new ArrayList<>();
+    List<String> addresses = new ArrayList<>();
+
+    for (int i = 0; i < nodeCount; i++) {
+      EmbeddedRemoteNode node = new EmbeddedRemoteNode(sourceManager);
+      node.start();
+      nodes.add(node);
+      addresses.add(node.getAddress());
+    }
+
+    DefaultAudioPlayerManager manager = new DefaultAudioPlayerManager();
+    manager.registerSourceManager(sourceManager);
+    manager.useRemoteNodes(addresses.toArray(new String[0]));
+
+    // Nodes are only used once their first statistics have arrived
+    Thread.sleep(NODE_CONNECT_WAIT);
+
+    AudioConfiguration configuration = manager.getConfiguration();
+    RemoteNodeManager nodeManager = manager.getRemoteNodeManager();
+    long trackDuration = TimeUnit.NANOSECONDS.toMillis(duration) * 2;
+
+    for (int i = 0; i < trackCount; i++) {
+      InternalAudioTrack track = (InternalAudioTrack) sourceManager.createTrack(trackDuration);
+      tracks.add(new HarnessTrack(track, new RemoteAudioTrackExecutor(track, configuration, nodeManager, new AtomicInteger(100),
+          true, manager.getMetrics())));
+    }
+
+    int pollerCount = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    ScheduledExecutorService pollers = Executors.newScheduledThreadPool(pollerCount, new DaemonThreadFactory("harness"));
+    CpuSampler cpuSampler = new CpuSampler();
+    long start = System.nanoTime();
+
+    for (int i = 0; i < pollerCount; i++) {
+      int slice = i;
+      long[] tick = new long[1];
+
+      pollers.scheduleAtFixedRate(() -> pollSlice(slice, pollerCount, start + tick[0]++ * FRAME_INTERVAL), 0,
+          FRAME_INTERVAL, TimeUnit.NANOSECONDS);
+    }
+
+    System.out.println(String.format("%d tracks on %d nodes for %d s, %d pollers", trackCount, nodeCount,
+        TimeUnit.NANOSECONDS.toSeconds(duration), pollerCount));
+    System.out.println(String.format("%8s %8s %10s %12s %10s %12s %10s %12s", "time", "playing", "underruns",
+        "late-p99-ms", "cpu-%", "cpu-%/track", "heap-mb", "buffered-ms"));
+
+    startTracks(start);
+
+    long nextReport = start + REPORT_INTERVAL;
+    long previousUnderruns = 0;
+
+    while (System.nanoTime() - start < duration) {
+      Thread.sleep(Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextReport - System.nanoTime())));
+
+      long currentUnderruns = underruns.get();
+      printInterval(System.nanoTime() - start, currentUnderruns - previousUnderruns, cpuSampler);
+
+      previousUnderruns = currentUnderruns;
+      nextReport += REPORT_INTERVAL;
+    }
+
+    pollers.shutdownNow();
+    printSummary(cpuSampler);
+
+    for (HarnessTrack track : tracks) {
+      track.executor.stop();
+    }
+
+    manager.shutdown();
+
+    for (EmbeddedRemoteNode node : nodes) {
+      node.close();
+    }
+  }
+
+  private void startTracks(long start) throws InterruptedException {
+    long startInterval = TimeUnit.SECONDS.toNanos(1) / Math.max(1, startsPerSecond);
+
+    for (int i = 0; i < tracks.size(); i++) {
+      long target = start + i * startInterval;
+      long wait = target - System.nanoTime();
+
+      if (wait > 0) {
+        TimeUnit.NANOSECONDS.sleep(wait);
+      }
+
+      HarnessTrack track = tracks.get(i);
+      track.startTime = System.nanoTime();
+      track.started = true;
+      track.executor.execute((audioTrack, exception) -> failures.incrementAndGet());
+    }
+  }
+
+  private void pollSlice(int slice, int sliceCount, long expected) {
+    long now = System.nanoTime();
+
+    pollLateness.record(TimeUnit.NANOSECONDS.toMillis(now - expected));
+
+    for (int i = slice; i < tracks.size(); i += sliceCount) {
+      HarnessTrack track = tracks.get(i);
+
+      if (track.started && !track.finished) {
+        pollTrack(track, now);
+      }
+    }
+  }
+
+  private void pollTrack(HarnessTrack track, long now) {
+    AudioFrame frame = track.executor.provide();
+
+    if (frame == null) {
+      if (track.receivedFrames) {
+        polls.incrementAndGet();
+        underruns.incrementAndGet();
+        track.underruns++;
+      }
+    } else if (frame.isTerminator()) {
+      track.finished = true;
+    } else {
+      if (!track.receivedFrames) {
+        track.receivedFrames = true;
+        firstFrameLatency.record(TimeUnit.NANOSECONDS.toMillis(now - track.startTime));
+      }
+
+      polls.incrementAndGet();
+    }
+  }
+
+  private int countPlaying() {
+    int playing = 0;
+
+    for (HarnessTrack track : tracks) {
+      if (track.receivedFrames && !track.finished) {
+        playing++;
+      }
+    }
+
+    return playing;
+  }
+
+  private long averageBufferedFrames() {
+    long frames = 0;
+    int playing = 0;
+
+    for (HarnessTrack track : tracks) {
+      if (track.receivedFrames && !track.finished) {
+        AudioFrameBuffer buffer = track.executor.getAudioBuffer();
+        frames += buffer.getFullCapacity() - buffer.getRemainingCapacity();
+        playing++;
+      }
+    }
+
+    return playing > 0 ? frames / playing : 0;
+  }
+
+  private void printInterval(long elapsed, long intervalUnderruns, CpuSampler cpuSampler) {
+    int playing = countPlaying();
+    double cpuUsage = cpuSampler.sampleInterval();
+    long heapUsed = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+
+    System.out.println(String.format("%7ds %8d %10d %12d %10.1f %12.4f %10d %12d", TimeUnit.NANOSECONDS.toSeconds(elapsed),
+        playing, intervalUnderruns, pollLateness.percentileAndReset(0.99), cpuUsage * 100.0,
+        playing > 0 ? cpuUsage * 100.0 / playing : 0.0, heapUsed / (1024 * 1024), averageBufferedFrames() * 20));
+  }
+
+  private void printSummary(CpuSampler cpuSampler) {
+    int tracksWithUnderruns = 0;
+    int tracksWithoutFrames = 0;
+
+    for (HarnessTrack track : tracks) {
+      tracksWithUnderruns += track.underruns > 0 ? 1 : 0;
+      tracksWithoutFrames += track.receivedFrames ? 0 : 1;
+    }
+
+    long totalPolls = Math.max(1, polls.get());
+    Map<String, Double> threadGroupUsage = cpuSampler.sampleThreadGroups();
+
+    System.out.println();
+    System.out.println(String.format("first frame ms: p50 %d, p90 %d, p99 %d, max %d", firstFrameLatency.percentile(0.5),
+        firstFrameLatency.percentile(0.9), firstFrameLatency.percentile(0.99), firstFrameLatency.percentile(1.0)));
+    System.out.println(String.format("underruns: %d of %d polls (%.4f%%), %d tracks affected, %d tracks without frames, %d failures",
+        underruns.get(), totalPolls, underruns.get() * 100.0 / totalPolls, tracksWithUnderruns, tracksWithoutFrames, failures.get()));
+    System.out.println(String.format("process cpu: %.1f%% of one core in total, %.4f%% per track", cpuSampler.totalUsage() * 100.0,
+        cpuSampler.totalUsage() * 100.0 / Math.max(1, trackCount)));
+
+    for (Map.Entry<String, Double> entry : threadGroupUsage.entrySet()) {
+      System.out.println(String.format("  %-10s %.1f%% of one core, %.4f%% per track", entry.getKey(), entry.getValue() * 100.0,
+          entry.getValue() * 100.0 / Math.max(1, trackCount)));
+    }
+  }
+
+  private static class HarnessTrack {
+    private final InternalAudioTrack track;
+    private final RemoteAudioTrackExecutor executor;
+    private volatile boolean started;
+    private volatile long startTime;
+    private volatile boolean receivedFrames;
+    private volatile boolean finished;
+    private int underruns;
+
+    private HarnessTrack(InternalAudioTrack track, RemoteAudioTrackExecutor executor) {
+      this.track = track;
+      this.executor = executor;
+
+      track.assignExecutor(executor);
+    }
+  }
+
+  /**
+   * Histogram of millisecond values with one millisecond resolution, values above the range go into the last bucket.
+   */
+  private static class Histogram {
+    private static final int BUCKETS = 10001;
+
+    private final long[] counts = new long[BUCKETS];
+
+    private synchronized void record(long value) {
+      counts[(int) Math.max(0, Math.min(BUCKETS - 1, value))]++;
+    }
+
+    private synchronized long percentile(double fraction) {
+      long total = 0;
+
+      for (long count : counts) {
+        total += count;
+      }
+
+      long threshold = (long) Math.ceil(total * fraction);
+      long seen = 0;
+
+      for (int i = 0; i < BUCKETS; i++) {
+        seen += counts[i];
+
+        if (seen >= threshold && seen > 0) {
+          return i;
+        }
+      }
+
+      return 0;
+    }
+
+    private synchronized long percentileAndReset(double fraction) {
+      long result = percentile(fraction);
+      Arrays.fill(counts, 0);
+      return result;
+    }
+  }
+
+  /**
+   * Measures CPU usage of the process and of the thread groups of the master side (remote node manager threads and
+   * pollers) and of the embedded nodes (connection and playback threads).
+   */
+  private static class CpuSampler {
+    private final OperatingSystemMXBean operatingSystem = ManagementFactory.getOperatingSystemMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final long startWallTime = System.nanoTime();
+    private final long startCpuTime = getProcessCpuTime();
+    private final Map<String, Long> startGroupTimes = getThreadGroupTimes();
+    private long lastWallTime = startWallTime;
+    private long lastCpuTime = startCpuTime;
+
+    private double sampleInterval() {
+      long wallTime = System.nanoTime();
+      long cpuTime = getProcessCpuTime();
+      double usage = (double) (cpuTime - lastCpuTime) / Math.max(1, wallTime - lastWallTime);
+
+      lastWallTime = wallTime;
+      lastCpuTime = cpuTime;
+      return usage;
+    }
+
+    private double totalUsage() {
+      return (double) (getProcessCpuTime() - startCpuTime) / Math.max(1, System.nanoTime() - startWallTime);
+    }
+
+    private Map<String, Double> sampleThreadGroups() {
+      Map<String, Long> current = getThreadGroupTimes();
+      Map<String, Double> usage = new HashMap<>();
+      long wallTime = Math.max(1, System.nanoTime() - startWallTime);
+
+      for (Map.Entry<String, Long> entry : current.entrySet()) {
+        long startTime = startGroupTimes.getOrDefault(entry.getKey(), 0L);
+        usage.put(entry.getKey(), (double) (entry.getValue() - startTime) / wallTime);
+      }
+
+      return usage;
+    }
+
+    private long getProcessCpuTime() {
+      if (operatingSystem instanceof com.sun.management.OperatingSystemMXBean) {
+        return ((com.sun.management.OperatingSystemMXBean) operatingSystem).getProcessCpuTime();
+      }
+
+      return 0;
+    }
+
+    private Map<String, Long> getThreadGroupTimes() {
+      Map<String, Long> times = new HashMap<>();
+
+      if (!threads.isThreadCpuTimeSupported()) {
+        return times;
+      }
+
+      for (long threadId : threads.getAllThreadIds()) {
+        ThreadInfo info = threads.getThreadInfo(threadId);
+        long cpuTime = threads.getThreadCpuTime(threadId);
+
+        if (info != null && cpuTime >= 0) {
+          times.merge(getThreadGroup(info.getThreadName()), cpuTime, Long::sum);
+        }
+      }
+
+      return times;
+    }
+
+    private static String getThreadGroup(String threadName) {
+      if (threadName.contains("-remote-") || threadName.contains("-harness-")) {
+        return "master";
+      } else if (threadName.contains("-embedded-node-") || threadName.contains("-playback-")) {
+        return "nodes";
+      } else {
+        return "other";
+      }
+    }
+  }
+}
@@ -0,0 +1,160 @@
+package com.sedmelluq.discord.lavaplayer.benchmark.remote;
+
+import com.sedmelluq.discord.lavaplayer.remote.message.NodeStatisticsMessage;
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessage;
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessageMapper;
+import com.sedmelluq.discord.lavaplayer.remote.message.TrackFrameDataMessage;
+import com.sedmelluq.discord.lavaplayer.remote.message.TrackFrameRequestMessage;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of the messages exchanged with remote nodes on every tick: frame data responses with a second
+ * of audio, frame requests and node statistics. Measured with the legacy and the current protocol version.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RemoteMessageCodecBenchmark {
+  private static final int FRAME_COUNT = 50;
+  private static final int FRAME_SIZE = 160;
+
+  @Param({ "1", "7" })
+  public int version;
+
+  private RemoteMessageMapper mapper;
+  private ByteArrayOutputStream outputBytes;
+  private DataOutputStream output;
+  private TrackFrameDataMessage frameData;
+  private TrackFrameRequestMessage frameRequest;
+  private NodeStatisticsMessage statistics;
+  private byte[] encodedFrameData;
+  private byte[] encodedFrameRequest;
+  private byte[] encodedStatistics;
+
+  /**
+   * Create the messages and their encoded form for decoding.
+   * @throws IOException Never, the output is in memory
+   */
+  @Setup
+  public void setup() throws IOException {
+    Random random = new Random(0);
+    List<AudioFrame> frames = new ArrayList<>();
+
+    for (int i = 0; i < FRAME_COUNT; i++) {
+      byte[] data = new byte[FRAME_SIZE - random.nextInt(20)];
+      random.nextBytes(data);
+      frames.add(new AudioFrame(60000 + i * 20, data, 100));
+    }
+
+    Map<String, Long> pathCosts = new HashMap<>();
+    pathCosts.put("opus-passthrough", 200000L);
+    pathCosts.put("mp3-resample", 6000000L);
+
+    mapper = new RemoteMessageMapper(version);
+    outputBytes = new ByteArrayOutputStream();
+    output = new DataOutputStream(outputBytes);
+    frameData = new TrackFrameDataMessage(1234, frames, false, -1);
+    frameRequest = new TrackFrameRequestMessage(1234, FRAME_COUNT, 100, -1);
+    statistics = new NodeStatisticsMessage(500, 520, 0.5f, 0.4f, false, 200000000L, 1000000000L, 50000000L,
+        new int[] { 10, 2, 0, 0, 0, 0 }, 3, 5000000L, 8, 300, pathCosts);
+
+    encodedFrameData = encode(frameData);
+    encodedFrameRequest = encode(frameRequest);
+    encodedStatistics = encode(statistics);
+  }
+
+  /**
+   * @return Number of bytes written
+   * @throws IOException Never, the output is in memory
+   */
+  @Benchmark
+  public int encodeFrameData() throws IOException {
+    return encodeSize(frameData);
+  }
+
+  /**
+   * @return The decoded message
+   * @throws IOException Never, the input is in memory
+   */
+  @Benchmark
+  public RemoteMessage decodeFrameData() throws IOException {
+    return decode(encodedFrameData);
+  }
+
+  /**
+   * @return Number of bytes written
+   * @throws IOException Never, the output is in memory
+   */
+  @Benchmark
+  public int encodeFrameRequest() throws IOException {
+    return encodeSize(frameRequest);
+  }
+
+  /**
+   * @return The decoded message
+   * @throws IOException Never, the input is in memory
+   */
+  @Benchmark
+  public RemoteMessage decodeFrameRequest() throws IOException {
+    return decode(encodedFrameRequest);
+  }
+
+  /**
+   * @return Number of bytes written
+   * @throws IOException Never, the output is in memory
+   */
+  @Benchmark
+  public int encodeStatistics() throws IOException {
+    return encodeSize(statistics);
+  }
+
+  /**
+   * @return The decoded message
+   * @throws IOException Never, the input is in memory
+   */
+  @Benchmark
+  public RemoteMessage decodeStatistics() throws IOException {
+    return decode(encodedStatistics);
+  }
+
+  private int encodeSize(RemoteMessage message) throws IOException {
+    outputBytes.reset();
+    mapper.encode(output, message);
+    return outputBytes.size();
+  }
+
+  private byte[] encode(RemoteMessage message) throws IOException {
+    encodeSize(message);
+    return outputBytes.toByteArray();
+  }
+
+  private RemoteMessage decode(byte[] encoded) throws IOException {
+    return mapper.decode(new DataInputStream(new ByteArrayInputStream(encoded)));
+  }
+}
@@ -0,0 +1,126 @@
+package com.sedmelluq.discord.lavaplayer.benchmark.remote;
+
+import com.sedmelluq.discord.lavaplayer.remote.RemoteNode;
+import com.sedmelluq.discord.lavaplayer.remote.RemoteNodeProcessor;
+import com.sedmelluq.discord.lavaplayer.remote.message.NodeStatisticsMessage;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+/**
+ * Node with simulated time which behaves like a remote node from the perspective of a balancer: it reports its
+ * statistics periodically and confirms track starts with a delay.
+ */
+public class SimulatedNode implements RemoteNode {
+  private final String address;
+  private final int trackCapacity;
+  private final long statisticsInterval;
+  private final long confirmationDelay;
+  private final boolean inFlightAccounting;
+  private final Queue<Long> unconfirmedStarts;
+  private final PriorityQueue<Long> trackEndTimes;
+  private long nextStatisticsTime;
+  private int confirmedSinceStatistics;
+  private NodeStatisticsMessage statistics;
+
+  /**
+   * @param address Address of the node
+   * @param trackCapacity Number of tracks at which the node is fully loaded
+   * @param statisticsInterval Interval of statistics updates in milliseconds
+   * @param statisticsPhase Time of the first statistics update in milliseconds
+   * @param confirmationDelay Delay between sending a track and receiving its start confirmation in milliseconds
+   * @param inFlightAccounting Whether to report the tracks which are not yet included in the statistics
+   */
+  public SimulatedNode(String address, int trackCapacity, long statisticsInterval, long statisticsPhase,
+                       long confirmationDelay, boolean inFlightAccounting) {
+
+    this.address = address;
+    this.trackCapacity = trackCapacity;
+    this.statisticsInterval = statisticsInterval;
+    this.confirmationDelay = confirmationDelay;
+    this.inFlightAccounting = inFlightAccounting;
+    this.unconfirmedStarts = new ArrayDeque<>();
+    this.trackEndTimes = new PriorityQueue<>();
+    this.nextStatisticsTime = statisticsPhase;
+    this.statistics = new NodeStatisticsMessage(0, 0, 0.0f, 0.0f, false, 0, 0, 0, new int[0], 0, 0, 0, -1,
+        Collections.emptyMap());
+  }
+
+  /**
+   * @return Number of tracks at which the node is fully loaded
+   */
+  public int getTrackCapacity() {
+    return trackCapacity;
+  }
+
+  /**
+   * @return Number of tracks actually playing on the node, including the ones not yet confirmed
+   */
+  public int getActualTrackCount() {
+    return trackEndTimes.size();
+  }
+
+  /**
+   * Send a track to this node.
+   *
+   * @param now Current simulated time
+   * @param duration Duration of the track
+   */
+  public void startTrack(long now, long duration) {
+    unconfirmedStarts.add(now + confirmationDelay);
+    trackEndTimes.add(now + confirmationDelay + duration);
+  }
+
+  /**
+   * Advance the simulated time of the node.
+   *
+   * @param now Current simulated time
+   */
+  public void advance(long now) {
+    while (!unconfirmedStarts.isEmpty() && unconfirmedStarts.peek() <= now) {
+      unconfirmedStarts.remove();
+      confirmedSinceStatistics++;
+    }
+
+    while (!trackEndTimes.isEmpty() && trackEndTimes.peek() <= now) {
+      trackEndTimes.remove();
+    }
+
+    if (now >= nextStatisticsTime) {
+      int count = trackEndTimes.size() - unconfirmedStarts.size();
+      float cpuUsage = Math.min(1.0f, (float) count / trackCapacity);
+
+      statistics = new NodeStatisticsMessage(count, count, cpuUsage, cpuUsage, false, 0, 0, 0, new int[0], 0, 0, 0,
+          Math.max(0, trackCapacity - count), Collections.emptyMap());
+      confirmedSinceStatistics = 0;
+      nextStatisticsTime += statisticsInterval;
+    }
+  }
+
+  @Override
+  public String getAddress() {
+    return address;
+  }
+
+  @Override
+  public boolean isAvailable() {
+    return true;
+  }
+
+  @Override
+  public NodeStatisticsMessage getLastStatistics() {
+    return statistics;
+  }
+
+  @Override
+  public int getInFlightStartCount() {
+    return inFlightAccounting ? unconfirmedStarts.size() + confirmedSinceStatistics : 0;
+  }
+
+  @Override
+  public int getBalancerPenalty() {
+    return RemoteNodeProcessor.calculateBalancerPenalty(statistics, getInFlightStartCount());
+  }
+}
@@ -0,0 +1,61 @@
+package com.sedmelluq.discord.lavaplayer.benchmark.source;
+
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
+import com.sedmelluq.discord.lavaplayer.track.BaseAudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+import com.sedmelluq.discord.lavaplayer.track.playback.LocalAudioTrackExecutor;
+
+import java.util.Random;
+
+/**
+ * Track which produces Opus frames with random content as fast as they are consumed. The frames are tagged with the
+ * current volume, so no re-encoding is ever needed.
+ */
+public class SyntheticOpusAudioTrack extends BaseAudioTrack {
+  private static final int FRAME_DURATION = 20;
+  private static final int OPUS_TOC_CELT_20MS_STEREO = 0xFC;
+
+  private final byte[] frameData;
+  private final AudioSourceManager sourceManager;
+  private long position;
+
+  /**
+   * @param trackInfo Track info, the length is used as the duration of the track
+   * @param frameSize Size of each frame in bytes
+   * @param sourceManager Source manager which created this track
+   */
+  public SyntheticOpusAudioTrack(AudioTrackInfo trackInfo, int frameSize, AudioSourceManager sourceManager) {
+    super(trackInfo);
+
+    this.frameData = new byte[frameSize];
+    this.sourceManager = sourceManager;
+
+    new Random(frameSize).nextBytes(frameData);
+    frameData[0] = (byte) OPUS_TOC_CELT_20MS_STEREO;
+  }
+
+  @Override
+  public void process(LocalAudioTrackExecutor localExecutor) throws Exception {
+    AudioProcessingContext context = localExecutor.getProcessingContext();
+
+    localExecutor.executeProcessingLoop(() -> {
+      while (position < trackInfo.length) {
+        context.frameConsumer.consume(new AudioFrame(position, frameData, context.volumeLevel.get()));
+        position += FRAME_DURATION;
+      }
+    }, timecode -> position = timecode - timecode % FRAME_DURATION);
+  }
+
+  @Override
+  public AudioTrack makeClone() {
+    return new SyntheticOpusAudioTrack(trackInfo, frameData.length, sourceManager);
+  }
+
+  @Override
+  public AudioSourceManager getSourceManager() {
+    return sourceManager;
+  }
+}
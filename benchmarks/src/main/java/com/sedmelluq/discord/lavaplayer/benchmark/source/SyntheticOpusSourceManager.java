@@ -0,0 +1,93 @@
+package com.sedmelluq.discord.lavaplayer.benchmark.source;
+
+import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.track.AudioItem;
+import com.sedmelluq.discord.lavaplayer.track.AudioReference;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+
+/**
+ * Source manager for synthetic tracks which produce Opus frames of a fixed size without decoding anything, so that
+ * the cost of everything around the audio processing can be measured in isolation. The identifier of a track is
+ * "synthetic:" followed by its duration in milliseconds.
+ */
+public class SyntheticOpusSourceManager implements AudioSourceManager {
+  public static final String PREFIX = "synthetic:";
+
+  private static final int DEFAULT_FRAME_SIZE = 120;
+
+  private final int frameSize;
+
+  /**
+   * Create an instance which produces frames of a size typical for 48 kbps Opus.
+   */
+  public SyntheticOpusSourceManager() {
+    this(DEFAULT_FRAME_SIZE);
+  }
+
+  /**
+   * @param frameSize Size of each produced frame in bytes
+   */
+  public SyntheticOpusSourceManager(int frameSize) {
+    this.frameSize = frameSize;
+  }
+
+  /**
+   * @param duration Duration of the track in milliseconds
+   * @return Identifier of a synthetic track with the specified duration
+   */
+  public static String identifier(long duration) {
+    return PREFIX + duration;
+  }
+
+  /**
+   * @param duration Duration of the track in milliseconds
+   * @return A new synthetic track with the specified duration
+   */
+  public AudioTrack createTrack(long duration) {
+    return new SyntheticOpusAudioTrack(new AudioTrackInfo("Synthetic", "Synthetic", duration, identifier(duration), false),
+        frameSize, this);
+  }
+
+  @Override
+  public String getSourceName() {
+    return "synthetic";
+  }
+
+  @Override
+  public AudioItem loadItem(DefaultAudioPlayerManager manager, AudioReference reference) {
+    if (!reference.identifier.startsWith(PREFIX)) {
+      return null;
+    }
+
+    try {
+      return createTrack(Long.parseLong(reference.identifier.substring(PREFIX.length())));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public boolean isTrackEncodable(AudioTrack track) {
+    return true;
+  }
+
+  @Override
+  public void encodeTrack(AudioTrack track, DataOutput output) {
+    // Everything is in the track info
+  }
+
+  @Override
+  public AudioTrack decodeTrack(AudioTrackInfo trackInfo, DataInput input) {
+    return new SyntheticOpusAudioTrack(trackInfo, frameSize, this);
+  }
+
+  @Override
+  public void shutdown() {
+    // Nothing to shut down
+  }
+}
@@ -0,0 +1,19 @@
+package com.sedmelluq.discord.lavaplayer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The frame buffer of a playing track ran empty.
+ */
+@Name("lavaplayer.BufferUnderrun")
+@Label("Buffer Underrun")
+@Category({ "Lavaplayer", "Playback" })
+@Description("The frame buffer of a playing track ran empty")
+@StackTrace(false)
+class BufferUnderrunEvent extends Event {
+}
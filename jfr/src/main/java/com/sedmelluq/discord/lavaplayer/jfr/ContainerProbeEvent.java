@@ -0,0 +1,23 @@
+package com.sedmelluq.discord.lavaplayer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Checking whether an item uses one specific container format.
+ */
+@Name("lavaplayer.ContainerProbe")
+@Label("Container Probe")
+@Category({ "Lavaplayer", "Loading" })
+@Description("Checking whether an item uses one specific container format")
+@StackTrace(false)
+class ContainerProbeEvent extends SpanEvent {
+  @Label("Identifier")
+  String identifier;
+
+  @Label("Container")
+  String containerName;
+}
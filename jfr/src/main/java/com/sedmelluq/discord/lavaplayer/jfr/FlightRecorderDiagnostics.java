@@ -0,0 +1,132 @@
+package com.sedmelluq.discord.lavaplayer.jfr;
+
+import com.sedmelluq.discord.lavaplayer.tools.diagnostics.AudioDiagnostics;
+import com.sedmelluq.discord.lavaplayer.tools.diagnostics.DiagnosticRecorder;
+import com.sedmelluq.discord.lavaplayer.tools.diagnostics.DiagnosticSpan;
+import jdk.jfr.FlightRecorder;
+
+import java.net.URI;
+
+/**
+ * Diagnostic recorder which emits Java Flight Recorder events, so that playback problems can be correlated with GC,
+ * safepoints and I/O in the same recording. When no recording has the events enabled, each call only checks whether
+ * the event is enabled and returns.
+ */
+public class FlightRecorderDiagnostics implements DiagnosticRecorder {
+  /**
+   * Register the event types and install a recorder for them as the diagnostic recorder of the library.
+   */
+  public static void install() {
+    FlightRecorder.register(TrackLoadStageEvent.class);
+    FlightRecorder.register(HttpConnectEvent.class);
+    FlightRecorder.register(HttpReconnectEvent.class);
+    FlightRecorder.register(ContainerProbeEvent.class);
+    FlightRecorder.register(TrackSeekEvent.class);
+    FlightRecorder.register(BufferUnderrunEvent.class);
+    FlightRecorder.register(VolumeRebuildEvent.class);
+    FlightRecorder.register(TrackStuckEvent.class);
+
+    AudioDiagnostics.setRecorder(new FlightRecorderDiagnostics());
+  }
+
+  @Override
+  public DiagnosticSpan beginLoadStage(String identifier, String sourceName) {
+    TrackLoadStageEvent event = new TrackLoadStageEvent();
+
+    if (!event.isEnabled()) {
+      return AudioDiagnostics.NO_SPAN;
+    }
+
+    event.identifier = identifier;
+    event.sourceName = sourceName;
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public DiagnosticSpan beginHttpConnect(URI url, long position) {
+    HttpConnectEvent event = new HttpConnectEvent();
+
+    if (!event.isEnabled()) {
+      return AudioDiagnostics.NO_SPAN;
+    }
+
+    event.url = url.toString();
+    event.position = position;
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public void httpReconnect(URI url, long position, String reason) {
+    HttpReconnectEvent event = new HttpReconnectEvent();
+
+    if (event.isEnabled()) {
+      event.url = url.toString();
+      event.position = position;
+      event.reason = reason;
+      event.commit();
+    }
+  }
+
+  @Override
+  public DiagnosticSpan beginContainerProbe(String identifier, String containerName) {
+    ContainerProbeEvent event = new ContainerProbeEvent();
+
+    if (!event.isEnabled()) {
+      return AudioDiagnostics.NO_SPAN;
+    }
+
+    event.identifier = identifier;
+    event.containerName = containerName;
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public DiagnosticSpan beginSeek(String identifier, long position) {
+    TrackSeekEvent event = new TrackSeekEvent();
+
+    if (!event.isEnabled()) {
+      return AudioDiagnostics.NO_SPAN;
+    }
+
+    event.identifier = identifier;
+    event.position = position;
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public void bufferUnderrun() {
+    BufferUnderrunEvent event = new BufferUnderrunEvent();
+
+    if (event.isEnabled()) {
+      event.commit();
+    }
+  }
+
+  @Override
+  public DiagnosticSpan beginVolumeRebuild(int volume) {
+    VolumeRebuildEvent event = new VolumeRebuildEvent();
+
+    if (!event.isEnabled()) {
+      return AudioDiagnostics.NO_SPAN;
+    }
+
+    event.volume = volume;
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public void trackStuck(String identifier, long thresholdMs) {
+    TrackStuckEvent event = new TrackStuckEvent();
+
+    if (event.isEnabled()) {
+      event.identifier = identifier;
+      event.threshold = thresholdMs;
+      event.commit();
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package com.sedmelluq.discord.lavaplayer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Opening a connection to stream a resource over HTTP.
+ */
+@Name("lavaplayer.HttpConnect")
+@Label("HTTP Connect")
+@Category({ "Lavaplayer", "Network" })
+@Description("Opening a connection to stream a resource over HTTP")
+@StackTrace(false)
+class HttpConnectEvent extends SpanEvent {
+  @Label("URL")
+  String url;
+
+  @Label("Position")
+  @DataAmount
+  long position;
+}
@@ -0,0 +1,29 @@
+package com.sedmelluq.discord.lavaplayer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A connection used for streaming a resource was reset and is reopened.
+ */
+@Name("lavaplayer.HttpReconnect")
+@Label("HTTP Reconnect")
+@Category({ "Lavaplayer", "Network" })
+@Description("A connection used for streaming a resource was reset and is reopened")
+@StackTrace(false)
+class HttpReconnectEvent extends Event {
+  @Label("URL")
+  String url;
+
+  @Label("Position")
+  @DataAmount
+  long position;
+
+  @Label("Reason")
+  String reason;
+}
@@ -0,0 +1,19 @@
+package com.sedmelluq.discord.lavaplayer.jfr;
+
+import com.sedmelluq.discord.lavaplayer.tools.diagnostics.DiagnosticSpan;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base for events which are recorded as a diagnostic span, committed when the span is ended.
+ */
+abstract class SpanEvent extends Event implements DiagnosticSpan {
+  @Label("Outcome")
+  String outcome;
+
+  @Override
+  public void end(String outcome) {
+    this.outcome = outcome;
+    commit();
+  }
+}
@@ -0,0 +1,23 @@
+package com.sedmelluq.discord.lavaplayer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Checking one source manager for an item while loading it.
+ */
+@Name("lavaplayer.TrackLoadStage")
+@Label("Track Load Stage")
+@Category({ "Lavaplayer", "Loading" })
+@Description("Checking one source manager for an item")
+@StackTrace(false)
+class TrackLoadStageEvent extends SpanEvent {
+  @Label("Identifier")
+  String identifier;
+
+  @Label("Source")
+  String sourceName;
+}
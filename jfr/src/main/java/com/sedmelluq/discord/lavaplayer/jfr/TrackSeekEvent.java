@@ -0,0 +1,23 @@
+package com.sedmelluq.discord.lavaplayer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Seeking a track on its playback thread.
+ */
+@Name("lavaplayer.TrackSeek")
+@Label("Track Seek")
+@Category({ "Lavaplayer", "Playback" })
+@Description("Seeking a track on its playback thread")
+@StackTrace(false)
+class TrackSeekEvent extends SpanEvent {
+  @Label("Identifier")
+  String identifier;
+
+  @Label("Position (ms)")
+  long position;
+}
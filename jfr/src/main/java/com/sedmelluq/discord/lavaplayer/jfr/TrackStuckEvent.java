@@ -0,0 +1,26 @@
+package com.sedmelluq.discord.lavaplayer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A playing track has not provided frames for longer than the threshold.
+ */
+@Name("lavaplayer.TrackStuck")
+@Label("Track Stuck")
+@Category({ "Lavaplayer", "Playback" })
+@Description("A playing track has not provided frames for longer than the threshold")
+@StackTrace(false)
+class TrackStuckEvent extends Event {
+  @Label("Identifier")
+  String identifier;
+
+  @Label("Threshold")
+  @Timespan(Timespan.MILLISECONDS)
+  long threshold;
+}
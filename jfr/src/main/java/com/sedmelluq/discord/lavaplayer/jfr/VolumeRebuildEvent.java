@@ -0,0 +1,20 @@
+package com.sedmelluq.discord.lavaplayer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Reencoding the buffered frames of a track with a new volume.
+ */
+@Name("lavaplayer.VolumeRebuild")
+@Label("Volume Rebuild")
+@Category({ "Lavaplayer", "Playback" })
+@Description("Reencoding the buffered frames of a track with a new volume")
+@StackTrace(false)
+class VolumeRebuildEvent extends SpanEvent {
+  @Label("Volume")
+  int volume;
+}
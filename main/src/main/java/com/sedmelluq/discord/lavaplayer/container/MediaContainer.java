@@ -1,29 +1,85 @@
 package com.sedmelluq.discord.lavaplayer.container;
 
 import com.sedmelluq.discord.lavaplayer.container.flac.FlacContainerProbe;
+import com.sedmelluq.discord.lavaplayer.container.flac.FlacFileLoader;
 import com.sedmelluq.discord.lavaplayer.container.matroska.MatroskaContainerProbe;
 import com.sedmelluq.discord.lavaplayer.container.mp3.Mp3ContainerProbe;
 import com.sedmelluq.discord.lavaplayer.container.mpeg.MpegContainerProbe;
 import com.sedmelluq.discord.lavaplayer.container.ogg.OggContainerProbe;
+import com.sedmelluq.discord.lavaplayer.container.ogg.OggPacketInputStream;
 import com.sedmelluq.discord.lavaplayer.container.playlists.M3uPlaylistContainerProbe;
 
 /**
- * Lists currently supported containers and their probes.
+ * Lists currently supported containers, their probes and the signatures that files of the container start with.
  */
 public enum MediaContainer {
-  MKV(new MatroskaContainerProbe()),
-  MP4(new MpegContainerProbe()),
-  MP3(new Mp3ContainerProbe()),
-  FLAC(new FlacContainerProbe()),
-  OGG(new OggContainerProbe()),
-  M3U(new M3uPlaylistContainerProbe());
+  MKV(new MatroskaContainerProbe(), false, MatroskaContainerProbe.EBML_TAG),
+  MP4(new MpegContainerProbe(), false, MpegContainerProbe.ISO_TAG),
+  MP3(new Mp3ContainerProbe(), true, Mp3ContainerProbe.ID3_TAG),
+  FLAC(new FlacContainerProbe(), false, FlacFileLoader.FLAC_CC),
+  OGG(new OggContainerProbe(), false, OggPacketInputStream.OGG_PAGE_HEADER),
+  M3U(new M3uPlaylistContainerProbe(), false, M3uPlaylistContainerProbe.M3U_HEADER_TAG, M3uPlaylistContainerProbe.M3U_ENTRY_TAG);
 
   /**
    * The probe used to detect files using this container and create the audio tracks for them.
    */
   public final MediaContainerProbe probe;
 
-  MediaContainer(MediaContainerProbe probe) {
+  /**
+   * Whether files of this container may also start without any of the signatures, in which case the probe has to scan
+   * the beginning of the file to detect it.
+   */
+  public final boolean requiresScan;
+
+  private final int[][] signatures;
+
+  MediaContainer(MediaContainerProbe probe, boolean requiresScan, int[]... signatures) {
     this.probe = probe;
+    this.requiresScan = requiresScan;
+    this.signatures = signatures;
+  }
+
+  /**
+   * @param head Bytes from the beginning of the file
+   * @param length Number of valid bytes in the head buffer
+   * @return True if the file starts with any of the signatures of this container
+   */
+  public boolean matchesSignature(byte[] head, int length) {
+    for (int[] signature : signatures) {
+      if (matchesSignature(signature, head, length)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * @return The length of the longest signature of any container
+   */
+  public static int getMaximumSignatureLength() {
+    int maximum = 0;
+
+    for (MediaContainer container : MediaContainer.class.getEnumConstants()) {
+      for (int[] signature : container.signatures) {
+        maximum = Math.max(maximum, signature.length);
+      }
+    }
+
+    return maximum;
+  }
+
+  private static boolean matchesSignature(int[] signature, byte[] head, int length) {
+    if (signature.length > length) {
+      return false;
+    }
+
+    for (int i = 0; i < signature.length; i++) {
+      if (signature[i] != -1 && signature[i] != (head[i] & 0xFF)) {
+        return false;
+      }
+    }
+
+    return true;
   }
 }
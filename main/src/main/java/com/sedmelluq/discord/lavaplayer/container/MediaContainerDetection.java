@@ -1,6 +1,8 @@
 package com.sedmelluq.discord.lavaplayer.container;
 
 import com.sedmelluq.discord.lavaplayer.tools.ExceptionTools;
+import com.sedmelluq.discord.lavaplayer.tools.diagnostics.AudioDiagnostics;
+import com.sedmelluq.discord.lavaplayer.tools.diagnostics.DiagnosticSpan;
 import com.sedmelluq.discord.lavaplayer.tools.io.SavedHeadSeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.AudioReference;
@@ -8,6 +10,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
 
 import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.SUSPICIOUS;
 
@@ -18,10 +24,11 @@ public class MediaContainerDetection {
   public static final String UNKNOWN_TITLE = "Unknown title";
   public static final String UNKNOWN_ARTIST = "Unknown artist";
   public static final int STREAM_SCAN_DISTANCE = 1000;
+  public static final int HEAD_MARK_LIMIT = 1024;
 
   private static final Logger log = LoggerFactory.getLogger(MediaContainerDetection.class);
 
-  private static final int HEAD_MARK_LIMIT = 1024;
+  private static final int SIGNATURE_LENGTH = MediaContainer.getMaximumSignatureLength();
 
   /**
    * @param reference Reference to the track with an identifier, used in the AudioTrackInfo in result
@@ -29,11 +36,29 @@ public class MediaContainerDetection {
    * @return Result of detection
    */
   public static MediaContainerDetectionResult detectContainer(AudioReference reference, SeekableInputStream inputStream) {
+    return detectContainer(reference, inputStream, MediaContainerHints.NONE);
+  }
+
+  /**
+   * Detects the container by matching the signatures of all containers against the beginning of the file in one go
+   * and then running only the probes of the matching containers, the ones matching the hints first. If the input stream
+   * is already a saved head stream, it is used directly, so the caller can keep using the saved head afterwards.
+   *
+   * @param reference Reference to the track with an identifier, used in the AudioTrackInfo in result
+   * @param inputStream Input stream of the file
+   * @param hints Hints about the container of the file, such as its MIME type or file extension
+   * @return Result of detection
+   */
+  public static MediaContainerDetectionResult detectContainer(AudioReference reference, SeekableInputStream inputStream,
+                                                              MediaContainerHints hints) {
+
     try {
-      SavedHeadSeekableInputStream savedHeadInputStream = new SavedHeadSeekableInputStream(inputStream, HEAD_MARK_LIMIT);
+      SavedHeadSeekableInputStream savedHeadInputStream = inputStream instanceof SavedHeadSeekableInputStream ?
+          (SavedHeadSeekableInputStream) inputStream : new SavedHeadSeekableInputStream(inputStream, HEAD_MARK_LIMIT);
+
       savedHeadInputStream.loadHead();
 
-      for (MediaContainer container : MediaContainer.class.getEnumConstants()) {
+      for (MediaContainer container : findCandidates(savedHeadInputStream, hints)) {
         savedHeadInputStream.seek(0);
         MediaContainerDetectionResult result = checkContainer(container, reference, savedHeadInputStream);
 
@@ -48,15 +73,79 @@ public class MediaContainerDetection {
     return new MediaContainerDetectionResult();
   }
 
+  private static List<MediaContainer> findCandidates(SeekableInputStream inputStream, MediaContainerHints hints) throws IOException {
+    byte[] head = new byte[SIGNATURE_LENGTH];
+    int headLength = readHead(inputStream, head);
+
+    List<MediaContainer> candidates = new ArrayList<>();
+
+    // A matching signature always takes precedence over hints, the hints only decide the order within these groups
+    addCandidates(candidates, hints, true, container -> container.matchesSignature(head, headLength));
+    addCandidates(candidates, hints, false, container -> container.matchesSignature(head, headLength));
+    addCandidates(candidates, hints, true, container -> container.requiresScan);
+    addCandidates(candidates, hints, false, container -> container.requiresScan);
+
+    log.debug("Candidate containers for a file with hints {}/{}: {}", hints.mimeType, hints.fileExtension, candidates);
+
+    return candidates;
+  }
+
+  private static void addCandidates(List<MediaContainer> candidates, MediaContainerHints hints, boolean hinted,
+                                    Predicate<MediaContainer> filter) {
+
+    for (MediaContainer container : MediaContainer.class.getEnumConstants()) {
+      if (!candidates.contains(container) && container.probe.matchesHints(hints) == hinted && filter.test(container)) {
+        candidates.add(container);
+      }
+    }
+  }
+
+  private static int readHead(SeekableInputStream inputStream, byte[] head) throws IOException {
+    inputStream.seek(0);
+
+    int offset = 0;
+
+    while (offset < head.length) {
+      int chunk = inputStream.read(head, offset, head.length - offset);
+
+      if (chunk < 0) {
+        break;
+      }
+
+      offset += chunk;
+    }
+
+    return offset;
+  }
+
   private static MediaContainerDetectionResult checkContainer(MediaContainer container, AudioReference reference, SeekableInputStream inputStream) {
+    DiagnosticSpan span = AudioDiagnostics.getRecorder().beginContainerProbe(reference.identifier, container.name());
+
     try {
-      return container.probe.probe(reference, inputStream);
+      MediaContainerDetectionResult result = container.probe.probe(reference, inputStream);
+      span.end(result != null ? "detected" : "no match");
+      return result;
     } catch (Exception e) {
+      span.end("failed");
       log.warn("Attempting to detect file with container {} failed.", container.name(), e);
       return null;
     }
   }
 
+  /**
+   * @param hints The hints to check
+   * @param mimeTypes MIME types that the container uses
+   * @param fileExtensions File extensions that the container uses
+   * @return True if either the MIME type or the file extension of the hints is one of the specified ones
+   */
+  public static boolean checkHints(MediaContainerHints hints, String[] mimeTypes, String[] fileExtensions) {
+    if (hints.mimeType != null && Arrays.asList(mimeTypes).contains(hints.mimeType)) {
+      return true;
+    }
+
+    return hints.fileExtension != null && Arrays.asList(fileExtensions).contains(hints.fileExtension);
+  }
+
   /**
    * Checks the next bytes in the stream if they match the specified bytes. The input may contain -1 as byte value as
    * a wildcard, which means the value of this byte does not matter. The position of the stream is restored on return.
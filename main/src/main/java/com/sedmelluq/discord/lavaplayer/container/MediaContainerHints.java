@@ -0,0 +1,83 @@
+package com.sedmelluq.discord.lavaplayer.container;
+
+import java.util.Locale;
+
+/**
+ * Optional hints about the container of a file which are known before reading its contents, such as the MIME type from
+ * an HTTP response or the extension of the file name. Used only to order the probes, the bytes of the file always decide.
+ */
+public class MediaContainerHints {
+  /**
+   * Hints instance with no information.
+   */
+  public static final MediaContainerHints NONE = new MediaContainerHints(null, null);
+
+  /**
+   * MIME type of the file in lower case without parameters, null if unknown
+   */
+  public final String mimeType;
+  /**
+   * Extension of the file name in lower case without the dot, null if unknown
+   */
+  public final String fileExtension;
+
+  private MediaContainerHints(String mimeType, String fileExtension) {
+    this.mimeType = mimeType;
+    this.fileExtension = fileExtension;
+  }
+
+  /**
+   * @return True if any hint is present
+   */
+  public boolean present() {
+    return mimeType != null || fileExtension != null;
+  }
+
+  /**
+   * @param mimeType Value of a Content-Type header or plain MIME type, may be null
+   * @param fileExtension File extension, may be null
+   * @return Normalised hints instance
+   */
+  public static MediaContainerHints from(String mimeType, String fileExtension) {
+    String normalisedMimeType = null;
+    String normalisedExtension = null;
+
+    if (mimeType != null) {
+      int parametersIndex = mimeType.indexOf(';');
+      String type = (parametersIndex >= 0 ? mimeType.substring(0, parametersIndex) : mimeType).trim();
+
+      if (!type.isEmpty()) {
+        normalisedMimeType = type.toLowerCase(Locale.ENGLISH);
+      }
+    }
+
+    if (fileExtension != null && !fileExtension.isEmpty()) {
+      normalisedExtension = fileExtension.toLowerCase(Locale.ENGLISH);
+    }
+
+    if (normalisedMimeType == null && normalisedExtension == null) {
+      return NONE;
+    }
+
+    return new MediaContainerHints(normalisedMimeType, normalisedExtension);
+  }
+
+  /**
+   * @param path A file name, file path or URL path
+   * @return The extension of the last path segment, null if it has none
+   */
+  public static String extractFileExtension(String path) {
+    if (path == null) {
+      return null;
+    }
+
+    int separatorIndex = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
+    int dotIndex = path.lastIndexOf('.');
+
+    if (dotIndex > separatorIndex && dotIndex < path.length() - 1) {
+      return path.substring(dotIndex + 1);
+    }
+
+    return null;
+  }
+}
@@ -16,6 +16,15 @@ public interface MediaContainerProbe {
    */
   String getName();
 
+  /**
+   * @param hints The hints known about the file before reading it
+   * @return True if the hints suggest that the file uses this container. By default the hints match no container, so
+   *         the probe is only tried after the ones suggested by the hints.
+   */
+  default boolean matchesHints(MediaContainerHints hints) {
+    return false;
+  }
+
   /**
    * Detect whether the file readable from the input stream is using this container and if this specific file uses
    * a format and codec that is supported for playback.
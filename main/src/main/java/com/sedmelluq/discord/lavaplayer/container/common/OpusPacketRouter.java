@@ -148,7 +148,10 @@ public class OpusPacketRouter {
     frameBuffer.clear();
     frameBuffer.limit(frameSize);
 
+    long startTime = System.nanoTime();
     opusDecoder.decode(nativeBuffer, frameBuffer);
+    context.accounting.addDecodeTime(context.metrics.opusDecodeTime.recordNanosSince(startTime));
+
     downstream.process(frameBuffer);
   }
 
@@ -170,7 +173,7 @@ public class OpusPacketRouter {
 
         initialiseDecoder();
 
-        AudioFrameVolumeChanger.apply(context.configuration, context.frameConsumer, context.volumeLevel.get());
+        AudioFrameVolumeChanger.apply(context, context.volumeLevel.get());
       }
     } else {
       if (opusDecoder != null) {
@@ -178,13 +181,14 @@ public class OpusPacketRouter {
 
         destroyDecoder();
 
-        AudioFrameVolumeChanger.apply(context.configuration, context.frameConsumer, context.volumeLevel.get());
+        AudioFrameVolumeChanger.apply(context, context.volumeLevel.get());
       }
     }
   }
 
   private void initialiseDecoder() {
     opusDecoder = new OpusDecoder(inputFrequency, inputChannels);
+    context.accounting.acquireNatives(1);
     downstream = FilterChainBuilder.forShortPcm(context, inputChannels, inputFrequency, true);
     downstream.seekPerformed(currentTimecode, currentTimecode);
   }
@@ -192,6 +196,7 @@ public class OpusPacketRouter {
   private void destroyDecoder() {
     opusDecoder.close();
     opusDecoder = null;
+    context.accounting.releaseNatives(1);
     downstream.close();
     downstream = null;
     directInput = null;
@@ -1,6 +1,7 @@
 package com.sedmelluq.discord.lavaplayer.container.flac;
 
 import com.sedmelluq.discord.lavaplayer.container.MediaContainerDetectionResult;
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerHints;
 import com.sedmelluq.discord.lavaplayer.container.MediaContainerProbe;
 import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.AudioReference;
@@ -13,6 +14,7 @@ import java.io.IOException;
 
 import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.UNKNOWN_ARTIST;
 import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.UNKNOWN_TITLE;
+import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.checkHints;
 import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.checkNextBytes;
 import static com.sedmelluq.discord.lavaplayer.tools.DataFormatTools.defaultOnNull;
 
@@ -24,12 +26,19 @@ public class FlacContainerProbe implements MediaContainerProbe {
 
   private static final String TITLE_TAG = "TITLE";
   private static final String ARTIST_TAG = "ARTIST";
+  private static final String[] MIME_TYPES = new String[] { "audio/flac", "audio/x-flac" };
+  private static final String[] FILE_EXTENSIONS = new String[] { "flac" };
 
   @Override
   public String getName() {
     return "flac";
   }
 
+  @Override
+  public boolean matchesHints(MediaContainerHints hints) {
+    return checkHints(hints, MIME_TYPES, FILE_EXTENSIONS);
+  }
+
   @Override
   public MediaContainerDetectionResult probe(AudioReference reference, SeekableInputStream inputStream) throws IOException {
     if (!checkNextBytes(inputStream, FlacFileLoader.FLAC_CC)) {
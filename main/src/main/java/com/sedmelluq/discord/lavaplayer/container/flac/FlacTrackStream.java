@@ -5,7 +5,9 @@ import com.sedmelluq.discord.lavaplayer.filter.FilterChainBuilder;
 import com.sedmelluq.discord.lavaplayer.filter.SplitShortPcmAudioFilter;
 import com.sedmelluq.discord.lavaplayer.tools.io.BitStreamReader;
 import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.tools.metrics.MetricHistogram;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+import com.sedmelluq.discord.lavaplayer.track.playback.TrackResourceAccounting;
 
 import java.io.IOException;
 
@@ -16,6 +18,8 @@ public class FlacTrackStream {
   private final FlacTrackInfo info;
   private final SeekableInputStream inputStream;
   private final SplitShortPcmAudioFilter downstream;
+  private final MetricHistogram decodeTime;
+  private final TrackResourceAccounting accounting;
   private final BitStreamReader bitStreamReader;
   private final int[] decodingBuffer;
   private final int[][] rawSampleBuffers;
@@ -30,6 +34,8 @@ public class FlacTrackStream {
     this.info = info;
     this.inputStream = inputStream;
     this.downstream = FilterChainBuilder.forSplitShortPcm(context, info.stream.sampleRate);
+    this.decodeTime = context.metrics.flacDecodeTime;
+    this.accounting = context.accounting;
     this.bitStreamReader = new BitStreamReader(inputStream);
     this.decodingBuffer = new int[FlacFrameReader.TEMPORARY_BUFFER_SIZE];
     this.rawSampleBuffers = new int[info.stream.channelCount][];
@@ -58,7 +64,12 @@ public class FlacTrackStream {
   }
 
   private int readFlacFrame() throws IOException {
-    return FlacFrameReader.readFlacFrame(inputStream, bitStreamReader, info.stream, rawSampleBuffers, sampleBuffers, decodingBuffer);
+    long startTime = System.nanoTime();
+    int sampleCount = FlacFrameReader.readFlacFrame(inputStream, bitStreamReader, info.stream, rawSampleBuffers, sampleBuffers,
+        decodingBuffer);
+
+    accounting.addDecodeTime(decodeTime.recordNanosSince(startTime));
+    return sampleCount;
   }
 
   /**
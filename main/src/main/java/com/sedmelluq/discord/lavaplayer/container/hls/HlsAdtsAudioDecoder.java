@@ -0,0 +1,139 @@
+package com.sedmelluq.discord.lavaplayer.container.hls;
+
+import com.sedmelluq.discord.lavaplayer.container.mpeg.MpegAacTrackConsumer;
+import com.sedmelluq.discord.lavaplayer.container.mpeg.MpegTrackInfo;
+import com.sedmelluq.discord.lavaplayer.tools.io.ByteBufferInputStream;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Decodes an AAC stream in ADTS format by passing the raw frames to the AAC consumer which is also used for MP4.
+ */
+public class HlsAdtsAudioDecoder extends HlsElementaryStreamDecoder {
+  private static final Logger log = LoggerFactory.getLogger(HlsAdtsAudioDecoder.class);
+
+  private static final int MINIMUM_HEADER_SIZE = 7;
+  private static final int[] SAMPLE_RATES = new int[] {
+      96000, 88200, 64000, 48000, 44100, 32000, 24000, 22050, 16000, 12000, 11025, 8000, 7350 };
+
+  private final AudioProcessingContext context;
+  private MpegAacTrackConsumer consumer;
+  private ByteBuffer frameView;
+  private ReadableByteChannel frameChannel;
+  private long pendingRequestedTimecode;
+  private long pendingProvidedTimecode;
+
+  /**
+   * @param context Configuration and output information for processing
+   */
+  public HlsAdtsAudioDecoder(AudioProcessingContext context) {
+    this.context = context;
+    this.pendingRequestedTimecode = -1;
+  }
+
+  /**
+   * @param data Buffer containing the data
+   * @param offset Offset of the data in the buffer
+   * @param length Length of the data
+   * @return True if the data starts with an ADTS frame header
+   */
+  public static boolean isAdtsHeader(byte[] data, int offset, int length) {
+    return length >= MINIMUM_HEADER_SIZE && (data[offset] & 0xFF) == 0xFF && (data[offset + 1] & 0xF6) == 0xF0 &&
+        ((data[offset + 2] >> 2) & 0x0F) < SAMPLE_RATES.length;
+  }
+
+  @Override
+  protected int decodeFrames(byte[] buffer, int length) throws InterruptedException {
+    int position = 0;
+
+    while (length - position >= MINIMUM_HEADER_SIZE) {
+      if (!isAdtsHeader(buffer, position, length - position)) {
+        position++;
+        continue;
+      }
+
+      int headerLength = (buffer[position + 1] & 0x01) != 0 ? 7 : 9;
+      int frameLength = ((buffer[position + 3] & 0x03) << 11) | ((buffer[position + 4] & 0xFF) << 3) |
+          ((buffer[position + 5] & 0xFF) >>> 5);
+
+      if (frameLength <= headerLength) {
+        position++;
+        continue;
+      } else if (position + frameLength > length) {
+        break;
+      }
+
+      if (consumer == null) {
+        consumer = createConsumer(buffer, position);
+      }
+
+      consumeFrame(buffer, position + headerLength, frameLength - headerLength);
+      position += frameLength;
+    }
+
+    return position;
+  }
+
+  private MpegAacTrackConsumer createConsumer(byte[] buffer, int offset) {
+    int sampleRate = SAMPLE_RATES[(buffer[offset + 2] >> 2) & 0x0F];
+    int channelConfig = ((buffer[offset + 2] & 0x01) << 2) | ((buffer[offset + 3] & 0xFF) >>> 6);
+    int channelCount = channelConfig == 0 ? 2 : (channelConfig == 7 ? 8 : channelConfig);
+
+    log.debug("Found ADTS stream with sample rate {} and channel count {}.", sampleRate, channelCount);
+
+    MpegAacTrackConsumer trackConsumer = new MpegAacTrackConsumer(context,
+        new MpegTrackInfo(0, "soun", "mp4a", channelCount, sampleRate));
+
+    trackConsumer.initialise();
+
+    if (pendingRequestedTimecode >= 0) {
+      trackConsumer.seekPerformed(pendingRequestedTimecode, pendingProvidedTimecode);
+      pendingRequestedTimecode = -1;
+    }
+
+    return trackConsumer;
+  }
+
+  private void consumeFrame(byte[] buffer, int offset, int length) throws InterruptedException {
+    if (frameView == null || frameView.array() != buffer) {
+      frameView = ByteBuffer.wrap(buffer);
+      frameChannel = Channels.newChannel(new ByteBufferInputStream(frameView));
+    }
+
+    frameView.limit(offset + length);
+    frameView.position(offset);
+
+    consumer.consume(frameChannel, length);
+  }
+
+  @Override
+  public void seekPerformed(long requestedTimecode, long providedTimecode) {
+    super.seekPerformed(requestedTimecode, providedTimecode);
+
+    if (consumer != null) {
+      consumer.seekPerformed(requestedTimecode, providedTimecode);
+    } else {
+      pendingRequestedTimecode = requestedTimecode;
+      pendingProvidedTimecode = providedTimecode;
+    }
+  }
+
+  @Override
+  public void flush() throws InterruptedException {
+    if (consumer != null) {
+      consumer.flush();
+    }
+  }
+
+  @Override
+  public void close() {
+    if (consumer != null) {
+      consumer.close();
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package com.sedmelluq.discord.lavaplayer.container.hls;
+
+/**
+ * Decodes the audio of consecutive HLS segments as one continuous stream.
+ */
+public interface HlsAudioDecoder {
+  /**
+   * Consume the data of the next segment. For elementary streams, the data may end in the middle of a frame, in which
+   * case the rest of the frame is expected at the beginning of the next segment.
+   *
+   * @param data Buffer containing the data
+   * @param offset Offset of the data in the buffer
+   * @param length Length of the data
+   * @throws InterruptedException When interrupted
+   */
+  void consume(byte[] data, int offset, int length) throws InterruptedException;
+
+  /**
+   * Indicates that the next segment is not a continuation of the previous one.
+   *
+   * @param requestedTimecode Timecode in milliseconds to which the seek was requested to
+   * @param providedTimecode Timecode in milliseconds to which the seek was actually performed to
+   */
+  void seekPerformed(long requestedTimecode, long providedTimecode);
+
+  /**
+   * Indicates that no more input is coming. Flush any buffers to output.
+   * @throws InterruptedException When interrupted
+   */
+  void flush() throws InterruptedException;
+
+  /**
+   * Free all resources
+   */
+  void close();
+}
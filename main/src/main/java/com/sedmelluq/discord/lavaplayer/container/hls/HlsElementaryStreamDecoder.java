@@ -0,0 +1,46 @@
+package com.sedmelluq.discord.lavaplayer.container.hls;
+
+import java.util.Arrays;
+
+/**
+ * Base class for decoders of elementary audio streams, where frames may be split between segments. Keeps the
+ * incomplete frame at the end of a segment until the data of the next segment arrives.
+ */
+public abstract class HlsElementaryStreamDecoder implements HlsAudioDecoder {
+  private byte[] buffer;
+  private int bufferedLength;
+
+  protected HlsElementaryStreamDecoder() {
+    this.buffer = new byte[16384];
+  }
+
+  @Override
+  public void consume(byte[] data, int offset, int length) throws InterruptedException {
+    if (bufferedLength + length > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, bufferedLength + length));
+    }
+
+    System.arraycopy(data, offset, buffer, bufferedLength, length);
+    bufferedLength += length;
+
+    int consumed = decodeFrames(buffer, bufferedLength);
+
+    System.arraycopy(buffer, consumed, buffer, 0, bufferedLength - consumed);
+    bufferedLength -= consumed;
+  }
+
+  @Override
+  public void seekPerformed(long requestedTimecode, long providedTimecode) {
+    bufferedLength = 0;
+  }
+
+  /**
+   * Decode all complete frames from the start of the buffer.
+   *
+   * @param buffer Buffer containing the data
+   * @param length Length of the data in the buffer
+   * @return The number of bytes consumed from the start of the buffer
+   * @throws InterruptedException When interrupted
+   */
+  protected abstract int decodeFrames(byte[] buffer, int length) throws InterruptedException;
+}
@@ -0,0 +1,77 @@
+package com.sedmelluq.discord.lavaplayer.container.hls;
+
+import com.sedmelluq.discord.lavaplayer.container.mpeg.MpegAacTrackConsumer;
+import com.sedmelluq.discord.lavaplayer.container.mpeg.MpegStreamingFile;
+import com.sedmelluq.discord.lavaplayer.container.mpeg.MpegTrackConsumer;
+import com.sedmelluq.discord.lavaplayer.container.mpeg.MpegTrackInfo;
+import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.tools.io.MemorySeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.SUSPICIOUS;
+
+/**
+ * Decodes fragmented MP4 segments. The track list is read from the initialisation segment once, and the fragments of
+ * all segments are passed to the same track consumer.
+ */
+public class HlsFragmentedMpegAudioDecoder implements HlsAudioDecoder {
+  private final MpegTrackConsumer consumer;
+
+  /**
+   * @param context Configuration and output information for processing
+   * @param initData Contents of the initialisation segment
+   */
+  public HlsFragmentedMpegAudioDecoder(AudioProcessingContext context, byte[] initData) {
+    MpegStreamingFile file = new MpegStreamingFile(new MemorySeekableInputStream(initData));
+    file.readFile();
+
+    this.consumer = selectAudioTrack(file, context);
+    this.consumer.initialise();
+  }
+
+  /**
+   * @param data Buffer containing the data
+   * @param length Length of the data
+   * @return True if the data starts with a section of a fragmented MP4 file
+   */
+  public static boolean isFragmentedMpeg(byte[] data, int length) {
+    if (length < 8) {
+      return false;
+    }
+
+    String type = new String(data, 4, 4, StandardCharsets.ISO_8859_1);
+    return "ftyp".equals(type) || "styp".equals(type) || "moof".equals(type) || "sidx".equals(type);
+  }
+
+  private static MpegTrackConsumer selectAudioTrack(MpegStreamingFile file, AudioProcessingContext context) {
+    for (MpegTrackInfo track : file.getTrackList()) {
+      if ("soun".equals(track.handler) && "mp4a".equals(track.codecName)) {
+        return new MpegAacTrackConsumer(context, track);
+      }
+    }
+
+    throw new FriendlyException("The audio codec used in the stream is not supported.", SUSPICIOUS, null);
+  }
+
+  @Override
+  public void consume(byte[] data, int offset, int length) throws InterruptedException {
+    new MpegStreamingFile(new MemorySeekableInputStream(data, offset, length)).provideFrames(consumer);
+  }
+
+  @Override
+  public void seekPerformed(long requestedTimecode, long providedTimecode) {
+    consumer.seekPerformed(requestedTimecode, providedTimecode);
+  }
+
+  @Override
+  public void flush() throws InterruptedException {
+    consumer.flush();
+  }
+
+  @Override
+  public void close() {
+    consumer.close();
+  }
+}
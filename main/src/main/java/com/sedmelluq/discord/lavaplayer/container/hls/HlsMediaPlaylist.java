@@ -0,0 +1,173 @@
+package com.sedmelluq.discord.lavaplayer.container.hls;
+
+import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.COMMON;
+
+/**
+ * State of an HLS media playlist. For live playlists, each refresh only yields the segments which were not present in
+ * the previous version of the playlist, based on their media sequence numbers.
+ */
+public class HlsMediaPlaylist {
+  private static final long DEFAULT_TARGET_DURATION = 10000;
+
+  private final URI uri;
+  private long targetDuration;
+  private boolean ended;
+  private long lastSequence;
+  private List<HlsSegment> segments;
+
+  /**
+   * @param uri URL of the media playlist
+   */
+  public HlsMediaPlaylist(URI uri) {
+    this.uri = uri;
+    this.targetDuration = DEFAULT_TARGET_DURATION;
+    this.lastSequence = -1;
+    this.segments = Collections.emptyList();
+  }
+
+  /**
+   * @return URL of the media playlist
+   */
+  public URI getUri() {
+    return uri;
+  }
+
+  /**
+   * @return The maximum duration of a segment in milliseconds, which is also the refresh interval of live playlists
+   */
+  public long getTargetDuration() {
+    return targetDuration;
+  }
+
+  /**
+   * @return True if the playlist has ended, meaning that no more segments will be added to it
+   */
+  public boolean isEnded() {
+    return ended;
+  }
+
+  /**
+   * @return All segments in the current version of the playlist
+   */
+  public List<HlsSegment> getSegments() {
+    return segments;
+  }
+
+  /**
+   * @return Total duration of the segments in the current version of the playlist in milliseconds
+   */
+  public long getTotalDuration() {
+    long total = 0;
+
+    for (HlsSegment segment : segments) {
+      total += segment.duration;
+    }
+
+    return total;
+  }
+
+  /**
+   * Update the playlist from a new version of its contents.
+   *
+   * @param lines Lines of the new version of the playlist
+   * @return The segments which have a higher media sequence number than any segment seen so far
+   */
+  public List<HlsSegment> update(String[] lines) {
+    List<HlsSegment> parsed = new ArrayList<>();
+    long sequence = 0;
+    long segmentDuration = 0;
+    boolean discontinuity = false;
+    HlsSegment initSegment = null;
+    long rangeOffset = -1;
+    long rangeLength = -1;
+    long nextRangeOffset = 0;
+
+    for (String line : lines) {
+      if (line.startsWith("#EXT-X-TARGETDURATION:")) {
+        targetDuration = Math.max(1000, HlsPlaylistParser.parseDuration(line.substring(22)));
+      } else if (line.startsWith("#EXT-X-MEDIA-SEQUENCE:")) {
+        sequence = HlsPlaylistParser.parseLong(line.substring(22), 0);
+      } else if (line.startsWith("#EXTINF:")) {
+        int commaIndex = line.indexOf(',');
+        segmentDuration = HlsPlaylistParser.parseDuration(line.substring(8, commaIndex < 0 ? line.length() : commaIndex));
+      } else if (line.startsWith("#EXT-X-BYTERANGE:")) {
+        String[] range = line.substring(17).split("@", 2);
+        rangeLength = HlsPlaylistParser.parseLong(range[0], -1);
+        rangeOffset = range.length > 1 ? HlsPlaylistParser.parseLong(range[1], -1) : nextRangeOffset;
+      } else if (line.startsWith("#EXT-X-DISCONTINUITY")) {
+        discontinuity = true;
+      } else if (line.startsWith("#EXT-X-ENDLIST")) {
+        ended = true;
+      } else if (line.startsWith("#EXT-X-KEY:")) {
+        checkEncryption(HlsPlaylistParser.parseAttributes(line.substring(11)));
+      } else if (line.startsWith("#EXT-X-MAP:")) {
+        initSegment = parseInitSegment(HlsPlaylistParser.parseAttributes(line.substring(11)));
+      } else if (!line.startsWith("#") && !line.isEmpty()) {
+        parsed.add(new HlsSegment(sequence++, uri.resolve(line), segmentDuration, rangeOffset, rangeLength, initSegment,
+            discontinuity));
+
+        nextRangeOffset = rangeOffset >= 0 ? rangeOffset + rangeLength : 0;
+        segmentDuration = 0;
+        discontinuity = false;
+        rangeOffset = -1;
+        rangeLength = -1;
+      }
+    }
+
+    segments = parsed;
+    return takeNewSegments(parsed);
+  }
+
+  private List<HlsSegment> takeNewSegments(List<HlsSegment> parsed) {
+    List<HlsSegment> fresh = new ArrayList<>();
+
+    for (HlsSegment segment : parsed) {
+      if (segment.sequence > lastSequence) {
+        fresh.add(segment);
+      }
+    }
+
+    if (!parsed.isEmpty()) {
+      lastSequence = Math.max(lastSequence, parsed.get(parsed.size() - 1).sequence);
+    }
+
+    return fresh;
+  }
+
+  private HlsSegment parseInitSegment(Map<String, String> attributes) {
+    String initUri = attributes.get("URI");
+
+    if (initUri == null) {
+      return null;
+    }
+
+    long rangeOffset = -1;
+    long rangeLength = -1;
+    String byteRange = attributes.get("BYTERANGE");
+
+    if (byteRange != null) {
+      String[] range = byteRange.split("@", 2);
+      rangeLength = HlsPlaylistParser.parseLong(range[0], -1);
+      rangeOffset = range.length > 1 ? HlsPlaylistParser.parseLong(range[1], -1) : 0;
+    }
+
+    return new HlsSegment(-1, uri.resolve(initUri), 0, rangeOffset, rangeLength, null, false);
+  }
+
+  private static void checkEncryption(Map<String, String> attributes) {
+    String method = attributes.get("METHOD");
+
+    if (method != null && !"NONE".equals(method)) {
+      throw new FriendlyException("Encrypted HLS streams are not supported.", COMMON,
+          new IllegalStateException("Encryption method " + method));
+    }
+  }
+}
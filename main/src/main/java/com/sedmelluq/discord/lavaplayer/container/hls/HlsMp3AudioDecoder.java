@@ -0,0 +1,131 @@
+package com.sedmelluq.discord.lavaplayer.container.hls;
+
+import com.sedmelluq.discord.lavaplayer.filter.FilterChainBuilder;
+import com.sedmelluq.discord.lavaplayer.filter.ShortPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.natives.mp3.Mp3Decoder;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+
+import static com.sedmelluq.discord.lavaplayer.natives.mp3.Mp3Decoder.HEADER_SIZE;
+import static com.sedmelluq.discord.lavaplayer.natives.mp3.Mp3Decoder.SAMPLES_PER_FRAME;
+
+/**
+ * Decodes an MP3 elementary stream, using the same decoder and filter chain setup as MP3 files.
+ */
+public class HlsMp3AudioDecoder extends HlsElementaryStreamDecoder {
+  private static final Logger log = LoggerFactory.getLogger(HlsMp3AudioDecoder.class);
+
+  private final AudioProcessingContext context;
+  private final Mp3Decoder mp3Decoder;
+  private final ByteBuffer inputBuffer;
+  private final ShortBuffer outputBuffer;
+  private ShortPcmAudioFilter downstream;
+  private long pendingRequestedTimecode;
+  private long pendingProvidedTimecode;
+
+  /**
+   * @param context Configuration and output information for processing
+   */
+  public HlsMp3AudioDecoder(AudioProcessingContext context) {
+    this.context = context;
+    this.mp3Decoder = new Mp3Decoder();
+    this.inputBuffer = ByteBuffer.allocateDirect(Mp3Decoder.getMaximumFrameSize());
+    this.outputBuffer = ByteBuffer.allocateDirect((int) SAMPLES_PER_FRAME * 4).order(ByteOrder.nativeOrder()).asShortBuffer();
+    this.pendingRequestedTimecode = -1;
+
+    context.accounting.acquireNatives(1);
+  }
+
+  /**
+   * @param data Buffer containing the data
+   * @param offset Offset of the data in the buffer
+   * @param length Length of the data
+   * @return True if the data starts with an MP3 frame header which this decoder supports
+   */
+  public static boolean isMp3Header(byte[] data, int offset, int length) {
+    return length >= HEADER_SIZE && Mp3Decoder.getFrameSize(data, offset) > 0;
+  }
+
+  @Override
+  protected int decodeFrames(byte[] buffer, int length) throws InterruptedException {
+    int position = 0;
+
+    while (length - position >= HEADER_SIZE) {
+      int frameSize = Mp3Decoder.getFrameSize(buffer, position);
+
+      if (frameSize == 0) {
+        position++;
+        continue;
+      } else if (position + frameSize > length) {
+        break;
+      }
+
+      if (downstream == null) {
+        downstream = createFilterChain(Mp3Decoder.getFrameSampleRate(buffer, position));
+      }
+
+      inputBuffer.clear();
+      inputBuffer.put(buffer, position, frameSize);
+      inputBuffer.flip();
+
+      long startTime = System.nanoTime();
+      int produced = mp3Decoder.decode(inputBuffer, outputBuffer);
+      context.accounting.addDecodeTime(context.metrics.mp3DecodeTime.recordNanosSince(startTime));
+
+      if (produced > 0) {
+        downstream.process(outputBuffer);
+      }
+
+      position += frameSize;
+    }
+
+    return position;
+  }
+
+  private ShortPcmAudioFilter createFilterChain(int sampleRate) {
+    log.debug("Found MP3 stream with sample rate {}.", sampleRate);
+
+    ShortPcmAudioFilter filter = FilterChainBuilder.forShortPcm(context, 2, sampleRate, true);
+
+    if (pendingRequestedTimecode >= 0) {
+      filter.seekPerformed(pendingRequestedTimecode, pendingProvidedTimecode);
+      pendingRequestedTimecode = -1;
+    }
+
+    return filter;
+  }
+
+  @Override
+  public void seekPerformed(long requestedTimecode, long providedTimecode) {
+    super.seekPerformed(requestedTimecode, providedTimecode);
+
+    if (downstream != null) {
+      downstream.seekPerformed(requestedTimecode, providedTimecode);
+    } else {
+      pendingRequestedTimecode = requestedTimecode;
+      pendingProvidedTimecode = providedTimecode;
+    }
+  }
+
+  @Override
+  public void flush() throws InterruptedException {
+    if (downstream != null) {
+      downstream.flush();
+    }
+  }
+
+  @Override
+  public void close() {
+    if (downstream != null) {
+      downstream.close();
+    }
+
+    mp3Decoder.close();
+    context.accounting.releaseNatives(1);
+  }
+}
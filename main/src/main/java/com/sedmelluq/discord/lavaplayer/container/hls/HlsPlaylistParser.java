@@ -0,0 +1,186 @@
+package com.sedmelluq.discord.lavaplayer.container.hls;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Helper methods for parsing HLS playlists.
+ */
+public class HlsPlaylistParser {
+  private static final Pattern lineSplitPattern = Pattern.compile("[\\r\\n\\s]*\\n[\\r\\n\\s]*");
+
+  private static final String[] HLS_TAGS = new String[] {
+      "#EXT-X-TARGETDURATION", "#EXT-X-MEDIA-SEQUENCE", "#EXT-X-STREAM-INF" };
+
+  /**
+   * @param text Text of a playlist
+   * @return Lines of the playlist without surrounding whitespace and empty lines
+   */
+  public static String[] splitLines(String text) {
+    return lineSplitPattern.split(text.trim());
+  }
+
+  /**
+   * @param lines Lines of an M3U playlist
+   * @return True if the playlist is an HLS media or master playlist rather than a simple list of files
+   */
+  public static boolean isHlsPlaylist(String[] lines) {
+    for (String line : lines) {
+      for (String tag : HLS_TAGS) {
+        if (line.startsWith(tag)) {
+          return true;
+        }
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * @param lines Lines of an HLS playlist
+   * @return True if this is a master playlist which lists variant streams instead of media segments
+   */
+  public static boolean isMasterPlaylist(String[] lines) {
+    for (String line : lines) {
+      if (line.startsWith("#EXT-X-STREAM-INF")) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Selects the media playlist to use for audio from a master playlist. An audio rendition is preferred, then an
+   * audio-only variant with the highest bandwidth, then the variant with the lowest bandwidth as that has the least
+   * video data to download along with the audio.
+   *
+   * @param baseUri URL of the master playlist
+   * @param lines Lines of the master playlist
+   * @return URL of the selected media playlist, null if there are no usable entries
+   */
+  public static URI selectAudioPlaylist(URI baseUri, String[] lines) {
+    String renditionUri = null;
+    String audioOnlyUri = null;
+    long audioOnlyBandwidth = -1;
+    String lowestUri = null;
+    long lowestBandwidth = Long.MAX_VALUE;
+    Map<String, String> variantAttributes = null;
+
+    for (String line : lines) {
+      if (line.startsWith("#EXT-X-MEDIA:")) {
+        Map<String, String> attributes = parseAttributes(line.substring(13));
+
+        if ("AUDIO".equals(attributes.get("TYPE")) && attributes.containsKey("URI")) {
+          if (renditionUri == null || "YES".equals(attributes.get("DEFAULT"))) {
+            renditionUri = attributes.get("URI");
+          }
+        }
+      } else if (line.startsWith("#EXT-X-STREAM-INF:")) {
+        variantAttributes = parseAttributes(line.substring(18));
+      } else if (!line.startsWith("#") && variantAttributes != null) {
+        long bandwidth = parseLong(variantAttributes.get("BANDWIDTH"), 0);
+
+        if (isAudioOnly(variantAttributes.get("CODECS")) && bandwidth > audioOnlyBandwidth) {
+          audioOnlyUri = line;
+          audioOnlyBandwidth = bandwidth;
+        }
+
+        if (lowestUri == null || bandwidth < lowestBandwidth) {
+          lowestUri = line;
+          lowestBandwidth = bandwidth;
+        }
+
+        variantAttributes = null;
+      }
+    }
+
+    String selected = renditionUri != null ? renditionUri : (audioOnlyUri != null ? audioOnlyUri : lowestUri);
+    return selected != null ? baseUri.resolve(selected) : null;
+  }
+
+  /**
+   * @param text Attribute list of a tag, such as: BANDWIDTH=128000,CODECS="mp4a.40.2"
+   * @return Map of attribute names to values, quotes are removed from quoted values
+   */
+  public static Map<String, String> parseAttributes(String text) {
+    Map<String, String> attributes = new HashMap<>();
+    int position = 0;
+
+    while (position < text.length()) {
+      int equalsIndex = text.indexOf('=', position);
+
+      if (equalsIndex < 0) {
+        break;
+      }
+
+      String name = text.substring(position, equalsIndex).trim();
+      String value;
+
+      if (equalsIndex + 1 < text.length() && text.charAt(equalsIndex + 1) == '"') {
+        int quoteEnd = text.indexOf('"', equalsIndex + 2);
+        quoteEnd = quoteEnd < 0 ? text.length() : quoteEnd;
+
+        value = text.substring(equalsIndex + 2, quoteEnd);
+        position = text.indexOf(',', quoteEnd);
+      } else {
+        int commaIndex = text.indexOf(',', equalsIndex);
+        value = text.substring(equalsIndex + 1, commaIndex < 0 ? text.length() : commaIndex).trim();
+        position = commaIndex;
+      }
+
+      attributes.put(name, value);
+
+      if (position < 0) {
+        break;
+      }
+
+      position++;
+    }
+
+    return attributes;
+  }
+
+  /**
+   * @param seconds Decimal number of seconds
+   * @return The duration in milliseconds
+   */
+  public static long parseDuration(String seconds) {
+    try {
+      return (long) (Double.parseDouble(seconds.trim()) * 1000.0);
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  static long parseLong(String value, long defaultValue) {
+    if (value == null) {
+      return defaultValue;
+    }
+
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      return defaultValue;
+    }
+  }
+
+  private static boolean isAudioOnly(String codecs) {
+    if (codecs == null) {
+      return false;
+    }
+
+    for (String codec : codecs.split(",")) {
+      String normalised = codec.trim().toLowerCase(Locale.ENGLISH);
+
+      if (!normalised.startsWith("mp4a") && !normalised.equals("mp3")) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+}
@@ -0,0 +1,72 @@
+package com.sedmelluq.discord.lavaplayer.container.hls;
+
+import java.net.URI;
+
+/**
+ * Describes one media segment of an HLS media playlist.
+ */
+public class HlsSegment {
+  /**
+   * Media sequence number of the segment, -1 for initialisation segments
+   */
+  public final long sequence;
+  /**
+   * Absolute URL of the segment
+   */
+  public final URI uri;
+  /**
+   * Duration of the segment in milliseconds
+   */
+  public final long duration;
+  /**
+   * Offset of the segment in the resource in bytes, -1 if the segment is the whole resource
+   */
+  public final long rangeOffset;
+  /**
+   * Length of the segment in the resource in bytes, -1 if the segment is the whole resource
+   */
+  public final long rangeLength;
+  /**
+   * The initialisation segment (EXT-X-MAP) which applies to this segment, null if there is none
+   */
+  public final HlsSegment initSegment;
+  /**
+   * Whether there is a discontinuity between the previous segment and this one
+   */
+  public final boolean discontinuity;
+
+  /**
+   * @param sequence Media sequence number of the segment, -1 for initialisation segments
+   * @param uri Absolute URL of the segment
+   * @param duration Duration of the segment in milliseconds
+   * @param rangeOffset Offset of the segment in the resource in bytes, -1 if the segment is the whole resource
+   * @param rangeLength Length of the segment in the resource in bytes, -1 if the segment is the whole resource
+   * @param initSegment The initialisation segment which applies to this segment, null if there is none
+   * @param discontinuity Whether there is a discontinuity between the previous segment and this one
+   */
+  public HlsSegment(long sequence, URI uri, long duration, long rangeOffset, long rangeLength, HlsSegment initSegment,
+                    boolean discontinuity) {
+
+    this.sequence = sequence;
+    this.uri = uri;
+    this.duration = duration;
+    this.rangeOffset = rangeOffset;
+    this.rangeLength = rangeLength;
+    this.initSegment = initSegment;
+    this.discontinuity = discontinuity;
+  }
+
+  /**
+   * @return True if only a byte range of the resource belongs to this segment
+   */
+  public boolean hasRange() {
+    return rangeOffset >= 0 && rangeLength >= 0;
+  }
+
+  /**
+   * @return Key which is equal for segments which refer to the same bytes of the same resource
+   */
+  public String getResourceKey() {
+    return hasRange() ? uri + "@" + rangeOffset + "+" + rangeLength : uri.toString();
+  }
+}
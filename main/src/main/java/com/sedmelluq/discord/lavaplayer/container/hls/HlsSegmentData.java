@@ -0,0 +1,30 @@
+package com.sedmelluq.discord.lavaplayer.container.hls;
+
+/**
+ * Downloaded contents of an HLS media segment.
+ */
+public class HlsSegmentData {
+  /**
+   * The segment which was downloaded
+   */
+  public final HlsSegment segment;
+  /**
+   * Contents of the segment
+   */
+  public final byte[] data;
+  /**
+   * Contents of the initialisation segment of the segment, null if it does not have one
+   */
+  public final byte[] initData;
+
+  /**
+   * @param segment The segment which was downloaded
+   * @param data Contents of the segment
+   * @param initData Contents of the initialisation segment of the segment, null if it does not have one
+   */
+  public HlsSegmentData(HlsSegment segment, byte[] data, byte[] initData) {
+    this.segment = segment;
+    this.data = data;
+    this.initData = initData;
+  }
+}
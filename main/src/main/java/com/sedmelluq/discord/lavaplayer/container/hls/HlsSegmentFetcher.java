@@ -0,0 +1,345 @@
+package com.sedmelluq.discord.lavaplayer.container.hls;
+
+import com.sedmelluq.discord.lavaplayer.tools.ExecutorTools;
+import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.SUSPICIOUS;
+
+/**
+ * Downloads the segments of an HLS stream ahead of playback. Downloads of upcoming segments run concurrently, but the
+ * number of segments which are downloaded or waiting to be played is limited. Live playlists are refreshed in the
+ * background at the interval of their target duration. All requests go through the same HTTP client, so the
+ * connections to the server are pooled and kept alive between segments.
+ */
+public class HlsSegmentFetcher implements AutoCloseable {
+  private static final Logger log = LoggerFactory.getLogger(HlsSegmentFetcher.class);
+
+  private static final int LIVE_START_SEGMENTS = 3;
+  private static final int MAXIMUM_CONSECUTIVE_FAILURES = 3;
+  private static final int MAXIMUM_CACHED_INIT_SEGMENTS = 4;
+
+  private final CloseableHttpClient httpClient;
+  private final URI playlistUri;
+  private final int prefetchCount;
+  private final ExecutorService executor;
+  private final Map<String, byte[]> initSegments;
+  private HlsMediaPlaylist playlist;
+  private Pipeline pipeline;
+  private boolean live;
+  private int consecutiveFailures;
+  private int consecutiveRefreshFailures;
+
+  /**
+   * @param httpClient HTTP client to use for all requests, owned by this fetcher
+   * @param playlistUri URL of the master or media playlist
+   * @param prefetchCount Maximum number of segments to download ahead of playback
+   */
+  public HlsSegmentFetcher(CloseableHttpClient httpClient, URI playlistUri, int prefetchCount) {
+    this.httpClient = httpClient;
+    this.playlistUri = playlistUri;
+    this.prefetchCount = prefetchCount;
+    this.executor = ExecutorTools.createEagerlyScalingExecutor(0, prefetchCount + 1, TimeUnit.SECONDS.toMillis(10), "hls");
+    this.initSegments = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Start fetching segments from the specified position, discarding any segments fetched so far. Live streams always
+   * start near the end of the current playlist.
+   *
+   * @param timecode Position to start from in milliseconds
+   * @return The position where the first provided segment starts in milliseconds
+   * @throws IOException When loading the playlist fails
+   */
+  public long start(long timecode) throws IOException {
+    stopPipeline();
+
+    if (playlist == null) {
+      playlist = loadMediaPlaylist();
+      live = !playlist.isEnded();
+    }
+
+    List<HlsSegment> segments = playlist.getSegments();
+    int startIndex = 0;
+    long startTimecode = 0;
+
+    if (live) {
+      startIndex = Math.max(0, segments.size() - LIVE_START_SEGMENTS);
+    } else {
+      while (startIndex < segments.size() - 1 && startTimecode + segments.get(startIndex).duration <= timecode) {
+        startTimecode += segments.get(startIndex).duration;
+        startIndex++;
+      }
+    }
+
+    log.debug("Starting to fetch segments of {} from index {} of {}.", playlist.getUri(), startIndex, segments.size());
+
+    consecutiveFailures = 0;
+    pipeline = new Pipeline(new ArrayList<>(segments.subList(startIndex, segments.size())));
+    pipeline.task = executor.submit(pipeline::run);
+    return startTimecode;
+  }
+
+  /**
+   * Wait for the next segment to be downloaded. Failed segments of live streams are skipped unless several fail in a
+   * row.
+   *
+   * @return The next segment, or null if the stream has ended
+   * @throws InterruptedException When interrupted
+   */
+  public HlsSegmentData next() throws InterruptedException {
+    Pipeline current = pipeline;
+
+    while (true) {
+      Future<HlsSegmentData> future = current.queue.take();
+      current.slots.release();
+
+      try {
+        HlsSegmentData data = future.get();
+        consecutiveFailures = 0;
+        return data;
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof FriendlyException) {
+          throw (FriendlyException) e.getCause();
+        } else if (!live || ++consecutiveFailures >= MAXIMUM_CONSECUTIVE_FAILURES) {
+          throw new FriendlyException("Failed to download a segment of the stream.", SUSPICIOUS, e.getCause());
+        }
+
+        log.warn("Skipping a segment of stream {} which failed to download.", playlistUri, e.getCause());
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    stopPipeline();
+    executor.shutdownNow();
+
+    try {
+      httpClient.close();
+    } catch (IOException e) {
+      log.debug("Failed to close HTTP client of stream {}.", playlistUri, e);
+    }
+  }
+
+  private void stopPipeline() {
+    if (pipeline != null) {
+      pipeline.cancel();
+      pipeline = null;
+    }
+  }
+
+  private HlsMediaPlaylist loadMediaPlaylist() throws IOException {
+    String[] lines = fetchPlaylistLines(playlistUri);
+    URI mediaUri = playlistUri;
+
+    if (HlsPlaylistParser.isMasterPlaylist(lines)) {
+      mediaUri = HlsPlaylistParser.selectAudioPlaylist(playlistUri, lines);
+
+      if (mediaUri == null) {
+        throw new FriendlyException("The HLS playlist contains no streams.", SUSPICIOUS, null);
+      }
+
+      log.debug("Selected media playlist {} from master playlist {}.", mediaUri, playlistUri);
+      lines = fetchPlaylistLines(mediaUri);
+    }
+
+    HlsMediaPlaylist mediaPlaylist = new HlsMediaPlaylist(mediaUri);
+    mediaPlaylist.update(lines);
+    return mediaPlaylist;
+  }
+
+  private String[] fetchPlaylistLines(URI uri) throws IOException {
+    return fetchPlaylistLines(httpClient, uri);
+  }
+
+  /**
+   * @param httpClient HTTP client to use for the request
+   * @param uri URL of the playlist
+   * @return Lines of the playlist
+   * @throws IOException On network error or if the response is not successful
+   */
+  public static String[] fetchPlaylistLines(CloseableHttpClient httpClient, URI uri) throws IOException {
+    try (CloseableHttpResponse response = httpClient.execute(new HttpGet(uri))) {
+      int statusCode = response.getStatusLine().getStatusCode();
+
+      if (statusCode != 200) {
+        throw new IOException("Unexpected status code " + statusCode + " for playlist " + uri);
+      }
+
+      return HlsPlaylistParser.splitLines(EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8));
+    }
+  }
+
+  private HlsSegmentData download(HlsSegment segment) throws IOException {
+    byte[] initData = segment.initSegment != null ? getInitData(segment.initSegment) : null;
+    byte[] data;
+
+    try {
+      data = fetchSegment(segment);
+    } catch (IOException e) {
+      log.debug("Retrying download of segment {} after failure.", segment.uri, e);
+      data = fetchSegment(segment);
+    }
+
+    return new HlsSegmentData(segment, data, initData);
+  }
+
+  private byte[] getInitData(HlsSegment initSegment) throws IOException {
+    String key = initSegment.getResourceKey();
+    byte[] data = initSegments.get(key);
+
+    if (data == null) {
+      data = fetchSegment(initSegment);
+
+      if (initSegments.size() >= MAXIMUM_CACHED_INIT_SEGMENTS) {
+        initSegments.clear();
+      }
+
+      initSegments.put(key, data);
+    }
+
+    return data;
+  }
+
+  private byte[] fetchSegment(HlsSegment segment) throws IOException {
+    HttpGet request = new HttpGet(segment.uri);
+
+    if (segment.hasRange()) {
+      request.setHeader(HttpHeaders.RANGE, "bytes=" + segment.rangeOffset + "-" + (segment.rangeOffset + segment.rangeLength - 1));
+    }
+
+    try (CloseableHttpResponse response = httpClient.execute(request)) {
+      int statusCode = response.getStatusLine().getStatusCode();
+
+      if (statusCode != 200 && statusCode != 206) {
+        throw new IOException("Unexpected status code " + statusCode + " for segment " + segment.uri);
+      }
+
+      byte[] data = EntityUtils.toByteArray(response.getEntity());
+
+      if (segment.hasRange() && statusCode == 200) {
+        // Server ignored the range request
+        int end = (int) Math.min(segment.rangeOffset + segment.rangeLength, data.length);
+        data = Arrays.copyOfRange(data, (int) Math.min(segment.rangeOffset, end), end);
+      }
+
+      return data;
+    }
+  }
+
+  private List<HlsSegment> refreshPlaylist() throws IOException {
+    try {
+      List<HlsSegment> segments = playlist.update(fetchPlaylistLines(playlist.getUri()));
+      consecutiveRefreshFailures = 0;
+      return segments;
+    } catch (IOException e) {
+      if (++consecutiveRefreshFailures >= MAXIMUM_CONSECUTIVE_FAILURES) {
+        throw e;
+      }
+
+      log.warn("Failed to refresh playlist {}, retrying.", playlist.getUri(), e);
+      return Collections.emptyList();
+    }
+  }
+
+  private class Pipeline {
+    private final List<HlsSegment> initialSegments;
+    private final BlockingQueue<Future<HlsSegmentData>> queue;
+    private final Semaphore slots;
+    private volatile boolean cancelled;
+    private Future<?> task;
+
+    private Pipeline(List<HlsSegment> initialSegments) {
+      this.initialSegments = initialSegments;
+      this.queue = new LinkedBlockingQueue<>();
+      this.slots = new Semaphore(prefetchCount);
+    }
+
+    private void run() {
+      try {
+        List<HlsSegment> segments = initialSegments;
+        long lastRefresh = System.currentTimeMillis();
+
+        while (true) {
+          for (HlsSegment segment : segments) {
+            enqueue(segment);
+          }
+
+          if (playlist.isEnded()) {
+            break;
+          }
+
+          // Per specification, wait only half the target duration if the playlist did not change
+          long interval = segments.isEmpty() ? playlist.getTargetDuration() / 2 : playlist.getTargetDuration();
+          long waitTime = lastRefresh + interval - System.currentTimeMillis();
+
+          if (waitTime > 0) {
+            Thread.sleep(waitTime);
+          }
+
+          lastRefresh = System.currentTimeMillis();
+          segments = refreshPlaylist();
+        }
+
+        queue.add(CompletableFuture.completedFuture(null));
+      } catch (InterruptedException e) {
+        log.debug("Fetching segments of stream {} was stopped.", playlistUri);
+      } catch (Exception e) {
+        CompletableFuture<HlsSegmentData> failure = new CompletableFuture<>();
+        failure.completeExceptionally(e instanceof FriendlyException ? e :
+            new FriendlyException("Failed to load the playlist of the stream.", SUSPICIOUS, e));
+        queue.add(failure);
+      }
+    }
+
+    private void enqueue(HlsSegment segment) throws InterruptedException {
+      slots.acquire();
+
+      if (cancelled) {
+        throw new InterruptedException();
+      }
+
+      queue.add(executor.submit(() -> download(segment)));
+    }
+
+    private void cancel() {
+      cancelled = true;
+
+      if (task != null) {
+        task.cancel(true);
+      }
+
+      for (Future<HlsSegmentData> future : queue) {
+        future.cancel(true);
+      }
+
+      queue.clear();
+      slots.release(prefetchCount);
+    }
+  }
+}
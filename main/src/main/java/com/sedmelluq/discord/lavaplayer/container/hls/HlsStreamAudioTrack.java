@@ -0,0 +1,51 @@
+package com.sedmelluq.discord.lavaplayer.container.hls;
+
+import com.sedmelluq.discord.lavaplayer.tools.io.HttpClientTools;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
+import com.sedmelluq.discord.lavaplayer.track.BaseAudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.playback.LocalAudioTrackExecutor;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+
+/**
+ * Audio track that handles an HLS stream, where the identifier of the track is the URL of its playlist.
+ */
+public class HlsStreamAudioTrack extends BaseAudioTrack {
+  private static final Logger log = LoggerFactory.getLogger(HlsStreamAudioTrack.class);
+
+  private static final int PREFETCH_SEGMENTS = 3;
+
+  /**
+   * @param trackInfo Track info
+   */
+  public HlsStreamAudioTrack(AudioTrackInfo trackInfo) {
+    super(trackInfo);
+  }
+
+  @Override
+  public void process(LocalAudioTrackExecutor localExecutor) throws Exception {
+    try (HlsSegmentFetcher fetcher = new HlsSegmentFetcher(createHttpClient(), new URI(trackInfo.identifier), PREFETCH_SEGMENTS)) {
+      HlsStreamingFile file = new HlsStreamingFile(localExecutor.getProcessingContext(), fetcher);
+
+      try {
+        file.start();
+
+        log.debug("Starting to play HLS stream {}", getIdentifier());
+        localExecutor.executeProcessingLoop(file::provideFrames, file::seekToTimecode);
+      } finally {
+        file.close();
+      }
+    }
+  }
+
+  private static CloseableHttpClient createHttpClient() {
+    // One connection for the playlist and one for each concurrently downloaded segment, all kept alive for reuse
+    return HttpClientTools.createSharedCookiesHttpBuilder()
+        .setMaxConnPerRoute(PREFETCH_SEGMENTS + 1)
+        .setMaxConnTotal(PREFETCH_SEGMENTS + 1)
+        .build();
+  }
+}
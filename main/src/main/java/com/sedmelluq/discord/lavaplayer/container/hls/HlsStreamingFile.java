@@ -0,0 +1,180 @@
+package com.sedmelluq.discord.lavaplayer.container.hls;
+
+import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.SUSPICIOUS;
+
+/**
+ * Handles decoding the segments of an HLS stream as one continuous track. The format of the segments (MPEG transport
+ * stream, packed ADTS or MP3 audio, or fragmented MP4) is detected from the first segment.
+ */
+public class HlsStreamingFile {
+  private static final Logger log = LoggerFactory.getLogger(HlsStreamingFile.class);
+
+  private static final int ID3_HEADER_SIZE = 10;
+
+  private final AudioProcessingContext context;
+  private final HlsSegmentFetcher fetcher;
+  private MpegTsDemuxer demuxer;
+  private HlsAudioDecoder decoder;
+  private boolean fragmented;
+  private long pendingRequestedTimecode;
+  private long pendingProvidedTimecode;
+
+  /**
+   * @param context Configuration and output information for processing
+   * @param fetcher Fetcher for the segments of the stream
+   */
+  public HlsStreamingFile(AudioProcessingContext context, HlsSegmentFetcher fetcher) {
+    this.context = context;
+    this.fetcher = fetcher;
+    this.pendingRequestedTimecode = -1;
+  }
+
+  /**
+   * Load the playlist and start fetching segments from the beginning, or from the live edge for live streams.
+   */
+  public void start() {
+    try {
+      fetcher.start(0);
+    } catch (IOException e) {
+      throw new FriendlyException("Failed to load the playlist of the stream.", SUSPICIOUS, e);
+    }
+  }
+
+  /**
+   * Decodes audio frames and sends them to frame consumer
+   * @throws InterruptedException When interrupted
+   */
+  public void provideFrames() throws InterruptedException {
+    HlsSegmentData segment;
+
+    while ((segment = fetcher.next()) != null) {
+      processSegment(segment);
+    }
+
+    if (decoder != null) {
+      decoder.flush();
+    }
+  }
+
+  /**
+   * Seeks to the specified timecode. Playback continues from the start of the segment which contains the timecode,
+   * the samples before the timecode are skipped after decoding.
+   *
+   * @param timecode The timecode in milliseconds
+   */
+  public void seekToTimecode(long timecode) {
+    long providedTimecode;
+
+    try {
+      providedTimecode = fetcher.start(timecode);
+    } catch (IOException e) {
+      throw new FriendlyException("Failed to load the playlist of the stream for seeking.", SUSPICIOUS, e);
+    }
+
+    if (decoder != null) {
+      decoder.seekPerformed(timecode, providedTimecode);
+    } else {
+      pendingRequestedTimecode = timecode;
+      pendingProvidedTimecode = providedTimecode;
+    }
+  }
+
+  /**
+   * Closes resources.
+   */
+  public void close() {
+    if (decoder != null) {
+      decoder.close();
+    }
+  }
+
+  private void processSegment(HlsSegmentData segment) throws InterruptedException {
+    byte[] data = segment.data;
+
+    if (decoder == null && (segment.initData != null || HlsFragmentedMpegAudioDecoder.isFragmentedMpeg(data, data.length))) {
+      log.debug("Stream {} uses fragmented MP4 segments.", segment.segment.uri);
+
+      fragmented = true;
+      setDecoder(new HlsFragmentedMpegAudioDecoder(context, segment.initData != null ? segment.initData : data));
+    } else if (decoder == null && demuxer == null && MpegTsDemuxer.isTransportStream(data, data.length)) {
+      demuxer = new MpegTsDemuxer();
+    }
+
+    if (fragmented) {
+      decoder.consume(data, 0, data.length);
+      return;
+    }
+
+    byte[] payload = data;
+    int offset;
+    int length;
+
+    if (demuxer != null) {
+      demuxer.demux(data, 0, data.length);
+      payload = demuxer.getOutput();
+      offset = 0;
+      length = demuxer.getOutputLength();
+    } else {
+      offset = skipId3Tags(data);
+      length = data.length - offset;
+    }
+
+    if (decoder == null) {
+      setDecoder(createElementaryDecoder(payload, offset, length));
+    }
+
+    decoder.consume(payload, offset, length);
+  }
+
+  private HlsAudioDecoder createElementaryDecoder(byte[] payload, int offset, int length) {
+    if (demuxer != null) {
+      switch (demuxer.getStreamType()) {
+        case MpegTsDemuxer.STREAM_TYPE_AAC_ADTS:
+          return new HlsAdtsAudioDecoder(context);
+        case MpegTsDemuxer.STREAM_TYPE_MPEG1_AUDIO:
+        case MpegTsDemuxer.STREAM_TYPE_MPEG2_AUDIO:
+          return new HlsMp3AudioDecoder(context);
+        default:
+          break;
+      }
+    } else if (HlsAdtsAudioDecoder.isAdtsHeader(payload, offset, length)) {
+      return new HlsAdtsAudioDecoder(context);
+    } else if (HlsMp3AudioDecoder.isMp3Header(payload, offset, length)) {
+      return new HlsMp3AudioDecoder(context);
+    }
+
+    throw new FriendlyException("The audio codec used in the stream is not supported.", SUSPICIOUS, null);
+  }
+
+  private void setDecoder(HlsAudioDecoder newDecoder) {
+    decoder = newDecoder;
+
+    if (pendingRequestedTimecode >= 0) {
+      decoder.seekPerformed(pendingRequestedTimecode, pendingProvidedTimecode);
+      pendingRequestedTimecode = -1;
+    }
+  }
+
+  private static int skipId3Tags(byte[] data) {
+    int position = 0;
+
+    while (data.length - position >= ID3_HEADER_SIZE && data[position] == 'I' && data[position + 1] == 'D' &&
+        data[position + 2] == '3') {
+
+      int size = (data[position + 6] & 0x7F) << 21 | (data[position + 7] & 0x7F) << 14 |
+          (data[position + 8] & 0x7F) << 7 | (data[position + 9] & 0x7F);
+      boolean hasFooter = (data[position + 5] & 0x10) != 0;
+
+      position += ID3_HEADER_SIZE + size + (hasFooter ? ID3_HEADER_SIZE : 0);
+    }
+
+    return Math.min(position, data.length);
+  }
+}
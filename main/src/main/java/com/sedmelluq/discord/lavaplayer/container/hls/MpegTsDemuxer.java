@@ -0,0 +1,182 @@
+package com.sedmelluq.discord.lavaplayer.container.hls;
+
+import java.util.Arrays;
+
+/**
+ * Extracts the elementary stream of the first audio track from MPEG transport stream data. Program tables are expected
+ * to fit into a single packet, which is the case for the streams produced by HLS segmenters.
+ */
+public class MpegTsDemuxer {
+  public static final int PACKET_SIZE = 188;
+  public static final int SYNC_BYTE = 0x47;
+
+  public static final int STREAM_TYPE_MPEG1_AUDIO = 0x03;
+  public static final int STREAM_TYPE_MPEG2_AUDIO = 0x04;
+  public static final int STREAM_TYPE_AAC_ADTS = 0x0F;
+
+  private static final int PAT_PID = 0;
+
+  private int pmtPid;
+  private int audioPid;
+  private int streamType;
+  private byte[] output;
+  private int outputLength;
+
+  /**
+   * Create a new demuxer.
+   */
+  public MpegTsDemuxer() {
+    this.pmtPid = -1;
+    this.audioPid = -1;
+    this.streamType = -1;
+    this.output = new byte[65536];
+  }
+
+  /**
+   * @param data Buffer containing the beginning of a file
+   * @param length Number of bytes in the buffer
+   * @return True if the data looks like an MPEG transport stream
+   */
+  public static boolean isTransportStream(byte[] data, int length) {
+    return length >= PACKET_SIZE && (data[0] & 0xFF) == SYNC_BYTE &&
+        (length < PACKET_SIZE * 2 || (data[PACKET_SIZE] & 0xFF) == SYNC_BYTE);
+  }
+
+  /**
+   * @return The stream type of the audio track from the program map table, -1 if no audio track has been found yet
+   */
+  public int getStreamType() {
+    return streamType;
+  }
+
+  /**
+   * @return Buffer containing the elementary stream data extracted by the last call to demux()
+   */
+  public byte[] getOutput() {
+    return output;
+  }
+
+  /**
+   * @return Number of bytes extracted by the last call to demux()
+   */
+  public int getOutputLength() {
+    return outputLength;
+  }
+
+  /**
+   * Extract the audio elementary stream from the packets. The result is available via getOutput() and
+   * getOutputLength() until the next call.
+   *
+   * @param data Buffer containing transport stream packets
+   * @param offset Offset of the first packet in the buffer
+   * @param length Length of the packets in the buffer
+   */
+  public void demux(byte[] data, int offset, int length) {
+    outputLength = 0;
+
+    int end = offset + length;
+    int position = offset;
+
+    while (position + PACKET_SIZE <= end) {
+      if ((data[position] & 0xFF) != SYNC_BYTE) {
+        position++;
+        continue;
+      }
+
+      processPacket(data, position);
+      position += PACKET_SIZE;
+    }
+  }
+
+  private void processPacket(byte[] data, int offset) {
+    boolean unitStart = (data[offset + 1] & 0x40) != 0;
+    int pid = ((data[offset + 1] & 0x1F) << 8) | (data[offset + 2] & 0xFF);
+    int adaptationControl = (data[offset + 3] >> 4) & 0x03;
+
+    if ((adaptationControl & 0x01) == 0) {
+      return;
+    }
+
+    int payloadOffset = offset + 4;
+
+    if ((adaptationControl & 0x02) != 0) {
+      payloadOffset += 1 + (data[offset + 4] & 0xFF);
+    }
+
+    int payloadEnd = offset + PACKET_SIZE;
+
+    if (payloadOffset >= payloadEnd) {
+      return;
+    }
+
+    if (pid == audioPid) {
+      processAudioPayload(data, payloadOffset, payloadEnd, unitStart);
+    } else if (pid == PAT_PID && unitStart) {
+      processProgramAssociationTable(data, payloadOffset + 1 + (data[payloadOffset] & 0xFF), payloadEnd);
+    } else if (pid == pmtPid && unitStart) {
+      processProgramMapTable(data, payloadOffset + 1 + (data[payloadOffset] & 0xFF), payloadEnd);
+    }
+  }
+
+  private void processProgramAssociationTable(byte[] data, int offset, int end) {
+    int sectionEnd = Math.min(end, offset + 3 + getSectionLength(data, offset)) - 4;
+
+    for (int position = offset + 8; position + 4 <= sectionEnd; position += 4) {
+      int programNumber = ((data[position] & 0xFF) << 8) | (data[position + 1] & 0xFF);
+
+      if (programNumber != 0) {
+        pmtPid = ((data[position + 2] & 0x1F) << 8) | (data[position + 3] & 0xFF);
+        return;
+      }
+    }
+  }
+
+  private void processProgramMapTable(byte[] data, int offset, int end) {
+    int sectionEnd = Math.min(end, offset + 3 + getSectionLength(data, offset)) - 4;
+    int programInfoLength = ((data[offset + 10] & 0x0F) << 8) | (data[offset + 11] & 0xFF);
+
+    for (int position = offset + 12 + programInfoLength; position + 5 <= sectionEnd; ) {
+      int type = data[position] & 0xFF;
+      int pid = ((data[position + 1] & 0x1F) << 8) | (data[position + 2] & 0xFF);
+      int infoLength = ((data[position + 3] & 0x0F) << 8) | (data[position + 4] & 0xFF);
+
+      if (type == STREAM_TYPE_AAC_ADTS || type == STREAM_TYPE_MPEG1_AUDIO || type == STREAM_TYPE_MPEG2_AUDIO) {
+        audioPid = pid;
+        streamType = type;
+        return;
+      }
+
+      position += 5 + infoLength;
+    }
+  }
+
+  private void processAudioPayload(byte[] data, int offset, int end, boolean unitStart) {
+    int position = offset;
+
+    if (unitStart) {
+      // PES header: start code (3), stream ID (1), packet length (2), flags (2), header data length (1)
+      if (end - offset < 9 || data[offset] != 0 || data[offset + 1] != 0 || data[offset + 2] != 1) {
+        return;
+      }
+
+      position = offset + 9 + (data[offset + 8] & 0xFF);
+    }
+
+    if (position < end) {
+      appendOutput(data, position, end - position);
+    }
+  }
+
+  private void appendOutput(byte[] data, int offset, int length) {
+    if (outputLength + length > output.length) {
+      output = Arrays.copyOf(output, Math.max(output.length * 2, outputLength + length));
+    }
+
+    System.arraycopy(data, offset, output, outputLength, length);
+    outputLength += length;
+  }
+
+  private static int getSectionLength(byte[] data, int offset) {
+    return ((data[offset + 1] & 0x0F) << 8) | (data[offset + 2] & 0xFF);
+  }
+}
@@ -4,7 +4,9 @@ import com.sedmelluq.discord.lavaplayer.container.mpeg.MpegAacTrackConsumer;
 import com.sedmelluq.discord.lavaplayer.filter.FilterChainBuilder;
 import com.sedmelluq.discord.lavaplayer.filter.ShortPcmAudioFilter;
 import com.sedmelluq.discord.lavaplayer.natives.aac.AacDecoder;
+import com.sedmelluq.discord.lavaplayer.tools.metrics.MetricHistogram;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+import com.sedmelluq.discord.lavaplayer.track.playback.TrackResourceAccounting;
 import org.ebml.matroska.MatroskaFileFrame;
 import org.ebml.matroska.MatroskaFileTrack;
 import org.slf4j.Logger;
@@ -24,6 +26,8 @@ public class MatroskaAacTrackConsumer implements MatroskaTrackConsumer {
   private final ByteBuffer inputBuffer;
   private final ShortBuffer outputBuffer;
   private final ShortPcmAudioFilter downstream;
+  private final MetricHistogram decodeTime;
+  private final TrackResourceAccounting accounting;
 
   private AacDecoder decoder;
 
@@ -34,6 +38,9 @@ public class MatroskaAacTrackConsumer implements MatroskaTrackConsumer {
   public MatroskaAacTrackConsumer(AudioProcessingContext context, MatroskaFileTrack track) {
     this.track = track;
     this.decoder = new AacDecoder();
+    this.decodeTime = context.metrics.aacDecodeTime;
+    this.accounting = context.accounting;
+    this.accounting.acquireNatives(1);
     this.inputBuffer = ByteBuffer.allocateDirect(4096);
     this.outputBuffer = ByteBuffer.allocateDirect(2048 * track.getAudio().getChannels()).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer();
     this.downstream = FilterChainBuilder.forShortPcm(context, track.getAudio().getChannels(),
@@ -71,7 +78,7 @@ public class MatroskaAacTrackConsumer implements MatroskaTrackConsumer {
 
   @Override
   public void flush() throws InterruptedException {
-    while (decoder.decode(outputBuffer, true)) {
+    while (decode(true)) {
       downstream.process(outputBuffer);
       outputBuffer.clear();
     }
@@ -91,7 +98,7 @@ public class MatroskaAacTrackConsumer implements MatroskaTrackConsumer {
       inputBuffer.flip();
       decoder.fill(inputBuffer);
 
-      while (decoder.decode(outputBuffer, false)) {
+      while (decode(false)) {
         downstream.process(outputBuffer);
         outputBuffer.clear();
       }
@@ -100,9 +107,17 @@ public class MatroskaAacTrackConsumer implements MatroskaTrackConsumer {
     }
   }
 
+  private boolean decode(boolean flush) {
+    long startTime = System.nanoTime();
+    boolean produced = decoder.decode(outputBuffer, flush);
+    accounting.addDecodeTime(decodeTime.recordNanosSince(startTime));
+    return produced;
+  }
+
   @Override
   public void close() {
     downstream.close();
     decoder.close();
+    accounting.releaseNatives(1);
   }
 }
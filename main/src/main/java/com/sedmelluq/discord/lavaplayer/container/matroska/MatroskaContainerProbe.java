@@ -1,6 +1,7 @@
 package com.sedmelluq.discord.lavaplayer.container.matroska;
 
 import com.sedmelluq.discord.lavaplayer.container.MediaContainerDetectionResult;
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerHints;
 import com.sedmelluq.discord.lavaplayer.container.MediaContainerProbe;
 import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.AudioReference;
@@ -16,6 +17,7 @@ import java.util.List;
 
 import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.UNKNOWN_ARTIST;
 import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.UNKNOWN_TITLE;
+import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.checkHints;
 import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.checkNextBytes;
 
 /**
@@ -28,7 +30,9 @@ public class MatroskaContainerProbe implements MediaContainerProbe {
   static final String VORBIS_CODEC = "A_VORBIS";
   static final String AAC_CODEC = "A_AAC";
 
-  private static final int[] EBML_TAG = new int[] { 0x1A, 0x45, 0xDF, 0xA3 };
+  public static final int[] EBML_TAG = new int[] { 0x1A, 0x45, 0xDF, 0xA3 };
+  private static final String[] MIME_TYPES = new String[] { "audio/webm", "video/webm", "audio/x-matroska", "video/x-matroska" };
+  private static final String[] FILE_EXTENSIONS = new String[] { "webm", "mkv", "mka" };
   private static final List<String> supportedCodecs = Arrays.asList(OPUS_CODEC, VORBIS_CODEC, AAC_CODEC);
 
   @Override
@@ -36,6 +40,11 @@ public class MatroskaContainerProbe implements MediaContainerProbe {
     return "matroska/webm";
   }
 
+  @Override
+  public boolean matchesHints(MediaContainerHints hints) {
+    return checkHints(hints, MIME_TYPES, FILE_EXTENSIONS);
+  }
+
   @Override
   public MediaContainerDetectionResult probe(AudioReference reference, SeekableInputStream inputStream) throws IOException {
     if (!checkNextBytes(inputStream, EBML_TAG)) {
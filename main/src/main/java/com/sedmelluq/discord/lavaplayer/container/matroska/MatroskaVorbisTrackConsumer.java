@@ -3,7 +3,9 @@ package com.sedmelluq.discord.lavaplayer.container.matroska;
 import com.sedmelluq.discord.lavaplayer.filter.FilterChainBuilder;
 import com.sedmelluq.discord.lavaplayer.filter.FloatPcmAudioFilter;
 import com.sedmelluq.discord.lavaplayer.natives.vorbis.VorbisDecoder;
+import com.sedmelluq.discord.lavaplayer.tools.metrics.MetricHistogram;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+import com.sedmelluq.discord.lavaplayer.track.playback.TrackResourceAccounting;
 import org.ebml.matroska.MatroskaFileFrame;
 import org.ebml.matroska.MatroskaFileTrack;
 
@@ -20,6 +22,8 @@ public class MatroskaVorbisTrackConsumer implements MatroskaTrackConsumer {
   private final VorbisDecoder decoder;
   private final byte[] copyBuffer;
   private final FloatPcmAudioFilter downstream;
+  private final MetricHistogram decodeTime;
+  private final TrackResourceAccounting accounting;
   private ByteBuffer inputBuffer;
   private float[][] channelPcmBuffers;
 
@@ -31,6 +35,9 @@ public class MatroskaVorbisTrackConsumer implements MatroskaTrackConsumer {
 
     this.track = track;
     this.decoder = new VorbisDecoder();
+    this.decodeTime = context.metrics.vorbisDecodeTime;
+    this.accounting = context.accounting;
+    this.accounting.acquireNatives(1);
     this.copyBuffer = new byte[COPY_BUFFER_SIZE];
 
     MatroskaFileTrack.MatroskaAudioTrack audioTrack = track.getAudio();
@@ -122,16 +129,20 @@ public class MatroskaVorbisTrackConsumer implements MatroskaTrackConsumer {
   @Override
   public void consume(MatroskaFileFrame frame) throws InterruptedException {
     ByteBuffer directBuffer = getAsDirectBuffer(frame.getData());
-    decoder.input(directBuffer);
 
+    long startTime = System.nanoTime();
+    decoder.input(directBuffer);
     int output;
 
     do {
       output = decoder.output(channelPcmBuffers);
+      accounting.addDecodeTime(decodeTime.recordNanosSince(startTime));
 
       if (output > 0) {
         downstream.process(channelPcmBuffers, 0, output);
       }
+
+      startTime = System.nanoTime();
     } while (output == PCM_BUFFER_SIZE);
   }
 
@@ -139,5 +150,6 @@ public class MatroskaVorbisTrackConsumer implements MatroskaTrackConsumer {
   public void close() {
     downstream.close();
     decoder.close();
+    accounting.releaseNatives(1);
   }
 }
@@ -1,6 +1,7 @@
 package com.sedmelluq.discord.lavaplayer.container.mp3;
 
 import com.sedmelluq.discord.lavaplayer.container.MediaContainerDetectionResult;
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerHints;
 import com.sedmelluq.discord.lavaplayer.container.MediaContainerProbe;
 import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.AudioReference;
@@ -14,6 +15,7 @@ import java.io.IOException;
 import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.STREAM_SCAN_DISTANCE;
 import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.UNKNOWN_ARTIST;
 import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.UNKNOWN_TITLE;
+import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.checkHints;
 import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.checkNextBytes;
 import static com.sedmelluq.discord.lavaplayer.tools.DataFormatTools.defaultOnNull;
 
@@ -23,15 +25,22 @@ import static com.sedmelluq.discord.lavaplayer.tools.DataFormatTools.defaultOnNu
 public class Mp3ContainerProbe implements MediaContainerProbe {
   private static final Logger log = LoggerFactory.getLogger(Mp3ContainerProbe.class);
 
-  private static final int[] ID3_TAG = new int[] { 0x49, 0x44, 0x33 };
+  public static final int[] ID3_TAG = new int[] { 0x49, 0x44, 0x33 };
   private static final String TITLE_TAG = "TIT2";
   private static final String ARTIST_TAG = "TPE1";
+  private static final String[] MIME_TYPES = new String[] { "audio/mpeg", "audio/mp3", "audio/mpeg3", "audio/x-mpeg" };
+  private static final String[] FILE_EXTENSIONS = new String[] { "mp3" };
 
   @Override
   public String getName() {
     return "mp3";
   }
 
+  @Override
+  public boolean matchesHints(MediaContainerHints hints) {
+    return checkHints(hints, MIME_TYPES, FILE_EXTENSIONS);
+  }
+
   @Override
   public MediaContainerDetectionResult probe(AudioReference reference, SeekableInputStream inputStream) throws IOException {
     if (!checkNextBytes(inputStream, ID3_TAG)) {
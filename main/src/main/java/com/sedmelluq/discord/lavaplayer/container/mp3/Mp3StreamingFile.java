@@ -58,6 +58,10 @@ public class Mp3StreamingFile {
     this.frameReader = new Mp3FrameReader(inputStream, frameBuffer);
     this.mp3Decoder = new Mp3Decoder();
     this.tags = new HashMap<>();
+
+    if (context != null) {
+      context.accounting.acquireNatives(1);
+    }
   }
 
   /**
@@ -107,7 +111,9 @@ public class Mp3StreamingFile {
         inputBuffer.put(frameBuffer, 0, frameReader.getFrameSize());
         inputBuffer.flip();
 
+        long startTime = System.nanoTime();
         int produced = mp3Decoder.decode(inputBuffer, outputBuffer);
+        context.accounting.addDecodeTime(context.metrics.mp3DecodeTime.recordNanosSince(startTime));
 
         if (produced > 0) {
           downstream.process(outputBuffer);
@@ -169,6 +175,10 @@ public class Mp3StreamingFile {
     }
 
     mp3Decoder.close();
+
+    if (context != null) {
+      context.accounting.releaseNatives(1);
+    }
   }
 
   private void skipIdv3Tags() throws IOException {
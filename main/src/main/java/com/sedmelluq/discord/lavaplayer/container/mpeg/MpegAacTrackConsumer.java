@@ -3,7 +3,9 @@ package com.sedmelluq.discord.lavaplayer.container.mpeg;
 import com.sedmelluq.discord.lavaplayer.filter.FilterChainBuilder;
 import com.sedmelluq.discord.lavaplayer.natives.aac.AacDecoder;
 import com.sedmelluq.discord.lavaplayer.filter.ShortPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.tools.metrics.MetricHistogram;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+import com.sedmelluq.discord.lavaplayer.track.playback.TrackResourceAccounting;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,6 +28,8 @@ public class MpegAacTrackConsumer implements MpegTrackConsumer {
   private final ByteBuffer inputBuffer;
   private final ShortBuffer outputBuffer;
   private final ShortPcmAudioFilter downstream;
+  private final MetricHistogram decodeTime;
+  private final TrackResourceAccounting accounting;
 
   private AacDecoder decoder;
 
@@ -36,6 +40,9 @@ public class MpegAacTrackConsumer implements MpegTrackConsumer {
   public MpegAacTrackConsumer(AudioProcessingContext context, MpegTrackInfo track) {
     this.track = track;
     this.decoder = new AacDecoder();
+    this.decodeTime = context.metrics.aacDecodeTime;
+    this.accounting = context.accounting;
+    this.accounting.acquireNatives(1);
     this.inputBuffer = ByteBuffer.allocateDirect(4096);
     this.outputBuffer = ByteBuffer.allocateDirect(2048 * track.channelCount).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer();
     this.downstream = FilterChainBuilder.forShortPcm(context, track.channelCount, track.sampleRate, true);
@@ -64,7 +71,7 @@ public class MpegAacTrackConsumer implements MpegTrackConsumer {
 
   @Override
   public void flush() throws InterruptedException {
-    while (decoder.decode(outputBuffer, true)) {
+    while (decode(true)) {
       downstream.process(outputBuffer);
       outputBuffer.clear();
     }
@@ -94,7 +101,7 @@ public class MpegAacTrackConsumer implements MpegTrackConsumer {
       inputBuffer.flip();
       decoder.fill(inputBuffer);
 
-      while (decoder.decode(outputBuffer, false)) {
+      while (decode(false)) {
         downstream.process(outputBuffer);
         outputBuffer.clear();
       }
@@ -103,9 +110,17 @@ public class MpegAacTrackConsumer implements MpegTrackConsumer {
     }
   }
 
+  private boolean decode(boolean flush) {
+    long startTime = System.nanoTime();
+    boolean produced = decoder.decode(outputBuffer, flush);
+    accounting.addDecodeTime(decodeTime.recordNanosSince(startTime));
+    return produced;
+  }
+
   @Override
   public void close() {
     downstream.close();
     decoder.close();
+    accounting.releaseNatives(1);
   }
 }
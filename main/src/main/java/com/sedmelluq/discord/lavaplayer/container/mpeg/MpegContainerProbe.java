@@ -1,6 +1,7 @@
 package com.sedmelluq.discord.lavaplayer.container.mpeg;
 
 import com.sedmelluq.discord.lavaplayer.container.MediaContainerDetectionResult;
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerHints;
 import com.sedmelluq.discord.lavaplayer.container.MediaContainerProbe;
 import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.AudioReference;
@@ -13,6 +14,7 @@ import java.io.IOException;
 
 import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.UNKNOWN_ARTIST;
 import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.UNKNOWN_TITLE;
+import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.checkHints;
 import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.checkNextBytes;
 
 /**
@@ -21,13 +23,21 @@ import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection
 public class MpegContainerProbe implements MediaContainerProbe {
   private static final Logger log = LoggerFactory.getLogger(MpegContainerProbe.class);
 
-  private static final int[] ISO_TAG = new int[] { 0x00, 0x00, 0x00, -1, 0x66, 0x74, 0x79, 0x70 };
+  public static final int[] ISO_TAG = new int[] { 0x00, 0x00, 0x00, -1, 0x66, 0x74, 0x79, 0x70 };
+
+  private static final String[] MIME_TYPES = new String[] { "audio/mp4", "video/mp4", "audio/x-m4a", "audio/m4a" };
+  private static final String[] FILE_EXTENSIONS = new String[] { "mp4", "m4a", "m4v" };
 
   @Override
   public String getName() {
     return "mp4";
   }
 
+  @Override
+  public boolean matchesHints(MediaContainerHints hints) {
+    return checkHints(hints, MIME_TYPES, FILE_EXTENSIONS);
+  }
+
   @Override
   public MediaContainerDetectionResult probe(AudioReference reference, SeekableInputStream inputStream) throws IOException {
     if (!checkNextBytes(inputStream, ISO_TAG)) {
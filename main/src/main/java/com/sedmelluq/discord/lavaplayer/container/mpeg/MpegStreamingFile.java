@@ -64,9 +64,20 @@ public class MpegStreamingFile {
 
     try (ReadableByteChannel channel = new DetachedByteChannel(Channels.newChannel(reader.seek))) {
       while ((moof = reader.nextChild(root)) != null) {
+        if (!"moof".equals(moof.type)) {
+          // Segments of fragmented streams may contain other top level sections, such as styp and sidx
+          reader.skip(moof);
+          continue;
+        }
+
         MpegTrackFragmentHeader fragment = parseTrackMovieFragment(moof, consumer.getTrack().trackId);
         MpegSectionInfo mdat = reader.nextChild(root);
 
+        if (fragment == null) {
+          reader.skip(mdat);
+          continue;
+        }
+
         long timecode = fragment.baseTimecode;
         reader.seek.seek(moof.offset + fragment.dataOffset);
 
@@ -1,6 +1,7 @@
 package com.sedmelluq.discord.lavaplayer.container.ogg;
 
 import com.sedmelluq.discord.lavaplayer.container.MediaContainerDetectionResult;
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerHints;
 import com.sedmelluq.discord.lavaplayer.container.MediaContainerProbe;
 import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.AudioReference;
@@ -13,6 +14,7 @@ import java.io.IOException;
 
 import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.UNKNOWN_ARTIST;
 import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.UNKNOWN_TITLE;
+import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.checkHints;
 import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.checkNextBytes;
 import static com.sedmelluq.discord.lavaplayer.container.ogg.OggPacketInputStream.OGG_PAGE_HEADER;
 
@@ -22,11 +24,19 @@ import static com.sedmelluq.discord.lavaplayer.container.ogg.OggPacketInputStrea
 public class OggContainerProbe implements MediaContainerProbe {
   private static final Logger log = LoggerFactory.getLogger(OggContainerProbe.class);
 
+  private static final String[] MIME_TYPES = new String[] { "audio/ogg", "application/ogg", "video/ogg", "audio/opus" };
+  private static final String[] FILE_EXTENSIONS = new String[] { "ogg", "oga", "opus" };
+
   @Override
   public String getName() {
     return "ogg";
   }
 
+  @Override
+  public boolean matchesHints(MediaContainerHints hints) {
+    return checkHints(hints, MIME_TYPES, FILE_EXTENSIONS);
+  }
+
   @Override
   public MediaContainerDetectionResult probe(AudioReference reference, SeekableInputStream stream) throws IOException {
     if (!checkNextBytes(stream, OGG_PAGE_HEADER)) {
@@ -16,7 +16,7 @@ import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection
  * with startNewTrack() when the previous one has ended (startNewPacket() has returned false).
  */
 public class OggPacketInputStream extends InputStream {
-  static final int[] OGG_PAGE_HEADER = new int[] { 0x4F, 0x67, 0x67, 0x53 };
+  public static final int[] OGG_PAGE_HEADER = new int[] { 0x4F, 0x67, 0x67, 0x53 };
 
   private final SeekableInputStream inputStream;
   private final DataInput dataInput;
@@ -55,6 +55,14 @@ public class OggPacketInputStream extends InputStream {
     return true;
   }
 
+  /**
+   * @return True if the end of the underlying stream has been reached. This only becomes known after trying to read the
+   *         first page of the next track.
+   */
+  public boolean isTerminated() {
+    return state == State.TERMINATED;
+  }
+
   /**
    * Load the next packet from the stream. This is only valid when the stream is in a packet boundary state.
    * @return True if next packet is present in the track. State is PACKET_READ.
@@ -145,6 +153,8 @@ public class OggPacketInputStream extends InputStream {
       if (packetContinues) {
         throw new IllegalStateException("Stream ended in the middle of a packet.");
       }
+
+      state = State.TERMINATED;
       return false;
     }
 
@@ -23,6 +23,11 @@ public class OggTrackLoader {
     if (!packetInputStream.startNewTrack()) {
       return null;
     } else if (!packetInputStream.startNewPacket()) {
+      if (packetInputStream.isTerminated()) {
+        // The stream ended cleanly after the previous track
+        return null;
+      }
+
       throw new IOException("Stream terminated before the first packet.");
     }
 
@@ -4,7 +4,9 @@ import com.sedmelluq.discord.lavaplayer.filter.FilterChainBuilder;
 import com.sedmelluq.discord.lavaplayer.filter.FloatPcmAudioFilter;
 import com.sedmelluq.discord.lavaplayer.natives.vorbis.VorbisDecoder;
 import com.sedmelluq.discord.lavaplayer.tools.io.DirectBufferStreamBroker;
+import com.sedmelluq.discord.lavaplayer.tools.metrics.MetricHistogram;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+import com.sedmelluq.discord.lavaplayer.track.playback.TrackResourceAccounting;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -21,6 +23,8 @@ public class OggVorbisTrackStream implements OggTrackStream {
   private final int sampleRate;
   private float[][] channelPcmBuffers;
   private FloatPcmAudioFilter downstream;
+  private MetricHistogram decodeTime;
+  private TrackResourceAccounting accounting;
 
   /**
    * @param packetInputStream OGG packet input stream
@@ -51,6 +55,9 @@ public class OggVorbisTrackStream implements OggTrackStream {
     broker.resetAndCompact();
 
     downstream = FilterChainBuilder.forFloatPcm(context, decoder.getChannelCount(), sampleRate);
+    decodeTime = context.metrics.vorbisDecodeTime;
+    accounting = context.accounting;
+    accounting.acquireNatives(1);
   }
 
   private void passHeader(int index) throws IOException {
@@ -79,15 +86,19 @@ public class OggVorbisTrackStream implements OggTrackStream {
   }
 
   private void provideFromBuffer(ByteBuffer buffer) throws InterruptedException {
+    long startTime = System.nanoTime();
     decoder.input(buffer);
     int output;
 
     do {
       output = decoder.output(channelPcmBuffers);
+      accounting.addDecodeTime(decodeTime.recordNanosSince(startTime));
 
       if (output > 0) {
         downstream.process(channelPcmBuffers, 0, output);
       }
+
+      startTime = System.nanoTime();
     } while (output == PCM_BUFFER_SIZE);
   }
 
@@ -103,5 +114,9 @@ public class OggVorbisTrackStream implements OggTrackStream {
     }
 
     decoder.close();
+
+    if (accounting != null) {
+      accounting.releaseNatives(1);
+    }
   }
 }
@@ -1,37 +1,57 @@
 package com.sedmelluq.discord.lavaplayer.container.playlists;
 
 import com.sedmelluq.discord.lavaplayer.container.MediaContainerDetectionResult;
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerHints;
 import com.sedmelluq.discord.lavaplayer.container.MediaContainerProbe;
+import com.sedmelluq.discord.lavaplayer.container.hls.HlsMediaPlaylist;
+import com.sedmelluq.discord.lavaplayer.container.hls.HlsPlaylistParser;
+import com.sedmelluq.discord.lavaplayer.container.hls.HlsSegmentFetcher;
+import com.sedmelluq.discord.lavaplayer.container.hls.HlsStreamAudioTrack;
+import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.tools.io.HttpClientTools;
 import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.AudioReference;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
 import org.apache.commons.io.IOUtils;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
-import java.util.regex.Pattern;
 
+import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.UNKNOWN_ARTIST;
+import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.UNKNOWN_TITLE;
+import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.checkHints;
 import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.checkNextBytes;
 
 /**
- * Probe for M3U playlist.
+ * Probe for M3U playlist. HLS playlists from HTTP addresses are played as HLS streams, for other playlists the first
+ * HTTP link is loaded instead.
  */
 public class M3uPlaylistContainerProbe implements MediaContainerProbe {
   private static final Logger log = LoggerFactory.getLogger(M3uPlaylistContainerProbe.class);
 
-  private static final int[] M3U_HEADER_TAG = new int[] { '#', 'E', 'X', 'T', 'M', '3', 'U' };
-  private static final int[] M3U_ENTRY_TAG = new int[] { '#', 'E', 'X', 'T', 'I', 'N', 'F' };
+  public static final int[] M3U_HEADER_TAG = new int[] { '#', 'E', 'X', 'T', 'M', '3', 'U' };
+  public static final int[] M3U_ENTRY_TAG = new int[] { '#', 'E', 'X', 'T', 'I', 'N', 'F' };
 
-  private static final Pattern lineSplitPattern = Pattern.compile("[\\r\\n\\s]*\\n[\\r\\n\\s]*");
+  private static final String[] MIME_TYPES = new String[] {
+      "audio/mpegurl", "audio/x-mpegurl", "application/x-mpegurl", "application/vnd.apple.mpegurl" };
+  private static final String[] FILE_EXTENSIONS = new String[] { "m3u", "m3u8" };
 
   @Override
   public String getName() {
     return "m3u";
   }
 
+  @Override
+  public boolean matchesHints(MediaContainerHints hints) {
+    return checkHints(hints, MIME_TYPES, FILE_EXTENSIONS);
+  }
+
   @Override
   public MediaContainerDetectionResult probe(AudioReference reference, SeekableInputStream inputStream) throws IOException {
     if (!checkNextBytes(inputStream, M3U_HEADER_TAG) && !checkNextBytes(inputStream, M3U_ENTRY_TAG)) {
@@ -41,7 +61,67 @@ public class M3uPlaylistContainerProbe implements MediaContainerProbe {
     log.debug("Track {} is an M3U playlist file.", reference.identifier);
 
     String text = IOUtils.toString(inputStream, StandardCharsets.UTF_8);
-    return loadFromLines(lineSplitPattern.split(text));
+    String[] lines = HlsPlaylistParser.splitLines(text);
+
+    if (HlsPlaylistParser.isHlsPlaylist(lines) && isHttpAddress(reference.identifier)) {
+      return loadHlsStream(reference, lines);
+    }
+
+    return loadFromLines(lines);
+  }
+
+  private MediaContainerDetectionResult loadHlsStream(AudioReference reference, String[] lines) {
+    log.debug("Track {} is an HLS playlist.", reference.identifier);
+
+    String title = reference.title != null ? reference.title : UNKNOWN_TITLE;
+
+    try {
+      URI playlistUri = new URI(reference.identifier);
+      URI mediaUri = playlistUri;
+
+      if (HlsPlaylistParser.isMasterPlaylist(lines)) {
+        // Whether it is live is only known from the media playlist that playback would select
+        mediaUri = HlsPlaylistParser.selectAudioPlaylist(playlistUri, lines);
+
+        if (mediaUri == null) {
+          return new MediaContainerDetectionResult(this, "The HLS playlist contains no streams.");
+        }
+
+        lines = fetchMediaPlaylistLines(mediaUri);
+
+        if (lines == null) {
+          return new MediaContainerDetectionResult(this,
+              new AudioTrackInfo(title, UNKNOWN_ARTIST, Long.MAX_VALUE, reference.identifier, true));
+        }
+      }
+
+      HlsMediaPlaylist playlist = new HlsMediaPlaylist(mediaUri);
+      playlist.update(lines);
+
+      boolean isStream = !playlist.isEnded();
+      long duration = isStream ? Long.MAX_VALUE : playlist.getTotalDuration();
+
+      return new MediaContainerDetectionResult(this,
+          new AudioTrackInfo(title, UNKNOWN_ARTIST, duration, reference.identifier, isStream));
+    } catch (URISyntaxException e) {
+      return new MediaContainerDetectionResult(this, "The address of the playlist is not valid.");
+    } catch (FriendlyException e) {
+      return new MediaContainerDetectionResult(this, e.getMessage());
+    }
+  }
+
+  private static String[] fetchMediaPlaylistLines(URI mediaUri) {
+    try (CloseableHttpClient httpClient = HttpClientTools.createSharedCookiesHttpBuilder().build()) {
+      return HlsSegmentFetcher.fetchPlaylistLines(httpClient, mediaUri);
+    } catch (IOException e) {
+      // Playback loads the playlist again, so the track is only reported as a stream rather than failed
+      log.debug("Failed to load media playlist {}, assuming the track is a stream.", mediaUri, e);
+      return null;
+    }
+  }
+
+  private static boolean isHttpAddress(String identifier) {
+    return identifier.startsWith("http://") || identifier.startsWith("https://");
   }
 
   private MediaContainerDetectionResult loadFromLines(String[] lines) {
@@ -69,6 +149,7 @@ public class M3uPlaylistContainerProbe implements MediaContainerProbe {
 
   @Override
   public AudioTrack createTrack(AudioTrackInfo trackInfo, SeekableInputStream inputStream) {
-    throw new UnsupportedOperationException();
+    // The stream fetches the playlist and its segments itself, the input stream is not used
+    return new HlsStreamAudioTrack(trackInfo);
   }
 }
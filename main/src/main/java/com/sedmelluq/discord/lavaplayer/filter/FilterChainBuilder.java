@@ -20,7 +20,7 @@ public class FilterChainBuilder {
     int outChannels = OpusEncodingPcmAudioFilter.CHANNEL_COUNT;
 
     if (frequency != OpusEncodingPcmAudioFilter.FREQUENCY) {
-      filter = new ShortToFloatPcmAudioFilter(outChannels, new ResamplingPcmAudioFilter(context.configuration, outChannels,
+      filter = new ShortToFloatPcmAudioFilter(outChannels, new ResamplingPcmAudioFilter(context, outChannels,
           opusEncoder, frequency, OpusEncodingPcmAudioFilter.FREQUENCY));
     } else {
       filter = opusEncoder;
@@ -45,7 +45,7 @@ public class FilterChainBuilder {
     int outChannels = OpusEncodingPcmAudioFilter.CHANNEL_COUNT;
 
     if (frequency != OpusEncodingPcmAudioFilter.FREQUENCY) {
-      filter = new ShortToFloatPcmAudioFilter(outChannels, new ResamplingPcmAudioFilter(context.configuration, outChannels,
+      filter = new ShortToFloatPcmAudioFilter(outChannels, new ResamplingPcmAudioFilter(context, outChannels,
           opusEncoder, frequency, OpusEncodingPcmAudioFilter.FREQUENCY));
     } else {
       filter = opusEncoder;
@@ -64,7 +64,7 @@ public class FilterChainBuilder {
     FloatPcmAudioFilter filter = new OpusEncodingPcmAudioFilter(context);
 
     if (frequency != OpusEncodingPcmAudioFilter.FREQUENCY) {
-      filter = new ResamplingPcmAudioFilter(context.configuration, channels, filter, frequency, OpusEncodingPcmAudioFilter.FREQUENCY);
+      filter = new ResamplingPcmAudioFilter(context, channels, filter, frequency, OpusEncodingPcmAudioFilter.FREQUENCY);
     }
 
     return filter;
@@ -46,6 +46,7 @@ public class OpusEncodingPcmAudioFilter implements FloatPcmAudioFilter, ShortPcm
     this.volumeProcessor = new PcmVolumeProcessor(context.volumeLevel.get());
 
     opusEncoder = new OpusEncoder(FREQUENCY, CHANNEL_COUNT, context.configuration.getOpusEncodingQuality());
+    context.accounting.acquireNatives(1);
     nextTimecode = 0;
   }
 
@@ -75,6 +76,7 @@ public class OpusEncodingPcmAudioFilter implements FloatPcmAudioFilter, ShortPcm
   @Override
   public void close() {
     opusEncoder.close();
+    context.accounting.releaseNatives(1);
   }
 
   private void fillFrameBuffer() {
@@ -157,10 +159,11 @@ public class OpusEncodingPcmAudioFilter implements FloatPcmAudioFilter, ShortPcm
       int currentVolume = context.volumeLevel.get();
 
       if (currentVolume != volumeProcessor.getLastVolume()) {
-        AudioFrameVolumeChanger.apply(context.configuration, context.frameConsumer, currentVolume);
+        AudioFrameVolumeChanger.apply(context, currentVolume);
       }
 
       frameBuffer.clear();
+      long startTime = System.nanoTime();
 
       // Volume 0 is stored in the frame with volume 100 buffer
       if (currentVolume != 0) {
@@ -176,6 +179,8 @@ public class OpusEncodingPcmAudioFilter implements FloatPcmAudioFilter, ShortPcm
       byte[] encodedBytes = new byte[encodedLength];
       encoded.get(encodedBytes);
 
+      context.accounting.addEncodeTime(context.metrics.encodeTime.recordNanosSince(startTime));
+
       context.frameConsumer.consume(new AudioFrame(nextTimecode, encodedBytes, currentVolume));
       frameBuffer.clear();
 
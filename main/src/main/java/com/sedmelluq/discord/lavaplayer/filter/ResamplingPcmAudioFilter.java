@@ -2,6 +2,10 @@ package com.sedmelluq.discord.lavaplayer.filter;
 
 import com.sedmelluq.discord.lavaplayer.natives.samplerate.SampleRateConverter;
 import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.tools.metrics.AudioPipelineMetrics;
+import com.sedmelluq.discord.lavaplayer.tools.metrics.MetricHistogram;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+import com.sedmelluq.discord.lavaplayer.track.playback.TrackResourceAccounting;
 
 /**
  * Filter which resamples audio to the specified sample rate
@@ -10,6 +14,8 @@ public class ResamplingPcmAudioFilter implements FloatPcmAudioFilter {
   private static final int BUFFER_SIZE = 4096;
 
   private final FloatPcmAudioFilter downstream;
+  private final MetricHistogram resampleTime;
+  private final TrackResourceAccounting accounting;
   private final SampleRateConverter[] converters;
   private final SampleRateConverter.Progress progress = new SampleRateConverter.Progress();
   private final float[][] outputSegments;
@@ -22,7 +28,29 @@ public class ResamplingPcmAudioFilter implements FloatPcmAudioFilter {
    * @param targetRate Target sample rate
    */
   public ResamplingPcmAudioFilter(AudioConfiguration configuration, int channels, FloatPcmAudioFilter downstream, int sourceRate, int targetRate) {
+    this(configuration, AudioPipelineMetrics.DETACHED.resampleTime, new TrackResourceAccounting(), channels, downstream,
+        sourceRate, targetRate);
+  }
+
+  /**
+   * @param context Configuration and metrics for processing
+   * @param channels Number of channels in input data
+   * @param downstream Next filter in chain
+   * @param sourceRate Source sample rate
+   * @param targetRate Target sample rate
+   */
+  public ResamplingPcmAudioFilter(AudioProcessingContext context, int channels, FloatPcmAudioFilter downstream, int sourceRate, int targetRate) {
+    this(context.configuration, context.metrics.resampleTime, context.accounting, channels, downstream, sourceRate,
+        targetRate);
+  }
+
+  private ResamplingPcmAudioFilter(AudioConfiguration configuration, MetricHistogram resampleTime,
+                                   TrackResourceAccounting accounting, int channels, FloatPcmAudioFilter downstream,
+                                   int sourceRate, int targetRate) {
+
     this.downstream = downstream;
+    this.resampleTime = resampleTime;
+    this.accounting = accounting;
     converters = new SampleRateConverter[channels];
     outputSegments = new float[channels][];
 
@@ -32,6 +60,8 @@ public class ResamplingPcmAudioFilter implements FloatPcmAudioFilter {
       outputSegments[i] = new float[BUFFER_SIZE];
       converters[i] = new SampleRateConverter(type, 1, sourceRate, targetRate);
     }
+
+    accounting.acquireNatives(channels);
   }
 
   @Override
@@ -54,16 +84,21 @@ public class ResamplingPcmAudioFilter implements FloatPcmAudioFilter {
       converter.close();
     }
 
+    accounting.releaseNatives(converters.length);
     downstream.close();
   }
 
   @Override
   public void process(float[][] input, int offset, int length) throws InterruptedException {
     do {
+      long startTime = System.nanoTime();
+
       for (int i = 0; i < input.length; i++) {
         converters[i].process(input[i], offset, length, outputSegments[i], 0, BUFFER_SIZE, false, progress);
       }
 
+      accounting.addResampleTime(resampleTime.recordNanosSince(startTime));
+
       offset += progress.getInputUsed();
       length -= progress.getInputUsed();
 
@@ -0,0 +1,114 @@
+package com.sedmelluq.discord.lavaplayer.filter.volume;
+
+import com.sedmelluq.discord.lavaplayer.natives.opus.OpusDecoder;
+import com.sedmelluq.discord.lavaplayer.natives.opus.OpusEncoder;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameRebuilder;
+import com.sedmelluq.discord.lavaplayer.track.playback.TrackResourceAccounting;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.sedmelluq.discord.lavaplayer.filter.OpusEncodingPcmAudioFilter.CHANNEL_COUNT;
+import static com.sedmelluq.discord.lavaplayer.filter.OpusEncodingPcmAudioFilter.FRAME_SIZE;
+import static com.sedmelluq.discord.lavaplayer.filter.OpusEncodingPcmAudioFilter.FREQUENCY;
+
+/**
+ * A frame rebuilder which lazily applies the current volume level to frames as they are provided. Unlike
+ * {@link AudioFrameVolumeChanger}, which rebuilds the whole buffer on the thread producing the frames, this only
+ * reencodes the frames which are actually played with a different volume than they were created with, so it can be
+ * used on the thread consuming the frames. The encoder and decoder are created on the first frame that needs them and
+ * must be released with {@link #close()}.
+ */
+public class AudioFrameVolumeAdjuster implements AudioFrameRebuilder {
+  private final AudioConfiguration configuration;
+  private final AtomicInteger volumeLevel;
+  private final TrackResourceAccounting accounting;
+  private final PcmVolumeProcessor volumeProcessor;
+  private ByteBuffer encodedBuffer;
+  private ShortBuffer sampleBuffer;
+  private OpusEncoder encoder;
+  private OpusDecoder decoder;
+  private boolean closed;
+
+  /**
+   * @param configuration Audio configuration to use for encoding
+   * @param volumeLevel Mutable volume level to apply to the frames
+   * @param accounting Resource accounting of the track to record the reencoding into
+   */
+  public AudioFrameVolumeAdjuster(AudioConfiguration configuration, AtomicInteger volumeLevel,
+                                  TrackResourceAccounting accounting) {
+
+    this.configuration = configuration;
+    this.volumeLevel = volumeLevel;
+    this.accounting = accounting;
+    this.volumeProcessor = new PcmVolumeProcessor(100);
+  }
+
+  @Override
+  public synchronized AudioFrame rebuild(AudioFrame frame) {
+    int targetVolume = volumeLevel.get();
+
+    if (frame.volume == targetVolume || closed) {
+      return frame;
+    } else if (targetVolume == 0) {
+      // Frames with volume 0 are replaced with silence when provided, the data is only used if the volume is raised
+      return frame.volume == 100 ? new AudioFrame(frame.timecode, frame.data, 0) : reencode(frame, 100, 0);
+    } else {
+      return reencode(frame, targetVolume, targetVolume);
+    }
+  }
+
+  /**
+   * Release the encoder and decoder. Frames are returned unchanged after this.
+   */
+  public synchronized void close() {
+    closed = true;
+
+    if (encoder != null) {
+      encoder.close();
+      encoder = null;
+    }
+
+    if (decoder != null) {
+      decoder.close();
+      decoder = null;
+      accounting.releaseNatives(2);
+    }
+  }
+
+  private AudioFrame reencode(AudioFrame frame, int encodedVolume, int frameVolume) {
+    if (encoder == null) {
+      encodedBuffer = ByteBuffer.allocateDirect(4096);
+      sampleBuffer = ByteBuffer.allocateDirect(FRAME_SIZE * CHANNEL_COUNT * 2).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer();
+      encoder = new OpusEncoder(FREQUENCY, CHANNEL_COUNT, configuration.getOpusEncodingQuality());
+      decoder = new OpusDecoder(FREQUENCY, CHANNEL_COUNT);
+      accounting.acquireNatives(2);
+    }
+
+    long startTime = System.nanoTime();
+
+    encodedBuffer.clear();
+    encodedBuffer.put(frame.data);
+    encodedBuffer.flip();
+
+    sampleBuffer.clear();
+    decoder.decode(encodedBuffer, sampleBuffer);
+
+    // Volume 0 is stored in the frame with volume 100 buffer
+    volumeProcessor.applyVolume(frame.volume, encodedVolume, sampleBuffer);
+
+    encodedBuffer.clear();
+    encoder.encode(sampleBuffer, FRAME_SIZE, encodedBuffer);
+
+    byte[] bytes = new byte[encodedBuffer.remaining()];
+    encodedBuffer.get(bytes);
+
+    accounting.addRebuildTime(System.nanoTime() - startTime);
+
+    return new AudioFrame(frame.timecode, bytes, frameVolume);
+  }
+}
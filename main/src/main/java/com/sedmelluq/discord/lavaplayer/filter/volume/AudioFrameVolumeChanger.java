@@ -3,13 +3,18 @@ package com.sedmelluq.discord.lavaplayer.filter.volume;
 import com.sedmelluq.discord.lavaplayer.natives.opus.OpusDecoder;
 import com.sedmelluq.discord.lavaplayer.natives.opus.OpusEncoder;
 import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.tools.diagnostics.AudioDiagnostics;
+import com.sedmelluq.discord.lavaplayer.tools.diagnostics.DiagnosticSpan;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameConsumer;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameRebuilder;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+import com.sedmelluq.discord.lavaplayer.track.playback.TrackResourceAccounting;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.ShortBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.sedmelluq.discord.lavaplayer.filter.OpusEncodingPcmAudioFilter.CHANNEL_COUNT;
 import static com.sedmelluq.discord.lavaplayer.filter.OpusEncodingPcmAudioFilter.FRAME_SIZE;
@@ -20,6 +25,7 @@ import static com.sedmelluq.discord.lavaplayer.filter.OpusEncodingPcmAudioFilter
  */
 public class AudioFrameVolumeChanger implements AudioFrameRebuilder {
   private final AudioConfiguration configuration;
+  private final TrackResourceAccounting accounting;
   private final int newVolume;
   private final ByteBuffer encodedBuffer;
   private final ShortBuffer sampleBuffer;
@@ -29,8 +35,9 @@ public class AudioFrameVolumeChanger implements AudioFrameRebuilder {
   private OpusDecoder decoder;
   private int frameIndex;
 
-  private AudioFrameVolumeChanger(AudioConfiguration configuration, int newVolume) {
+  private AudioFrameVolumeChanger(AudioConfiguration configuration, TrackResourceAccounting accounting, int newVolume) {
     this.configuration = configuration;
+    this.accounting = accounting;
     this.newVolume = newVolume;
 
     this.encodedBuffer = ByteBuffer.allocateDirect(4096);
@@ -44,6 +51,8 @@ public class AudioFrameVolumeChanger implements AudioFrameRebuilder {
       return frame;
     }
 
+    long startTime = System.nanoTime();
+
     encodedBuffer.clear();
     encodedBuffer.put(frame.data);
     encodedBuffer.flip();
@@ -69,6 +78,8 @@ public class AudioFrameVolumeChanger implements AudioFrameRebuilder {
     byte[] bytes = new byte[encodedBuffer.remaining()];
     encodedBuffer.get(bytes);
 
+    accounting.addRebuildTime(System.nanoTime() - startTime);
+
     // One frame per 20ms is consumed. To not spike the CPU usage, reencode only once per 5ms. By the time the buffer is
     // fully rebuilt, it is probably near to 3/4 its maximum size.
     try {
@@ -84,6 +95,7 @@ public class AudioFrameVolumeChanger implements AudioFrameRebuilder {
   private void setupLibraries() {
     encoder = new OpusEncoder(FREQUENCY, CHANNEL_COUNT, configuration.getOpusEncodingQuality());
     decoder = new OpusDecoder(FREQUENCY, CHANNEL_COUNT);
+    accounting.acquireNatives(2);
   }
 
   private void clearLibraries() {
@@ -94,6 +106,10 @@ public class AudioFrameVolumeChanger implements AudioFrameRebuilder {
     if (decoder != null) {
       decoder.close();
     }
+
+    if (encoder != null && decoder != null) {
+      accounting.releaseNatives(2);
+    }
   }
 
   /**
@@ -103,13 +119,25 @@ public class AudioFrameVolumeChanger implements AudioFrameRebuilder {
    * @param newVolume New volume to apply
    */
   public static void apply(AudioConfiguration configuration, AudioFrameConsumer frameConsumer, int newVolume) {
-    AudioFrameVolumeChanger volumeChanger = new AudioFrameVolumeChanger(configuration, newVolume);
+    apply(new AudioProcessingContext(configuration, frameConsumer, new AtomicInteger(newVolume)), newVolume);
+  }
+
+  /**
+   * Applies a volume level to the buffered frames of a frame consumer
+   * @param context Processing context of the track, the frames of its frame consumer are rebuilt
+   * @param newVolume New volume to apply
+   */
+  public static void apply(AudioProcessingContext context, int newVolume) {
+    AudioFrameVolumeChanger volumeChanger = new AudioFrameVolumeChanger(context.configuration, context.accounting, newVolume);
+
+    DiagnosticSpan span = AudioDiagnostics.getRecorder().beginVolumeRebuild(newVolume);
 
     try {
       volumeChanger.setupLibraries();
-      frameConsumer.rebuild(volumeChanger);
+      context.frameConsumer.rebuild(volumeChanger);
     } finally {
       volumeChanger.clearLibraries();
+      span.end(null);
     }
   }
 }
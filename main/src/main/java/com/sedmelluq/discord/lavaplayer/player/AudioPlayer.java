@@ -10,6 +10,8 @@ import com.sedmelluq.discord.lavaplayer.player.event.TrackStartEvent;
 import com.sedmelluq.discord.lavaplayer.player.event.TrackStuckEvent;
 import com.sedmelluq.discord.lavaplayer.player.hook.AudioOutputHook;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.tools.diagnostics.AudioDiagnostics;
+import com.sedmelluq.discord.lavaplayer.tools.metrics.AudioPipelineMetrics;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackEndReason;
 import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.TrackStateListener;
@@ -48,6 +50,7 @@ public class AudioPlayer implements AudioFrameProvider, TrackStateListener {
   private final List<AudioEventListener> listeners;
   private final AtomicInteger volumeLevel;
   private final AudioOutputHook outputHook;
+  private final AudioPipelineMetrics metrics;
 
   /**
    * @param manager Audio player manager which this player is attached to
@@ -60,6 +63,7 @@ public class AudioPlayer implements AudioFrameProvider, TrackStateListener {
     paused = new AtomicBoolean();
     listeners = new ArrayList<>();
     volumeLevel = new AtomicInteger(100);
+    metrics = manager.getMetrics();
   }
 
   /**
@@ -184,12 +188,20 @@ public class AudioPlayer implements AudioFrameProvider, TrackStateListener {
       } else {
         if (!stuckEventSent && System.nanoTime() - lastReceiveTime > manager.getTrackStuckThresholdNanos()) {
           stuckEventSent = true;
-          dispatchEvent(new TrackStuckEvent(this, track, TimeUnit.NANOSECONDS.toMillis(manager.getTrackStuckThresholdNanos())));
+          long thresholdMs = TimeUnit.NANOSECONDS.toMillis(manager.getTrackStuckThresholdNanos());
+          AudioDiagnostics.getRecorder().trackStuck(track.getIdentifier(), thresholdMs);
+          dispatchEvent(new TrackStuckEvent(this, track, thresholdMs));
         }
 
         frame = provideShadowFrame();
       }
 
+      metrics.provideCalls.increment();
+
+      if (frame == null) {
+        metrics.provideMisses.increment();
+      }
+
       return frame;
     }
 
@@ -2,8 +2,10 @@ package com.sedmelluq.discord.lavaplayer.player;
 
 import com.sedmelluq.discord.lavaplayer.player.hook.AudioOutputHookFactory;
 import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.tools.GarbageCollectionReport;
 import com.sedmelluq.discord.lavaplayer.tools.io.MessageInput;
 import com.sedmelluq.discord.lavaplayer.tools.io.MessageOutput;
+import com.sedmelluq.discord.lavaplayer.tools.metrics.AudioPipelineMetrics;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.DecodedTrackHolder;
 
@@ -35,18 +37,35 @@ public interface AudioPlayerManager {
   void setOutputHookFactory(AudioOutputHookFactory outputHookFactory);
 
   /**
-   * Configure to use remote nodes for playback. On consecutive calls, the connections with previously used nodes will
-   * be severed and all remotely playing tracks will be stopped first.
+   * Configure to use remote nodes for playback. On consecutive calls, nodes which are no longer in the list are removed
+   * once their tracks have been moved to other nodes, and tracks on nodes which remain in the list are not affected.
    *
    * @param nodeAddresses The addresses of the remote nodes
    */
   void useRemoteNodes(String... nodeAddresses);
 
   /**
-   * Enable reporting GC pause length statistics to log (warn level with lengths bad for latency, debug level otherwise)
+   * Enable reporting GC pause length, allocation and promotion statistics to log (warn level with lengths bad for
+   * latency, debug level otherwise) and to {@link #getGcReport()}
    */
   void enableGcMonitoring();
 
+  /**
+   * @return GC statistics of the last completed two minute reporting period, null if GC monitoring is not enabled or
+   *         no period has completed yet
+   */
+  default GarbageCollectionReport getGcReport() {
+    return null;
+  }
+
+  /**
+   * @return Metrics of the audio processing of all tracks played by this manager, for exporting to a monitoring system.
+   *         Implementations which do not record metrics return {@link AudioPipelineMetrics#DETACHED}.
+   */
+  default AudioPipelineMetrics getMetrics() {
+    return AudioPipelineMetrics.DETACHED;
+  }
+
   /**
    * @param sourceManager The source manager to register, which will be used for subsequent loadItem calls
    */
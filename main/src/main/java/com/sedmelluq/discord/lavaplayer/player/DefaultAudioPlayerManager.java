@@ -11,8 +11,12 @@ import com.sedmelluq.discord.lavaplayer.tools.ExecutorTools;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
 import com.sedmelluq.discord.lavaplayer.tools.OrderedExecutor;
 import com.sedmelluq.discord.lavaplayer.tools.GarbageCollectionMonitor;
+import com.sedmelluq.discord.lavaplayer.tools.GarbageCollectionReport;
+import com.sedmelluq.discord.lavaplayer.tools.diagnostics.AudioDiagnostics;
+import com.sedmelluq.discord.lavaplayer.tools.diagnostics.DiagnosticSpan;
 import com.sedmelluq.discord.lavaplayer.tools.io.MessageInput;
 import com.sedmelluq.discord.lavaplayer.tools.io.MessageOutput;
+import com.sedmelluq.discord.lavaplayer.tools.metrics.AudioPipelineMetrics;
 import com.sedmelluq.discord.lavaplayer.track.AudioItem;
 import com.sedmelluq.discord.lavaplayer.track.AudioPlaylist;
 import com.sedmelluq.discord.lavaplayer.track.AudioReference;
@@ -78,6 +82,7 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
   private final RemoteNodeManager remoteNodeManager;
   private final GarbageCollectionMonitor garbageCollectionMonitor;
   private final AudioPlayerLifecycleManager lifecycleManager;
+  private final AudioPipelineMetrics metrics;
 
   /**
    * Create a new instance
@@ -86,8 +91,9 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
     sourceManagers = new ArrayList<>();
 
     // Executors
+    DaemonThreadFactory playbackThreadFactory = new DaemonThreadFactory("playback");
     trackPlaybackExecutorService = new ThreadPoolExecutor(1, Integer.MAX_VALUE, 10, TimeUnit.SECONDS,
-        new SynchronousQueue<>(), new DaemonThreadFactory("playback"));
+        new SynchronousQueue<>(), playbackThreadFactory);
     trackInfoExecutorService = ExecutorTools.createEagerlyScalingExecutor(1, 10, TimeUnit.SECONDS.toMillis(30), "info-loader");
     scheduledExecutorService = Executors.newScheduledThreadPool(1, new DaemonThreadFactory("manager"));
     orderedInfoExecutor = new OrderedExecutor(trackInfoExecutorService);
@@ -101,8 +107,10 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
     outputHookFactory = null;
 
     // Additional services
+    metrics = new AudioPipelineMetrics();
     remoteNodeManager = new RemoteNodeManager(this);
-    garbageCollectionMonitor = new GarbageCollectionMonitor(scheduledExecutorService);
+    garbageCollectionMonitor = new GarbageCollectionMonitor(scheduledExecutorService, metrics.bufferUnderruns,
+        playbackThreadFactory.getNamePrefix());
     lifecycleManager = new AudioPlayerLifecycleManager(scheduledExecutorService, cleanupThreshold);
     lifecycleManager.initialise();
   }
@@ -129,7 +137,6 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
 
   @Override
   public void useRemoteNodes(String... nodeAddresses) {
-    remoteNodeManager.shutdown();
     remoteNodeManager.initialise(Arrays.asList(nodeAddresses));
   }
 
@@ -138,6 +145,16 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
     garbageCollectionMonitor.enable();
   }
 
+  @Override
+  public GarbageCollectionReport getGcReport() {
+    return garbageCollectionMonitor.getLastReport();
+  }
+
+  @Override
+  public AudioPipelineMetrics getMetrics() {
+    return metrics;
+  }
+
   @Override
   public void registerSourceManager(AudioSourceManager sourceManager) {
     sourceManagers.add(sourceManager);
@@ -278,15 +295,17 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
   private AudioTrackExecutor createExecutorForTrack(InternalAudioTrack track, AudioConfiguration configuration, AtomicInteger volumeLevel) {
     AudioSourceManager sourceManager = track.getSourceManager();
 
-    if (remoteNodeManager.isEnabled() && sourceManager != null && sourceManager.isTrackEncodable(track)) {
-      return new RemoteAudioTrackExecutor(track, configuration, remoteNodeManager, volumeLevel);
+    if (sourceManager != null && sourceManager.isTrackEncodable(track) &&
+        remoteNodeManager.shouldPlayRemotely(track, volumeLevel.get())) {
+
+      return new RemoteAudioTrackExecutor(track, configuration, remoteNodeManager, volumeLevel, useSeekGhosting, metrics);
     } else {
       AudioTrackExecutor customExecutor = track.createLocalExecutor(this);
 
       if (customExecutor != null) {
         return customExecutor;
       } else {
-        return new LocalAudioTrackExecutor(track, configuration, volumeLevel, useSeekGhosting, frameBufferDuration);
+        return new LocalAudioTrackExecutor(track, configuration, volumeLevel, useSeekGhosting, frameBufferDuration, metrics);
       }
     }
   }
@@ -346,7 +365,7 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
 
   private AudioItem checkSourcesForItemOnce(AudioReference reference, AudioLoadResultHandler resultHandler) {
     for (AudioSourceManager sourceManager : sourceManagers) {
-      AudioItem item = sourceManager.loadItem(this, reference);
+      AudioItem item = loadItemFromSource(sourceManager, reference);
 
       if (item != null) {
         if (item instanceof AudioTrack) {
@@ -363,10 +382,41 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
     return null;
   }
 
+  private AudioItem loadItemFromSource(AudioSourceManager sourceManager, AudioReference reference) {
+    DiagnosticSpan span = AudioDiagnostics.getRecorder().beginLoadStage(reference.identifier, sourceManager.getSourceName());
+    AudioItem item;
+
+    try {
+      item = sourceManager.loadItem(this, reference);
+    } catch (Throwable e) {
+      span.end("failed");
+      throw e;
+    }
+
+    if (item instanceof AudioTrack) {
+      span.end("track");
+    } else if (item instanceof AudioPlaylist) {
+      span.end("playlist");
+    } else if (item instanceof AudioReference) {
+      span.end("reference");
+    } else {
+      span.end("none");
+    }
+
+    return item;
+  }
+
   public ExecutorService getExecutor() {
     return trackPlaybackExecutorService;
   }
 
+  /**
+   * @return Manager of the remote nodes used for playback
+   */
+  public RemoteNodeManager getRemoteNodeManager() {
+    return remoteNodeManager;
+  }
+
   @Override
   public AudioPlayer createPlayer() {
     AudioOutputHook outputHook = outputHookFactory != null ? outputHookFactory.createOutputHook() : null;
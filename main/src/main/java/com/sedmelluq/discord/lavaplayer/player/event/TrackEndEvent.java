@@ -3,6 +3,7 @@ package com.sedmelluq.discord.lavaplayer.player.event;
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayer;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackEndReason;
+import com.sedmelluq.discord.lavaplayer.track.playback.TrackResourceUsage;
 
 /**
  * Event that is fired when an audio track ends in an audio player, either by interruption, exception or reaching the end.
@@ -16,6 +17,10 @@ public class TrackEndEvent extends AudioEvent {
    * The reason why the track stopped playing
    */
   public final AudioTrackEndReason endReason;
+  /**
+   * Resources used for processing the track, as they were when it ended
+   */
+  public final TrackResourceUsage resourceUsage;
 
   /**
    * @param player Audio player
@@ -26,5 +31,6 @@ public class TrackEndEvent extends AudioEvent {
     super(player);
     this.track = track;
     this.endReason = endReason;
+    this.resourceUsage = track.getResourceUsage();
   }
 }
@@ -0,0 +1,14 @@
+package com.sedmelluq.discord.lavaplayer.remote;
+
+import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
+
+/**
+ * Placement policy which plays every track that can be played on a remote node there. This is the default, so that
+ * the master does not need the native libraries for any of the tracks which are played remotely.
+ */
+public class AlwaysRemotePlacementPolicy implements TrackPlacementPolicy {
+  @Override
+  public boolean isRemote(InternalAudioTrack track, int volume) {
+    return true;
+  }
+}
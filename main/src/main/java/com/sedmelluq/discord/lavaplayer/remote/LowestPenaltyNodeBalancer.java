@@ -0,0 +1,29 @@
+package com.sedmelluq.discord.lavaplayer.remote;
+
+import java.util.List;
+
+/**
+ * Balancer which always chooses the available node with the lowest penalty.
+ */
+public class LowestPenaltyNodeBalancer implements RemoteNodeBalancer {
+  @Override
+  public <T extends RemoteNode> T selectNode(List<T> nodes, Object affinityKey) {
+    int lowestPenalty = Integer.MAX_VALUE;
+    T selected = null;
+
+    for (T node : nodes) {
+      if (!node.isAvailable()) {
+        continue;
+      }
+
+      int penalty = node.getBalancerPenalty();
+
+      if (penalty < lowestPenalty) {
+        lowestPenalty = penalty;
+        selected = node;
+      }
+    }
+
+    return selected;
+  }
+}
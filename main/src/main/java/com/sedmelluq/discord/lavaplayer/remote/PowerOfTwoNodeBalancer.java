@@ -0,0 +1,128 @@
+package com.sedmelluq.discord.lavaplayer.remote;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Balancer which picks two random available nodes and chooses the one with the lower penalty relative to its capacity
+ * weight. Unlike always choosing the least loaded node, this does not send a whole burst of tracks to the same node
+ * while its statistics are outdated.
+ *
+ * Tracks with the same affinity key are kept on the same node as long as its load is not considerably higher than the
+ * load of the node that would have been chosen otherwise. Affinity keys are held weakly.
+ */
+public class PowerOfTwoNodeBalancer implements RemoteNodeBalancer {
+  private static final double AFFINITY_LOAD_TOLERANCE = 1.25;
+  private static final double AFFINITY_PENALTY_SLACK = 2.0;
+  private static final double DEFAULT_WEIGHT = 1.0;
+
+  private final Random random;
+  private final Map<String, Double> capacityWeights;
+  private final Map<Object, String> affinity;
+
+  /**
+   * Create a new instance.
+   */
+  public PowerOfTwoNodeBalancer() {
+    this(new Random());
+  }
+
+  /**
+   * @param random Source of randomness for choosing the candidate nodes
+   */
+  public PowerOfTwoNodeBalancer(Random random) {
+    this.random = random;
+    this.capacityWeights = new ConcurrentHashMap<>();
+    this.affinity = new WeakHashMap<>();
+  }
+
+  /**
+   * Set the relative capacity of a node. A node with weight 2 is expected to handle twice the load of a node with the
+   * default weight of 1.
+   *
+   * @param nodeAddress Address of the node
+   * @param weight Capacity weight of the node
+   */
+  public void setCapacityWeight(String nodeAddress, double weight) {
+    if (weight <= 0) {
+      throw new IllegalArgumentException("Capacity weight must be positive.");
+    }
+
+    capacityWeights.put(nodeAddress, weight);
+  }
+
+  @Override
+  public <T extends RemoteNode> T selectNode(List<T> nodes, Object affinityKey) {
+    List<T> available = new ArrayList<>(nodes.size());
+
+    for (T node : nodes) {
+      if (node.isAvailable() && node.getBalancerPenalty() != Integer.MAX_VALUE) {
+        available.add(node);
+      }
+    }
+
+    if (available.isEmpty()) {
+      return null;
+    }
+
+    T selected = selectCandidate(available);
+
+    if (affinityKey != null) {
+      selected = applyAffinity(available, selected, affinityKey);
+    }
+
+    return selected;
+  }
+
+  private <T extends RemoteNode> T selectCandidate(List<T> available) {
+    int count = available.size();
+
+    if (count == 1) {
+      return available.get(0);
+    }
+
+    int firstIndex;
+    int secondIndex;
+
+    synchronized (random) {
+      firstIndex = random.nextInt(count);
+      secondIndex = random.nextInt(count - 1);
+    }
+
+    if (secondIndex >= firstIndex) {
+      secondIndex++;
+    }
+
+    T first = available.get(firstIndex);
+    T second = available.get(secondIndex);
+
+    return getWeightedPenalty(first) <= getWeightedPenalty(second) ? first : second;
+  }
+
+  private <T extends RemoteNode> T applyAffinity(List<T> available, T candidate, Object affinityKey) {
+    synchronized (affinity) {
+      String previousAddress = affinity.get(affinityKey);
+
+      if (previousAddress != null && !previousAddress.equals(candidate.getAddress())) {
+        for (T node : available) {
+          if (node.getAddress().equals(previousAddress) && getWeightedPenalty(node) <=
+              getWeightedPenalty(candidate) * AFFINITY_LOAD_TOLERANCE + AFFINITY_PENALTY_SLACK) {
+            return node;
+          }
+        }
+      }
+
+      affinity.put(affinityKey, candidate.getAddress());
+      return candidate;
+    }
+  }
+
+  private double getWeightedPenalty(RemoteNode node) {
+    Double weight = capacityWeights.get(node.getAddress());
+    return node.getBalancerPenalty() / (weight != null ? weight : DEFAULT_WEIGHT);
+  }
+}
@@ -0,0 +1,162 @@
+package com.sedmelluq.discord.lavaplayer.remote;
+
+import com.sedmelluq.discord.lavaplayer.filter.OpusEncodingPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.source.http.HttpAudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
+
+/**
+ * Placement policy which estimates the processing cost of a track from its format and the requested volume. Tracks
+ * which are cheap to process, most importantly opus tracks which can be passed through without decoding, are played
+ * locally and only the tracks which need transcoding are sent to remote nodes.
+ *
+ * The format is known before playback only as far as the source or the detected container tells it. Sample rate and
+ * channel count are assumed from the usual content of the format, as they are only read once the stream is opened.
+ *
+ * Tracks kept local still need the native libraries on this machine, for example to reencode them after a volume
+ * change, so this policy has to be enabled explicitly with {@link RemoteNodeManager#setPlacementPolicy}.
+ */
+public class ProcessingCostPlacementPolicy implements TrackPlacementPolicy {
+  private static final float DEFAULT_REMOTE_THRESHOLD = 0.5f;
+
+  private static final float PASSTHROUGH_COST = 0.05f;
+  private static final float OPUS_DECODE_COST = 0.3f;
+  private static final float COMPRESSED_DECODE_COST = 0.4f;
+  private static final float LOSSLESS_DECODE_COST = 0.2f;
+  private static final float RESAMPLE_COST = 0.3f;
+  private static final float VOLUME_COST = 0.05f;
+  private static final float ENCODE_COST = 0.7f;
+
+  private final float remoteThreshold;
+
+  /**
+   * Create a policy which plays tracks remotely if they need transcoding.
+   */
+  public ProcessingCostPlacementPolicy() {
+    this(DEFAULT_REMOTE_THRESHOLD);
+  }
+
+  /**
+   * @param remoteThreshold Estimated cost from which tracks are played remotely, relative to decoding and encoding a
+   *                        48kHz stereo opus track
+   */
+  public ProcessingCostPlacementPolicy(float remoteThreshold) {
+    this.remoteThreshold = remoteThreshold;
+  }
+
+  @Override
+  public boolean isRemote(InternalAudioTrack track, int volume) {
+    TrackFormat format = detectFormat(track);
+    return format == null || estimateCost(format.codec, format.sampleRate, format.channelCount, volume) >= remoteThreshold;
+  }
+
+  /**
+   * Estimate the CPU cost of processing a track, relative to decoding and encoding a 48kHz stereo opus track.
+   *
+   * @param codec Codec of the track, one of opus, mp3, aac, vorbis or flac
+   * @param sampleRate Sample rate of the track
+   * @param channelCount Number of channels in the track
+   * @param volume Volume of the track
+   * @return The estimated processing cost
+   */
+  public static float estimateCost(String codec, int sampleRate, int channelCount, int volume) {
+    boolean standardFormat = sampleRate == OpusEncodingPcmAudioFilter.FREQUENCY &&
+        channelCount == OpusEncodingPcmAudioFilter.CHANNEL_COUNT;
+
+    if ("opus".equals(codec) && standardFormat && volume == 100) {
+      return PASSTHROUGH_COST;
+    }
+
+    float cost = getDecodeCost(codec) * Math.max(1, channelCount) / 2 + ENCODE_COST;
+
+    if (sampleRate != OpusEncodingPcmAudioFilter.FREQUENCY) {
+      cost += RESAMPLE_COST;
+    }
+
+    if (volume != 100) {
+      cost += VOLUME_COST;
+    }
+
+    return cost;
+  }
+
+  /**
+   * Describe how a track is processed, for grouping measured processing costs of tracks. The path is the codec of the
+   * track followed by "passthrough" if it is not decoded at all, or "decode" and "resample" if it is resampled.
+   *
+   * @param track The track
+   * @param volume Current volume of the track
+   * @return Name of the processing path, "unknown" if the format of the track is not known before playback
+   */
+  public static String getProcessingPath(InternalAudioTrack track, int volume) {
+    TrackFormat format = detectFormat(track);
+
+    if (format == null) {
+      return "unknown";
+    } else if (estimateCost(format.codec, format.sampleRate, format.channelCount, volume) == PASSTHROUGH_COST) {
+      return format.codec + "-passthrough";
+    } else if (format.sampleRate != OpusEncodingPcmAudioFilter.FREQUENCY) {
+      return format.codec + "-decode-resample";
+    } else {
+      return format.codec + "-decode";
+    }
+  }
+
+  private static float getDecodeCost(String codec) {
+    switch (codec) {
+      case "opus":
+        return OPUS_DECODE_COST;
+      case "flac":
+        return LOSSLESS_DECODE_COST;
+      default:
+        return COMPRESSED_DECODE_COST;
+    }
+  }
+
+  private static TrackFormat detectFormat(InternalAudioTrack track) {
+    if (track instanceof HttpAudioTrack) {
+      return detectContainerFormat(((HttpAudioTrack) track).getProbe().getName());
+    }
+
+    AudioSourceManager sourceManager = track.getSourceManager();
+    String sourceName = sourceManager != null ? sourceManager.getSourceName() : null;
+
+    if ("youtube".equals(sourceName)) {
+      // The opus format is preferred when it is available
+      return new TrackFormat("opus", 48000, 2);
+    } else if ("soundcloud".equals(sourceName) || "bandcamp".equals(sourceName)) {
+      return new TrackFormat("mp3", 44100, 2);
+    } else {
+      return null;
+    }
+  }
+
+  private static TrackFormat detectContainerFormat(String containerName) {
+    switch (containerName) {
+      case "ogg":
+      case "matroska/webm":
+        // Usually opus, other codecs in these containers end up costing more than estimated wherever they play
+        return new TrackFormat("opus", 48000, 2);
+      case "mp3":
+        return new TrackFormat("mp3", 44100, 2);
+      case "mp4":
+        return new TrackFormat("aac", 44100, 2);
+      case "flac":
+        return new TrackFormat("flac", 44100, 2);
+      default:
+        return null;
+    }
+  }
+
+  private static class TrackFormat {
+    private final String codec;
+    private final int sampleRate;
+    private final int channelCount;
+
+    private TrackFormat(String codec, int sampleRate, int channelCount) {
+      this.codec = codec;
+      this.sampleRate = sampleRate;
+      this.channelCount = channelCount;
+    }
+  }
+}
@@ -1,8 +1,10 @@
 package com.sedmelluq.discord.lavaplayer.remote;
 
+import com.sedmelluq.discord.lavaplayer.filter.volume.AudioFrameVolumeAdjuster;
 import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
 import com.sedmelluq.discord.lavaplayer.tools.ExceptionTools;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.tools.metrics.AudioPipelineMetrics;
 import com.sedmelluq.discord.lavaplayer.track.AudioLoop;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackEndReason;
@@ -11,11 +13,17 @@ import com.sedmelluq.discord.lavaplayer.track.TrackStateListener;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameBuffer;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioTrackExecutor;
+import com.sedmelluq.discord.lavaplayer.track.playback.TrackResourceAccounting;
+import com.sedmelluq.discord.lavaplayer.track.playback.TrackResourceUsage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * This executor delegates the actual audio processing to a remote node.
@@ -24,19 +32,38 @@ public class RemoteAudioTrackExecutor implements AudioTrackExecutor {
   private static final Logger log = LoggerFactory.getLogger(RemoteAudioTrackExecutor.class);
 
   private static final long NO_SEEK = -1;
-  private static final int BUFFER_DURATION_MS = 2500;
+  private static final int MAXIMUM_BUFFER_DURATION_MS = 5000;
+  static final int DEFAULT_BUFFER_DURATION_MS = 2500;
+  private static final int MINIMUM_BUFFER_DURATION_MS = 500;
+  private static final int MAXIMUM_MIGRATIONS = 3;
+  static final float LOW_WATERMARK_RATIO = 0.6f;
 
   private final AudioTrack track;
   private final AudioConfiguration configuration;
   private final RemoteNodeManager remoteNodeManager;
   private final AtomicInteger volumeLevel;
+  private final boolean useSeekGhosting;
+  private final AudioFrameVolumeAdjuster volumeAdjuster;
+  private final AudioPipelineMetrics metrics;
+  private final TrackResourceAccounting accounting = new TrackResourceAccounting();
   private final long executorId;
-  private final AudioFrameBuffer frameBuffer = new AudioFrameBuffer(BUFFER_DURATION_MS);
+  private final long creationTime = System.nanoTime();
+  private final AudioFrameBuffer frameBuffer;
   private final AtomicLong lastFrameTimecode = new AtomicLong(0);
   private final AtomicLong pendingSeek = new AtomicLong(NO_SEEK);
+  private final AtomicLong handoverSeek = new AtomicLong(NO_SEEK);
+  private final AtomicInteger migrationCount = new AtomicInteger(0);
+  private final AtomicBoolean requestSignalled = new AtomicBoolean(false);
+  private volatile Consumer<RemoteAudioTrackExecutor> requestListener;
+  private volatile int signalledVolume;
+  private volatile int targetFrames = DEFAULT_BUFFER_DURATION_MS / 20;
+  private volatile int lowWatermark = (int) (targetFrames * LOW_WATERMARK_RATIO);
+  private volatile long lastReceivedTimecode = NO_SEEK;
   private volatile AudioLoop audioLoop;
   private volatile TrackStateListener activeListener;
   private volatile boolean hasReceivedData;
+  private volatile long seekStartTime = NO_SEEK;
+  private boolean hasProvidedFrames;
 
   /**
    * @param track Audio track to play
@@ -44,12 +71,31 @@ public class RemoteAudioTrackExecutor implements AudioTrackExecutor {
    * @param remoteNodeManager Manager of remote nodes
    * @param volumeLevel Mutable volume level
    */
-  public RemoteAudioTrackExecutor(AudioTrack track, AudioConfiguration configuration, RemoteNodeManager remoteNodeManager, AtomicInteger volumeLevel) {
+  public RemoteAudioTrackExecutor(AudioTrack track, AudioConfiguration configuration, RemoteNodeManager remoteNodeManager,
+                                  AtomicInteger volumeLevel) {
+    this(track, configuration, remoteNodeManager, volumeLevel, true, AudioPipelineMetrics.DETACHED);
+  }
+
+  /**
+   * @param track Audio track to play
+   * @param configuration Configuration for audio processing
+   * @param remoteNodeManager Manager of remote nodes
+   * @param volumeLevel Mutable volume level
+   * @param useSeekGhosting Whether to keep playing the buffered frames until the node has performed a seek
+   * @param metrics Metrics to record the playback of the track into
+   */
+  public RemoteAudioTrackExecutor(AudioTrack track, AudioConfiguration configuration, RemoteNodeManager remoteNodeManager,
+                                  AtomicInteger volumeLevel, boolean useSeekGhosting, AudioPipelineMetrics metrics) {
     this.track = track;
     this.configuration = configuration;
     this.remoteNodeManager = remoteNodeManager;
     this.volumeLevel = volumeLevel;
+    this.useSeekGhosting = useSeekGhosting;
+    this.metrics = metrics;
+    this.volumeAdjuster = new AudioFrameVolumeAdjuster(configuration, volumeLevel, accounting);
+    this.frameBuffer = new AudioFrameBuffer(MAXIMUM_BUFFER_DURATION_MS, metrics);
     this.executorId = System.nanoTime();
+    this.signalledVolume = volumeLevel.get();
   }
 
   /**
@@ -94,11 +140,38 @@ public class RemoteAudioTrackExecutor implements AudioTrackExecutor {
    */
   public void clearSeek(long position) {
     if (position != NO_SEEK) {
-      frameBuffer.setClearOnInsert();
+      // Frames following a handover seek continue the ones in the buffer, so those must not be cleared
+      if (handoverSeek.getAndSet(NO_SEEK) != position) {
+        frameBuffer.setClearOnInsert();
+      }
+
       pendingSeek.compareAndSet(position, NO_SEEK);
     }
   }
 
+  /**
+   * Make a node which does not support starting from a position continue the track from where it was taken over. Unlike
+   * {@link #setPosition(long)}, this keeps the frames in the local buffer, which play until the node has performed the
+   * seek. The frames the node produces before the seek are discarded.
+   *
+   * @param position The position the track was started from on the node
+   */
+  public void seekForHandover(long position) {
+    handoverSeek.set(position);
+    pendingSeek.set(position);
+    signalRequest();
+  }
+
+  /**
+   * @param seekedPosition The seek position the node confirmed with the frames, -1 if none
+   * @return True if the frames from the node should be discarded, because they were produced before the node received
+   *         the pending seek and seek ghosting is disabled or the seek is part of a handover from another node
+   */
+  public boolean isExpectingSeek(long seekedPosition) {
+    long seek = pendingSeek.get();
+    return (!useSeekGhosting || handoverSeek.get() != NO_SEEK) && seek != NO_SEEK && seek != seekedPosition;
+  }
+
   /**
    * Send the specified exception as an event to the active state listener.
    * @param exception Exception to send
@@ -113,11 +186,101 @@ public class RemoteAudioTrackExecutor implements AudioTrackExecutor {
     }
   }
 
+  /**
+   * @return Key for keeping the tracks of the same player on the same node, which is the player itself
+   */
+  public Object getAffinityKey() {
+    return activeListener;
+  }
+
   /**
    * Mark that this track has received data from the node.
    */
   public void receivedData() {
+    receivedData(NO_SEEK);
+  }
+
+  /**
+   * Mark that this track has received data from the node.
+   * @param lastTimecode Timecode of the last received frame, -1 if no frames were received
+   */
+  public void receivedData(long lastTimecode) {
     hasReceivedData = true;
+
+    if (lastTimecode != NO_SEEK) {
+      lastReceivedTimecode = lastTimecode;
+    }
+  }
+
+  /**
+   * @return The position from which another node should continue this track so that it continues seamlessly from the
+   *         frames already in the local buffer.
+   */
+  public long getResumePosition() {
+    long seek = pendingSeek.get();
+
+    if (seek != NO_SEEK) {
+      return seek;
+    }
+
+    long timecode = lastReceivedTimecode;
+    return timecode != NO_SEEK ? timecode + 20 : 0;
+  }
+
+  /**
+   * Count an attempt to move this track to another node.
+   * @return False if the track has already been moved too many times and should fail instead
+   */
+  public boolean allowMigration() {
+    return activeListener != null && migrationCount.incrementAndGet() <= MAXIMUM_MIGRATIONS;
+  }
+
+  /**
+   * @return Number of frames below which more frames should be requested from the node, counting both the frames in
+   *         the local buffer and the frames already requested
+   */
+  public int getLowWatermark() {
+    return lowWatermark;
+  }
+
+  /**
+   * @return Number of frames to keep in the local buffer, counting both the frames in the local buffer and the frames
+   *         already requested. Never more than the full capacity of the buffer.
+   */
+  public int getTargetFrames() {
+    return targetFrames;
+  }
+
+  /**
+   * Set the duration of audio to keep buffered locally. Frames that are already buffered or requested are not
+   * discarded when it is reduced, the buffer just drains down to the new size.
+   *
+   * @param duration Buffer duration in milliseconds, clamped between 500 and 5000
+   */
+  public void setBufferDuration(int duration) {
+    int frames = Math.max(MINIMUM_BUFFER_DURATION_MS, Math.min(MAXIMUM_BUFFER_DURATION_MS, duration)) / 20;
+
+    if (frames != targetFrames) {
+      targetFrames = frames;
+      lowWatermark = (int) (frames * LOW_WATERMARK_RATIO);
+    }
+  }
+
+  /**
+   * @param listener Listener which is notified when a request should be sent to the node: when the local buffer falls
+   *                 below the low watermark, when the volume changes or when seeking. It is notified only once until
+   *                 {@link #resetRequestSignal()} is called. It must not block, as it may be called from the thread
+   *                 providing frames.
+   */
+  public void setRequestListener(Consumer<RemoteAudioTrackExecutor> listener) {
+    requestListener = listener;
+  }
+
+  /**
+   * Allow the request listener to be notified again. Called before checking what to request from the node.
+   */
+  public void resetRequestSignal() {
+    requestSignalled.set(false);
   }
 
   /**
@@ -150,18 +313,32 @@ public class RemoteAudioTrackExecutor implements AudioTrackExecutor {
     frameBuffer.lockBuffer();
     frameBuffer.setTerminateOnEmpty();
     frameBuffer.clear();
+    volumeAdjuster.close();
 
     remoteNodeManager.onTrackEnd(null, track, AudioTrackEndReason.STOPPED);
   }
 
   @Override
   public long getPosition() {
-    return lastFrameTimecode.get();
+    long seek = pendingSeek.get();
+    return seek != NO_SEEK && seek != handoverSeek.get() ? seek : lastFrameTimecode.get();
   }
 
   @Override
   public void setPosition(long timecode) {
+    if (!track.isSeekable()) {
+      return;
+    }
+
     pendingSeek.set(timecode);
+    seekStartTime = System.nanoTime();
+
+    if (!useSeekGhosting) {
+      // Frames from before the seek are dropped until the node confirms it, see isExpectingSeek
+      frameBuffer.clear();
+    }
+
+    signalRequest();
   }
 
   @Override
@@ -175,6 +352,12 @@ public class RemoteAudioTrackExecutor implements AudioTrackExecutor {
     }
   }
 
+  @Override
+  public TrackResourceUsage getResourceUsage() {
+    // Decoding and encoding happen on the node, only the local reencoding for volume changes and buffering is known here
+    return accounting.getUsage(-1, frameBuffer.getPeakBufferedBytes());
+  }
+
   @Override
   public void setLoop(AudioLoop loop) {
     audioLoop = loop;
@@ -182,10 +365,16 @@ public class RemoteAudioTrackExecutor implements AudioTrackExecutor {
 
   @Override
   public AudioFrame provide() {
-    AudioFrame frame = frameBuffer.provide();
+    AudioFrame frame = frameBuffer.provide(volumeAdjuster);
 
-    if (frame != null && !frame.isTerminator()) {
+    if (frame == null) {
+      checkRequest();
+    } else if (frame.isTerminator()) {
+      volumeAdjuster.close();
+    } else {
       lastFrameTimecode.set(frame.timecode);
+      recordProvidedFrame();
+      checkRequest();
 
       AudioLoop loop = audioLoop;
       if (loop != null && frame.timecode >= loop.endPosition && pendingSeek.get() == NO_SEEK) {
@@ -195,4 +384,38 @@ public class RemoteAudioTrackExecutor implements AudioTrackExecutor {
 
     return frame;
   }
+
+  private void recordProvidedFrame() {
+    if (!hasProvidedFrames) {
+      hasProvidedFrames = true;
+      metrics.firstFrameTime.record(NANOSECONDS.toMillis(System.nanoTime() - creationTime));
+    }
+
+    long seekStart = seekStartTime;
+
+    if (seekStart != NO_SEEK && pendingSeek.get() == NO_SEEK && !frameBuffer.hasClearOnInsert()) {
+      seekStartTime = NO_SEEK;
+      metrics.seekTime.record(NANOSECONDS.toMillis(System.nanoTime() - seekStart));
+    }
+  }
+
+  private void checkRequest() {
+    int volume = volumeLevel.get();
+
+    if (volume != signalledVolume) {
+      // Buffered frames are adjusted locally, the node only needs to know for the frames it has not produced yet
+      signalledVolume = volume;
+      signalRequest();
+    } else if (frameBuffer.getFullCapacity() - frameBuffer.getRemainingCapacity() < lowWatermark) {
+      signalRequest();
+    }
+  }
+
+  private void signalRequest() {
+    Consumer<RemoteAudioTrackExecutor> listener = requestListener;
+
+    if (listener != null && requestSignalled.compareAndSet(false, true)) {
+      listener.accept(this);
+    }
+  }
 }
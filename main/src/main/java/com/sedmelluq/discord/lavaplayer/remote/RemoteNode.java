@@ -0,0 +1,34 @@
+package com.sedmelluq.discord.lavaplayer.remote;
+
+import com.sedmelluq.discord.lavaplayer.remote.message.NodeStatisticsMessage;
+
+/**
+ * Load information of a remote node, used by {@link RemoteNodeBalancer} to choose nodes for tracks.
+ */
+public interface RemoteNode {
+  /**
+   * @return Address of the node
+   */
+  String getAddress();
+
+  /**
+   * @return True if the node is connected and has reported its statistics, so it can accept new tracks
+   */
+  boolean isAvailable();
+
+  /**
+   * @return The last statistics received from the node, null if none have been received yet
+   */
+  NodeStatisticsMessage getLastStatistics();
+
+  /**
+   * @return Number of tracks sent to the node which are not yet included in its last statistics
+   */
+  int getInFlightStartCount();
+
+  /**
+   * @return The penalty for load balancing based on the last statistics and the tracks in flight. Node with the
+   *         lowest value should receive the next track. Integer.MAX_VALUE if the node is not available.
+   */
+  int getBalancerPenalty();
+}
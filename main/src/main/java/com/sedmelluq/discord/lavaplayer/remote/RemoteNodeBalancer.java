@@ -0,0 +1,16 @@
+package com.sedmelluq.discord.lavaplayer.remote;
+
+import java.util.List;
+
+/**
+ * Chooses the remote node to play a track on.
+ */
+public interface RemoteNodeBalancer {
+  /**
+   * @param nodes All configured nodes, including the ones which are not available
+   * @param affinityKey Key which identifies tracks that should preferably be played on the same node, null for none
+   * @param <T> Type of the nodes
+   * @return The node to play the track on, null if no node is available
+   */
+  <T extends RemoteNode> T selectNode(List<T> nodes, Object affinityKey);
+}
@@ -0,0 +1,66 @@
+package com.sedmelluq.discord.lavaplayer.remote;
+
+/**
+ * Rolling estimate of how long it takes for frames to arrive from a node after they have been requested. Keeps a
+ * smoothed round trip time and its mean deviation (jitter) the same way TCP estimates its retransmission timeout.
+ */
+public class RemoteNodeLatency {
+  private static final int SCHEDULING_MARGIN_MS = 300;
+  private static final int JITTER_MULTIPLIER = 4;
+  private static final int MINIMUM_SAMPLES = 8;
+
+  private final float lowWatermarkRatio;
+  private final int defaultBufferDuration;
+  private double roundTripTime;
+  private double jitter;
+  private int sampleCount;
+
+  /**
+   * @param lowWatermarkRatio Ratio of the buffer below which frames are requested, so the part of the buffer which must
+   *                          cover the time until the requested frames arrive
+   * @param defaultBufferDuration Buffer duration to use until enough samples have been collected
+   */
+  public RemoteNodeLatency(float lowWatermarkRatio, int defaultBufferDuration) {
+    this.lowWatermarkRatio = lowWatermarkRatio;
+    this.defaultBufferDuration = defaultBufferDuration;
+  }
+
+  /**
+   * @param delay Time in milliseconds from requesting frames to receiving the first of them
+   */
+  public synchronized void addSample(double delay) {
+    if (sampleCount++ == 0) {
+      roundTripTime = delay;
+      jitter = delay / 2;
+    } else {
+      jitter += (Math.abs(delay - roundTripTime) - jitter) / 4;
+      roundTripTime += (delay - roundTripTime) / 8;
+    }
+  }
+
+  /**
+   * @return Smoothed round trip time in milliseconds
+   */
+  public synchronized double getRoundTripTime() {
+    return roundTripTime;
+  }
+
+  /**
+   * @return Mean deviation of the round trip time in milliseconds
+   */
+  public synchronized double getJitter() {
+    return jitter;
+  }
+
+  /**
+   * @return Duration of audio to buffer locally for tracks on this node, so that the part of the buffer left when more
+   *         frames are requested lasts until they arrive even with a few times the usual jitter
+   */
+  public synchronized int getBufferDuration() {
+    if (sampleCount < MINIMUM_SAMPLES) {
+      return defaultBufferDuration;
+    }
+
+    return (int) ((roundTripTime + jitter * JITTER_MULTIPLIER + SCHEDULING_MARGIN_MS) / lowWatermarkRatio);
+  }
+}
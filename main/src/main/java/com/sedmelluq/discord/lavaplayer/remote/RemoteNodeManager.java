@@ -3,6 +3,8 @@ package com.sedmelluq.discord.lavaplayer.remote;
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayer;
 import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
 import com.sedmelluq.discord.lavaplayer.player.event.AudioEventAdapter;
+import com.sedmelluq.discord.lavaplayer.remote.discovery.RemoteNodeDiscovery;
+import com.sedmelluq.discord.lavaplayer.remote.message.NodeStatisticsMessage;
 import com.sedmelluq.discord.lavaplayer.tools.DaemonThreadFactory;
 import com.sedmelluq.discord.lavaplayer.tools.ExecutorTools;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
@@ -10,9 +12,18 @@ import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackEndReason;
 import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioTrackExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -20,55 +31,280 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.SUSPICIOUS;
 
 /**
- * Manager of remote nodes for audio processing.
+ * Manager of remote nodes for audio processing. Nodes can be added and removed while tracks are playing. A removed node
+ * is drained first, so its tracks are moved to other nodes before the connection to it is closed.
  */
 public class RemoteNodeManager extends AudioEventAdapter implements Runnable {
+  private static final Logger log = LoggerFactory.getLogger(RemoteNodeManager.class);
+
+  private static final int DRAIN_INTERVAL = 500;
+  private static final int DRAIN_BATCH_SIZE = 10;
+
   private final DefaultAudioPlayerManager playerManager;
   private final List<RemoteNodeProcessor> processors;
+  private final Set<RemoteNodeProcessor> removedProcessors;
   private final AtomicBoolean enabled;
+  private volatile RemoteNodeBalancer balancer;
+  private volatile TrackPlacementPolicy placementPolicy;
+  private volatile boolean localFallback;
   private volatile ScheduledThreadPoolExecutor scheduler;
+  private volatile RemoteNodeDiscovery discovery;
 
   /**
    * @param playerManager Audio player manager
    */
   public RemoteNodeManager(DefaultAudioPlayerManager playerManager) {
     this.playerManager = playerManager;
-    this.processors = new ArrayList<>();
+    this.processors = new CopyOnWriteArrayList<>();
+    this.removedProcessors = ConcurrentHashMap.newKeySet();
     this.enabled = new AtomicBoolean();
+    this.balancer = new PowerOfTwoNodeBalancer();
+    this.placementPolicy = new AlwaysRemotePlacementPolicy();
+  }
+
+  /**
+   * @return The balancer which chooses the node for each track
+   */
+  public RemoteNodeBalancer getBalancer() {
+    return balancer;
   }
 
   /**
-   * Enable and initialise the remote nodes.
+   * @param balancer The balancer to choose the node for each track with
+   */
+  public void setBalancer(RemoteNodeBalancer balancer) {
+    this.balancer = balancer;
+  }
+
+  /**
+   * @return The policy which decides which tracks are played on remote nodes
+   */
+  public TrackPlacementPolicy getPlacementPolicy() {
+    return placementPolicy;
+  }
+
+  /**
+   * @param placementPolicy The policy to decide which tracks are played on remote nodes. By default all tracks which
+   *                        can be played remotely are, {@link ProcessingCostPlacementPolicy} keeps cheap ones local.
+   */
+  public void setPlacementPolicy(TrackPlacementPolicy placementPolicy) {
+    this.placementPolicy = placementPolicy;
+  }
+
+  /**
+   * @param localFallback Whether to play tracks locally when no remote node is available, instead of failing them
+   */
+  public void setLocalFallback(boolean localFallback) {
+    this.localFallback = localFallback;
+  }
+
+  /**
+   * Enable remote nodes and use the specified set of nodes. If already enabled, nodes which are not in the list are
+   * removed and missing ones are added, without interrupting the tracks playing on them.
+   *
    * @param nodeAddresses Addresses of remote nodes
    */
   public void initialise(List<String> nodeAddresses) {
-    if (!enabled.compareAndSet(false, true)) {
-      throw new IllegalStateException("Remote nodes already configured.");
+    setNodes(nodeAddresses);
+  }
+
+  /**
+   * Enable remote nodes and let the discovery provider manage the set of nodes until shutdown.
+   *
+   * @param nodeDiscovery Provider of node addresses
+   */
+  public void useDiscovery(RemoteNodeDiscovery nodeDiscovery) {
+    RemoteNodeDiscovery previousDiscovery;
+
+    synchronized (this) {
+      ensureStarted();
+
+      previousDiscovery = discovery;
+      discovery = nodeDiscovery;
+    }
+
+    // Discovery providers call back into this manager, so they are not called while holding its lock
+    if (previousDiscovery != null) {
+      previousDiscovery.shutdown();
+    }
+
+    nodeDiscovery.start(this);
+  }
+
+  /**
+   * Make the set of nodes equal to the specified addresses, adding and removing nodes as necessary.
+   *
+   * @param nodeAddresses Addresses of remote nodes
+   */
+  public synchronized void setNodes(Collection<String> nodeAddresses) {
+    ensureStarted();
+
+    Set<String> addresses = new LinkedHashSet<>(nodeAddresses);
+
+    for (RemoteNodeProcessor processor : processors) {
+      if (!addresses.contains(processor.getAddress())) {
+        removeNode(processor.getAddress());
+      }
     }
 
-    ScheduledThreadPoolExecutor scheduledExecutor = new ScheduledThreadPoolExecutor(nodeAddresses.size() + 1, new DaemonThreadFactory("remote"));
-    scheduledExecutor.scheduleAtFixedRate(this, 2000, 2000, TimeUnit.MILLISECONDS);
+    for (String address : addresses) {
+      addNode(address);
+    }
+  }
+
+  /**
+   * Add a node. If the node is being removed, the removal is cancelled instead.
+   *
+   * @param nodeAddress Address of the node
+   * @return False if the node was already present
+   */
+  public synchronized boolean addNode(String nodeAddress) {
+    ensureStarted();
+
+    RemoteNodeProcessor existing = findProcessor(nodeAddress);
 
-    for (String nodeAddress : nodeAddresses) {
-      RemoteNodeProcessor processor = new RemoteNodeProcessor(playerManager, nodeAddress, scheduledExecutor);
-      scheduledExecutor.submit(processor);
-      processors.add(processor);
+    if (existing != null) {
+      if (removedProcessors.remove(existing)) {
+        log.info("Cancelled removal of node {}.", nodeAddress);
+        existing.setDraining(false);
+        return true;
+      }
+
+      return false;
     }
 
-    scheduler = scheduledExecutor;
+    log.info("Adding node {}.", nodeAddress);
+
+    RemoteNodeProcessor processor = new RemoteNodeProcessor(playerManager, nodeAddress, scheduler);
+    processors.add(processor);
+    updateSchedulerSize();
+
+    scheduler.submit(processor);
+    return true;
+  }
+
+  /**
+   * Remove a node. No new tracks are sent to it and its tracks are moved to other nodes in the same way as when the
+   * node is drained. The connection to it is closed once it has no more tracks.
+   *
+   * @param nodeAddress Address of the node
+   * @return False if no node with this address is present
+   */
+  public synchronized boolean removeNode(String nodeAddress) {
+    RemoteNodeProcessor processor = findProcessor(nodeAddress);
+
+    if (processor == null || !removedProcessors.add(processor)) {
+      return false;
+    }
+
+    log.info("Removing node {} once its tracks have been moved to other nodes.", nodeAddress);
+    processor.setDraining(true);
+    return true;
+  }
+
+  /**
+   * @return Addresses of the nodes currently in use, including the ones which are being removed
+   */
+  public List<String> getNodeAddresses() {
+    List<String> addresses = new ArrayList<>();
+
+    for (RemoteNodeProcessor processor : processors) {
+      addresses.add(processor.getAddress());
+    }
+
+    return addresses;
+  }
+
+  /**
+   * Estimated number of additional tracks each available node can play before its processing threads fall behind. The
+   * estimate is reported by the node from the measured CPU cost of the tracks it is playing, minus the starts sent to
+   * it since its last statistics. Nodes which have not measured any track costs yet are not included.
+   *
+   * @return Map of node address to its estimated track headroom
+   */
+  public Map<String, Integer> getTrackHeadroom() {
+    Map<String, Integer> headroom = new LinkedHashMap<>();
+
+    for (RemoteNodeProcessor processor : processors) {
+      NodeStatisticsMessage statistics = processor.getLastStatistics();
+
+      if (processor.isAvailable() && statistics != null && statistics.trackHeadroom >= 0) {
+        headroom.put(processor.getAddress(), Math.max(0, statistics.trackHeadroom - processor.getInFlightStartCount()));
+      }
+    }
+
+    return headroom;
+  }
+
+  /**
+   * @return Estimated number of additional tracks all available nodes together can play, see {@link #getTrackHeadroom()}
+   */
+  public int getClusterTrackHeadroom() {
+    int total = 0;
+
+    for (int nodeHeadroom : getTrackHeadroom().values()) {
+      total += nodeHeadroom;
+    }
+
+    return total;
+  }
+
+  private void ensureStarted() {
+    if (enabled.compareAndSet(false, true)) {
+      ScheduledThreadPoolExecutor scheduledExecutor = new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory("remote"));
+      scheduledExecutor.scheduleAtFixedRate(this, 2000, 2000, TimeUnit.MILLISECONDS);
+      scheduledExecutor.scheduleAtFixedRate(this::processDrainingNodes, DRAIN_INTERVAL, DRAIN_INTERVAL, TimeUnit.MILLISECONDS);
+
+      scheduler = scheduledExecutor;
+    }
+  }
+
+  private void updateSchedulerSize() {
+    // Each connected node occupies one thread for reading, the rest are shared for sending frame credits
+    scheduler.setCorePoolSize(processors.size() * 2 + 1);
+  }
+
+  private RemoteNodeProcessor findProcessor(String nodeAddress) {
+    for (RemoteNodeProcessor processor : processors) {
+      if (processor.getAddress().equals(nodeAddress)) {
+        return processor;
+      }
+    }
+
+    return null;
   }
 
   /**
    * Shut down, freeing all threads and stopping all tracks executed on remote nodes.
    */
   public void shutdown() {
-    if (!enabled.compareAndSet(true, false)) {
-      return;
+    RemoteNodeDiscovery currentDiscovery = discovery;
+
+    if (currentDiscovery != null) {
+      currentDiscovery.shutdown();
+    }
+
+    List<RemoteNodeProcessor> previousProcessors;
+
+    synchronized (this) {
+      if (!enabled.compareAndSet(true, false)) {
+        return;
+      }
+
+      discovery = null;
+      previousProcessors = new ArrayList<>(processors);
+      processors.clear();
+      removedProcessors.clear();
+    }
+
+    // Closing the connections first releases the threads blocked on reading from them
+    for (RemoteNodeProcessor processor : previousProcessors) {
+      processor.terminate();
     }
 
     ExecutorTools.shutdownExecutor(scheduler, "node manager");
 
-    for (RemoteNodeProcessor processor : processors) {
+    for (RemoteNodeProcessor processor : previousProcessors) {
       processor.processHealthCheck(true);
     }
   }
@@ -80,29 +316,133 @@ public class RemoteNodeManager extends AudioEventAdapter implements Runnable {
     return enabled.get();
   }
 
+  /**
+   * @param track Track which is about to start playing and can be played remotely
+   * @param volume Volume the track starts playing with
+   * @return True if the track should be played on a remote node
+   */
+  public boolean shouldPlayRemotely(InternalAudioTrack track, int volume) {
+    if (!enabled.get()) {
+      return false;
+    } else if (localFallback && !hasAvailableNode()) {
+      log.debug("No remote nodes available, playing track {} locally.", track.getIdentifier());
+      return false;
+    }
+
+    return placementPolicy.isRemote(track, volume);
+  }
+
+  private boolean hasAvailableNode() {
+    for (RemoteNodeProcessor processor : processors) {
+      if (processor.isAvailable()) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
   /**
    * Start playing an audio track remotely.
    * @param remoteExecutor The executor of the track
    */
   public void startPlaying(RemoteAudioTrackExecutor remoteExecutor) {
-    RemoteNodeProcessor processor = getNodeForNextTrack();
+    RemoteNodeProcessor processor = getNodeForNextTrack(remoteExecutor);
 
     processor.startPlaying(remoteExecutor);
   }
 
-  private RemoteNodeProcessor getNodeForNextTrack() {
-    int lowestPenalty = Integer.MAX_VALUE;
-    RemoteNodeProcessor node = null;
+  /**
+   * Move a track from a node that went offline to another node. The track continues from the position following the
+   * last frame it received, so the frames remaining in its local buffer cover the time it takes to start it again.
+   *
+   * @param remoteExecutor The executor of the track
+   * @param previousNode The node which was playing the track
+   * @return True if the track was started on another node
+   */
+  public boolean migrateTrack(RemoteAudioTrackExecutor remoteExecutor, RemoteNodeProcessor previousNode) {
+    return remoteExecutor.allowMigration() && startOnOtherNode(remoteExecutor, previousNode);
+  }
 
-    for (RemoteNodeProcessor processor : processors) {
-      int penalty = processor.getBalancerPenalty();
+  /**
+   * Start a track on another node after the node it was sent to rejected it because of its load.
+   *
+   * @param remoteExecutor The executor of the track
+   * @param rejectingNode The node which rejected the track
+   * @return True if the track was started on another node
+   */
+  public boolean retryStart(RemoteAudioTrackExecutor remoteExecutor, RemoteNodeProcessor rejectingNode) {
+    return remoteExecutor.allowMigration() && startOnOtherNode(remoteExecutor, rejectingNode);
+  }
 
-      if (penalty < lowestPenalty) {
-        lowestPenalty = penalty;
-        node = processor;
-      }
+  /**
+   * Stop sending new tracks to a node and gradually move its current tracks to other nodes. A node can also request
+   * this itself, in which case it is reported in its statistics.
+   *
+   * @param nodeAddress Address of the node
+   * @return False if no node with this address is configured
+   */
+  public boolean drainNode(String nodeAddress) {
+    return setDraining(nodeAddress, true);
+  }
+
+  /**
+   * Allow a node that was drained with {@link #drainNode(String)} to receive tracks again. Tracks which have already
+   * been moved away are not moved back. A node which is being removed stays drained, its removal can be cancelled with
+   * {@link #addNode(String)} instead.
+   *
+   * @param nodeAddress Address of the node
+   * @return False if no node with this address is configured or the node is being removed
+   */
+  public boolean cancelDrain(String nodeAddress) {
+    return setDraining(nodeAddress, false);
+  }
+
+  private synchronized boolean setDraining(String nodeAddress, boolean draining) {
+    RemoteNodeProcessor processor = findProcessor(nodeAddress);
+
+    if (processor == null) {
+      return false;
+    } else if (!draining && removedProcessors.contains(processor)) {
+      log.info("Not cancelling drain of node {}, it is being removed.", nodeAddress);
+      return false;
+    }
+
+    log.info("Node {} {}.", nodeAddress, draining ? "is being drained" : "is no longer being drained");
+
+    processor.setDraining(draining);
+    return true;
+  }
+
+  boolean startOnOtherNode(RemoteAudioTrackExecutor remoteExecutor, RemoteNodeProcessor previousNode) {
+    if (!enabled.get()) {
+      return false;
+    }
+
+    List<RemoteNodeProcessor> candidates = new ArrayList<>(processors);
+    candidates.remove(previousNode);
+
+    if (!remoteExecutor.getTrack().isSeekable() && remoteExecutor.getResumePosition() > 0) {
+      // Older nodes could only continue it by seeking, which a stream does not support
+      candidates.removeIf(candidate -> !candidate.supportsStartPosition());
     }
 
+    RemoteNodeProcessor node = balancer.selectNode(candidates, remoteExecutor.getAffinityKey());
+
+    if (node == null) {
+      return false;
+    }
+
+    log.info("Moving track {} from node {} to node {} at position {}.", remoteExecutor.getTrack().getIdentifier(),
+        previousNode.getAddress(), node.getAddress(), remoteExecutor.getResumePosition());
+
+    node.startPlaying(remoteExecutor);
+    return true;
+  }
+
+  private RemoteNodeProcessor getNodeForNextTrack(RemoteAudioTrackExecutor remoteExecutor) {
+    RemoteNodeProcessor node = balancer.selectNode(processors, remoteExecutor.getAffinityKey());
+
     if (node == null) {
       throw new FriendlyException("No available machines for playing track.", SUSPICIOUS, null);
     }
@@ -121,6 +461,32 @@ public class RemoteNodeManager extends AudioEventAdapter implements Runnable {
     }
   }
 
+  private void processDrainingNodes() {
+    for (RemoteNodeProcessor processor : processors) {
+      if (processor.isDraining() && processor.getTrackCount() > 0) {
+        int moved = processor.moveTracks(DRAIN_BATCH_SIZE);
+
+        if (moved > 0 && processor.getTrackCount() == 0) {
+          log.info("All tracks have been moved away from draining node {}.", processor.getAddress());
+        }
+      }
+
+      if (removedProcessors.contains(processor) && processor.getTrackCount() == 0) {
+        finishRemoval(processor);
+      }
+    }
+  }
+
+  private synchronized void finishRemoval(RemoteNodeProcessor processor) {
+    if (removedProcessors.remove(processor)) {
+      log.info("Node {} removed.", processor.getAddress());
+
+      processors.remove(processor);
+      processor.terminate();
+      updateSchedulerSize();
+    }
+  }
+
   @Override
   public void run() {
     for (RemoteNodeProcessor processor : processors) {
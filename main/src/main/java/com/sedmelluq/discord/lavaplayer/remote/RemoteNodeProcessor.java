@@ -4,6 +4,7 @@ import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
 import com.sedmelluq.discord.lavaplayer.remote.message.NodeStatisticsMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessageMapper;
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteStreamProtocol;
 import com.sedmelluq.discord.lavaplayer.remote.message.TrackExceptionMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.TrackFrameDataMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.TrackFrameRequestMessage;
@@ -12,29 +13,32 @@ import com.sedmelluq.discord.lavaplayer.remote.message.TrackStartResponseMessage
 import com.sedmelluq.discord.lavaplayer.remote.message.TrackStoppedMessage;
 import com.sedmelluq.discord.lavaplayer.tools.ExceptionTools;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.tools.GarbageCollectionMonitor;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrackState;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameBuffer;
-import org.apache.http.client.config.RequestConfig;
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.entity.ByteArrayEntity;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -43,27 +47,49 @@ import java.util.concurrent.atomic.AtomicInteger;
 import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.SUSPICIOUS;
 
 /**
- * Processes one remote node.
+ * Processes one remote node. Communication happens over a persistent streaming connection, where the node pushes
+ * frames of a track as long as it has frame credit for it. Credit is replenished up to the target size of the local
+ * buffer of the track once the buffered and requested frames fall below its low watermark, which the executor reports
+ * as soon as it happens. The target size follows the measured delay of frame requests to this node. Other messages are
+ * sent as soon as they are queued.
  */
-public class RemoteNodeProcessor implements Runnable {
+public class RemoteNodeProcessor implements RemoteNode, Runnable {
   private static final Logger log = LoggerFactory.getLogger(RemoteNodeProcessor.class);
 
   private static final int CONNECT_TIMEOUT = 1000;
-  private static final int SOCKET_TIMEOUT = 2000;
+  private static final int SOCKET_TIMEOUT = 3000;
   private static final int TRACK_KILL_THRESHOLD = 5000;
+  private static final int REJECTION_BACKOFF = 2000;
+  private static final int CREDIT_SWEEP_INTERVAL = 100;
+  private static final long NOTICEABLE_GC_PAUSE = 50;
+  private static final long LONG_GC_PAUSE = 200;
+  private static final int NOTICEABLE_GC_PAUSE_PENALTY = 10;
+  private static final int LONG_GC_PAUSE_PENALTY = 50;
+  private static final int FRAME_DEFICIT_PENALTY_DIVISOR = 5;
 
   private final DefaultAudioPlayerManager playerManager;
   private final String nodeAddress;
   private final ScheduledThreadPoolExecutor scheduledExecutor;
   private final BlockingQueue<RemoteMessage> queuedMessages;
   private final ConcurrentMap<Long, RemoteAudioTrackExecutor> playingTracks;
-  private final RemoteMessageMapper mapper;
-  private final HttpClientBuilder httpClientBuilder;
+  private volatile RemoteMessageMapper mapper;
   private final AtomicBoolean threadRunning;
   private final AtomicInteger controlState;
+  private final Object writeLock;
+  private final AtomicInteger unconfirmedStarts;
+  private final AtomicInteger confirmedStartsSinceStatistics;
+  private final Map<Long, TrackCredit> trackCredits;
+  private final RemoteNodeLatency latency;
+  private DataOutputStream connectionOutput;
+  private long lastWriteTime;
+  private volatile ScheduledFuture<?> creditTask;
   private volatile int aliveTickCounter;
   private volatile long lastAliveTime;
   private volatile NodeStatisticsMessage lastStatistics;
+  private volatile boolean draining;
+  private volatile long rejectingUntil;
+  private volatile boolean terminated;
+  private volatile Socket activeSocket;
 
   /**
    * @param playerManager Audio player manager
@@ -76,10 +102,13 @@ public class RemoteNodeProcessor implements Runnable {
     this.scheduledExecutor = scheduledExecutor;
     queuedMessages = new LinkedBlockingQueue<>();
     playingTracks = new ConcurrentHashMap<>();
-    mapper = new RemoteMessageMapper();
-    httpClientBuilder = createHttpClientBuilder();
     threadRunning = new AtomicBoolean();
     controlState = new AtomicInteger(ControlState.OFFLINE.id());
+    writeLock = new Object();
+    unconfirmedStarts = new AtomicInteger();
+    confirmedStartsSinceStatistics = new AtomicInteger();
+    trackCredits = new HashMap<>();
+    latency = new RemoteNodeLatency(RemoteAudioTrackExecutor.LOW_WATERMARK_RATIO, RemoteAudioTrackExecutor.DEFAULT_BUFFER_DURATION_MS);
   }
 
   /**
@@ -89,12 +118,24 @@ public class RemoteNodeProcessor implements Runnable {
   public void startPlaying(RemoteAudioTrackExecutor executor) {
     AudioTrack track = executor.getTrack();
 
-    if (playingTracks.putIfAbsent(executor.getExecutorId(), executor) == null) {
-      log.info("Sending request to play {} {}", track.getIdentifier(), executor.getExecutorId());
+    // Frame credits are sent for all tracks under the write lock, so none must be sent before the start request
+    synchronized (writeLock) {
+      if (playingTracks.putIfAbsent(executor.getExecutorId(), executor) != null) {
+        return;
+      }
+
+      executor.setBufferDuration(latency.getBufferDuration());
+      executor.setRequestListener(this::requestFrames);
+
+      unconfirmedStarts.incrementAndGet();
 
       queuedMessages.add(new TrackStartRequestMessage(executor.getExecutorId(), track.getInfo(), playerManager.encodeTrackDetails(track),
-          executor.getVolume(), executor.getConfiguration()));
+          executor.getVolume(), executor.getConfiguration(), executor.getResumePosition()));
     }
+
+    log.info("Sending request to play {} {}", track.getIdentifier(), executor.getExecutorId());
+    flushQueuedMessages();
+    sendCredit(executor);
   }
 
   /**
@@ -110,15 +151,58 @@ public class RemoteNodeProcessor implements Runnable {
         log.info("Notifying node {} of track stop for {} (context {})", nodeAddress, executor.getTrack().getIdentifier(), executor.getExecutorId());
 
         queuedMessages.add(new TrackStoppedMessage(executor.getExecutorId()));
+        flushQueuedMessages();
       }
 
       executor.detach();
     }
   }
 
+  /**
+   * Move some of the tracks of this node to other nodes. Each track is switched over between two frame data messages
+   * and continues on the other node from the position following the last frame it received from this node.
+   *
+   * @param limit Maximum number of tracks to move
+   * @return The number of tracks moved
+   */
+  public int moveTracks(int limit) {
+    int moved = 0;
+
+    for (RemoteAudioTrackExecutor executor : new ArrayList<>(playingTracks.values())) {
+      if (moved >= limit) {
+        break;
+      } else if (executor.getState() == AudioTrackState.PLAYING && moveTrack(executor)) {
+        moved++;
+      }
+    }
+
+    return moved;
+  }
+
+  private boolean moveTrack(RemoteAudioTrackExecutor executor) {
+    RemoteNodeManager nodeManager = playerManager.getRemoteNodeManager();
+
+    synchronized (executor) {
+      if (!playingTracks.remove(executor.getExecutorId(), executor)) {
+        return false;
+      }
+
+      if (!nodeManager.startOnOtherNode(executor, this)) {
+        playingTracks.put(executor.getExecutorId(), executor);
+        return false;
+      }
+    }
+
+    queuedMessages.add(new TrackStoppedMessage(executor.getExecutorId()));
+    flushQueuedMessages();
+    return true;
+  }
+
   @Override
   public void run() {
-    if (!threadRunning.compareAndSet(false, true)) {
+    if (terminated) {
+      return;
+    } else if (!threadRunning.compareAndSet(false, true)) {
       log.debug("Not running node processor for {}, thread already active.", nodeAddress);
       return;
     }
@@ -127,13 +211,16 @@ public class RemoteNodeProcessor implements Runnable {
 
     controlState.set(ControlState.PENDING.id());
 
-    try (CloseableHttpClient httpClient = httpClientBuilder.build()) {
-      while (processOneTick(httpClient)) {
-        aliveTickCounter = Math.max(1, aliveTickCounter + 1);
-        lastAliveTime = System.currentTimeMillis();
+    try (Socket socket = openConnection()) {
+      activeSocket = socket;
+
+      if (!terminated) {
+        processConnection(socket);
       }
     } catch (Throwable e) {
-      if (aliveTickCounter > 0) {
+      if (terminated) {
+        log.debug("Closed connection to removed node {}.", nodeAddress);
+      } else if (aliveTickCounter > 0) {
         log.error("Node {} went offline with exception.", nodeAddress, e);
       } else {
         log.debug("Retry, node {} is still offline.", nodeAddress);
@@ -141,12 +228,38 @@ public class RemoteNodeProcessor implements Runnable {
 
       ExceptionTools.rethrowErrors(e);
     } finally {
-      controlState.set(ControlState.OFFLINE.id());
+      activeSocket = null;
+      closeConnection();
+
+      if (controlState.getAndSet(ControlState.OFFLINE.id()) == ControlState.ONLINE.id() && !playingTracks.isEmpty()) {
+        // The local buffers of the tracks are shorter than the health check threshold, so move them right away
+        log.warn("Lost connection to node {}, moving its tracks to other nodes.", nodeAddress);
+        releaseTracks(true);
+      }
 
       aliveTickCounter = Math.min(-1, aliveTickCounter - 1);
       threadRunning.set(false);
 
-      scheduledExecutor.schedule(this, getScheduleDelay(), TimeUnit.MILLISECONDS);
+      if (!terminated) {
+        scheduledExecutor.schedule(this, getScheduleDelay(), TimeUnit.MILLISECONDS);
+      }
+    }
+  }
+
+  /**
+   * Permanently disconnect from this node. Any tracks still on it are moved to other nodes.
+   */
+  public void terminate() {
+    terminated = true;
+
+    Socket socket = activeSocket;
+
+    if (socket != null) {
+      try {
+        socket.close();
+      } catch (IOException e) {
+        log.debug("Failed to close connection to node {}.", nodeAddress, e);
+      }
     }
   }
 
@@ -160,95 +273,291 @@ public class RemoteNodeProcessor implements Runnable {
     }
   }
 
-  private boolean processOneTick(CloseableHttpClient httpClient) throws Exception {
-    HttpPost post = new HttpPost("http://" + nodeAddress + "/tick");
-    post.setEntity(new ByteArrayEntity(buildRequestBody()));
+  private Socket openConnection() throws IOException {
+    int portIndex = nodeAddress.lastIndexOf(':');
+    String host = portIndex >= 0 ? nodeAddress.substring(0, portIndex) : nodeAddress;
+    int port = portIndex >= 0 ? Integer.parseInt(nodeAddress.substring(portIndex + 1)) : 80;
 
-    try (CloseableHttpResponse response = httpClient.execute(post)) {
-      if (response.getStatusLine().getStatusCode() != 200) {
-        throw new IOException("Returned an unexpected response code " + response.getStatusLine().getStatusCode());
-      }
+    Socket socket = new Socket();
 
-      if (controlState.compareAndSet(ControlState.PENDING.id(), ControlState.ONLINE.id())) {
-        log.info("Node {} came online.", nodeAddress);
-      } else if (controlState.get() != ControlState.ONLINE.id()) {
-        log.warn("Node {} received successful response, but had already lost control of its tracks.");
-        return false;
+    try {
+      socket.setTcpNoDelay(true);
+      socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT);
+      socket.setSoTimeout(SOCKET_TIMEOUT);
+    } catch (IOException e) {
+      socket.close();
+      throw e;
+    }
+
+    return socket;
+  }
+
+  private void processConnection(Socket socket) throws Exception {
+    DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+    mapper = new RemoteMessageMapper(performHandshake(input, output));
+
+    if (controlState.compareAndSet(ControlState.PENDING.id(), ControlState.ONLINE.id())) {
+      log.info("Node {} came online.", nodeAddress);
+    } else {
+      log.warn("Node {} accepted the connection, but had already lost control of its tracks.", nodeAddress);
+      return;
+    }
+
+    lastAliveTime = System.currentTimeMillis();
+
+    synchronized (writeLock) {
+      connectionOutput = output;
+      lastWriteTime = 0;
+    }
+
+    creditTask = scheduledExecutor.scheduleAtFixedRate(this::sendCredits, 0, CREDIT_SWEEP_INTERVAL, TimeUnit.MILLISECONDS);
+
+    RemoteMessage message;
+
+    while (controlState.get() == ControlState.ONLINE.id()) {
+      if ((message = mapper.decode(input)) != null) {
+        handleMessage(message);
       }
 
+      aliveTickCounter = Math.max(1, aliveTickCounter + 1);
       lastAliveTime = System.currentTimeMillis();
+    }
+  }
 
-      if (!handleResponseBody(response.getEntity().getContent())) {
-        return false;
+  private int performHandshake(DataInputStream input, DataOutputStream output) throws IOException {
+    output.write(("GET " + RemoteStreamProtocol.PATH + " HTTP/1.1\r\n" +
+        "Host: " + nodeAddress + "\r\n" +
+        "Connection: Upgrade\r\n" +
+        "Upgrade: " + RemoteStreamProtocol.UPGRADE_PROTOCOL + "\r\n" +
+        RemoteStreamProtocol.VERSION_HEADER + ": " + RemoteStreamProtocol.VERSION + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+    output.flush();
+
+    String statusLine = readHeaderLine(input);
+    String versionPrefix = RemoteStreamProtocol.VERSION_HEADER + ":";
+    String versionValue = null;
+    String header;
+
+    while (!(header = readHeaderLine(input)).isEmpty()) {
+      if (header.regionMatches(true, 0, versionPrefix, 0, versionPrefix.length())) {
+        versionValue = header.substring(versionPrefix.length());
       }
     }
 
-    Thread.sleep(500);
-    return true;
-  }
+    if (!statusLine.startsWith("HTTP/1.1 101")) {
+      throw new IOException("Node refused to open a streaming connection: " + statusLine);
+    }
 
-  private byte[] buildRequestBody() throws IOException {
-    ByteArrayOutputStream outputBytes = new ByteArrayOutputStream();
-    DataOutputStream output = new DataOutputStream(outputBytes);
+    int version = RemoteStreamProtocol.negotiateVersion(versionValue);
+    log.debug("Using protocol version {} for node {}.", version, nodeAddress);
+    return version;
+  }
 
-    List<RemoteMessage> messages = new ArrayList<>();
-    int queuedCount = queuedMessages.drainTo(messages);
+  private static String readHeaderLine(DataInputStream input) throws IOException {
+    StringBuilder line = new StringBuilder();
+    int value;
 
-    if (queuedCount > 0) {
-      log.debug("Including {} queued messages in the request to {}.", queuedCount, nodeAddress);
+    while ((value = input.read()) != '\n') {
+      if (value == -1) {
+        throw new EOFException("Connection closed during handshake.");
+      } else if (value != '\r') {
+        line.append((char) value);
+      }
     }
 
-    for (RemoteAudioTrackExecutor executor : playingTracks.values()) {
-      long pendingSeek = executor.getPendingSeek();
+    return line.toString();
+  }
 
-      AudioFrameBuffer buffer = executor.getAudioBuffer();
-      int neededFrames = pendingSeek == -1 ? buffer.getRemainingCapacity() : buffer.getFullCapacity();
+  private void closeConnection() {
+    ScheduledFuture<?> task = creditTask;
 
-      messages.add(new TrackFrameRequestMessage(executor.getExecutorId(), neededFrames, executor.getVolume(), pendingSeek));
+    if (task != null) {
+      task.cancel(false);
+      creditTask = null;
     }
 
-    for (RemoteMessage message : messages) {
-      mapper.encode(output, message);
+    synchronized (writeLock) {
+      connectionOutput = null;
+      trackCredits.clear();
     }
 
-    mapper.endOutput(output);
-    return outputBytes.toByteArray();
+    unconfirmedStarts.set(0);
+    confirmedStartsSinceStatistics.set(0);
   }
 
-  private boolean handleResponseBody(InputStream inputStream) {
-    DataInputStream input = new DataInputStream(inputStream);
-    RemoteMessage message;
+  private void sendCredits() {
+    try {
+      synchronized (writeLock) {
+        if (connectionOutput == null) {
+          return;
+        }
+
+        writeQueuedMessages();
+
+        int bufferDuration = latency.getBufferDuration();
+
+        for (RemoteAudioTrackExecutor executor : playingTracks.values()) {
+          executor.setBufferDuration(bufferDuration);
+          writeCredit(executor);
+        }
+
+        trackCredits.keySet().retainAll(playingTracks.keySet());
+
+        if (lastWriteTime < System.currentTimeMillis() - RemoteStreamProtocol.KEEP_ALIVE_INTERVAL_MS) {
+          mapper.endOutput(connectionOutput);
+          lastWriteTime = System.currentTimeMillis();
+        }
+
+        connectionOutput.flush();
+      }
+    } catch (Throwable e) {
+      log.debug("Failed to send frame credits to node {}.", nodeAddress, e);
+      ExceptionTools.rethrowErrors(e);
+    }
+  }
+
+  private void requestFrames(RemoteAudioTrackExecutor executor) {
+    // Called from the thread providing frames, which must not wait for the connection
+    try {
+      scheduledExecutor.execute(() -> sendCredit(executor));
+    } catch (RejectedExecutionException e) {
+      log.debug("Not requesting frames from node {}, remote node manager is shut down.", nodeAddress);
+    }
+  }
 
+  private void sendCredit(RemoteAudioTrackExecutor executor) {
     try {
-      while ((message = mapper.decode(input)) != null) {
-        if (message instanceof TrackStartResponseMessage) {
-          handleTrackStartResponse((TrackStartResponseMessage) message);
-        } else if (message instanceof TrackFrameDataMessage) {
-          handleTrackFrameData((TrackFrameDataMessage) message);
-        } else if (message instanceof TrackExceptionMessage) {
-          handleTrackException((TrackExceptionMessage) message);
-        } else if (message instanceof NodeStatisticsMessage) {
-          handleNodeStatistics((NodeStatisticsMessage) message);
+      synchronized (writeLock) {
+        if (connectionOutput != null && playingTracks.get(executor.getExecutorId()) == executor) {
+          writeCredit(executor);
+          connectionOutput.flush();
         }
       }
-    } catch (InterruptedException interruption) {
-      log.error("Node processing thread was interrupted.");
-      Thread.currentThread().interrupt();
-      return false;
     } catch (Throwable e) {
-      log.error("Error when processing response from node.", e);
+      log.debug("Failed to send frame credit to node {}.", nodeAddress, e);
       ExceptionTools.rethrowErrors(e);
     }
+  }
 
-    return true;
+  private void writeCredit(RemoteAudioTrackExecutor executor) throws IOException {
+    TrackCredit credit = trackCredits.computeIfAbsent(executor.getExecutorId(), id -> new TrackCredit());
+    AudioFrameBuffer buffer = executor.getAudioBuffer();
+    long pendingSeek = executor.getPendingSeek();
+    int volume = executor.getVolume();
+
+    executor.resetRequestSignal();
+
+    if (pendingSeek != -1 && pendingSeek != credit.sentSeek) {
+      credit.outstanding = executor.getTargetFrames();
+      credit.sentSeek = pendingSeek;
+      credit.sentVolume = volume;
+      credit.requestTime = 0;
+
+      writeMessage(new TrackFrameRequestMessage(executor.getExecutorId(), credit.outstanding, volume, pendingSeek));
+    } else {
+      int available = buffer.getFullCapacity() - buffer.getRemainingCapacity() + credit.outstanding;
+      int grant = available < executor.getLowWatermark() ? Math.max(0, executor.getTargetFrames() - available) : 0;
+
+      if (grant > 0 && credit.outstanding == 0 && credit.receivedFrames) {
+        // Only time requests which the node can serve right away, the first frames of a track depend on loading it
+        credit.requestTime = System.nanoTime();
+      }
+
+      if (grant > 0 || volume != credit.sentVolume) {
+        credit.outstanding += grant;
+        credit.sentVolume = volume;
+
+        writeMessage(new TrackFrameRequestMessage(executor.getExecutorId(), grant, volume, -1));
+      }
+    }
+  }
+
+  private void flushQueuedMessages() {
+    try {
+      synchronized (writeLock) {
+        if (connectionOutput != null && !queuedMessages.isEmpty()) {
+          writeQueuedMessages();
+          connectionOutput.flush();
+        }
+      }
+    } catch (IOException e) {
+      log.debug("Failed to send messages to node {}, they are sent once it is reconnected.", nodeAddress, e);
+    }
+  }
+
+  private void writeQueuedMessages() throws IOException {
+    RemoteMessage message;
+
+    while ((message = queuedMessages.peek()) != null) {
+      writeMessage(message);
+      queuedMessages.remove();
+
+      if (message instanceof TrackStartRequestMessage) {
+        checkStartPosition((TrackStartRequestMessage) message);
+      }
+    }
+  }
+
+  private void checkStartPosition(TrackStartRequestMessage message) {
+    RemoteAudioTrackExecutor executor = playingTracks.get(message.executorId);
+
+    if (message.position > 0 && !supportsStartPosition() && executor != null && executor.getPendingSeek() == -1) {
+      if (executor.getTrack().isSeekable()) {
+        // The node does not understand the start position, so seek to it along with the next frame request instead
+        executor.seekForHandover(message.position);
+      } else {
+        // Only possible if the node was downgraded after it was chosen, a stream cannot be continued there
+        try {
+          scheduledExecutor.execute(() -> failHandover(executor));
+        } catch (RejectedExecutionException e) {
+          log.debug("Not failing track on node {}, remote node manager is shut down.", nodeAddress);
+        }
+      }
+    }
+  }
+
+  private void failHandover(RemoteAudioTrackExecutor executor) {
+    executor.dispatchException(new FriendlyException("Remote machine cannot continue the stream from its position.",
+        SUSPICIOUS, null));
+    executor.stop();
+  }
+
+  private void writeMessage(RemoteMessage message) throws IOException {
+    mapper.encode(connectionOutput, message);
+    lastWriteTime = System.currentTimeMillis();
+  }
+
+  private void handleMessage(RemoteMessage message) throws Exception {
+    if (message instanceof TrackStartResponseMessage) {
+      handleTrackStartResponse((TrackStartResponseMessage) message);
+    } else if (message instanceof TrackFrameDataMessage) {
+      handleTrackFrameData((TrackFrameDataMessage) message);
+    } else if (message instanceof TrackExceptionMessage) {
+      handleTrackException((TrackExceptionMessage) message);
+    } else if (message instanceof NodeStatisticsMessage) {
+      handleNodeStatistics((NodeStatisticsMessage) message);
+    }
   }
 
   private void handleTrackStartResponse(TrackStartResponseMessage message) {
+    unconfirmedStarts.updateAndGet(count -> Math.max(0, count - 1));
+
     if (message.success) {
+      confirmedStartsSinceStatistics.incrementAndGet();
       log.debug("Successful start confirmation from node {} for executor {}.", nodeAddress, message.executorId);
     } else {
       RemoteAudioTrackExecutor executor = playingTracks.get(message.executorId);
 
+      if (message.retryable) {
+        // The node is overloaded, avoid it for a while so the retry and the next tracks go elsewhere
+        rejectingUntil = System.currentTimeMillis() + REJECTION_BACKOFF;
+
+        if (executor != null && retryStart(executor, message.failureReason)) {
+          return;
+        }
+      }
+
       if (executor != null) {
         executor.dispatchException(new FriendlyException("Remote machine failed to start track: " + message.failureReason, SUSPICIOUS, null));
         executor.stop();
@@ -258,24 +567,88 @@ public class RemoteNodeProcessor implements Runnable {
     }
   }
 
+  private boolean retryStart(RemoteAudioTrackExecutor executor, String reason) {
+    RemoteNodeManager nodeManager = playerManager.getRemoteNodeManager();
+
+    synchronized (executor) {
+      if (!playingTracks.remove(executor.getExecutorId(), executor)) {
+        return true;
+      }
+
+      log.info("Node {} rejected track {} ({}), retrying on another node.", nodeAddress,
+          executor.getTrack().getIdentifier(), reason);
+
+      if (!nodeManager.retryStart(executor, this)) {
+        playingTracks.put(executor.getExecutorId(), executor);
+        return false;
+      }
+    }
+
+    return true;
+  }
+
   private void handleTrackFrameData(TrackFrameDataMessage message) throws Exception {
     RemoteAudioTrackExecutor executor = playingTracks.get(message.executorId);
 
     if (executor != null) {
+      synchronized (executor) {
+        // The track may have been moved to another node after it was looked up
+        if (playingTracks.get(message.executorId) == executor) {
+          consumeTrackFrameData(executor, message);
+        }
+      }
+    }
+  }
+
+  private void consumeTrackFrameData(RemoteAudioTrackExecutor executor, TrackFrameDataMessage message) throws Exception {
+    updateCredit(executor, message);
+
+    AudioFrameBuffer buffer = executor.getAudioBuffer();
+
+    if (executor.isExpectingSeek(message.seekedPosition)) {
+      // Produced before the node received the seek, the buffer was already cleared for the seek
+      executor.receivedData();
+    } else {
       if (message.seekedPosition >= 0) {
         executor.clearSeek(message.seekedPosition);
       }
 
-      AudioFrameBuffer buffer = executor.getAudioBuffer();
-      executor.receivedData();
+      executor.receivedData(message.frames.isEmpty() ? -1 : message.frames.get(message.frames.size() - 1).timecode);
 
       for (AudioFrame frame : message.frames) {
         buffer.consume(frame);
       }
+    }
 
-      if (message.finished) {
-        buffer.setTerminateOnEmpty();
-        trackEnded(executor, false);
+    if (message.finished) {
+      buffer.setTerminateOnEmpty();
+      trackEnded(executor, false);
+    }
+  }
+
+  private void updateCredit(RemoteAudioTrackExecutor executor, TrackFrameDataMessage message) {
+    synchronized (writeLock) {
+      TrackCredit credit = trackCredits.get(message.executorId);
+
+      if (credit == null) {
+        return;
+      }
+
+      if (!message.frames.isEmpty()) {
+        if (credit.requestTime != 0) {
+          latency.addSample((System.nanoTime() - credit.requestTime) / 1000000.0);
+          credit.requestTime = 0;
+        }
+
+        credit.receivedFrames = true;
+      }
+
+      if (credit.sentSeek != -1 && message.seekedPosition == credit.sentSeek) {
+        // The node replaced the credit of the track when it performed the seek
+        credit.sentSeek = -1;
+        credit.outstanding = Math.max(0, executor.getTargetFrames() - message.frames.size());
+      } else if (credit.sentSeek == -1) {
+        credit.outstanding = Math.max(0, credit.outstanding - message.frames.size());
       }
     }
   }
@@ -292,24 +665,16 @@ public class RemoteNodeProcessor implements Runnable {
     log.trace("Received stats from node: {} {} {} {}", message.playingTrackCount, message.totalTrackCount,
         message.processCpuUsage, message.systemCpuUsage);
 
+    // Statistics arrive on the same connection after the start responses, so they include all confirmed starts
+    confirmedStartsSinceStatistics.set(0);
     lastStatistics = message;
   }
 
-  private static HttpClientBuilder createHttpClientBuilder() {
-    RequestConfig.Builder requestBuilder = RequestConfig.custom();
-    requestBuilder = requestBuilder.setConnectTimeout(CONNECT_TIMEOUT);
-    requestBuilder = requestBuilder.setConnectionRequestTimeout(SOCKET_TIMEOUT);
-
-    HttpClientBuilder builder = HttpClientBuilder.create();
-    builder.setDefaultRequestConfig(requestBuilder.build());
-    return builder;
-  }
-
   /**
    * Check if there are any playing tracks on a node that has not shown signs of life in too long. In that case its
-   * playing tracks will also be marked dead.
+   * playing tracks are moved to other nodes, or marked dead if that is not possible.
    *
-   * @param terminate Whether to terminate without checking the threshold
+   * @param terminate Whether to terminate without checking the threshold, in which case tracks are not moved
    */
   public synchronized void processHealthCheck(boolean terminate) {
     if (playingTracks.isEmpty() || (!terminate && lastAliveTime >= System.currentTimeMillis() - TRACK_KILL_THRESHOLD)) {
@@ -317,21 +682,84 @@ public class RemoteNodeProcessor implements Runnable {
     }
 
     controlState.set(ControlState.OFFLINE.id());
+    releaseTracks(!terminate);
+  }
+
+  private synchronized void releaseTracks(boolean migrate) {
+    // Anything queued concerns the tracks that are released here
+    queuedMessages.clear();
 
     // There may be some racing that manages to add a track after this, it will be dealt with on the next iteration
     for (Long executorId : new ArrayList<>(playingTracks.keySet())) {
       RemoteAudioTrackExecutor executor = playingTracks.remove(executorId);
 
-      if (executor != null) {
+      if (executor != null && (!migrate || !playerManager.getRemoteNodeManager().migrateTrack(executor, this))) {
         executor.dispatchException(new FriendlyException("The machine processing this song went offline.", SUSPICIOUS, null));
         executor.stop();
       }
     }
   }
 
+  @Override
+  public String getAddress() {
+    return nodeAddress;
+  }
+
+  @Override
+  public boolean isAvailable() {
+    return lastStatistics != null && controlState.get() == ControlState.ONLINE.id() && !isDraining() &&
+        System.currentTimeMillis() >= rejectingUntil;
+  }
+
+  /**
+   * @return True if the node can start a track from a position other than the beginning, which is required to continue
+   *         an unseekable track on it
+   */
+  public boolean supportsStartPosition() {
+    RemoteMessageMapper currentMapper = mapper;
+    return currentMapper != null && currentMapper.getVersion() >= RemoteStreamProtocol.START_POSITION_VERSION;
+  }
+
+  /**
+   * @return True if the node is being drained, either by request of the master or by the node itself
+   */
+  public boolean isDraining() {
+    NodeStatisticsMessage statistics = lastStatistics;
+    return draining || (statistics != null && statistics.draining);
+  }
+
+  /**
+   * @param draining Whether this node should stop receiving new tracks and have its tracks moved to other nodes
+   */
+  public void setDraining(boolean draining) {
+    this.draining = draining;
+  }
+
+  /**
+   * @return Number of tracks this node is currently responsible for
+   */
+  public int getTrackCount() {
+    return playingTracks.size();
+  }
+
   /**
-   * @return The penalty for load balancing. Node with the lowest value will receive the next track.
+   * @return Estimate of the delay of frames requested from this node, which decides the buffer duration of its tracks
    */
+  public RemoteNodeLatency getLatency() {
+    return latency;
+  }
+
+  @Override
+  public NodeStatisticsMessage getLastStatistics() {
+    return lastStatistics;
+  }
+
+  @Override
+  public int getInFlightStartCount() {
+    return unconfirmedStarts.get() + confirmedStartsSinceStatistics.get();
+  }
+
+  @Override
   public int getBalancerPenalty() {
     NodeStatisticsMessage statistics = lastStatistics;
 
@@ -339,10 +767,55 @@ public class RemoteNodeProcessor implements Runnable {
       return Integer.MAX_VALUE;
     }
 
-    int trackPenalty = statistics.totalTrackCount + statistics.playingTrackCount;
+    return calculateBalancerPenalty(statistics, getInFlightStartCount());
+  }
+
+  /**
+   * Calculates the penalty from track counts and CPU usage, and for nodes which report them, from heap usage, GC pauses
+   * of at least 50ms and the frames by which tracks on the node fell behind during the last minute.
+   *
+   * @param statistics Last statistics of a node
+   * @param inFlightStartCount Number of tracks sent to the node which are not included in the statistics
+   * @return The penalty for load balancing
+   */
+  public static int calculateBalancerPenalty(NodeStatisticsMessage statistics, int inFlightStartCount) {
+    // A track in flight counts both as a playing track and as a track in total
+    int trackPenalty = statistics.totalTrackCount + statistics.playingTrackCount + inFlightStartCount * 2;
     int cpuPenalty = (int) Math.pow(statistics.systemCpuUsage + 0.7f, 10.0f);
 
-    return trackPenalty + cpuPenalty;
+    return trackPenalty + cpuPenalty + calculateMemoryPenalty(statistics) + calculateGcPenalty(statistics) +
+        statistics.frameDeficitCount / FRAME_DEFICIT_PENALTY_DIVISOR;
+  }
+
+  private static int calculateMemoryPenalty(NodeStatisticsMessage statistics) {
+    if (statistics.heapMax <= 0) {
+      return 0;
+    }
+
+    return (int) Math.pow((double) statistics.heapUsed / statistics.heapMax + 0.5, 10.0);
+  }
+
+  private static int calculateGcPenalty(NodeStatisticsMessage statistics) {
+    long[] limits = GarbageCollectionMonitor.getBucketLimits();
+    int penalty = 0;
+
+    for (int i = 0; i < statistics.gcPauseCounts.length && i < limits.length; i++) {
+      if (limits[i] >= LONG_GC_PAUSE) {
+        penalty += statistics.gcPauseCounts[i] * LONG_GC_PAUSE_PENALTY;
+      } else if (limits[i] >= NOTICEABLE_GC_PAUSE) {
+        penalty += statistics.gcPauseCounts[i] * NOTICEABLE_GC_PAUSE_PENALTY;
+      }
+    }
+
+    return penalty;
+  }
+
+  private static class TrackCredit {
+    private int outstanding;
+    private int sentVolume = -1;
+    private long sentSeek = -1;
+    private long requestTime;
+    private boolean receivedFrames;
   }
 
   private enum ControlState {
@@ -0,0 +1,15 @@
+package com.sedmelluq.discord.lavaplayer.remote;
+
+import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
+
+/**
+ * Decides whether a track which can be played on a remote node should be played there or locally.
+ */
+public interface TrackPlacementPolicy {
+  /**
+   * @param track Track which is about to start playing
+   * @param volume Volume the track starts playing with
+   * @return True if the track should be played on a remote node
+   */
+  boolean isRemote(InternalAudioTrack track, int volume);
+}
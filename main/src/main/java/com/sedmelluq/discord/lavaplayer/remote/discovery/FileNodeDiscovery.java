@@ -0,0 +1,109 @@
+package com.sedmelluq.discord.lavaplayer.remote.discovery;
+
+import com.sedmelluq.discord.lavaplayer.remote.RemoteNodeManager;
+import com.sedmelluq.discord.lavaplayer.tools.DaemonThreadFactory;
+import com.sedmelluq.discord.lavaplayer.tools.ExecutorTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Node discovery which reads the node addresses from a file, one per line, and checks it periodically for changes.
+ * Empty lines and lines starting with # are ignored.
+ */
+public class FileNodeDiscovery implements RemoteNodeDiscovery {
+  private static final Logger log = LoggerFactory.getLogger(FileNodeDiscovery.class);
+
+  private static final long DEFAULT_CHECK_INTERVAL = 5000;
+
+  private final Path path;
+  private final long checkInterval;
+  private ScheduledExecutorService executor;
+  private volatile RemoteNodeManager nodeManager;
+  private List<String> lastAddresses;
+
+  /**
+   * @param path Path of the file with node addresses
+   */
+  public FileNodeDiscovery(Path path) {
+    this(path, DEFAULT_CHECK_INTERVAL);
+  }
+
+  /**
+   * @param path Path of the file with node addresses
+   * @param checkInterval Interval in milliseconds for checking the file for changes
+   */
+  public FileNodeDiscovery(Path path, long checkInterval) {
+    this.path = path;
+    this.checkInterval = checkInterval;
+  }
+
+  @Override
+  public synchronized void start(RemoteNodeManager nodeManager) {
+    if (executor != null) {
+      throw new IllegalStateException("Node discovery already started.");
+    }
+
+    this.nodeManager = nodeManager;
+
+    executor = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("node-discovery"));
+    executor.scheduleWithFixedDelay(this::checkFile, 0, checkInterval, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void shutdown() {
+    ScheduledExecutorService currentExecutor;
+
+    synchronized (this) {
+      currentExecutor = executor;
+      executor = null;
+      nodeManager = null;
+    }
+
+    ExecutorTools.shutdownExecutor(currentExecutor, "node discovery");
+  }
+
+  private void checkFile() {
+    List<String> addresses;
+
+    try {
+      addresses = readAddresses();
+    } catch (IOException e) {
+      // Keep the current nodes, the file may be in the middle of being replaced
+      log.warn("Failed to read node addresses from {}.", path, e);
+      return;
+    }
+
+    RemoteNodeManager manager = nodeManager;
+
+    if (manager != null && !addresses.equals(lastAddresses)) {
+      log.info("Node addresses in {} changed to {}.", path, addresses);
+
+      lastAddresses = addresses;
+      manager.setNodes(addresses);
+    }
+  }
+
+  private List<String> readAddresses() throws IOException {
+    List<String> addresses = new ArrayList<>();
+
+    for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+      String address = line.trim();
+
+      if (!address.isEmpty() && !address.startsWith("#") && !addresses.contains(address)) {
+        addresses.add(address);
+      }
+    }
+
+    return addresses;
+  }
+}
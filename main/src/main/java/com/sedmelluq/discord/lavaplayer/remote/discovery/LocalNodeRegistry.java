@@ -0,0 +1,60 @@
+package com.sedmelluq.discord.lavaplayer.remote.discovery;
+
+import com.sedmelluq.discord.lavaplayer.remote.RemoteNodeManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Node discovery where nodes are registered and unregistered directly by the application, for example from its own
+ * service registry or an admin command. Nodes can be registered before it is started.
+ */
+public class LocalNodeRegistry implements RemoteNodeDiscovery {
+  private final Set<String> nodeAddresses;
+  private RemoteNodeManager nodeManager;
+
+  /**
+   * Create an empty registry.
+   */
+  public LocalNodeRegistry() {
+    this.nodeAddresses = new LinkedHashSet<>();
+  }
+
+  @Override
+  public synchronized void start(RemoteNodeManager nodeManager) {
+    this.nodeManager = nodeManager;
+    nodeManager.setNodes(nodeAddresses);
+  }
+
+  @Override
+  public synchronized void shutdown() {
+    nodeManager = null;
+  }
+
+  /**
+   * @param nodeAddress Address of the node to add
+   */
+  public synchronized void register(String nodeAddress) {
+    if (nodeAddresses.add(nodeAddress) && nodeManager != null) {
+      nodeManager.addNode(nodeAddress);
+    }
+  }
+
+  /**
+   * @param nodeAddress Address of the node to remove
+   */
+  public synchronized void unregister(String nodeAddress) {
+    if (nodeAddresses.remove(nodeAddress) && nodeManager != null) {
+      nodeManager.removeNode(nodeAddress);
+    }
+  }
+
+  /**
+   * @return The addresses of currently registered nodes
+   */
+  public synchronized List<String> getNodeAddresses() {
+    return new ArrayList<>(nodeAddresses);
+  }
+}
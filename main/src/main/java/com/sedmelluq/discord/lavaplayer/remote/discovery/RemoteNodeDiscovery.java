@@ -0,0 +1,22 @@
+package com.sedmelluq.discord.lavaplayer.remote.discovery;
+
+import com.sedmelluq.discord.lavaplayer.remote.RemoteNodeManager;
+
+/**
+ * Provides the set of remote nodes to use and keeps it up to date.
+ */
+public interface RemoteNodeDiscovery {
+  /**
+   * Start providing nodes. The set of nodes should be passed to {@link RemoteNodeManager#setNodes} initially and
+   * whenever it changes, or individual changes to {@link RemoteNodeManager#addNode} and
+   * {@link RemoteNodeManager#removeNode}.
+   *
+   * @param nodeManager The node manager to provide the nodes to
+   */
+  void start(RemoteNodeManager nodeManager);
+
+  /**
+   * Stop providing nodes. The nodes already provided remain in use.
+   */
+  void shutdown();
+}
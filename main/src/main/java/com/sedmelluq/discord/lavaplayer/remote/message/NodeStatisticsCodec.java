@@ -3,9 +3,13 @@ package com.sedmelluq.discord.lavaplayer.remote.message;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
- * Codec for node statistics message.
+ * Codec for node statistics message. The draining flag is included since version 4, memory, GC, frame deficit and
+ * decoding cost statistics since version 5, capacity estimates since version 7.
  */
 public class NodeStatisticsCodec implements RemoteMessageCodec<NodeStatisticsMessage> {
   @Override
@@ -14,15 +18,84 @@ public class NodeStatisticsCodec implements RemoteMessageCodec<NodeStatisticsMes
   }
 
   @Override
-  public void encode(DataOutput out, NodeStatisticsMessage message) throws IOException {
+  public void encode(DataOutput out, NodeStatisticsMessage message, int version) throws IOException {
     out.writeInt(message.playingTrackCount);
     out.writeInt(message.totalTrackCount);
     out.writeFloat(message.systemCpuUsage);
     out.writeFloat(message.processCpuUsage);
+
+    if (version >= RemoteStreamProtocol.DRAINING_VERSION) {
+      out.writeBoolean(message.draining);
+    }
+
+    if (version >= RemoteStreamProtocol.RESOURCE_STATISTICS_VERSION) {
+      out.writeLong(message.heapUsed);
+      out.writeLong(message.heapMax);
+      out.writeLong(message.offHeapUsed);
+      out.writeByte(message.gcPauseCounts.length);
+
+      for (int count : message.gcPauseCounts) {
+        out.writeInt(count);
+      }
+
+      out.writeInt(message.frameDeficitCount);
+      out.writeLong(message.averageTrackDecodeNanos);
+    }
+
+    if (version >= RemoteStreamProtocol.CAPACITY_VERSION) {
+      out.writeInt(message.processorCount);
+      out.writeInt(message.trackHeadroom);
+      out.writeByte(message.trackPathCosts.size());
+
+      for (Map.Entry<String, Long> entry : message.trackPathCosts.entrySet()) {
+        out.writeUTF(entry.getKey());
+        out.writeLong(entry.getValue());
+      }
+    }
   }
 
   @Override
-  public NodeStatisticsMessage decode(DataInput in) throws IOException {
-    return new NodeStatisticsMessage(in.readInt(), in.readInt(), in.readFloat(), in.readFloat());
+  public NodeStatisticsMessage decode(DataInput in, int version) throws IOException {
+    int playingTrackCount = in.readInt();
+    int totalTrackCount = in.readInt();
+    float systemCpuUsage = in.readFloat();
+    float processCpuUsage = in.readFloat();
+    boolean draining = version >= RemoteStreamProtocol.DRAINING_VERSION && in.readBoolean();
+
+    if (version < RemoteStreamProtocol.RESOURCE_STATISTICS_VERSION) {
+      return new NodeStatisticsMessage(playingTrackCount, totalTrackCount, systemCpuUsage, processCpuUsage, draining,
+          0, 0, 0, new int[0], 0, 0, 0, -1, Collections.emptyMap());
+    }
+
+    long heapUsed = in.readLong();
+    long heapMax = in.readLong();
+    long offHeapUsed = in.readLong();
+    int[] gcPauseCounts = new int[in.readUnsignedByte()];
+
+    for (int i = 0; i < gcPauseCounts.length; i++) {
+      gcPauseCounts[i] = in.readInt();
+    }
+
+    int frameDeficitCount = in.readInt();
+    long averageTrackDecodeNanos = in.readLong();
+
+    if (version < RemoteStreamProtocol.CAPACITY_VERSION) {
+      return new NodeStatisticsMessage(playingTrackCount, totalTrackCount, systemCpuUsage, processCpuUsage, draining,
+          heapUsed, heapMax, offHeapUsed, gcPauseCounts, frameDeficitCount, averageTrackDecodeNanos, 0, -1,
+          Collections.emptyMap());
+    }
+
+    int processorCount = in.readInt();
+    int trackHeadroom = in.readInt();
+    int pathCount = in.readUnsignedByte();
+    Map<String, Long> trackPathCosts = new HashMap<>();
+
+    for (int i = 0; i < pathCount; i++) {
+      trackPathCosts.put(in.readUTF(), in.readLong());
+    }
+
+    return new NodeStatisticsMessage(playingTrackCount, totalTrackCount, systemCpuUsage, processCpuUsage, draining,
+        heapUsed, heapMax, offHeapUsed, gcPauseCounts, frameDeficitCount, averageTrackDecodeNanos, processorCount,
+        trackHeadroom, trackPathCosts);
   }
 }
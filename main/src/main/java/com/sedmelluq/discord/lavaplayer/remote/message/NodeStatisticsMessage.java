@@ -1,5 +1,7 @@
 package com.sedmelluq.discord.lavaplayer.remote.message;
 
+import java.util.Map;
+
 /**
  * A message detailing track and performance statistics that a node includes in every response.
  */
@@ -20,17 +22,82 @@ public class NodeStatisticsMessage implements RemoteMessage {
    * CPU usage of the node process
    */
   public final float processCpuUsage;
+  /**
+   * Whether the node is being drained, in which case it should not receive new tracks
+   */
+  public final boolean draining;
+  /**
+   * Heap memory used by the node process in bytes
+   */
+  public final long heapUsed;
+  /**
+   * Maximum heap memory of the node process in bytes, 0 if not known
+   */
+  public final long heapMax;
+  /**
+   * Memory used by the node process outside of the heap in bytes, including direct buffers
+   */
+  public final long offHeapUsed;
+  /**
+   * Number of GC pauses in each duration bucket during the last minute, in the order of
+   * {@link com.sedmelluq.discord.lavaplayer.tools.GarbageCollectionMonitor#getBucketLimits()}
+   */
+  public final int[] gcPauseCounts;
+  /**
+   * Number of frames by which tracks with outstanding requests fell behind real time during the last minute
+   */
+  public final int frameDeficitCount;
+  /**
+   * Average CPU time in nanoseconds the node spent on a track per second of audio it produced, 0 if not known
+   */
+  public final long averageTrackDecodeNanos;
+  /**
+   * Number of processors available to the node process, 0 if not known
+   */
+  public final int processorCount;
+  /**
+   * Estimated number of additional tracks the node can take before it runs out of CPU, -1 if not known
+   */
+  public final int trackHeadroom;
+  /**
+   * Measured CPU time in nanoseconds per second of audio of a track on each processing path, see
+   * {@link com.sedmelluq.discord.lavaplayer.remote.ProcessingCostPlacementPolicy#getProcessingPath}
+   */
+  public final Map<String, Long> trackPathCosts;
 
   /**
    * @param playingTrackCount The number of tracks that are not paused
    * @param totalTrackCount Total number of tracks being processed by the node
    * @param systemCpuUsage Total CPU usage of the machine
    * @param processCpuUsage CPU usage of the node process
+   * @param draining Whether the node is being drained
+   * @param heapUsed Heap memory used by the node process in bytes
+   * @param heapMax Maximum heap memory of the node process in bytes
+   * @param offHeapUsed Memory used by the node process outside of the heap in bytes
+   * @param gcPauseCounts Number of GC pauses in each duration bucket during the last minute
+   * @param frameDeficitCount Number of frames by which tracks fell behind real time during the last minute
+   * @param averageTrackDecodeNanos Average CPU time in nanoseconds spent on a track per second of audio
+   * @param processorCount Number of processors available to the node process
+   * @param trackHeadroom Estimated number of additional tracks the node can take
+   * @param trackPathCosts Measured CPU time in nanoseconds per second of audio on each processing path
    */
-  public NodeStatisticsMessage(int playingTrackCount, int totalTrackCount, float systemCpuUsage, float processCpuUsage) {
+  public NodeStatisticsMessage(int playingTrackCount, int totalTrackCount, float systemCpuUsage, float processCpuUsage,
+                               boolean draining, long heapUsed, long heapMax, long offHeapUsed, int[] gcPauseCounts,
+                               int frameDeficitCount, long averageTrackDecodeNanos, int processorCount, int trackHeadroom,
+                               Map<String, Long> trackPathCosts) {
     this.playingTrackCount = playingTrackCount;
     this.totalTrackCount = totalTrackCount;
     this.systemCpuUsage = systemCpuUsage;
     this.processCpuUsage = processCpuUsage;
+    this.draining = draining;
+    this.heapUsed = heapUsed;
+    this.heapMax = heapMax;
+    this.offHeapUsed = offHeapUsed;
+    this.gcPauseCounts = gcPauseCounts;
+    this.frameDeficitCount = frameDeficitCount;
+    this.averageTrackDecodeNanos = averageTrackDecodeNanos;
+    this.processorCount = processorCount;
+    this.trackHeadroom = trackHeadroom;
+    this.trackPathCosts = trackPathCosts;
   }
 }
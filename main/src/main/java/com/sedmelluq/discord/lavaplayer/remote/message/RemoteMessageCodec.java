@@ -20,16 +20,18 @@ public interface RemoteMessageCodec<T extends RemoteMessage> {
    *
    * @param out The output stream
    * @param message The message to encode
+   * @param version Protocol version used on the connection, see {@link RemoteStreamProtocol#VERSION}
    * @throws IOException When an IO error occurs
    */
-  void encode(DataOutput out, T message) throws IOException;
+  void encode(DataOutput out, T message, int version) throws IOException;
 
   /**
    * Decode a message from the specified input.
    *
    * @param in The input stream
+   * @param version Protocol version used on the connection, see {@link RemoteStreamProtocol#VERSION}
    * @return The decoded message
    * @throws IOException When an IO error occurs
    */
-  T decode(DataInput in) throws IOException;
+  T decode(DataInput in, int version) throws IOException;
 }
@@ -1,24 +1,47 @@
 package com.sedmelluq.discord.lavaplayer.remote.message;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInput;
-import java.io.DataOutput;
+import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.IdentityHashMap;
 import java.util.Map;
 
 /**
- * Handles encoding and decoding of messages.
+ * Handles encoding and decoding of messages. The buffers for message bodies are reused between messages, so only the
+ * decoded messages themselves are allocated.
  */
 public class RemoteMessageMapper {
+  private static final int INITIAL_BUFFER_SIZE = 4096;
+
   private final Map<Class<? extends RemoteMessage>, RemoteMessageType> encodingMap;
+  private final int version;
+  private final ReusableInputStream messageInputBytes;
+  private final DataInputStream messageInput;
+  private final ByteArrayOutputStream messageOutputBytes;
+  private final DataOutputStream messageOutput;
+  private byte[] inputBuffer;
 
   /**
-   * Create a new instance.
+   * Create a new instance which uses the original protocol version.
    */
   public RemoteMessageMapper() {
-    encodingMap = new IdentityHashMap<>();
+    this(RemoteStreamProtocol.LEGACY_VERSION);
+  }
+
+  /**
+   * @param version Protocol version to use for encoding and decoding
+   */
+  public RemoteMessageMapper(int version) {
+    this.encodingMap = new IdentityHashMap<>();
+    this.version = version;
+    this.messageInputBytes = new ReusableInputStream();
+    this.messageInput = new DataInputStream(messageInputBytes);
+    this.messageOutputBytes = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+    this.messageOutput = new DataOutputStream(messageOutputBytes);
+    this.inputBuffer = new byte[INITIAL_BUFFER_SIZE];
 
     initialiseEncodingMap();
   }
@@ -29,6 +52,13 @@ public class RemoteMessageMapper {
     }
   }
 
+  /**
+   * @return Protocol version used by this mapper
+   */
+  public int getVersion() {
+    return version;
+  }
+
   /**
    * Decodes one message. If the input stream indicates the end of messages, null is returned.
    *
@@ -43,7 +73,18 @@ public class RemoteMessageMapper {
     }
 
     RemoteMessageType type = RemoteMessageType.class.getEnumConstants()[input.readByte() & 0xFF];
-    return type.codec.decode(input);
+    int bodySize = messageSize - 1;
+
+    synchronized (messageInputBytes) {
+      if (inputBuffer.length < bodySize) {
+        inputBuffer = new byte[Math.max(bodySize, inputBuffer.length * 2)];
+      }
+
+      input.readFully(inputBuffer, 0, bodySize);
+      messageInputBytes.reset(inputBuffer, bodySize);
+
+      return type.codec.decode(messageInput, version);
+    }
   }
 
   /**
@@ -56,16 +97,16 @@ public class RemoteMessageMapper {
   @SuppressWarnings("unchecked")
   public void encode(DataOutputStream output, RemoteMessage message) throws IOException {
     RemoteMessageType type = encodingMap.get(message.getClass());
-
-    ByteArrayOutputStream messageOutputBytes = new ByteArrayOutputStream();
-    DataOutput messageOutput = new DataOutputStream(messageOutputBytes);
-
     RemoteMessageCodec codec = type.codec;
-    codec.encode(messageOutput, message);
 
-    output.writeInt(messageOutputBytes.size() + 1);
-    output.writeByte((byte) type.ordinal());
-    messageOutputBytes.writeTo(output);
+    synchronized (messageOutputBytes) {
+      messageOutputBytes.reset();
+      codec.encode(messageOutput, message, version);
+
+      output.writeInt(messageOutputBytes.size() + 1);
+      output.writeByte((byte) type.ordinal());
+      messageOutputBytes.writeTo(output);
+    }
   }
 
   /**
@@ -77,4 +118,17 @@ public class RemoteMessageMapper {
   public void endOutput(DataOutputStream output) throws IOException {
     output.writeInt(0);
   }
+
+  private static class ReusableInputStream extends ByteArrayInputStream {
+    private ReusableInputStream() {
+      super(new byte[0]);
+    }
+
+    private void reset(byte[] data, int length) {
+      buf = data;
+      pos = 0;
+      count = length;
+      mark = 0;
+    }
+  }
 }
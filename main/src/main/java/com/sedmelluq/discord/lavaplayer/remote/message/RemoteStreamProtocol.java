@@ -0,0 +1,83 @@
+package com.sedmelluq.discord.lavaplayer.remote.message;
+
+/**
+ * Constants of the streaming connection between the master and a node. The connection is opened as an HTTP/1.1
+ * upgrade on the same port as the rest of the node API, after which both sides exchange messages in the format of
+ * {@link RemoteMessageMapper} for as long as the connection stays open. An empty message (size 0) is a keep-alive.
+ *
+ * Frames are flow controlled with credits: each {@link TrackFrameRequestMessage} adds its number of frames to the
+ * credit of the track, and the node pushes frames of the track as they become available until the credit is used up.
+ * A request with a seek position replaces the credit of the track instead of adding to it.
+ *
+ * The master sends the highest protocol version it supports in the upgrade request and the node responds with the
+ * version that is used on the connection, which is the highest one both sides support.
+ */
+public class RemoteStreamProtocol {
+  /**
+   * Path of the streaming endpoint on the node.
+   */
+  public static final String PATH = "/stream";
+  /**
+   * Protocol name used in the Upgrade header.
+   */
+  public static final String UPGRADE_PROTOCOL = "lavaplayer-remote";
+  /**
+   * Header used for negotiating the protocol version.
+   */
+  public static final String VERSION_HEADER = "Lavaplayer-Protocol-Version";
+  /**
+   * Protocol version used when the other side does not specify one.
+   */
+  public static final int LEGACY_VERSION = 1;
+  /**
+   * Highest supported protocol version. Version 2 uses a compact encoding for frame data, version 3 adds the start
+   * position to track start requests, version 4 adds the draining flag to node statistics and version 5 adds memory,
+   * GC, frame deficit and decoding cost statistics, version 6 marks start failures caused by node load as retryable and
+   * version 7 adds capacity estimates to node statistics.
+   */
+  public static final int VERSION = 7;
+  /**
+   * First protocol version in which track start requests include the start position.
+   */
+  public static final int START_POSITION_VERSION = 3;
+  /**
+   * First protocol version in which node statistics include whether the node is draining.
+   */
+  public static final int DRAINING_VERSION = 4;
+  /**
+   * First protocol version in which node statistics include memory, GC, frame deficit and decoding cost statistics.
+   */
+  public static final int RESOURCE_STATISTICS_VERSION = 5;
+  /**
+   * First protocol version in which track start responses tell whether the failure was caused by node load.
+   */
+  public static final int ADMISSION_VERSION = 6;
+  /**
+   * First protocol version in which node statistics include the processor count, track headroom and track costs.
+   */
+  public static final int CAPACITY_VERSION = 7;
+  /**
+   * Interval at which the node sends its statistics, which also act as a keep-alive for the master.
+   */
+  public static final int STATISTICS_INTERVAL_MS = 1000;
+  /**
+   * Interval at which the master sends a keep-alive message if it had nothing else to send.
+   */
+  public static final int KEEP_ALIVE_INTERVAL_MS = 1000;
+
+  /**
+   * @param requestedVersion Version requested by the other side, null if it was not specified
+   * @return The version to use on the connection
+   */
+  public static int negotiateVersion(String requestedVersion) {
+    if (requestedVersion == null) {
+      return LEGACY_VERSION;
+    }
+
+    try {
+      return Math.max(LEGACY_VERSION, Math.min(VERSION, Integer.parseInt(requestedVersion.trim())));
+    } catch (NumberFormatException e) {
+      return LEGACY_VERSION;
+    }
+  }
+}
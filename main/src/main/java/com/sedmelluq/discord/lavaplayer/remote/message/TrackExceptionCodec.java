@@ -16,13 +16,13 @@ public class TrackExceptionCodec implements RemoteMessageCodec<TrackExceptionMes
   }
 
   @Override
-  public void encode(DataOutput out, TrackExceptionMessage message) throws IOException {
+  public void encode(DataOutput out, TrackExceptionMessage message, int version) throws IOException {
     out.writeLong(message.executorId);
     ExceptionTools.encodeException(out, message.exception);
   }
 
   @Override
-  public TrackExceptionMessage decode(DataInput in) throws IOException {
+  public TrackExceptionMessage decode(DataInput in, int version) throws IOException {
     return new TrackExceptionMessage(in.readLong(), ExceptionTools.decodeException(in));
   }
 }
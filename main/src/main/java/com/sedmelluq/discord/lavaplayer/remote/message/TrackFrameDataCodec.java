@@ -9,16 +9,29 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Codec for track frame data message.
+ * Codec for track frame data message. Since version 2, the frames are encoded compactly: the timecode is only written
+ * for the first frame and for frames which do not directly follow the previous one, the volume only when it changes
+ * and the lengths as variable length integers.
  */
 public class TrackFrameDataCodec implements RemoteMessageCodec<TrackFrameDataMessage> {
+  private static final int COMPACT_VERSION = 2;
+  private static final int FRAME_DURATION = 20;
+
+  private static final int FLAG_TIMECODE_JUMP = 0x01;
+  private static final int FLAG_VOLUME_CHANGE = 0x02;
+
   @Override
   public Class<TrackFrameDataMessage> getMessageClass() {
     return TrackFrameDataMessage.class;
   }
 
   @Override
-  public void encode(DataOutput out, TrackFrameDataMessage message) throws IOException {
+  public void encode(DataOutput out, TrackFrameDataMessage message, int version) throws IOException {
+    if (version >= COMPACT_VERSION) {
+      encodeCompact(out, message);
+      return;
+    }
+
     out.writeLong(message.executorId);
     out.writeInt(message.frames.size());
 
@@ -34,7 +47,11 @@ public class TrackFrameDataCodec implements RemoteMessageCodec<TrackFrameDataMes
   }
 
   @Override
-  public TrackFrameDataMessage decode(DataInput in) throws IOException {
+  public TrackFrameDataMessage decode(DataInput in, int version) throws IOException {
+    if (version >= COMPACT_VERSION) {
+      return decodeCompact(in);
+    }
+
     long executorId = in.readLong();
     int frameCount = in.readInt();
 
@@ -50,4 +67,89 @@ public class TrackFrameDataCodec implements RemoteMessageCodec<TrackFrameDataMes
 
     return new TrackFrameDataMessage(executorId, frames, in.readBoolean(), in.readLong());
   }
+
+  private void encodeCompact(DataOutput out, TrackFrameDataMessage message) throws IOException {
+    out.writeLong(message.executorId);
+    writeVarInt(out, message.frames.size());
+
+    long expectedTimecode = Long.MIN_VALUE;
+    int volume = -1;
+
+    for (AudioFrame frame : message.frames) {
+      int flags = (frame.timecode != expectedTimecode ? FLAG_TIMECODE_JUMP : 0) |
+          (frame.volume != volume ? FLAG_VOLUME_CHANGE : 0);
+
+      out.writeByte(flags);
+
+      if ((flags & FLAG_TIMECODE_JUMP) != 0) {
+        out.writeLong(frame.timecode);
+      }
+
+      if ((flags & FLAG_VOLUME_CHANGE) != 0) {
+        writeVarInt(out, frame.volume);
+        volume = frame.volume;
+      }
+
+      writeVarInt(out, frame.data.length);
+      out.write(frame.data);
+
+      expectedTimecode = frame.timecode + FRAME_DURATION;
+    }
+
+    out.writeBoolean(message.finished);
+    out.writeLong(message.seekedPosition);
+  }
+
+  private TrackFrameDataMessage decodeCompact(DataInput in) throws IOException {
+    long executorId = in.readLong();
+    int frameCount = readVarInt(in);
+
+    List<AudioFrame> frames = new ArrayList<>(frameCount);
+    long timecode = 0;
+    int volume = 0;
+
+    for (int i = 0; i < frameCount; i++) {
+      int flags = in.readUnsignedByte();
+
+      if ((flags & FLAG_TIMECODE_JUMP) != 0) {
+        timecode = in.readLong();
+      }
+
+      if ((flags & FLAG_VOLUME_CHANGE) != 0) {
+        volume = readVarInt(in);
+      }
+
+      byte[] data = new byte[readVarInt(in)];
+      in.readFully(data);
+
+      frames.add(new AudioFrame(timecode, data, volume));
+      timecode += FRAME_DURATION;
+    }
+
+    return new TrackFrameDataMessage(executorId, frames, in.readBoolean(), in.readLong());
+  }
+
+  private static void writeVarInt(DataOutput out, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+
+    out.writeByte(value);
+  }
+
+  private static int readVarInt(DataInput in) throws IOException {
+    int value = 0;
+
+    for (int shift = 0; shift < 32; shift += 7) {
+      int current = in.readUnsignedByte();
+      value |= (current & 0x7F) << shift;
+
+      if ((current & 0x80) == 0) {
+        return value;
+      }
+    }
+
+    throw new IOException("Variable length integer is too long.");
+  }
 }
@@ -14,7 +14,7 @@ public class TrackFrameRequestCodec implements RemoteMessageCodec<TrackFrameRequ
   }
 
   @Override
-  public void encode(DataOutput out, TrackFrameRequestMessage message) throws IOException {
+  public void encode(DataOutput out, TrackFrameRequestMessage message, int version) throws IOException {
     out.writeLong(message.executorId);
     out.writeInt(message.maximumFrames);
     out.writeInt(message.volume);
@@ -22,7 +22,7 @@ public class TrackFrameRequestCodec implements RemoteMessageCodec<TrackFrameRequ
   }
 
   @Override
-  public TrackFrameRequestMessage decode(DataInput in) throws IOException {
+  public TrackFrameRequestMessage decode(DataInput in, int version) throws IOException {
     return new TrackFrameRequestMessage(in.readLong(), in.readInt(), in.readInt(), in.readLong());
   }
 }
@@ -1,8 +1,8 @@
 package com.sedmelluq.discord.lavaplayer.remote.message;
 
 /**
- * A message sent to the node to request frames from a track. This is sent even when no frames are required as it is
- * used to indicate that the track is still alive in the master.
+ * A message sent to the node to request frames from a track. On a streaming connection the number of frames is added
+ * to the credit of the track, see {@link RemoteStreamProtocol}.
  */
 public class TrackFrameRequestMessage implements RemoteMessage {
   /**
@@ -10,7 +10,7 @@ public class TrackFrameRequestMessage implements RemoteMessage {
    */
   public final long executorId;
   /**
-   * Maximum number of frames that can be included in the response
+   * Maximum number of frames that can be included in the response, or the frame credit to add on streaming connections
    */
   public final int maximumFrames;
   /**
@@ -8,7 +8,7 @@ import java.io.DataOutput;
 import java.io.IOException;
 
 /**
- * Codec for track start message.
+ * Codec for track start message. The start position is included since version 3.
  */
 public class TrackStartRequestCodec implements RemoteMessageCodec<TrackStartRequestMessage> {
   @Override
@@ -17,7 +17,7 @@ public class TrackStartRequestCodec implements RemoteMessageCodec<TrackStartRequ
   }
 
   @Override
-  public void encode(DataOutput out, TrackStartRequestMessage message) throws IOException {
+  public void encode(DataOutput out, TrackStartRequestMessage message, int version) throws IOException {
     out.writeLong(message.executorId);
     out.writeUTF(message.trackInfo.title);
     out.writeUTF(message.trackInfo.author);
@@ -29,10 +29,14 @@ public class TrackStartRequestCodec implements RemoteMessageCodec<TrackStartRequ
     out.writeInt(message.volume);
     out.writeUTF(message.configuration.getResamplingQuality().name());
     out.writeInt(message.configuration.getOpusEncodingQuality());
+
+    if (version >= RemoteStreamProtocol.START_POSITION_VERSION) {
+      out.writeLong(message.position);
+    }
   }
 
   @Override
-  public TrackStartRequestMessage decode(DataInput in) throws IOException {
+  public TrackStartRequestMessage decode(DataInput in, int version) throws IOException {
     long executorId = in.readLong();
     AudioTrackInfo trackInfo = new AudioTrackInfo(in.readUTF(), in.readUTF(), in.readLong(), in.readUTF(), in.readBoolean());
 
@@ -44,6 +48,8 @@ public class TrackStartRequestCodec implements RemoteMessageCodec<TrackStartRequ
     configuration.setResamplingQuality(AudioConfiguration.ResamplingQuality.valueOf(in.readUTF()));
     configuration.setOpusEncodingQuality(in.readInt());
 
-    return new TrackStartRequestMessage(executorId, trackInfo, encodedTrack, volume, configuration);
+    long position = version >= RemoteStreamProtocol.START_POSITION_VERSION ? in.readLong() : 0;
+
+    return new TrackStartRequestMessage(executorId, trackInfo, encodedTrack, volume, configuration, position);
   }
 }
@@ -5,7 +5,7 @@ import java.io.DataOutput;
 import java.io.IOException;
 
 /**
- * Codec for track start request response message.
+ * Codec for track start request response message. Whether a failure is retryable is included since version 6.
  */
 public class TrackStartResponseCodec implements RemoteMessageCodec<TrackStartResponseMessage> {
   @Override
@@ -14,20 +14,31 @@ public class TrackStartResponseCodec implements RemoteMessageCodec<TrackStartRes
   }
 
   @Override
-  public void encode(DataOutput out, TrackStartResponseMessage message) throws IOException {
+  public void encode(DataOutput out, TrackStartResponseMessage message, int version) throws IOException {
     out.writeLong(message.executorId);
     out.writeBoolean(message.success);
 
     if (!message.success) {
       out.writeUTF(message.failureReason);
+
+      if (version >= RemoteStreamProtocol.ADMISSION_VERSION) {
+        out.writeBoolean(message.retryable);
+      }
     }
   }
 
   @Override
-  public TrackStartResponseMessage decode(DataInput in) throws IOException {
+  public TrackStartResponseMessage decode(DataInput in, int version) throws IOException {
     long executorId = in.readLong();
     boolean success = in.readBoolean();
 
-    return new TrackStartResponseMessage(executorId, success, success ? null : in.readUTF());
+    if (success) {
+      return new TrackStartResponseMessage(executorId, true, null, false);
+    }
+
+    String failureReason = in.readUTF();
+    boolean retryable = version >= RemoteStreamProtocol.ADMISSION_VERSION && in.readBoolean();
+
+    return new TrackStartResponseMessage(executorId, false, failureReason, retryable);
   }
 }
@@ -17,15 +17,21 @@ public class TrackStartResponseMessage implements RemoteMessage {
    * The reason in case the track was not started
    */
   public final String failureReason;
+  /**
+   * Whether the track was rejected due to the load of the node, in which case it can be started on another node
+   */
+  public final boolean retryable;
 
   /**
    * @param executorId The ID for the track executor
    * @param success Whether the track was successfully started in the node
    * @param failureReason The reason in case the track was not started
+   * @param retryable Whether the track was rejected due to the load of the node
    */
-  public TrackStartResponseMessage(long executorId, boolean success, String failureReason) {
+  public TrackStartResponseMessage(long executorId, boolean success, String failureReason, boolean retryable) {
     this.executorId = executorId;
     this.success = success;
     this.failureReason = failureReason;
+    this.retryable = retryable;
   }
 }
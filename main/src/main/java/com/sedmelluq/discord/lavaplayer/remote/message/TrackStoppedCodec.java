@@ -14,12 +14,12 @@ public class TrackStoppedCodec implements RemoteMessageCodec<TrackStoppedMessage
   }
 
   @Override
-  public void encode(DataOutput out, TrackStoppedMessage message) throws IOException {
+  public void encode(DataOutput out, TrackStoppedMessage message, int version) throws IOException {
     out.writeLong(message.executorId);
   }
 
   @Override
-  public TrackStoppedMessage decode(DataInput in) throws IOException {
+  public TrackStoppedMessage decode(DataInput in, int version) throws IOException {
     return new TrackStoppedMessage(in.readLong());
   }
 }
@@ -46,6 +46,7 @@ public class BandcampAudioTrack extends DelegatedAudioTrack {
       log.debug("Starting Bandcamp track from URL: {}", trackMediaUrl);
 
       try (PersistentHttpStream stream = new PersistentHttpStream(httpClient, new URI(trackMediaUrl), null)) {
+        localExecutor.monitorHttpStream(stream);
         processDelegate(new Mp3AudioTrack(trackInfo, stream), localExecutor);
       }
     }
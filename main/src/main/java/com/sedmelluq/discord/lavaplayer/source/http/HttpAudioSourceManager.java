@@ -3,9 +3,13 @@ package com.sedmelluq.discord.lavaplayer.source.http;
 import com.sedmelluq.discord.lavaplayer.container.MediaContainer;
 import com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection;
 import com.sedmelluq.discord.lavaplayer.container.MediaContainerDetectionResult;
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerHints;
 import com.sedmelluq.discord.lavaplayer.container.MediaContainerProbe;
+import com.sedmelluq.discord.lavaplayer.container.playlists.M3uPlaylistContainerProbe;
 import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
 import com.sedmelluq.discord.lavaplayer.source.ProbingAudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.tools.DaemonThreadFactory;
+import com.sedmelluq.discord.lavaplayer.tools.ExecutorTools;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpClientTools;
 import com.sedmelluq.discord.lavaplayer.tools.io.PersistentHttpStream;
@@ -13,14 +17,24 @@ import com.sedmelluq.discord.lavaplayer.track.AudioItem;
 import com.sedmelluq.discord.lavaplayer.track.AudioReference;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.COMMON;
 import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.SUSPICIOUS;
@@ -29,13 +43,36 @@ import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.
  * Audio source manager which implements finding audio files from HTTP addresses.
  */
 public class HttpAudioSourceManager extends ProbingAudioSourceManager {
+  private static final Logger log = LoggerFactory.getLogger(HttpAudioSourceManager.class);
+
+  private static final long PREPARED_STREAM_TIMEOUT = TimeUnit.SECONDS.toMillis(5);
+  private static final int DETECTION_CACHE_SIZE = 500;
+  private static final long DETECTION_CACHE_FRESH_DURATION = TimeUnit.MINUTES.toMillis(1);
+  private static final long DETECTION_CACHE_MAXIMUM_AGE = TimeUnit.HOURS.toMillis(1);
+  private static final long DETECTION_CACHE_UNSUPPORTED_DURATION = TimeUnit.MINUTES.toMillis(5);
+
   private final HttpClientBuilder httpClientBuilder;
+  private final Map<HttpAudioTrack, PreparedHttpStream> preparedStreams;
+  private final ScheduledExecutorService cleanupExecutor;
+  private final HttpContainerDetectionCache detectionCache;
 
   /**
    * Create a new instance.
    */
   public HttpAudioSourceManager() {
     httpClientBuilder = HttpClientTools.createSharedCookiesHttpBuilder();
+    preparedStreams = new ConcurrentHashMap<>();
+    cleanupExecutor = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("http-cleanup"));
+    cleanupExecutor.scheduleWithFixedDelay(this::closeExpiredPreparedStreams, 1, 1, TimeUnit.SECONDS);
+    detectionCache = new HttpContainerDetectionCache(DETECTION_CACHE_SIZE, DETECTION_CACHE_FRESH_DURATION,
+        DETECTION_CACHE_MAXIMUM_AGE, DETECTION_CACHE_UNSUPPORTED_DURATION);
+  }
+
+  /**
+   * @return The cache of container detection results of URLs
+   */
+  public HttpContainerDetectionCache getDetectionCache() {
+    return detectionCache;
   }
 
   /**
@@ -56,7 +93,34 @@ public class HttpAudioSourceManager extends ProbingAudioSourceManager {
       return null;
     }
 
-    return handleLoadResult(detectContainer(reference));
+    // The title of the reference ends up in the track info, so only plain URLs are cached
+    String cacheKey = reference.title == null ? reference.identifier : null;
+    MediaContainerDetectionResult cachedResult = cacheKey != null ? detectionCache.getFresh(cacheKey) : null;
+
+    if (cachedResult != null) {
+      log.debug("Using cached container detection result for {}.", cacheKey);
+      return handleLoadResult(cachedResult);
+    }
+
+    PreparedHttpStream preparedStream = openPreparedStream(reference);
+    boolean offered = false;
+
+    try {
+      AudioItem item = handleLoadResult(detectContainer(reference, cacheKey, preparedStream));
+
+      // HLS streams fetch the playlist and segments themselves, so the connection would not be used
+      if (item instanceof HttpAudioTrack && !(((HttpAudioTrack) item).getProbe() instanceof M3uPlaylistContainerProbe)) {
+        offerPreparedStream((HttpAudioTrack) item, preparedStream);
+        offered = true;
+      }
+
+      return item;
+    } finally {
+      // An offered stream is closed by the cleanup task if the track does not take it in time
+      if (!offered) {
+        preparedStream.discard();
+      }
+    }
   }
 
   @Override
@@ -64,21 +128,41 @@ public class HttpAudioSourceManager extends ProbingAudioSourceManager {
     return new HttpAudioTrack(trackInfo, probe, this);
   }
 
-  private MediaContainerDetectionResult detectContainer(AudioReference reference) {
-    MediaContainerDetectionResult result;
+  /**
+   * Take the stream which was used for detecting the container of the track, if it is still available.
+   *
+   * @param track The track to take the prepared stream of
+   * @return The prepared stream which is now owned by the caller, or null if it is not available
+   */
+  PreparedHttpStream takePreparedStream(HttpAudioTrack track) {
+    PreparedHttpStream preparedStream = preparedStreams.remove(track);
+    return preparedStream != null && preparedStream.take() ? preparedStream : null;
+  }
 
-    try (CloseableHttpClient httpClient = createHttpClient()) {
-      result = detectContainerWithClient(httpClient, reference);
-    } catch (IOException e) {
-      throw new FriendlyException("Connecting to the URL failed.", SUSPICIOUS, e);
-    }
+  private void offerPreparedStream(HttpAudioTrack track, PreparedHttpStream preparedStream) {
+    preparedStream.expireAfter(PREPARED_STREAM_TIMEOUT);
+    preparedStreams.put(track, preparedStream);
+
+    log.debug("Keeping the connection of track {} open for {} ms for playback.", track.getIdentifier(), PREPARED_STREAM_TIMEOUT);
+  }
 
-    return result;
+  private void closeExpiredPreparedStreams() {
+    preparedStreams.values().removeIf(PreparedHttpStream::closeIfExpired);
   }
 
-  private MediaContainerDetectionResult detectContainerWithClient(CloseableHttpClient httpClient, AudioReference reference) throws IOException {
-    try (PersistentHttpStream inputStream = new PersistentHttpStream(httpClient, new URI(reference.identifier), Long.MAX_VALUE)) {
-      int statusCode = inputStream.checkStatusCode();
+  private PreparedHttpStream openPreparedStream(AudioReference reference) {
+    try {
+      return new PreparedHttpStream(createHttpClient(), new URI(reference.identifier));
+    } catch (URISyntaxException e) {
+      throw new FriendlyException("Not a valid URL.", COMMON, e);
+    }
+  }
+
+  private MediaContainerDetectionResult detectContainer(AudioReference reference, String cacheKey,
+                                                        PreparedHttpStream preparedStream) {
+    try {
+      PersistentHttpStream httpStream = preparedStream.getHttpStream();
+      int statusCode = httpStream.checkStatusCode();
 
       if (statusCode == 404) {
         return null;
@@ -86,12 +170,40 @@ public class HttpAudioSourceManager extends ProbingAudioSourceManager {
         throw new FriendlyException("That URL is not playable.", COMMON, new IllegalStateException("Status code " + statusCode));
       }
 
-      return MediaContainerDetection.detectContainer(reference, inputStream);
-    } catch (URISyntaxException e) {
-      throw new FriendlyException("Not a valid URL.", COMMON, e);
+      HttpResponse response = httpStream.getCurrentResponse();
+
+      if (cacheKey != null) {
+        MediaContainerDetectionResult validatedResult = detectionCache.getValidated(cacheKey, response);
+
+        if (validatedResult != null) {
+          log.debug("Cached container detection result for {} is still valid.", cacheKey);
+
+          // The saved head is still required for handing the stream over for playback
+          preparedStream.getStream().loadHead();
+          return validatedResult;
+        }
+      }
+
+      MediaContainerHints hints = getHintsFromResponse(preparedStream.getUri(), response);
+      MediaContainerDetectionResult result = MediaContainerDetection.detectContainer(reference, preparedStream.getStream(), hints);
+
+      if (cacheKey != null && result != null) {
+        detectionCache.put(cacheKey, result, response);
+      }
+
+      return result;
+    } catch (IOException e) {
+      throw new FriendlyException("Connecting to the URL failed.", SUSPICIOUS, e);
     }
   }
 
+  private static MediaContainerHints getHintsFromResponse(URI uri, HttpResponse response) {
+    Header contentType = response != null ? response.getFirstHeader(HttpHeaders.CONTENT_TYPE) : null;
+
+    return MediaContainerHints.from(contentType != null ? contentType.getValue() : null,
+        MediaContainerHints.extractFileExtension(uri.getPath()));
+  }
+
   @Override
   public boolean isTrackEncodable(AudioTrack track) {
     return true;
@@ -117,6 +229,13 @@ public class HttpAudioSourceManager extends ProbingAudioSourceManager {
 
   @Override
   public void shutdown() {
-    // Nothing to shut down
+    ExecutorTools.shutdownExecutor(cleanupExecutor, "http prepared stream cleanup");
+
+    for (PreparedHttpStream preparedStream : preparedStreams.values()) {
+      preparedStream.discard();
+    }
+
+    preparedStreams.clear();
+    detectionCache.clear();
   }
 }
@@ -44,10 +44,24 @@ public class HttpAudioTrack extends DelegatedAudioTrack {
 
   @Override
   public void process(LocalAudioTrackExecutor localExecutor) throws Exception {
+    PreparedHttpStream preparedStream = sourceManager.takePreparedStream(this);
+
+    if (preparedStream != null) {
+      log.debug("Starting http track from URL {} using the connection from loading it.", trackInfo.identifier);
+
+      try (PreparedHttpStream stream = preparedStream) {
+        localExecutor.monitorHttpStream(stream.getHttpStream());
+        processDelegate((InternalAudioTrack) probe.createTrack(trackInfo, stream.getStream()), localExecutor);
+      }
+
+      return;
+    }
+
     try (CloseableHttpClient httpClient = sourceManager.createHttpClient()) {
       log.debug("Starting http track from URL: {}", trackInfo.identifier);
 
       try (PersistentHttpStream inputStream = new PersistentHttpStream(httpClient, new URI(trackInfo.identifier), Long.MAX_VALUE)) {
+        localExecutor.monitorHttpStream(inputStream);
         processDelegate((InternalAudioTrack) probe.createTrack(trackInfo, inputStream), localExecutor);
       }
     }
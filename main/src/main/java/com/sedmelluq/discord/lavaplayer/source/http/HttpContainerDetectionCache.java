@@ -0,0 +1,140 @@
+package com.sedmelluq.discord.lavaplayer.source.http;
+
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerDetectionResult;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * LRU cache of container detection results of HTTP URLs. Within a short time after detection, a result is used without
+ * connecting to the URL at all. After that, it is used only if the ETag, Last-Modified and Content-Length headers of a
+ * new response match the ones the result was detected with, until the entry reaches its maximum age. Results for
+ * unsupported files are cached as well, but they are never revalidated.
+ */
+public class HttpContainerDetectionCache {
+  private final int maximumSize;
+  private final long freshDuration;
+  private final long maximumAge;
+  private final long unsupportedDuration;
+  private final Map<String, CachedResult> entries;
+
+  /**
+   * @param maximumSize Maximum number of entries to keep
+   * @param freshDuration Time in milliseconds during which a result is used without connecting to the URL
+   * @param maximumAge Time in milliseconds after which a result is no longer used even if the headers match
+   * @param unsupportedDuration Time in milliseconds during which a result for an unsupported file is used
+   */
+  public HttpContainerDetectionCache(int maximumSize, long freshDuration, long maximumAge, long unsupportedDuration) {
+    this.maximumSize = maximumSize;
+    this.freshDuration = freshDuration;
+    this.maximumAge = maximumAge;
+    this.unsupportedDuration = unsupportedDuration;
+    this.entries = new LinkedHashMap<String, CachedResult>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+        return size() > HttpContainerDetectionCache.this.maximumSize;
+      }
+    };
+  }
+
+  /**
+   * @param url The URL of the file
+   * @return The cached result if it is recent enough to be used without connecting to the URL, otherwise null
+   */
+  public synchronized MediaContainerDetectionResult getFresh(String url) {
+    CachedResult entry = getLiveEntry(url);
+
+    if (entry != null && System.currentTimeMillis() - entry.timestamp < (entry.supported ? freshDuration : unsupportedDuration)) {
+      return entry.result;
+    }
+
+    return null;
+  }
+
+  /**
+   * @param url The URL of the file
+   * @param response A new response from the URL
+   * @return The cached result if the validation headers of the response match the ones of the cached result, otherwise
+   *         null. A successful validation makes the result fresh again.
+   */
+  public synchronized MediaContainerDetectionResult getValidated(String url, HttpResponse response) {
+    CachedResult entry = getLiveEntry(url);
+
+    if (entry != null && entry.supported && entry.hasValidators() && entry.matches(new CachedResult(null, response, 0))) {
+      entries.put(url, new CachedResult(entry.result, response, System.currentTimeMillis()));
+      return entry.result;
+    }
+
+    return null;
+  }
+
+  /**
+   * @param url The URL of the file
+   * @param result The result of detecting the container of the file
+   * @param response The response from which the file was read for detection
+   */
+  public synchronized void put(String url, MediaContainerDetectionResult result, HttpResponse response) {
+    entries.put(url, new CachedResult(result, response, System.currentTimeMillis()));
+  }
+
+  /**
+   * @param url The URL of the file to remove the cached result for
+   */
+  public synchronized void invalidate(String url) {
+    entries.remove(url);
+  }
+
+  /**
+   * Remove all entries.
+   */
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  private CachedResult getLiveEntry(String url) {
+    CachedResult entry = entries.get(url);
+
+    if (entry != null && System.currentTimeMillis() - entry.timestamp >= (entry.supported ? maximumAge : unsupportedDuration)) {
+      entries.remove(url);
+      return null;
+    }
+
+    return entry;
+  }
+
+  private static String getHeaderValue(HttpResponse response, String name) {
+    Header header = response != null ? response.getFirstHeader(name) : null;
+    return header != null ? header.getValue() : null;
+  }
+
+  private static class CachedResult {
+    private final MediaContainerDetectionResult result;
+    private final boolean supported;
+    private final String entityTag;
+    private final String lastModified;
+    private final String contentLength;
+    private final long timestamp;
+
+    private CachedResult(MediaContainerDetectionResult result, HttpResponse response, long timestamp) {
+      this.result = result;
+      this.supported = result == null || result.isSupportedFile();
+      this.entityTag = getHeaderValue(response, HttpHeaders.ETAG);
+      this.lastModified = getHeaderValue(response, HttpHeaders.LAST_MODIFIED);
+      this.contentLength = getHeaderValue(response, HttpHeaders.CONTENT_LENGTH);
+      this.timestamp = timestamp;
+    }
+
+    private boolean hasValidators() {
+      return entityTag != null || lastModified != null;
+    }
+
+    private boolean matches(CachedResult other) {
+      return Objects.equals(entityTag, other.entityTag) && Objects.equals(lastModified, other.lastModified) &&
+          Objects.equals(contentLength, other.contentLength);
+    }
+  }
+}
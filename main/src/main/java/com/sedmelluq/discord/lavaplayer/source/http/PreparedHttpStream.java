@@ -0,0 +1,141 @@
+package com.sedmelluq.discord.lavaplayer.source.http;
+
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection;
+import com.sedmelluq.discord.lavaplayer.tools.io.PersistentHttpStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.SavedHeadSeekableInputStream;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An HTTP connection which was opened for detecting the container of a file. If playback of the track starts within a
+ * short time after loading it, the connection together with the saved beginning of the file is used for playback
+ * instead of connecting again.
+ */
+public class PreparedHttpStream implements AutoCloseable {
+  private static final Logger log = LoggerFactory.getLogger(PreparedHttpStream.class);
+
+  private final CloseableHttpClient httpClient;
+  private final URI uri;
+  private final PersistentHttpStream httpStream;
+  private final SavedHeadSeekableInputStream stream;
+  private final AtomicBoolean taken;
+  private volatile long expirationTime;
+
+  /**
+   * @param httpClient The HTTP client which this stream owns
+   * @param uri The URL of the resource
+   */
+  public PreparedHttpStream(CloseableHttpClient httpClient, URI uri) {
+    this.httpClient = httpClient;
+    this.uri = uri;
+    this.httpStream = new PersistentHttpStream(httpClient, uri, Long.MAX_VALUE);
+    this.stream = new SavedHeadSeekableInputStream(httpStream, MediaContainerDetection.HEAD_MARK_LIMIT);
+    this.taken = new AtomicBoolean();
+    this.expirationTime = Long.MAX_VALUE;
+  }
+
+  /**
+   * @return The URL of the resource
+   */
+  public URI getUri() {
+    return uri;
+  }
+
+  /**
+   * @return The underlying HTTP stream, for checking the status and headers of the response
+   */
+  public PersistentHttpStream getHttpStream() {
+    return httpStream;
+  }
+
+  /**
+   * Note that the saved head is initialised only after connecting, container detection does that.
+   *
+   * @return The stream with the saved beginning of the file
+   */
+  public SavedHeadSeekableInputStream getStream() {
+    return stream;
+  }
+
+  /**
+   * Start the countdown after which this stream can no longer be taken for playback.
+   * @param timeout Time in milliseconds that the stream remains available
+   */
+  public void expireAfter(long timeout) {
+    expirationTime = System.currentTimeMillis() + timeout;
+  }
+
+  /**
+   * Take the stream for playback. Only succeeds once and only if the stream has not expired yet. If taking it fails,
+   * the stream is closed.
+   *
+   * @return True if the stream was taken and is now owned by the caller.
+   */
+  public boolean take() {
+    if (!taken.compareAndSet(false, true)) {
+      return false;
+    } else if (isExpired()) {
+      closeQuietly();
+      return false;
+    }
+
+    try {
+      stream.seek(0);
+      return true;
+    } catch (IOException e) {
+      log.debug("Failed to rewind prepared stream, not reusing it.", e);
+      closeQuietly();
+      return false;
+    }
+  }
+
+  /**
+   * Close the stream if it has expired and has not been taken for playback.
+   * @return True if the stream is no longer pending, either because it was closed or it has been taken
+   */
+  public boolean closeIfExpired() {
+    if (taken.get()) {
+      return true;
+    } else if (isExpired() && taken.compareAndSet(false, true)) {
+      closeQuietly();
+      return true;
+    }
+
+    return false;
+  }
+
+  /**
+   * Close the stream unless it has been taken for playback.
+   */
+  public void discard() {
+    if (taken.compareAndSet(false, true)) {
+      closeQuietly();
+    }
+  }
+
+  private boolean isExpired() {
+    return System.currentTimeMillis() >= expirationTime;
+  }
+
+  private void closeQuietly() {
+    try {
+      close();
+    } catch (IOException e) {
+      log.debug("Failed to close prepared stream.", e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      stream.close();
+    } finally {
+      httpClient.close();
+    }
+  }
+}
@@ -40,6 +40,7 @@ public class SoundCloudAudioTrack extends DelegatedAudioTrack {
       log.debug("Starting SoundCloud track from URL: {}", trackUrl);
 
       try (PersistentHttpStream stream = new PersistentHttpStream(httpClient, new URI(trackUrl), null)) {
+        localExecutor.monitorHttpStream(stream);
         processDelegate(new Mp3AudioTrack(trackInfo, stream), localExecutor);
       }
     }
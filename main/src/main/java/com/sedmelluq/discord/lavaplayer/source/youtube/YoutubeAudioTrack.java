@@ -61,6 +61,8 @@ public class YoutubeAudioTrack extends DelegatedAudioTrack {
       log.debug("Starting track from URL: {}", format.signedUrl);
 
       try (YoutubePersistentHttpStream stream = new YoutubePersistentHttpStream(httpClient, format.signedUrl, format.details.getContentLength())) {
+        localExecutor.monitorHttpStream(stream);
+
         if (MIME_AUDIO_WEBM.equals(format.details.getType().getMimeType())) {
           processDelegate(new MatroskaAudioTrack(trackInfo, stream), localExecutor);
         } else {
@@ -22,6 +22,13 @@ public class DaemonThreadFactory implements ThreadFactory {
     namePrefix = "lava-daemon-pool-" + name + "-" + poolNumber.getAndIncrement() + "-thread-";
   }
 
+  /**
+   * @return Prefix of the names of the threads created by this factory
+   */
+  public String getNamePrefix() {
+    return namePrefix;
+  }
+
   @Override
   public Thread newThread(Runnable runnable) {
     Thread thread = new Thread(group, runnable, namePrefix + threadNumber.getAndIncrement(), 0);
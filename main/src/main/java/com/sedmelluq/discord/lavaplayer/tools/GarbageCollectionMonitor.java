@@ -1,5 +1,6 @@
 package com.sedmelluq.discord.lavaplayer.tools;
 
+import com.sedmelluq.discord.lavaplayer.tools.metrics.MetricCounter;
 import com.sun.management.GarbageCollectionNotificationInfo;
 import com.sun.management.GcInfo;
 import org.slf4j.Logger;
@@ -12,6 +13,20 @@ import javax.management.NotificationListener;
 import javax.management.openmbean.CompositeData;
 import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -22,29 +37,72 @@ import static com.sun.management.GarbageCollectionNotificationInfo.GARBAGE_COLLE
 import static com.sun.management.GarbageCollectionNotificationInfo.from;
 
 /**
- * Garbage collection monitor which records all GC pause lengths and logs them. In case the GC pause statistics are
- * considered bad for latency, the statistics are logged at a warning level.
+ * Garbage collection monitor which records all GC pause lengths, allocation and promotion rates and the frame buffer
+ * underruns that followed each pause. The statistics are collected into a {@link GarbageCollectionReport} every two
+ * minutes and logged. In case the GC pause statistics are considered bad for latency, they are logged at a warning
+ * level.
  */
 public class GarbageCollectionMonitor implements NotificationListener, Runnable {
   private static final Logger log = LoggerFactory.getLogger(GarbageCollectionMonitor.class);
 
   private static final long REPORTING_FREQUENCY = TimeUnit.MINUTES.toMillis(2);
+  private static final long UNDERRUN_WINDOW = 1000;
+  private static final int MAXIMUM_REPORTED_PAUSES = 500;
   private static final long[] BUCKETS = new long[] { 2000, 500, 200, 50, 20, 0 };
 
   private final ScheduledExecutorService reportingExecutor;
+  private final MetricCounter underrunCounter;
+  private final String playbackThreadPrefix;
   private final int[] bucketCounters;
+  private final int[] totalBucketCounters;
   private final AtomicBoolean enabled;
   private final AtomicReference<ScheduledFuture<?>> executorFuture;
+  private final Set<String> allocationPools;
+  private final Set<String> promotionPools;
+  private final Map<Long, Long> threadAllocations;
+  private final List<GarbageCollectionPause> completedPauses;
+  private long periodStart;
+  private long periodPauseTime;
+  private long periodAllocated;
+  private long periodPromoted;
+  private long periodUnderrunsAfterPauses;
+  private long periodStartUnderruns;
+  private long lastAllocationPoolUsage;
+  private long windowEnd;
+  private long windowStartUnderruns;
+  private boolean windowActive;
+  private volatile GarbageCollectionReport lastReport;
 
   /**
-   * Create an instance of GC monitor. Does nothing until enabled.
+   * Create an instance of GC monitor which only records pauses, allocation and promotion. Does nothing until enabled.
    * @param reportingExecutor Executor to use for scheduling reporting task
    */
   public GarbageCollectionMonitor(ScheduledExecutorService reportingExecutor) {
+    this(reportingExecutor, null, null);
+  }
+
+  /**
+   * Create an instance of GC monitor. Does nothing until enabled.
+   * @param reportingExecutor Executor to use for scheduling reporting task
+   * @param underrunCounter Counter of frame buffer underruns to correlate with pauses, null if not available
+   * @param playbackThreadPrefix Name prefix of the threads whose allocation rate is reported separately, null for none
+   */
+  public GarbageCollectionMonitor(ScheduledExecutorService reportingExecutor, MetricCounter underrunCounter,
+                                  String playbackThreadPrefix) {
+
     this.reportingExecutor = reportingExecutor;
+    this.underrunCounter = underrunCounter;
+    this.playbackThreadPrefix = playbackThreadPrefix;
     bucketCounters = new int[BUCKETS.length];
+    totalBucketCounters = new int[BUCKETS.length];
     enabled = new AtomicBoolean();
     executorFuture = new AtomicReference<>();
+    allocationPools = new HashSet<>();
+    promotionPools = new HashSet<>();
+    threadAllocations = new HashMap<>();
+    completedPauses = new ArrayList<>();
+
+    detectMemoryPools();
   }
 
   /**
@@ -52,6 +110,12 @@ public class GarbageCollectionMonitor implements NotificationListener, Runnable
    */
   public void enable() {
     if (enabled.compareAndSet(false, true)) {
+      synchronized (bucketCounters) {
+        startPeriod();
+        lastAllocationPoolUsage = getCurrentAllocationPoolUsage();
+      }
+
+      sampleThreadAllocations(0);
       registerBeanListener();
 
       executorFuture.set(reportingExecutor.scheduleAtFixedRate(this, REPORTING_FREQUENCY, REPORTING_FREQUENCY, TimeUnit.MILLISECONDS));
@@ -76,6 +140,63 @@ public class GarbageCollectionMonitor implements NotificationListener, Runnable
     }
   }
 
+  /**
+   * @return Lower bounds of the GC pause buckets in milliseconds, from the longest pauses to the shortest
+   */
+  public static long[] getBucketLimits() {
+    return BUCKETS.clone();
+  }
+
+  /**
+   * @return Number of GC pauses in each bucket since the monitor was created, in the order of {@link #getBucketLimits()}
+   */
+  public int[] getTotalPauseCounts() {
+    synchronized (bucketCounters) {
+      return totalBucketCounters.clone();
+    }
+  }
+
+  /**
+   * @return Statistics of the last completed reporting period, null if no period has completed since enabling
+   */
+  public GarbageCollectionReport getLastReport() {
+    return lastReport;
+  }
+
+  private void detectMemoryPools() {
+    Set<String> heapPools = new HashSet<>();
+
+    for (MemoryPoolMXBean poolBean : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (poolBean.getType() == MemoryType.HEAP) {
+        String name = poolBean.getName();
+        heapPools.add(name);
+
+        if (name.contains("Eden")) {
+          allocationPools.add(name);
+        } else if (name.contains("Old") || name.contains("Tenured")) {
+          promotionPools.add(name);
+        }
+      }
+    }
+
+    // Without a young generation, everything is allocated directly into the pools which are collected
+    if (allocationPools.isEmpty()) {
+      allocationPools.addAll(heapPools);
+    }
+  }
+
+  private long getCurrentAllocationPoolUsage() {
+    long usage = 0;
+
+    for (MemoryPoolMXBean poolBean : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (allocationPools.contains(poolBean.getName())) {
+        usage += poolBean.getUsage().getUsed();
+      }
+    }
+
+    return usage;
+  }
+
   private void registerBeanListener() {
     for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
       if (gcBean instanceof NotificationEmitter) {
@@ -96,14 +217,169 @@ public class GarbageCollectionMonitor implements NotificationListener, Runnable
     }
   }
 
-  private void registerPause(long duration) {
+  private void registerPause(GarbageCollectionNotificationInfo notificationInfo, GcInfo info) {
+    long duration = info.getDuration();
+    long allocated;
+    long promoted;
+
     synchronized (bucketCounters) {
       for (int i = 0; i < bucketCounters.length; i++) {
         if (duration >= BUCKETS[i]) {
           bucketCounters[i]++;
+          totalBucketCounters[i]++;
           break;
         }
       }
+
+      allocated = Math.max(0, sumPools(info.getMemoryUsageBeforeGc(), allocationPools) - lastAllocationPoolUsage);
+      promoted = Math.max(0, sumPools(info.getMemoryUsageAfterGc(), promotionPools) -
+          sumPools(info.getMemoryUsageBeforeGc(), promotionPools));
+
+      lastAllocationPoolUsage = sumPools(info.getMemoryUsageAfterGc(), allocationPools);
+      periodPauseTime += duration;
+      periodAllocated += allocated;
+      periodPromoted += promoted;
+    }
+
+    if (underrunCounter != null) {
+      long underrunsAtEnd = underrunCounter.get();
+
+      try {
+        extendUnderrunWindow(underrunsAtEnd);
+
+        reportingExecutor.schedule(() -> completePause(notificationInfo.getGcName(), notificationInfo.getGcCause(),
+            info.getStartTime(), duration, allocated, promoted, underrunCounter.get() - underrunsAtEnd),
+            UNDERRUN_WINDOW, TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        log.debug("Not counting underruns after a GC pause, the reporting executor has been shut down.");
+      }
+    } else {
+      completePause(notificationInfo.getGcName(), notificationInfo.getGcCause(), info.getStartTime(), duration,
+          allocated, promoted, 0);
+    }
+  }
+
+  private void extendUnderrunWindow(long currentUnderruns) {
+    // Windows of pauses which follow each other are merged, so that an underrun is not counted once for every pause
+    synchronized (bucketCounters) {
+      windowEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(UNDERRUN_WINDOW);
+
+      if (windowActive) {
+        return;
+      }
+
+      windowActive = true;
+      windowStartUnderruns = currentUnderruns;
+    }
+
+    reportingExecutor.schedule(this::checkUnderrunWindow, UNDERRUN_WINDOW, TimeUnit.MILLISECONDS);
+  }
+
+  private void checkUnderrunWindow() {
+    long remaining;
+
+    synchronized (bucketCounters) {
+      remaining = windowEnd - System.nanoTime();
+
+      if (remaining <= 0) {
+        windowActive = false;
+        periodUnderrunsAfterPauses += underrunCounter.get() - windowStartUnderruns;
+        return;
+      }
+    }
+
+    try {
+      reportingExecutor.schedule(this::checkUnderrunWindow, remaining, TimeUnit.NANOSECONDS);
+    } catch (RejectedExecutionException e) {
+      log.debug("Not counting underruns after a GC pause, the reporting executor has been shut down.");
+    }
+  }
+
+  private void completePause(String collector, String cause, long startTime, long duration, long allocated,
+                             long promoted, long underrunsAfter) {
+
+    synchronized (bucketCounters) {
+      if (completedPauses.size() < MAXIMUM_REPORTED_PAUSES) {
+        completedPauses.add(new GarbageCollectionPause(collector, cause, startTime, duration, allocated, promoted,
+            underrunsAfter));
+      }
+    }
+  }
+
+  private static long sumPools(Map<String, MemoryUsage> usages, Set<String> pools) {
+    long total = 0;
+
+    for (Map.Entry<String, MemoryUsage> entry : usages.entrySet()) {
+      if (pools.contains(entry.getKey())) {
+        total += entry.getValue().getUsed();
+      }
+    }
+
+    return total;
+  }
+
+  private Map<String, Long> sampleThreadAllocations(long periodDuration) {
+    ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+    if (playbackThreadPrefix == null || !(threadBean instanceof com.sun.management.ThreadMXBean)) {
+      return Collections.emptyMap();
+    }
+
+    com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+
+    if (!allocationBean.isThreadAllocatedMemorySupported() || !allocationBean.isThreadAllocatedMemoryEnabled()) {
+      return Collections.emptyMap();
+    }
+
+    List<Long> playbackThreadIds = new ArrayList<>();
+    List<String> playbackThreadNames = new ArrayList<>();
+
+    for (ThreadInfo threadInfo : threadBean.getThreadInfo(threadBean.getAllThreadIds())) {
+      if (threadInfo != null && threadInfo.getThreadName().startsWith(playbackThreadPrefix)) {
+        playbackThreadIds.add(threadInfo.getThreadId());
+        playbackThreadNames.add(threadInfo.getThreadName());
+      }
+    }
+
+    long[] ids = new long[playbackThreadIds.size()];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = playbackThreadIds.get(i);
+    }
+
+    long[] allocatedBytes = allocationBean.getThreadAllocatedBytes(ids);
+    Map<String, Long> rates = new LinkedHashMap<>();
+    Map<Long, Long> previousAllocations = new HashMap<>(threadAllocations);
+
+    threadAllocations.clear();
+
+    for (int i = 0; i < ids.length; i++) {
+      if (allocatedBytes[i] < 0) {
+        continue;
+      }
+
+      threadAllocations.put(ids[i], allocatedBytes[i]);
+
+      if (periodDuration > 0) {
+        // Thread IDs are not reused, so a thread without a previous sample was started during this period
+        long previous = previousAllocations.getOrDefault(ids[i], 0L);
+        rates.put(playbackThreadNames.get(i), (allocatedBytes[i] - previous) * 1000 / periodDuration);
+      }
+    }
+
+    return rates;
+  }
+
+  private void startPeriod() {
+    periodStart = System.currentTimeMillis();
+    periodPauseTime = 0;
+    periodAllocated = 0;
+    periodPromoted = 0;
+    periodUnderrunsAfterPauses = 0;
+    periodStartUnderruns = underrunCounter != null ? underrunCounter.get() : 0;
+    completedPauses.clear();
+
+    for (int i = 0; i < bucketCounters.length; i++) {
+      bucketCounters[i] = 0;
     }
   }
 
@@ -114,25 +390,49 @@ public class GarbageCollectionMonitor implements NotificationListener, Runnable
       GcInfo info = notificationInfo.getGcInfo();
 
       if (info != null && !"No GC".equals(notificationInfo.getGcCause())) {
-        registerPause(info.getDuration());
+        registerPause(notificationInfo, info);
       }
     }
   }
 
   @Override
   public void run() {
-    StringBuilder statistics = new StringBuilder();
-    boolean hasBadLatency;
+    GarbageCollectionReport report;
 
     synchronized (bucketCounters) {
-      hasBadLatency = bucketCounters[3] > 1 || bucketCounters[2] > 0;
+      long periodDuration = Math.max(1, System.currentTimeMillis() - periodStart);
+      Map<String, Long> threadRates = sampleThreadAllocations(periodDuration);
+      long playbackRate = 0;
 
-      for (int i = bucketCounters.length - 1; i >= 0; i--) {
-        statistics.append(String.format("[Bucket %d = %d] ", BUCKETS[i], bucketCounters[i]));
-        bucketCounters[i] = 0;
+      for (long rate : threadRates.values()) {
+        playbackRate += rate;
       }
+
+      long underruns = underrunCounter != null ? underrunCounter.get() - periodStartUnderruns : 0;
+
+      report = new GarbageCollectionReport(periodDuration, bucketCounters.clone(), periodPauseTime,
+          periodAllocated * 1000 / periodDuration, periodPromoted * 1000 / periodDuration, playbackRate, threadRates,
+          underruns, periodUnderrunsAfterPauses, new ArrayList<>(completedPauses));
+
+      startPeriod();
     }
 
+    lastReport = report;
+    logReport(report);
+  }
+
+  private void logReport(GarbageCollectionReport report) {
+    StringBuilder statistics = new StringBuilder();
+    int[] counts = report.pauseCounts;
+    boolean hasBadLatency = counts[3] > 1 || counts[2] > 0;
+
+    for (int i = counts.length - 1; i >= 0; i--) {
+      statistics.append(String.format("[Bucket %d = %d] ", BUCKETS[i], counts[i]));
+    }
+
+    statistics.append(String.format("[Allocation %d kB/s, promotion %d kB/s, underruns %d of %d after pauses]",
+        report.allocationRate / 1024, report.promotionRate / 1024, report.underrunsAfterPauses, report.underruns));
+
     if (hasBadLatency) {
       log.warn("Suspicious GC results for the last 2 minutes: {}", statistics.toString());
     } else {
@@ -0,0 +1,56 @@
+package com.sedmelluq.discord.lavaplayer.tools;
+
+/**
+ * One garbage collection pause and what happened around it.
+ */
+public class GarbageCollectionPause {
+  /**
+   * Name of the collector which performed the collection
+   */
+  public final String collector;
+  /**
+   * Cause of the collection as reported by the JVM
+   */
+  public final String cause;
+  /**
+   * Start time of the collection in milliseconds since the start of the JVM
+   */
+  public final long startTime;
+  /**
+   * Duration of the collection in milliseconds
+   */
+  public final long duration;
+  /**
+   * Bytes allocated since the previous collection
+   */
+  public final long allocatedBytes;
+  /**
+   * Bytes promoted to the old generation by this collection
+   */
+  public final long promotedBytes;
+  /**
+   * Number of frame buffer underruns within one second after the collection
+   */
+  public final long underrunsAfter;
+
+  /**
+   * @param collector Name of the collector which performed the collection
+   * @param cause Cause of the collection as reported by the JVM
+   * @param startTime Start time of the collection in milliseconds since the start of the JVM
+   * @param duration Duration of the collection in milliseconds
+   * @param allocatedBytes Bytes allocated since the previous collection
+   * @param promotedBytes Bytes promoted to the old generation by this collection
+   * @param underrunsAfter Number of frame buffer underruns within one second after the collection
+   */
+  public GarbageCollectionPause(String collector, String cause, long startTime, long duration, long allocatedBytes,
+                                long promotedBytes, long underrunsAfter) {
+
+    this.collector = collector;
+    this.cause = cause;
+    this.startTime = startTime;
+    this.duration = duration;
+    this.allocatedBytes = allocatedBytes;
+    this.promotedBytes = promotedBytes;
+    this.underrunsAfter = underrunsAfter;
+  }
+}
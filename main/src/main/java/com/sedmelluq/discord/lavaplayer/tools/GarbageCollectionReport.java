@@ -0,0 +1,81 @@
+package com.sedmelluq.discord.lavaplayer.tools;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Garbage collection statistics of one reporting period of {@link GarbageCollectionMonitor}. Comparing the underruns
+ * which followed pauses to all underruns in the period tells whether playback stutter is caused by GC.
+ */
+public class GarbageCollectionReport {
+  /**
+   * Length of the reporting period in milliseconds
+   */
+  public final long periodDuration;
+  /**
+   * Number of pauses in each bucket during the period, in the order of
+   * {@link GarbageCollectionMonitor#getBucketLimits()}
+   */
+  public final int[] pauseCounts;
+  /**
+   * Total length of the pauses in milliseconds
+   */
+  public final long totalPauseTime;
+  /**
+   * Bytes allocated per second by all threads, measured from the young generation usage between collections
+   */
+  public final long allocationRate;
+  /**
+   * Bytes promoted to the old generation per second
+   */
+  public final long promotionRate;
+  /**
+   * Bytes allocated per second by all playback threads together
+   */
+  public final long playbackAllocationRate;
+  /**
+   * Bytes allocated per second during the period by each playback thread alive at its end, by thread name
+   */
+  public final Map<String, Long> playbackThreadAllocationRates;
+  /**
+   * Number of frame buffer underruns during the period
+   */
+  public final long underruns;
+  /**
+   * Number of frame buffer underruns within one second after a pause, counting the windows of consecutive pauses once
+   */
+  public final long underrunsAfterPauses;
+  /**
+   * Pauses whose underrun window ended during the period
+   */
+  public final List<GarbageCollectionPause> pauses;
+
+  /**
+   * @param periodDuration Length of the reporting period in milliseconds
+   * @param pauseCounts Number of pauses in each bucket during the period
+   * @param totalPauseTime Total length of the pauses in milliseconds
+   * @param allocationRate Bytes allocated per second by all threads
+   * @param promotionRate Bytes promoted to the old generation per second
+   * @param playbackAllocationRate Bytes allocated per second by all playback threads together
+   * @param playbackThreadAllocationRates Bytes allocated per second by each playback thread
+   * @param underruns Number of frame buffer underruns during the period
+   * @param underrunsAfterPauses Number of frame buffer underruns within one second after a pause
+   * @param pauses Pauses whose underrun window ended during the period
+   */
+  public GarbageCollectionReport(long periodDuration, int[] pauseCounts, long totalPauseTime, long allocationRate,
+                                 long promotionRate, long playbackAllocationRate,
+                                 Map<String, Long> playbackThreadAllocationRates, long underruns,
+                                 long underrunsAfterPauses, List<GarbageCollectionPause> pauses) {
+
+    this.periodDuration = periodDuration;
+    this.pauseCounts = pauseCounts;
+    this.totalPauseTime = totalPauseTime;
+    this.allocationRate = allocationRate;
+    this.promotionRate = promotionRate;
+    this.playbackAllocationRate = playbackAllocationRate;
+    this.playbackThreadAllocationRates = playbackThreadAllocationRates;
+    this.underruns = underruns;
+    this.underrunsAfterPauses = underrunsAfterPauses;
+    this.pauses = pauses;
+  }
+}
@@ -0,0 +1,74 @@
+package com.sedmelluq.discord.lavaplayer.tools.diagnostics;
+
+import java.net.URI;
+
+/**
+ * Holds the diagnostic recorder which the library reports its events to. By default events are discarded, so the
+ * instrumented code only pays for a volatile read and a call to an empty method until a recorder is installed.
+ */
+public class AudioDiagnostics {
+  /**
+   * Span which does nothing when ended.
+   */
+  public static final DiagnosticSpan NO_SPAN = outcome -> {};
+
+  private static final DiagnosticRecorder DISABLED = new DisabledRecorder();
+
+  private static volatile DiagnosticRecorder recorder = DISABLED;
+
+  /**
+   * @return The current recorder
+   */
+  public static DiagnosticRecorder getRecorder() {
+    return recorder;
+  }
+
+  /**
+   * @param newRecorder Recorder to report the events to, null to discard the events
+   */
+  public static void setRecorder(DiagnosticRecorder newRecorder) {
+    recorder = newRecorder != null ? newRecorder : DISABLED;
+  }
+
+  private static class DisabledRecorder implements DiagnosticRecorder {
+    @Override
+    public DiagnosticSpan beginLoadStage(String identifier, String sourceName) {
+      return NO_SPAN;
+    }
+
+    @Override
+    public DiagnosticSpan beginHttpConnect(URI url, long position) {
+      return NO_SPAN;
+    }
+
+    @Override
+    public void httpReconnect(URI url, long position, String reason) {
+      // Discarded
+    }
+
+    @Override
+    public DiagnosticSpan beginContainerProbe(String identifier, String containerName) {
+      return NO_SPAN;
+    }
+
+    @Override
+    public DiagnosticSpan beginSeek(String identifier, long position) {
+      return NO_SPAN;
+    }
+
+    @Override
+    public void bufferUnderrun() {
+      // Discarded
+    }
+
+    @Override
+    public DiagnosticSpan beginVolumeRebuild(int volume) {
+      return NO_SPAN;
+    }
+
+    @Override
+    public void trackStuck(String identifier, long thresholdMs) {
+      // Discarded
+    }
+  }
+}
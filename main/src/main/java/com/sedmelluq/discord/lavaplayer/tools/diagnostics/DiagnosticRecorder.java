@@ -0,0 +1,61 @@
+package com.sedmelluq.discord.lavaplayer.tools.diagnostics;
+
+import java.net.URI;
+
+/**
+ * Receives diagnostic events about loading and playing tracks, for correlating playback problems with other events of
+ * the JVM. Methods are called on the thread performing the operation and should return quickly.
+ */
+public interface DiagnosticRecorder {
+  /**
+   * @param identifier Identifier of the item being loaded
+   * @param sourceName Name of the source manager which is checked for the item
+   * @return Span of the check, ended with the kind of item found
+   */
+  DiagnosticSpan beginLoadStage(String identifier, String sourceName);
+
+  /**
+   * @param url URL which is connected to
+   * @param position Position in the resource the connection is requested from
+   * @return Span of the connection attempt, ended with the status code or the error
+   */
+  DiagnosticSpan beginHttpConnect(URI url, long position);
+
+  /**
+   * @param url URL of the connection which was reset
+   * @param position Position in the resource at which the connection is reopened
+   * @param reason Reason why the previous connection was closed
+   */
+  void httpReconnect(URI url, long position, String reason);
+
+  /**
+   * @param identifier Identifier of the item being probed
+   * @param containerName Name of the container which is checked
+   * @return Span of the probe, ended with whether the container matched
+   */
+  DiagnosticSpan beginContainerProbe(String identifier, String containerName);
+
+  /**
+   * @param identifier Identifier of the track
+   * @param position Position which is seeked to in milliseconds
+   * @return Span of the seek on the playback thread
+   */
+  DiagnosticSpan beginSeek(String identifier, long position);
+
+  /**
+   * Called when a frame buffer runs empty while its track is playing.
+   */
+  void bufferUnderrun();
+
+  /**
+   * @param volume Volume which the buffered frames are reencoded with
+   * @return Span of reencoding the buffered frames
+   */
+  DiagnosticSpan beginVolumeRebuild(int volume);
+
+  /**
+   * @param identifier Identifier of the track which has not provided frames
+   * @param thresholdMs Time in milliseconds after which a track is considered stuck
+   */
+  void trackStuck(String identifier, long thresholdMs);
+}
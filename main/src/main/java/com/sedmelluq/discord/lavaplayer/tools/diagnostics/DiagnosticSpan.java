@@ -0,0 +1,13 @@
+package com.sedmelluq.discord.lavaplayer.tools.diagnostics;
+
+/**
+ * An operation recorded by a diagnostic recorder, which lasts from its creation until it is ended.
+ */
+public interface DiagnosticSpan {
+  /**
+   * Mark the operation as finished. Must be called once, on the thread that performed the operation.
+   *
+   * @param outcome Short description of how the operation ended, null if it completed normally
+   */
+  void end(String outcome);
+}
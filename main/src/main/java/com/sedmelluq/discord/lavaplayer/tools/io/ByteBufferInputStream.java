@@ -30,7 +30,7 @@ public class ByteBufferInputStream extends InputStream {
   public int read(byte[] array, int offset, int length) throws IOException {
     if (buffer.hasRemaining()) {
       int chunk = Math.min(buffer.remaining(), length);
-      buffer.get(array, offset, length);
+      buffer.get(array, offset, chunk);
       return chunk;
     } else {
       return -1;
@@ -0,0 +1,84 @@
+package com.sedmelluq.discord.lavaplayer.tools.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+
+/**
+ * Seekable input stream over a byte array which is already fully in memory. Positions are relative to the start of the
+ * specified range of the array.
+ */
+public class MemorySeekableInputStream extends SeekableInputStream {
+  private final byte[] data;
+  private final int offset;
+  private final int length;
+  private int position;
+
+  /**
+   * @param data The array containing the data
+   * @param offset Offset of the data in the array
+   * @param length Length of the data
+   */
+  public MemorySeekableInputStream(byte[] data, int offset, int length) {
+    super(length, length);
+
+    this.data = data;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  /**
+   * @param data The array containing the data
+   */
+  public MemorySeekableInputStream(byte[] data) {
+    this(data, 0, data.length);
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (position >= length) {
+      return -1;
+    }
+
+    return data[offset + position++] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    } else if (position >= length) {
+      return -1;
+    }
+
+    int chunk = Math.min(len, length - position);
+    System.arraycopy(data, offset + position, b, off, chunk);
+    position += chunk;
+    return chunk;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    int chunk = (int) Math.max(0, Math.min(n, length - position));
+    position += chunk;
+    return chunk;
+  }
+
+  @Override
+  public int available() throws IOException {
+    return length - position;
+  }
+
+  @Override
+  public long getPosition() {
+    return position;
+  }
+
+  @Override
+  protected void seekHard(long position) throws IOException {
+    if (position < 0 || position > length) {
+      throw new EOFException("Cannot seek to " + position + ", length is " + length);
+    }
+
+    this.position = (int) position;
+  }
+}
@@ -1,5 +1,8 @@
 package com.sedmelluq.discord.lavaplayer.tools.io;
 
+import com.sedmelluq.discord.lavaplayer.tools.diagnostics.AudioDiagnostics;
+import com.sedmelluq.discord.lavaplayer.tools.diagnostics.DiagnosticSpan;
+import com.sedmelluq.discord.lavaplayer.tools.metrics.MetricCounter;
 import org.apache.http.Header;
 import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
@@ -14,6 +17,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.SocketException;
 import java.net.URI;
+import java.util.function.LongConsumer;
 
 /**
  * Use an HTTP endpoint as a stream, where the connection resetting is handled gracefully by reopening the connection
@@ -29,6 +33,8 @@ public class PersistentHttpStream extends SeekableInputStream implements AutoClo
   private int lastStatusCode;
   private CloseableHttpResponse currentResponse;
   private InputStream currentContent;
+  private MetricCounter reconnectCounter;
+  private LongConsumer downloadListener;
   protected long position;
 
   /**
@@ -58,6 +64,27 @@ public class PersistentHttpStream extends SeekableInputStream implements AutoClo
     return lastStatusCode;
   }
 
+  /**
+   * @param reconnectCounter Counter to increment each time the connection is reset and the stream reconnects
+   */
+  public void setReconnectCounter(MetricCounter reconnectCounter) {
+    this.reconnectCounter = reconnectCounter;
+  }
+
+  /**
+   * @param downloadListener Listener which is called with the number of bytes after each read from the connection
+   */
+  public void setDownloadListener(LongConsumer downloadListener) {
+    this.downloadListener = downloadListener;
+  }
+
+  /**
+   * @return The response of the current connection, null if not connected
+   */
+  public HttpResponse getCurrentResponse() {
+    return currentResponse;
+  }
+
   protected URI getConnectUrl() {
     return contentUrl;
   }
@@ -85,8 +112,17 @@ public class PersistentHttpStream extends SeekableInputStream implements AutoClo
 
   private void connect(boolean skipStatusCheck) throws IOException {
     if (currentResponse == null) {
-      currentResponse = httpClient.execute(getConnectRequest());
+      DiagnosticSpan span = AudioDiagnostics.getRecorder().beginHttpConnect(contentUrl, position);
+
+      try {
+        currentResponse = httpClient.execute(getConnectRequest());
+      } catch (IOException | RuntimeException e) {
+        span.end(e.getClass().getSimpleName());
+        throw e;
+      }
+
       lastStatusCode = currentResponse.getStatusLine().getStatusCode();
+      span.end(String.valueOf(lastStatusCode));
 
       if (!skipStatusCheck) {
         validateStatusCode(currentResponse);
@@ -110,6 +146,12 @@ public class PersistentHttpStream extends SeekableInputStream implements AutoClo
     }
 
     close();
+
+    AudioDiagnostics.getRecorder().httpReconnect(contentUrl, position, exception.getMessage());
+
+    if (reconnectCounter != null) {
+      reconnectCounter.increment();
+    }
   }
 
   private int internalRead(boolean attemptReconnect) throws IOException {
@@ -119,6 +161,7 @@ public class PersistentHttpStream extends SeekableInputStream implements AutoClo
       int result = currentContent.read();
       if (result >= 0) {
         position++;
+        countDownloaded(1);
       }
       return result;
     } catch (SocketException e) {
@@ -127,6 +170,12 @@ public class PersistentHttpStream extends SeekableInputStream implements AutoClo
     }
   }
 
+  private void countDownloaded(long bytes) {
+    if (downloadListener != null) {
+      downloadListener.accept(bytes);
+    }
+  }
+
   @Override
   public int read() throws IOException {
     return internalRead(true);
@@ -139,6 +188,7 @@ public class PersistentHttpStream extends SeekableInputStream implements AutoClo
       int result = currentContent.read(b, off, len);
       if (result >= 0) {
         position += result;
+        countDownloaded(result);
       }
       return result;
     } catch (SocketException e) {
@@ -159,6 +209,7 @@ public class PersistentHttpStream extends SeekableInputStream implements AutoClo
       long result = currentContent.skip(n);
       if (result >= 0) {
         position += result;
+        countDownloaded(result);
       }
       return result;
     } catch (SocketException e) {
@@ -34,6 +34,12 @@ public class SavedHeadSeekableInputStream extends SeekableInputStream {
     headPosition = 0;
   }
 
+  @Override
+  public long getContentLength() {
+    // The delegate may learn its length only after this instance was created, for example when connecting over HTTP
+    return delegate.getContentLength();
+  }
+
   @Override
   public long getPosition() {
     if (usingHead) {
@@ -0,0 +1,116 @@
+package com.sedmelluq.discord.lavaplayer.tools.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Metrics of the audio processing pipeline of one player manager. Recorded from the playback threads without locking
+ * or allocation, and left to the application to read and export in whatever format it uses.
+ */
+public class AudioPipelineMetrics {
+  /**
+   * Shared instance for components which are created without a player manager to record into, so that they do not
+   * each allocate the buckets of their histograms. Nothing reads it.
+   */
+  public static final AudioPipelineMetrics DETACHED = new AudioPipelineMetrics();
+
+  /**
+   * Time in nanoseconds spent in one call to the opus decoder
+   */
+  public final MetricHistogram opusDecodeTime = new MetricHistogram();
+  /**
+   * Time in nanoseconds spent in one call to the MP3 decoder
+   */
+  public final MetricHistogram mp3DecodeTime = new MetricHistogram();
+  /**
+   * Time in nanoseconds spent in one call to the AAC decoder
+   */
+  public final MetricHistogram aacDecodeTime = new MetricHistogram();
+  /**
+   * Time in nanoseconds spent decoding one vorbis packet
+   */
+  public final MetricHistogram vorbisDecodeTime = new MetricHistogram();
+  /**
+   * Time in nanoseconds spent reading and decoding one FLAC frame
+   */
+  public final MetricHistogram flacDecodeTime = new MetricHistogram();
+  /**
+   * Time in nanoseconds spent resampling one chunk of samples in all channels
+   */
+  public final MetricHistogram resampleTime = new MetricHistogram();
+  /**
+   * Time in nanoseconds spent applying volume to and encoding one 20ms opus frame
+   */
+  public final MetricHistogram encodeTime = new MetricHistogram();
+  /**
+   * Number of frames left in the frame buffer of a track each time a frame is taken from it
+   */
+  public final MetricHistogram bufferFillLevel = new MetricHistogram();
+  /**
+   * Number of times the frame buffer of a track ran empty while the track was playing
+   */
+  public final MetricCounter bufferUnderruns = new MetricCounter();
+  /**
+   * Number of times a frame was requested from a player which has a track playing
+   */
+  public final MetricCounter provideCalls = new MetricCounter();
+  /**
+   * Number of times a player with a track playing had no frame to provide
+   */
+  public final MetricCounter provideMisses = new MetricCounter();
+  /**
+   * Time in milliseconds from starting a track to its first frame being provided
+   */
+  public final MetricHistogram firstFrameTime = new MetricHistogram();
+  /**
+   * Time in milliseconds from requesting a seek to the first frame from the new position being provided
+   */
+  public final MetricHistogram seekTime = new MetricHistogram();
+  /**
+   * Number of times an HTTP stream reconnected after its connection was reset
+   */
+  public final MetricCounter httpReconnects = new MetricCounter();
+
+  private final Map<String, MetricCounter> counters;
+  private final Map<String, MetricHistogram> histograms;
+
+  /**
+   * Create an instance with all metrics at zero.
+   */
+  public AudioPipelineMetrics() {
+    Map<String, MetricCounter> counterMap = new LinkedHashMap<>();
+    counterMap.put("buffer.underruns", bufferUnderruns);
+    counterMap.put("provide.calls", provideCalls);
+    counterMap.put("provide.misses", provideMisses);
+    counterMap.put("http.reconnects", httpReconnects);
+    counters = Collections.unmodifiableMap(counterMap);
+
+    Map<String, MetricHistogram> histogramMap = new LinkedHashMap<>();
+    histogramMap.put("decode.opus.nanos", opusDecodeTime);
+    histogramMap.put("decode.mp3.nanos", mp3DecodeTime);
+    histogramMap.put("decode.aac.nanos", aacDecodeTime);
+    histogramMap.put("decode.vorbis.nanos", vorbisDecodeTime);
+    histogramMap.put("decode.flac.nanos", flacDecodeTime);
+    histogramMap.put("resample.nanos", resampleTime);
+    histogramMap.put("encode.nanos", encodeTime);
+    histogramMap.put("buffer.fill.frames", bufferFillLevel);
+    histogramMap.put("track.first_frame.millis", firstFrameTime);
+    histogramMap.put("track.seek.millis", seekTime);
+    histograms = Collections.unmodifiableMap(histogramMap);
+  }
+
+  /**
+   * @return All counters by their name, for exporting
+   */
+  public Map<String, MetricCounter> getCounters() {
+    return counters;
+  }
+
+  /**
+   * @return All histograms by their name, for exporting
+   */
+  public Map<String, MetricHistogram> getHistograms() {
+    return histograms;
+  }
+}
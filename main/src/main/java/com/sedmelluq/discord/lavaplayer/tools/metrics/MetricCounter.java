@@ -0,0 +1,32 @@
+package com.sedmelluq.discord.lavaplayer.tools.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter which can be incremented from many threads at once without contention, as the count is striped over
+ * separate cells which are only summed when it is read.
+ */
+public class MetricCounter {
+  private final LongAdder count = new LongAdder();
+
+  /**
+   * Increment the counter by one.
+   */
+  public void increment() {
+    count.increment();
+  }
+
+  /**
+   * @param amount Amount to add to the counter
+   */
+  public void add(long amount) {
+    count.add(amount);
+  }
+
+  /**
+   * @return Current value of the counter
+   */
+  public long get() {
+    return count.sum();
+  }
+}
@@ -0,0 +1,127 @@
+package com.sedmelluq.discord.lavaplayer.tools.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of non-negative values with log-linear buckets in the style of HdrHistogram. Values below 16 have a bucket
+ * of their own, larger values are split into 8 buckets for each power of two, so the bucket of a value is never more
+ * than 12.5% wider than the value itself. Recording a value only increments counters and never allocates.
+ */
+public class MetricHistogram {
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int EXACT_LIMIT = SUB_BUCKET_COUNT * 2;
+  private static final int BUCKET_COUNT = (62 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+
+  /**
+   * @param value Value to record, negative values are recorded as zero
+   */
+  public void record(long value) {
+    value = Math.max(0, value);
+
+    buckets.incrementAndGet(getBucketIndex(value));
+    count.increment();
+    sum.add(value);
+  }
+
+  /**
+   * Record the time elapsed since the specified moment.
+   * @param startNanos Value of {@link System#nanoTime()} at the start of the measured operation
+   * @return The recorded time in nanoseconds
+   */
+  public long recordNanosSince(long startNanos) {
+    long elapsed = System.nanoTime() - startNanos;
+    record(elapsed);
+    return elapsed;
+  }
+
+  /**
+   * @return Number of recorded values
+   */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * @return Sum of all recorded values
+   */
+  public long getSum() {
+    return sum.sum();
+  }
+
+  /**
+   * @return Mean of the recorded values, 0 if none have been recorded
+   */
+  public double getMean() {
+    long total = count.sum();
+    return total > 0 ? (double) sum.sum() / total : 0.0;
+  }
+
+  /**
+   * @param percentile Percentile between 0 and 100
+   * @return Upper bound of the bucket which contains the value at the specified percentile, 0 if no values have been
+   *         recorded
+   */
+  public long getValueAtPercentile(double percentile) {
+    long[] counts = getBucketCounts();
+    long total = 0;
+
+    for (long bucketCount : counts) {
+      total += bucketCount;
+    }
+
+    long threshold = Math.max(1, (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0));
+    long seen = 0;
+
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+
+      if (seen >= threshold && counts[i] > 0) {
+        return getBucketUpperBound(i);
+      }
+    }
+
+    return 0;
+  }
+
+  /**
+   * @return Copy of the current count of each bucket, see {@link #getBucketUpperBound(int)} for the bucket bounds
+   */
+  public long[] getBucketCounts() {
+    long[] counts = new long[BUCKET_COUNT];
+
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = buckets.get(i);
+    }
+
+    return counts;
+  }
+
+  /**
+   * @param index Index of the bucket
+   * @return The largest value which is recorded into the bucket
+   */
+  public static long getBucketUpperBound(int index) {
+    if (index < EXACT_LIMIT) {
+      return index;
+    }
+
+    int shift = index / SUB_BUCKET_COUNT - 1;
+    long lowerBound = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+    return lowerBound + (1L << shift) - 1;
+  }
+
+  private static int getBucketIndex(long value) {
+    if (value < EXACT_LIMIT) {
+      return (int) value;
+    }
+
+    int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKET_COUNT + (int) (value >>> shift) - SUB_BUCKET_COUNT;
+  }
+}
@@ -1,6 +1,7 @@
 package com.sedmelluq.discord.lavaplayer.track;
 
 import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.track.playback.TrackResourceUsage;
 
 /**
  * A playable audio track
@@ -58,6 +59,14 @@ public interface AudioTrack extends AudioItem {
    */
   AudioTrack makeClone();
 
+  /**
+   * @return Resources used for processing this track so far, {@link TrackResourceUsage#NONE} for tracks which do not
+   *         account for them
+   */
+  default TrackResourceUsage getResourceUsage() {
+    return TrackResourceUsage.NONE;
+  }
+
   /**
    * @return The source manager which created this track. Null if not created by a source manager directly.
    */
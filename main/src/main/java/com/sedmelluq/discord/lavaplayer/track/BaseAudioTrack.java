@@ -5,6 +5,7 @@ import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioTrackExecutor;
 import com.sedmelluq.discord.lavaplayer.track.playback.PrimordialAudioTrackExecutor;
+import com.sedmelluq.discord.lavaplayer.track.playback.TrackResourceUsage;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
@@ -66,6 +67,11 @@ public abstract class BaseAudioTrack implements InternalAudioTrack {
     return !trackInfo.isStream;
   }
 
+  @Override
+  public TrackResourceUsage getResourceUsage() {
+    return getActiveExecutor().getResourceUsage();
+  }
+
   @Override
   public long getPosition() {
     return getActiveExecutor().getPosition();
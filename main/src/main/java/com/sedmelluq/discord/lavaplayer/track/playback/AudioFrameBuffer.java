@@ -1,11 +1,14 @@
 package com.sedmelluq.discord.lavaplayer.track.playback;
 
+import com.sedmelluq.discord.lavaplayer.tools.diagnostics.AudioDiagnostics;
+import com.sedmelluq.discord.lavaplayer.tools.metrics.AudioPipelineMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A frame buffer. Stores the specified duration worth of frames in the internal buffer.
@@ -19,7 +22,11 @@ public class AudioFrameBuffer implements AudioFrameConsumer, AudioFrameProvider
   private final Object synchronizer;
   private final int fullCapacity;
   private final ArrayBlockingQueue<AudioFrame> audioFrames;
+  private final AudioPipelineMetrics metrics;
+  private final AtomicLong bufferedBytes;
+  private volatile long peakBufferedBytes;
   private volatile boolean locked;
+  private volatile boolean providing;
   private boolean terminated;
   private boolean terminateOnEmpty;
   private boolean clearOnInsert;
@@ -28,9 +35,19 @@ public class AudioFrameBuffer implements AudioFrameConsumer, AudioFrameProvider
    * @param bufferDuration The length of the internal buffer in milliseconds
    */
   public AudioFrameBuffer(int bufferDuration) {
+    this(bufferDuration, AudioPipelineMetrics.DETACHED);
+  }
+
+  /**
+   * @param bufferDuration The length of the internal buffer in milliseconds
+   * @param metrics Metrics to record the fill level and underruns of the buffer into
+   */
+  public AudioFrameBuffer(int bufferDuration, AudioPipelineMetrics metrics) {
     synchronizer = new Object();
     fullCapacity = bufferDuration / 20 + 1;
     audioFrames = new ArrayBlockingQueue<>(fullCapacity);
+    this.metrics = metrics;
+    bufferedBytes = new AtomicLong();
     terminated = false;
     terminateOnEmpty = false;
     clearOnInsert = false;
@@ -40,14 +57,27 @@ public class AudioFrameBuffer implements AudioFrameConsumer, AudioFrameProvider
   public void consume(AudioFrame frame) throws InterruptedException {
     if (!locked) {
       if (clearOnInsert) {
-        audioFrames.clear();
+        discardFrames();
         clearOnInsert = false;
       }
 
       audioFrames.put(frame);
+
+      // Only the thread producing the frames updates the peak
+      long buffered = bufferedBytes.addAndGet(frame.data.length);
+      if (buffered > peakBufferedBytes) {
+        peakBufferedBytes = buffered;
+      }
     }
   }
 
+  /**
+   * @return Largest number of bytes of frame data that the buffer has held at once
+   */
+  public long getPeakBufferedBytes() {
+    return peakBufferedBytes;
+  }
+
   /**
    * @return Number of frames that can be added to the buffer without blocking.
    */
@@ -76,8 +106,24 @@ public class AudioFrameBuffer implements AudioFrameConsumer, AudioFrameProvider
 
   @Override
   public AudioFrame provide() {
+    return provide(null);
+  }
+
+  /**
+   * @param rebuilder Rebuilder to apply to the frame before it is returned, null to return it as it is
+   * @return The next frame, null if the buffer is empty
+   */
+  public AudioFrame provide(AudioFrameRebuilder rebuilder) {
     AudioFrame frame = audioFrames.poll();
 
+    if (frame != null) {
+      bufferedBytes.addAndGet(-frame.data.length);
+    }
+
+    if (frame != null && rebuilder != null) {
+      frame = rebuilder.rebuild(frame);
+    }
+
     if (frame == null) {
       synchronized (synchronizer) {
         if (terminateOnEmpty) {
@@ -87,7 +133,21 @@ public class AudioFrameBuffer implements AudioFrameConsumer, AudioFrameProvider
           return AudioFrame.TERMINATOR;
         }
       }
-    } else if (frame.volume == 0) {
+
+      if (providing) {
+        // Counted once until frames are available again. Not set after a clear, as an empty buffer is expected then
+        providing = false;
+        metrics.bufferUnderruns.increment();
+        AudioDiagnostics.getRecorder().bufferUnderrun();
+      }
+
+      return null;
+    }
+
+    providing = true;
+    metrics.bufferFillLevel.record(audioFrames.size());
+
+    if (frame.volume == 0) {
       return new AudioFrame(frame.timecode, SILENT_OPUS_FRAME, 0);
     }
 
@@ -101,7 +161,7 @@ public class AudioFrameBuffer implements AudioFrameConsumer, AudioFrameProvider
     synchronized (synchronizer) {
       // Count this also as inserting the terminator frame, hence trigger clearOnInsert
       if (clearOnInsert) {
-        audioFrames.clear();
+        discardFrames();
         clearOnInsert = false;
       }
 
@@ -134,7 +194,16 @@ public class AudioFrameBuffer implements AudioFrameConsumer, AudioFrameProvider
    * Clear the buffer.
    */
   public void clear() {
-    audioFrames.clear();
+    providing = false;
+    discardFrames();
+  }
+
+  private void discardFrames() {
+    AudioFrame frame;
+
+    while ((frame = audioFrames.poll()) != null) {
+      bufferedBytes.addAndGet(-frame.data.length);
+    }
   }
 
   /**
@@ -152,7 +221,9 @@ public class AudioFrameBuffer implements AudioFrameConsumer, AudioFrameProvider
     log.debug("Running rebuilder {} on {} buffered frames.", rebuilder.getClass().getSimpleName(), frameCount);
 
     for (AudioFrame frame : frames) {
-      audioFrames.add(rebuilder.rebuild(frame));
+      AudioFrame rebuilt = rebuilder.rebuild(frame);
+      bufferedBytes.addAndGet(rebuilt.data.length - frame.data.length);
+      audioFrames.add(rebuilt);
     }
   }
 }
@@ -1,6 +1,7 @@
 package com.sedmelluq.discord.lavaplayer.track.playback;
 
 import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.tools.metrics.AudioPipelineMetrics;
 
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -20,6 +21,14 @@ public class AudioProcessingContext {
    * Mutable volume level for the audio
    */
   public final AtomicInteger volumeLevel;
+  /**
+   * Metrics to record the processing times into
+   */
+  public final AudioPipelineMetrics metrics;
+  /**
+   * Accounting of the resources used for processing the track
+   */
+  public final TrackResourceAccounting accounting;
 
   /**
    * @param configuration Audio encoding or filtering related configuration
@@ -27,8 +36,22 @@ public class AudioProcessingContext {
    * @param volumeLevel Mutable volume level for the audio
    */
   public AudioProcessingContext(AudioConfiguration configuration, AudioFrameConsumer frameConsumer, AtomicInteger volumeLevel) {
+    this(configuration, frameConsumer, volumeLevel, AudioPipelineMetrics.DETACHED, new TrackResourceAccounting());
+  }
+
+  /**
+   * @param configuration Audio encoding or filtering related configuration
+   * @param frameConsumer Consumer for the produced audio frames
+   * @param volumeLevel Mutable volume level for the audio
+   * @param metrics Metrics to record the processing times into
+   * @param accounting Accounting of the resources used for processing the track
+   */
+  public AudioProcessingContext(AudioConfiguration configuration, AudioFrameConsumer frameConsumer, AtomicInteger volumeLevel,
+                                AudioPipelineMetrics metrics, TrackResourceAccounting accounting) {
     this.configuration = configuration;
     this.frameConsumer = frameConsumer;
     this.volumeLevel = volumeLevel;
+    this.metrics = metrics;
+    this.accounting = accounting;
   }
 }
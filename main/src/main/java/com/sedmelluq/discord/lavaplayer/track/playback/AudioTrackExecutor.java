@@ -45,4 +45,12 @@ public interface AudioTrackExecutor extends AudioFrameProvider {
    * @param loop The loop to set. Use null to cancel a previous loop.
    */
   void setLoop(AudioLoop loop);
+
+  /**
+   * @return Resources used by the track so far, {@link TrackResourceUsage#NONE} for executors which do not account
+   *         for them
+   */
+  default TrackResourceUsage getResourceUsage() {
+    return TrackResourceUsage.NONE;
+  }
 }
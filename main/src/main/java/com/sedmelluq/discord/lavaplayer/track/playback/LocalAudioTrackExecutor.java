@@ -3,6 +3,10 @@ package com.sedmelluq.discord.lavaplayer.track.playback;
 import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
 import com.sedmelluq.discord.lavaplayer.tools.ExceptionTools;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.tools.diagnostics.AudioDiagnostics;
+import com.sedmelluq.discord.lavaplayer.tools.diagnostics.DiagnosticSpan;
+import com.sedmelluq.discord.lavaplayer.tools.io.PersistentHttpStream;
+import com.sedmelluq.discord.lavaplayer.tools.metrics.AudioPipelineMetrics;
 import com.sedmelluq.discord.lavaplayer.track.AudioLoop;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackState;
 import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
@@ -10,11 +14,15 @@ import com.sedmelluq.discord.lavaplayer.track.TrackStateListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
 import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.FAULT;
 import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.SUSPICIOUS;
 
@@ -24,6 +32,8 @@ import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.
 public class LocalAudioTrackExecutor implements AudioTrackExecutor {
   private static final Logger log = LoggerFactory.getLogger(LocalAudioTrackExecutor.class);
 
+  private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
   private final InternalAudioTrack audioTrack;
   private final AudioProcessingContext processingContext;
   private final boolean useSeekGhosting;
@@ -34,7 +44,12 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
   private final AtomicLong lastFrameTimecode = new AtomicLong(0);
   private final AtomicReference<AudioTrackState> state = new AtomicReference<>(AudioTrackState.INACTIVE);
   private final Object actionSynchronizer = new Object();
+  private final long creationTime = System.nanoTime();
   private volatile AudioLoop audioLoop;
+  private volatile long seekStartTime = -1;
+  private boolean hasProvidedFrames;
+  private volatile long startCpuTime = -1;
+  private volatile long processingCpuTime = -1;
 
   /**
    * @param audioTrack The audio track that this executor executes
@@ -47,9 +62,25 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
   public LocalAudioTrackExecutor(InternalAudioTrack audioTrack, AudioConfiguration configuration, AtomicInteger volumeLevel,
                                  boolean useSeekGhosting, int bufferDuration) {
 
+    this(audioTrack, configuration, volumeLevel, useSeekGhosting, bufferDuration, AudioPipelineMetrics.DETACHED);
+  }
+
+  /**
+   * @param audioTrack The audio track that this executor executes
+   * @param configuration Configuration to use for audio processing
+   * @param volumeLevel Mutable volume level to use when executing the track
+   * @param useSeekGhosting Whether to keep providing old frames continuing from the previous position during a seek
+   *                        until frames from the new position arrive.
+   * @param bufferDuration The size of the frame buffer in milliseconds
+   * @param metrics Metrics to record the processing of the track into
+   */
+  public LocalAudioTrackExecutor(InternalAudioTrack audioTrack, AudioConfiguration configuration, AtomicInteger volumeLevel,
+                                 boolean useSeekGhosting, int bufferDuration, AudioPipelineMetrics metrics) {
+
     this.audioTrack = audioTrack;
-    this.frameBuffer = new AudioFrameBuffer(bufferDuration);
-    this.processingContext = new AudioProcessingContext(configuration, frameBuffer, volumeLevel);
+    this.frameBuffer = new AudioFrameBuffer(bufferDuration, metrics);
+    this.processingContext = new AudioProcessingContext(configuration, frameBuffer, volumeLevel, metrics,
+        new TrackResourceAccounting());
     this.useSeekGhosting = useSeekGhosting;
   }
 
@@ -62,10 +93,45 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
     return frameBuffer;
   }
 
+  /**
+   * @return CPU time in nanoseconds the track has used for processing so far, -1 if it has not started or the JVM does
+   *         not support measuring the CPU time of threads
+   */
+  public long getProcessingCpuTime() {
+    long start = startCpuTime;
+    Thread thread = playingThread.get();
+
+    if (start == -1) {
+      return -1;
+    } else if (thread != null) {
+      long current = threadBean.getThreadCpuTime(thread.getId());
+      return current != -1 && playingThread.get() == thread ? current - start : processingCpuTime;
+    } else {
+      return processingCpuTime;
+    }
+  }
+
+  @Override
+  public TrackResourceUsage getResourceUsage() {
+    return processingContext.accounting.getUsage(getProcessingCpuTime(), frameBuffer.getPeakBufferedBytes());
+  }
+
+  /**
+   * Count the reconnects of an HTTP stream which the track reads from in the metrics and the bytes it downloads in the
+   * resource usage of the track.
+   *
+   * @param stream The HTTP stream
+   */
+  public void monitorHttpStream(PersistentHttpStream stream) {
+    stream.setReconnectCounter(processingContext.metrics.httpReconnects);
+    stream.setDownloadListener(processingContext.accounting::addDownloadedBytes);
+  }
+
   @Override
   public void execute(TrackStateListener listener) {
     if (playingThread.compareAndSet(null, Thread.currentThread())) {
       state.set(AudioTrackState.LOADING);
+      startCpuTime = getCurrentThreadCpuTime();
 
       try {
         audioTrack.process(this);
@@ -84,6 +150,10 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
         synchronized (actionSynchronizer) {
           Thread.interrupted();
 
+          if (startCpuTime != -1) {
+            processingCpuTime = getCurrentThreadCpuTime() - startCpuTime;
+          }
+
           playingThread.compareAndSet(Thread.currentThread(), null);
 
           state.set(AudioTrackState.FINISHED);
@@ -94,6 +164,10 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
     }
   }
 
+  private static long getCurrentThreadCpuTime() {
+    return threadBean.isCurrentThreadCpuTimeSupported() ? threadBean.getCurrentThreadCpuTime() : -1;
+  }
+
   @Override
   public void stop() {
     synchronized (actionSynchronizer) {
@@ -161,6 +235,7 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
       }
 
       pendingSeek.set(timecode);
+      seekStartTime = System.nanoTime();
 
       if (!useSeekGhosting) {
         frameBuffer.clear();
@@ -273,7 +348,16 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
       frameBuffer.clear();
     }
 
-    seekExecutor.performSeek(seekPosition);
+    DiagnosticSpan span = AudioDiagnostics.getRecorder().beginSeek(audioTrack.getIdentifier(), seekPosition);
+
+    try {
+      seekExecutor.performSeek(seekPosition);
+    } catch (RuntimeException e) {
+      span.end("failed");
+      throw e;
+    }
+
+    span.end(null);
     pendingSeek.set(-1);
   }
 
@@ -282,6 +366,8 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
     AudioFrame frame = frameBuffer.provide();
 
     if (frame != null && !frame.isTerminator()) {
+      recordProvidedFrame();
+
       AudioLoop loop = audioLoop;
       if (loop != null && frame.timecode >= loop.endPosition && !isPerformingSeek()) {
         setPosition(loop.startPosition);
@@ -293,6 +379,20 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
     return frame;
   }
 
+  private void recordProvidedFrame() {
+    if (!hasProvidedFrames) {
+      hasProvidedFrames = true;
+      processingContext.metrics.firstFrameTime.record(NANOSECONDS.toMillis(System.nanoTime() - creationTime));
+    }
+
+    long seekStart = seekStartTime;
+
+    if (seekStart != -1 && !isPerformingSeek()) {
+      seekStartTime = -1;
+      processingContext.metrics.seekTime.record(NANOSECONDS.toMillis(System.nanoTime() - seekStart));
+    }
+  }
+
   /**
    * Read executor, see method description
    */
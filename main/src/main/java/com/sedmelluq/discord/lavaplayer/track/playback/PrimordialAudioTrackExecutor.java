@@ -57,6 +57,11 @@ public class PrimordialAudioTrackExecutor implements AudioTrackExecutor {
     return AudioTrackState.INACTIVE;
   }
 
+  @Override
+  public TrackResourceUsage getResourceUsage() {
+    return TrackResourceUsage.NONE;
+  }
+
   @Override
   public void setLoop(AudioLoop loop) {
     this.loop = loop;
@@ -0,0 +1,79 @@
+package com.sedmelluq.discord.lavaplayer.track.playback;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accumulates the resources used for processing one track. The processing stages record into it from the playback
+ * thread of the track with the same time measurements they use for the pipeline metrics, so it adds only a few
+ * uncontended atomic additions.
+ */
+public class TrackResourceAccounting {
+  private final AtomicLong decodeTime = new AtomicLong();
+  private final AtomicLong resampleTime = new AtomicLong();
+  private final AtomicLong encodeTime = new AtomicLong();
+  private final AtomicLong rebuildTime = new AtomicLong();
+  private final AtomicLong downloadedBytes = new AtomicLong();
+  private final AtomicInteger nativeInstances = new AtomicInteger();
+  private final AtomicInteger peakNativeInstances = new AtomicInteger();
+
+  /**
+   * @param nanos Time spent in a decoder
+   */
+  public void addDecodeTime(long nanos) {
+    decodeTime.addAndGet(nanos);
+  }
+
+  /**
+   * @param nanos Time spent resampling
+   */
+  public void addResampleTime(long nanos) {
+    resampleTime.addAndGet(nanos);
+  }
+
+  /**
+   * @param nanos Time spent encoding
+   */
+  public void addEncodeTime(long nanos) {
+    encodeTime.addAndGet(nanos);
+  }
+
+  /**
+   * @param nanos Time spent reencoding buffered frames
+   */
+  public void addRebuildTime(long nanos) {
+    rebuildTime.addAndGet(nanos);
+  }
+
+  /**
+   * @param bytes Number of bytes read from the network
+   */
+  public void addDownloadedBytes(long bytes) {
+    downloadedBytes.addAndGet(bytes);
+  }
+
+  /**
+   * @param count Number of native instances created for the track
+   */
+  public void acquireNatives(int count) {
+    int current = nativeInstances.addAndGet(count);
+    peakNativeInstances.accumulateAndGet(current, Math::max);
+  }
+
+  /**
+   * @param count Number of native instances of the track which were closed
+   */
+  public void releaseNatives(int count) {
+    nativeInstances.addAndGet(-count);
+  }
+
+  /**
+   * @param processingCpuTime CPU time used by the thread processing the track, -1 if not known
+   * @param peakBufferedBytes Largest number of bytes held in the frame buffer of the track
+   * @return Snapshot of the resources used so far
+   */
+  public TrackResourceUsage getUsage(long processingCpuTime, long peakBufferedBytes) {
+    return new TrackResourceUsage(processingCpuTime, decodeTime.get(), resampleTime.get(), encodeTime.get(),
+        rebuildTime.get(), downloadedBytes.get(), peakBufferedBytes, nativeInstances.get(), peakNativeInstances.get());
+  }
+}
@@ -0,0 +1,73 @@
+package com.sedmelluq.discord.lavaplayer.track.playback;
+
+/**
+ * Resources used by a track up to the moment this was created.
+ */
+public class TrackResourceUsage {
+  /**
+   * Usage of a track which has not started processing.
+   */
+  public static final TrackResourceUsage NONE = new TrackResourceUsage(-1, 0, 0, 0, 0, 0, 0, 0, 0);
+
+  /**
+   * CPU time in nanoseconds used by the thread processing the track, -1 if not known
+   */
+  public final long processingCpuTime;
+  /**
+   * Time in nanoseconds spent in decoders
+   */
+  public final long decodeTime;
+  /**
+   * Time in nanoseconds spent resampling
+   */
+  public final long resampleTime;
+  /**
+   * Time in nanoseconds spent encoding opus frames
+   */
+  public final long encodeTime;
+  /**
+   * Time in nanoseconds spent reencoding already buffered frames for a volume change
+   */
+  public final long rebuildTime;
+  /**
+   * Number of bytes read from HTTP streams
+   */
+  public final long downloadedBytes;
+  /**
+   * Largest number of bytes of audio frame data held in the frame buffer at once
+   */
+  public final long peakBufferedBytes;
+  /**
+   * Number of native decoder, encoder and resampler instances currently held
+   */
+  public final int nativeInstances;
+  /**
+   * Largest number of native decoder, encoder and resampler instances held at once
+   */
+  public final int peakNativeInstances;
+
+  /**
+   * @param processingCpuTime CPU time in nanoseconds used by the thread processing the track, -1 if not known
+   * @param decodeTime Time in nanoseconds spent in decoders
+   * @param resampleTime Time in nanoseconds spent resampling
+   * @param encodeTime Time in nanoseconds spent encoding opus frames
+   * @param rebuildTime Time in nanoseconds spent reencoding already buffered frames for a volume change
+   * @param downloadedBytes Number of bytes read from HTTP streams
+   * @param peakBufferedBytes Largest number of bytes of audio frame data held in the frame buffer at once
+   * @param nativeInstances Number of native decoder, encoder and resampler instances currently held
+   * @param peakNativeInstances Largest number of native decoder, encoder and resampler instances held at once
+   */
+  public TrackResourceUsage(long processingCpuTime, long decodeTime, long resampleTime, long encodeTime, long rebuildTime,
+                            long downloadedBytes, long peakBufferedBytes, int nativeInstances, int peakNativeInstances) {
+
+    this.processingCpuTime = processingCpuTime;
+    this.decodeTime = decodeTime;
+    this.resampleTime = resampleTime;
+    this.encodeTime = encodeTime;
+    this.rebuildTime = rebuildTime;
+    this.downloadedBytes = downloadedBytes;
+    this.peakBufferedBytes = peakBufferedBytes;
+    this.nativeInstances = nativeInstances;
+    this.peakNativeInstances = peakNativeInstances;
+  }
+}
@@ -0,0 +1,87 @@
+package com.sedmelluq.discord.lavaplayer.node;
+
+import com.sedmelluq.discord.lavaplayer.remote.message.NodeStatisticsMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Decides whether the node accepts new tracks. Once CPU usage, heap usage or the track count reaches its high
+ * threshold, new tracks are rejected until all of them are back at or below their low thresholds.
+ */
+@Component
+public class AdmissionPolicy {
+  private static final Logger log = LoggerFactory.getLogger(AdmissionPolicy.class);
+
+  private final StatisticsManager statisticsManager;
+  private final float cpuHigh;
+  private final float cpuLow;
+  private final float heapHigh;
+  private final float heapLow;
+  private final int tracksHigh;
+  private final int tracksLow;
+  private String overloadReason;
+
+  @Autowired
+  public AdmissionPolicy(StatisticsManager statisticsManager, Environment environment) {
+    this(statisticsManager, environment::getProperty);
+  }
+
+  public AdmissionPolicy(StatisticsManager statisticsManager, Function<String, String> properties) {
+    this.statisticsManager = statisticsManager;
+    this.cpuHigh = getFloat(properties, "node.admission.cpu-high", 0.9f);
+    this.cpuLow = getFloat(properties, "node.admission.cpu-low", 0.75f);
+    this.heapHigh = getFloat(properties, "node.admission.heap-high", 0.9f);
+    this.heapLow = getFloat(properties, "node.admission.heap-low", 0.75f);
+    this.tracksHigh = getInt(properties, "node.admission.tracks-high", 0);
+    this.tracksLow = getInt(properties, "node.admission.tracks-low", tracksHigh * 9 / 10);
+  }
+
+  /**
+   * @param trackCount Number of tracks currently on the node
+   * @return The reason for rejecting a new track, null if it can be accepted
+   */
+  public synchronized String checkAdmission(int trackCount) {
+    NodeStatisticsMessage statistics = statisticsManager.getStatistics();
+    float heapUsage = statistics.heapMax > 0 ? (float) statistics.heapUsed / statistics.heapMax : 0.0f;
+
+    if (overloadReason == null) {
+      overloadReason = findOverload(statistics.systemCpuUsage, heapUsage, trackCount);
+
+      if (overloadReason != null) {
+        log.warn("Node is overloaded ({}), rejecting new tracks.", overloadReason);
+      }
+    } else if (statistics.systemCpuUsage <= cpuLow && heapUsage <= heapLow && (tracksHigh <= 0 || trackCount <= tracksLow)) {
+      log.info("Node load is back to normal, accepting new tracks again.");
+      overloadReason = null;
+    }
+
+    return overloadReason;
+  }
+
+  private String findOverload(float cpuUsage, float heapUsage, int trackCount) {
+    if (cpuUsage >= cpuHigh) {
+      return String.format("CPU usage %.0f%%", cpuUsage * 100);
+    } else if (heapUsage >= heapHigh) {
+      return String.format("heap usage %.0f%%", heapUsage * 100);
+    } else if (tracksHigh > 0 && trackCount >= tracksHigh) {
+      return trackCount + " tracks";
+    } else {
+      return null;
+    }
+  }
+
+  private static float getFloat(Function<String, String> properties, String name, float defaultValue) {
+    String value = properties.apply(name);
+    return value != null ? Float.parseFloat(value) : defaultValue;
+  }
+
+  private static int getInt(Function<String, String> properties, String name, int defaultValue) {
+    String value = properties.apply(name);
+    return value != null ? Integer.parseInt(value) : defaultValue;
+  }
+}
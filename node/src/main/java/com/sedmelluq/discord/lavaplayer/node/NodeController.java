@@ -2,13 +2,20 @@ package com.sedmelluq.discord.lavaplayer.node;
 
 import com.sedmelluq.discord.lavaplayer.node.message.MessageHandlerRegistry;
 import com.sedmelluq.discord.lavaplayer.node.message.MessageOutput;
+import com.sedmelluq.discord.lavaplayer.node.stream.StreamConnectionManager;
+import com.sedmelluq.discord.lavaplayer.node.stream.StreamUpgradeHandler;
 import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessageMapper;
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteStreamProtocol;
 import org.apache.catalina.servlet4preview.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletResponse;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
@@ -16,14 +23,20 @@ import java.io.IOException;
 
 @RestController
 public class NodeController {
+  private static final Logger log = LoggerFactory.getLogger(NodeController.class);
+
   private final MessageHandlerRegistry messageHandlerRegistry;
   private final StatisticsManager statisticsManager;
+  private final StreamConnectionManager streamConnectionManager;
   private final RemoteMessageMapper mapper;
 
   @Autowired
-  public NodeController(MessageHandlerRegistry messageHandlerRegistry, StatisticsManager statisticsManager) {
+  public NodeController(MessageHandlerRegistry messageHandlerRegistry, StatisticsManager statisticsManager,
+                        StreamConnectionManager streamConnectionManager) {
+
     this.messageHandlerRegistry = messageHandlerRegistry;
     this.statisticsManager = statisticsManager;
+    this.streamConnectionManager = streamConnectionManager;
     this.mapper = new RemoteMessageMapper();
   }
 
@@ -41,4 +54,37 @@ public class NodeController {
     messageOutput.send(statisticsManager.getStatistics());
     mapper.endOutput(output);
   }
+
+  @RequestMapping(RemoteStreamProtocol.PATH)
+  public void handleStream(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+    if (!RemoteStreamProtocol.UPGRADE_PROTOCOL.equals(request.getHeader("Upgrade"))) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+      return;
+    }
+
+    int version = RemoteStreamProtocol.negotiateVersion(request.getHeader(RemoteStreamProtocol.VERSION_HEADER));
+
+    response.setStatus(HttpServletResponse.SC_SWITCHING_PROTOCOLS);
+    response.setHeader("Connection", "Upgrade");
+    response.setHeader("Upgrade", RemoteStreamProtocol.UPGRADE_PROTOCOL);
+    response.setHeader(RemoteStreamProtocol.VERSION_HEADER, String.valueOf(version));
+
+    request.upgrade(StreamUpgradeHandler.class).setConnection(streamConnectionManager, version);
+  }
+
+  @RequestMapping(value = "/drain", method = RequestMethod.POST)
+  public String handleDrain() {
+    log.info("Node is draining, masters will move its tracks to other nodes.");
+
+    statisticsManager.setDraining(true);
+    return "draining";
+  }
+
+  @RequestMapping(value = "/drain", method = RequestMethod.DELETE)
+  public String handleDrainCancel() {
+    log.info("Node is no longer draining.");
+
+    statisticsManager.setDraining(false);
+    return "active";
+  }
 }
@@ -2,7 +2,9 @@ package com.sedmelluq.discord.lavaplayer.node;
 
 import com.sedmelluq.discord.lavaplayer.node.message.MessageHandler;
 import com.sedmelluq.discord.lavaplayer.node.message.MessageOutput;
+import com.sedmelluq.discord.lavaplayer.node.stream.StreamMessageOutput;
 import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.remote.ProcessingCostPlacementPolicy;
 import com.sedmelluq.discord.lavaplayer.remote.message.TrackExceptionMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.TrackStartRequestMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.TrackStartResponseMessage;
@@ -17,6 +19,8 @@ import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.TrackStateListener;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioTrackExecutor;
+import com.sedmelluq.discord.lavaplayer.track.playback.LocalAudioTrackExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,7 +28,9 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
@@ -36,16 +42,20 @@ public class PlayingTrackManager {
   private static final long ABANDONED_TRACK_THRESHOLD = TimeUnit.SECONDS.toMillis(10);
   private static final long PAUSED_TRACK_TERMINATE_THRESHOLD = TimeUnit.MINUTES.toMillis(30);
   private static final long PAUSED_TRACK_THRESHOLD = TimeUnit.SECONDS.toMillis(2);
+  private static final long FRAME_DURATION = 20;
+  private static final long FRAMES_PER_SECOND = 1000 / FRAME_DURATION;
 
   private static final Logger log = LoggerFactory.getLogger(PlayingTrackManager.class);
 
   private final StatisticsManager statisticsManager;
+  private final AdmissionPolicy admissionPolicy;
   private final DefaultAudioPlayerManager manager;
   private final ConcurrentMap<Long, PlayingTrack> tracks;
 
   @Autowired
-  public PlayingTrackManager(StatisticsManager statisticsManager) {
+  public PlayingTrackManager(StatisticsManager statisticsManager, AdmissionPolicy admissionPolicy) {
     this.statisticsManager = statisticsManager;
+    this.admissionPolicy = admissionPolicy;
     manager = new DefaultAudioPlayerManager();
     tracks = new ConcurrentHashMap<>();
 
@@ -57,16 +67,33 @@ public class PlayingTrackManager {
 
   @MessageHandler
   private void handleTrackStart(TrackStartRequestMessage message, MessageOutput output) {
+    String rejectionReason = admissionPolicy.checkAdmission(tracks.size());
+
+    if (rejectionReason != null) {
+      log.info("Rejecting track start request for {} (context {}) due to load.", message.trackInfo.identifier, message.executorId);
+      output.send(new TrackStartResponseMessage(message.executorId, false, "Node is overloaded: " + rejectionReason, true));
+      return;
+    }
+
     InternalAudioTrack audioTrack = (InternalAudioTrack) manager.decodeTrackDetails(message.trackInfo, message.encodedTrack);
     String failureReason = null;
 
     if (audioTrack != null) {
       PlayingTrack playingTrack = new PlayingTrack(message.executorId, message.volume, audioTrack);
 
+      if (output instanceof StreamMessageOutput) {
+        playingTrack.stream = (StreamMessageOutput) output;
+      }
+
       if (tracks.putIfAbsent(message.executorId, playingTrack) == null) {
         log.info("Track start request for {} (context {})", message.trackInfo.identifier, message.executorId);
 
         manager.executeTrack(playingTrack, audioTrack, message.configuration, playingTrack.volume);
+
+        if (message.position > 0) {
+          audioTrack.setPosition(message.position);
+        }
+
         statisticsManager.increaseTrackCount();
       } else {
         log.info("Start request for an already playing track {} (context {})", message.trackInfo.identifier, message.executorId);
@@ -77,11 +104,16 @@ public class PlayingTrackManager {
       failureReason = "This node does not support this type of track.";
     }
 
-    output.send(new TrackStartResponseMessage(message.executorId, failureReason == null, failureReason));
+    output.send(new TrackStartResponseMessage(message.executorId, failureReason == null, failureReason, false));
   }
 
   @MessageHandler
   private void handleTrackDataRequest(TrackFrameRequestMessage message, MessageOutput output) {
+    if (output instanceof StreamMessageOutput) {
+      handleTrackCredit(message, (StreamMessageOutput) output);
+      return;
+    }
+
     List<AudioFrame> frames = new ArrayList<>();
     PlayingTrack track = tracks.get(message.executorId);
     boolean finished = false;
@@ -101,6 +133,8 @@ public class PlayingTrackManager {
       }
 
       finished = consumeFramesFromTrack(frames, track.audioTrack, message.maximumFrames);
+      track.providedFrames += frames.size();
+      statisticsManager.addProducedFrames(frames.size());
 
       if (finished) {
         log.info("Clearing ended track {} (context {})", track.audioTrack.getIdentifier(), message.executorId);
@@ -111,6 +145,119 @@ public class PlayingTrackManager {
     output.send(new TrackFrameDataMessage(message.executorId, frames, finished, message.seekPosition));
   }
 
+  private void handleTrackCredit(TrackFrameRequestMessage message, StreamMessageOutput output) {
+    PlayingTrack track = tracks.get(message.executorId);
+
+    if (track == null) {
+      return;
+    }
+
+    synchronized (track) {
+      if (track.stream != output) {
+        // Master reconnected, credit given over the previous connection is no longer valid
+        track.stream = output;
+        track.credit = 0;
+      }
+
+      track.lastFrameRequestTime = System.currentTimeMillis();
+      track.volume.set(message.volume);
+
+      if (message.seekPosition >= 0) {
+        track.audioTrack.setPosition(message.seekPosition);
+        track.credit = message.maximumFrames;
+        track.seekedPosition = message.seekPosition;
+        track.producedFrames = false;
+        track.starvedSince = 0;
+      } else {
+        track.credit += message.maximumFrames;
+      }
+
+      if (message.maximumFrames > 0) {
+        track.lastNonZeroFrameRequestTime = track.lastFrameRequestTime;
+      }
+    }
+
+    output.getConnection().requestPush();
+  }
+
+  /**
+   * Push the available frames of the tracks of a streaming connection, limited by the frame credit of each track.
+   *
+   * @param output Output of the streaming connection
+   * @return True if any frames were sent
+   */
+  public boolean pushFrames(StreamMessageOutput output) {
+    long now = System.currentTimeMillis();
+    boolean sentFrames = false;
+
+    for (PlayingTrack track : tracks.values()) {
+      if (track.stream == output) {
+        // The connection is alive, so the master still has the track
+        track.lastFrameRequestTime = now;
+        sentFrames |= pushTrackFrames(track, output);
+      }
+    }
+
+    return sentFrames;
+  }
+
+  private boolean pushTrackFrames(PlayingTrack track, StreamMessageOutput output) {
+    List<AudioFrame> frames;
+    boolean finished;
+    long seekedPosition;
+
+    synchronized (track) {
+      submitPendingMessages(track, output);
+
+      if (track.credit <= 0 && track.seekedPosition == -1) {
+        return false;
+      }
+
+      frames = new ArrayList<>();
+      finished = consumeFramesFromTrack(frames, track.audioTrack, track.credit);
+      seekedPosition = track.seekedPosition;
+
+      if (frames.isEmpty() && !finished && seekedPosition == -1) {
+        updateStarvation(track, false, false);
+        return false;
+      }
+
+      track.credit -= frames.size();
+      track.providedFrames += frames.size();
+      track.seekedPosition = -1;
+
+      updateStarvation(track, !frames.isEmpty(), finished);
+    }
+
+    statisticsManager.addProducedFrames(frames.size());
+
+    if (finished) {
+      log.info("Clearing ended track {} (context {})", track.audioTrack.getIdentifier(), track.executorId);
+      tracks.remove(track.executorId);
+    }
+
+    output.send(new TrackFrameDataMessage(track.executorId, frames, finished, seekedPosition));
+    return !frames.isEmpty();
+  }
+
+  private void updateStarvation(PlayingTrack track, boolean hasFrames, boolean finished) {
+    long now = System.currentTimeMillis();
+
+    if (hasFrames) {
+      if (track.starvedSince > 0) {
+        // Frames which the master asked for, but which were not available for that long
+        statisticsManager.addFrameDeficit((int) ((now - track.starvedSince) / FRAME_DURATION));
+        track.starvedSince = 0;
+      }
+
+      track.producedFrames = true;
+    }
+
+    if (!finished && track.credit > 0 && track.producedFrames && track.starvedSince == 0 && !hasFrames) {
+      track.starvedSince = now;
+    }
+  }
+
   private void submitPendingMessages(PlayingTrack track, MessageOutput output) {
     TrackExceptionMessage exceptionMessage = track.popExceptionMessage();
 
@@ -149,7 +296,7 @@ public class PlayingTrackManager {
   }
 
   @Scheduled(fixedDelay = 5000)
-  private void stopAbandonedTracks() {
+  public void stopAbandonedTracks() {
     long now = System.currentTimeMillis();
     long minimumRequestTime = now - ABANDONED_TRACK_THRESHOLD;
     long minimumNonZeroRequestTime = now - PAUSED_TRACK_TERMINATE_THRESHOLD;
@@ -173,6 +320,40 @@ public class PlayingTrackManager {
     statisticsManager.updateTrackStatistics(playingTrackCount, playingTrackCount + pausedTrackCount);
   }
 
+  /**
+   * Measure the CPU time each playing track used per second of audio since the previous call and add it to the cost
+   * model of its processing path.
+   */
+  @Scheduled(fixedRate = 1000)
+  public void sampleTrackCosts() {
+    long minimumPlayingTrackTime = System.currentTimeMillis() - PAUSED_TRACK_THRESHOLD;
+    Map<String, Integer> pathCounts = new HashMap<>();
+
+    for (PlayingTrack track : tracks.values()) {
+      AudioTrackExecutor executor = track.audioTrack.getActiveExecutor();
+
+      if (!(executor instanceof LocalAudioTrackExecutor) || track.lastNonZeroFrameRequestTime < minimumPlayingTrackTime) {
+        continue;
+      }
+
+      String path = ProcessingCostPlacementPolicy.getProcessingPath(track.audioTrack, track.volume.get());
+      long cpuTime = ((LocalAudioTrackExecutor) executor).getProcessingCpuTime();
+      long providedFrames = track.providedFrames;
+
+      pathCounts.merge(path, 1, Integer::sum);
+
+      // The first interval includes loading the track and filling the buffer of the node
+      if (cpuTime != -1 && track.sampledCpuTime != -1 && providedFrames > track.sampledFrames) {
+        statisticsManager.addTrackCost(path, (cpuTime - track.sampledCpuTime) * FRAMES_PER_SECOND / (providedFrames - track.sampledFrames));
+      }
+
+      track.sampledCpuTime = cpuTime;
+      track.sampledFrames = providedFrames;
+    }
+
+    statisticsManager.updatePathCounts(pathCounts);
+  }
+
   private static class PlayingTrack implements TrackStateListener {
     private final long executorId;
     private final AtomicInteger volume;
@@ -180,6 +361,14 @@ public class PlayingTrackManager {
     private volatile long lastFrameRequestTime;
     private volatile long lastNonZeroFrameRequestTime;
     private AtomicReference<TrackExceptionMessage> exceptionMessage;
+    private volatile StreamMessageOutput stream;
+    private int credit;
+    private long seekedPosition;
+    private boolean producedFrames;
+    private long starvedSince;
+    private volatile long providedFrames;
+    private long sampledCpuTime = -1;
+    private long sampledFrames;
 
     private PlayingTrack(long executorId, int volume, InternalAudioTrack audioTrack) {
       this.executorId = executorId;
@@ -188,6 +377,7 @@ public class PlayingTrackManager {
       this.lastFrameRequestTime = System.currentTimeMillis();
       this.lastNonZeroFrameRequestTime = lastFrameRequestTime;
       this.exceptionMessage = new AtomicReference<>();
+      this.seekedPosition = -1;
     }
 
     @Override
@@ -2,28 +2,73 @@ package com.sedmelluq.discord.lavaplayer.node;
 
 import com.sedmelluq.discord.lavaplayer.natives.statistics.CpuStatistics;
 import com.sedmelluq.discord.lavaplayer.remote.message.NodeStatisticsMessage;
+import com.sedmelluq.discord.lavaplayer.tools.DaemonThreadFactory;
+import com.sedmelluq.discord.lavaplayer.tools.GarbageCollectionMonitor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
 import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
 public class StatisticsManager {
   private static final int SAMPLE_COUNT = 5;
+  private static final int RECENT_SAMPLE_COUNT = 60;
+  private static final int FRAMES_PER_SECOND = 50;
 
   private static final CpuStatistics cpuStatistics = new CpuStatistics();
 
   private final Object synchronizer;
   private final ArrayDeque<CpuStatistics.Times> runningCpuStatistics;
+  private final ArrayDeque<ResourceSample> recentResourceSamples;
+  private final GarbageCollectionMonitor garbageCollectionMonitor;
+  private final MemoryMXBean memoryBean;
+  private final OperatingSystemMXBean operatingSystemBean;
+  private final AtomicLong producedFrames;
+  private final AtomicLong frameDeficit;
+  private final TrackCostModel trackCostModel;
 
   private float systemCpuUsage;
   private float processCpuUsage;
   private int playingTrackCount;
   private int totalTrackCount;
+  private long heapUsed;
+  private long heapMax;
+  private long offHeapUsed;
+  private int[] gcPauseCounts;
+  private int frameDeficitCount;
+  private long averageTrackDecodeNanos;
+  private int processorCount;
+  private int trackHeadroom;
+  private Map<String, Long> trackPathCosts;
+  private Map<String, Integer> trackPathCounts;
+  private volatile boolean draining;
 
   public StatisticsManager() {
     synchronizer = new Object();
     runningCpuStatistics = new ArrayDeque<>();
+    recentResourceSamples = new ArrayDeque<>();
+    garbageCollectionMonitor = new GarbageCollectionMonitor(
+        Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("gc-report")));
+    memoryBean = ManagementFactory.getMemoryMXBean();
+    operatingSystemBean = ManagementFactory.getOperatingSystemMXBean();
+    producedFrames = new AtomicLong();
+    frameDeficit = new AtomicLong();
+    gcPauseCounts = new int[0];
+    trackCostModel = new TrackCostModel();
+    trackHeadroom = -1;
+    trackPathCosts = Collections.emptyMap();
+    trackPathCounts = Collections.emptyMap();
+
+    garbageCollectionMonitor.enable();
   }
 
   public void updateTrackStatistics(int playingTrackCount, int totalTrackCount) {
@@ -40,15 +85,48 @@ public class StatisticsManager {
     }
   }
 
+  public void addProducedFrames(int count) {
+    producedFrames.addAndGet(count);
+  }
+
+  public void addFrameDeficit(int count) {
+    frameDeficit.addAndGet(count);
+  }
+
+  public void addTrackCost(String path, long costNanos) {
+    trackCostModel.addSample(path, costNanos);
+  }
+
+  public void updatePathCounts(Map<String, Integer> pathCounts) {
+    synchronized (synchronizer) {
+      trackPathCounts = pathCounts;
+    }
+  }
+
+  public boolean isDraining() {
+    return draining;
+  }
+
+  public void setDraining(boolean draining) {
+    this.draining = draining;
+  }
+
   public NodeStatisticsMessage getStatistics() {
     synchronized (synchronizer) {
-      return new NodeStatisticsMessage(playingTrackCount, totalTrackCount, systemCpuUsage, processCpuUsage);
+      return new NodeStatisticsMessage(playingTrackCount, totalTrackCount, systemCpuUsage, processCpuUsage, draining,
+          heapUsed, heapMax, offHeapUsed, gcPauseCounts, frameDeficitCount, averageTrackDecodeNanos, processorCount,
+          trackHeadroom, trackPathCosts);
     }
   }
 
   @Scheduled(fixedRate = 1000)
-  private void pollCpuStatistics() {
+  public void pollStatistics() {
     CpuStatistics.Times current = cpuStatistics.getSystemTimes();
+    ResourceSample sample = new ResourceSample(getProcessCpuTime(), producedFrames.get(), frameDeficit.get(),
+        garbageCollectionMonitor.getTotalPauseCounts());
+
+    MemoryUsage heapUsage = memoryBean.getHeapMemoryUsage();
+    long currentOffHeapUsed = memoryBean.getNonHeapMemoryUsage().getUsed() + getBufferPoolUsage();
 
     synchronized (synchronizer) {
       if (runningCpuStatistics.size() >= SAMPLE_COUNT) {
@@ -60,6 +138,68 @@ public class StatisticsManager {
       CpuStatistics.Times difference = CpuStatistics.diff(runningCpuStatistics.getFirst(), current);
       systemCpuUsage = difference.getSystemUsage();
       processCpuUsage = difference.getProcessUsage();
+
+      if (recentResourceSamples.size() >= RECENT_SAMPLE_COUNT) {
+        recentResourceSamples.removeFirst();
+      }
+
+      recentResourceSamples.add(sample);
+      updateResourceStatistics(recentResourceSamples.getFirst(), sample);
+
+      heapUsed = heapUsage.getUsed();
+      heapMax = Math.max(0, heapUsage.getMax());
+      offHeapUsed = currentOffHeapUsed;
+
+      processorCount = Runtime.getRuntime().availableProcessors();
+      trackHeadroom = trackCostModel.estimateHeadroom(processorCount, systemCpuUsage, trackPathCounts);
+      trackPathCosts = trackCostModel.getPathCosts();
+    }
+  }
+
+  private void updateResourceStatistics(ResourceSample oldest, ResourceSample current) {
+    gcPauseCounts = new int[current.gcPauseCounts.length];
+
+    for (int i = 0; i < gcPauseCounts.length; i++) {
+      gcPauseCounts[i] = current.gcPauseCounts[i] - oldest.gcPauseCounts[i];
+    }
+
+    frameDeficitCount = (int) (current.frameDeficit - oldest.frameDeficit);
+
+    long frames = current.producedFrames - oldest.producedFrames;
+    long cpuTime = current.processCpuTime - oldest.processCpuTime;
+
+    averageTrackDecodeNanos = frames > 0 && cpuTime > 0 ? cpuTime * FRAMES_PER_SECOND / frames : 0;
+  }
+
+  private long getProcessCpuTime() {
+    if (operatingSystemBean instanceof com.sun.management.OperatingSystemMXBean) {
+      return ((com.sun.management.OperatingSystemMXBean) operatingSystemBean).getProcessCpuTime();
+    } else {
+      return -1;
+    }
+  }
+
+  private static long getBufferPoolUsage() {
+    long total = 0;
+
+    for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+      total += Math.max(0, pool.getMemoryUsed());
+    }
+
+    return total;
+  }
+
+  private static class ResourceSample {
+    private final long processCpuTime;
+    private final long producedFrames;
+    private final long frameDeficit;
+    private final int[] gcPauseCounts;
+
+    private ResourceSample(long processCpuTime, long producedFrames, long frameDeficit, int[] gcPauseCounts) {
+      this.processCpuTime = processCpuTime;
+      this.producedFrames = producedFrames;
+      this.frameDeficit = frameDeficit;
+      this.gcPauseCounts = gcPauseCounts;
     }
   }
 }
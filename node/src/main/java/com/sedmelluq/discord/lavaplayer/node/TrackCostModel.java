@@ -0,0 +1,88 @@
+package com.sedmelluq.discord.lavaplayer.node;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Capacity model of the node. Keeps a smoothed CPU cost per second of audio for each processing path, measured from
+ * the tracks playing on the node, and estimates how many more tracks fit on the available processors with the current
+ * mix of paths.
+ */
+public class TrackCostModel {
+  private static final float TARGET_CPU_USAGE = 0.8f;
+  private static final double SMOOTHING = 0.1;
+  private static final long NANOS_PER_CORE = 1000000000L;
+
+  private final Map<String, Double> pathCosts = new HashMap<>();
+
+  /**
+   * @param path Processing path of the track
+   * @param costNanos CPU time in nanoseconds the track used per second of audio during the last interval
+   */
+  public synchronized void addSample(String path, long costNanos) {
+    Double previous = pathCosts.get(path);
+    pathCosts.put(path, previous == null ? costNanos : previous + (costNanos - previous) * SMOOTHING);
+  }
+
+  /**
+   * @return Smoothed CPU time in nanoseconds per second of audio for each processing path which has been measured
+   */
+  public synchronized Map<String, Long> getPathCosts() {
+    Map<String, Long> costs = new HashMap<>();
+
+    for (Map.Entry<String, Double> entry : pathCosts.entrySet()) {
+      costs.put(entry.getKey(), Math.round(entry.getValue()));
+    }
+
+    return Collections.unmodifiableMap(costs);
+  }
+
+  /**
+   * Estimate how many more tracks can be played before the CPU usage of the system reaches 80%, at which point there is
+   * little room left for the processing threads to catch up after a delay and underruns start. New tracks are assumed
+   * to have the same mix of processing paths as the current ones.
+   *
+   * @param processorCount Number of processors available
+   * @param systemCpuUsage Current CPU usage of the system, including other processes
+   * @param pathCounts Number of currently playing tracks on each processing path
+   * @return Estimated number of additional tracks, -1 if no track costs have been measured yet
+   */
+  public synchronized int estimateHeadroom(int processorCount, float systemCpuUsage, Map<String, Integer> pathCounts) {
+    double averageCost = averageCost(pathCounts);
+
+    if (averageCost <= 0) {
+      return -1;
+    }
+
+    double freeNanos = (TARGET_CPU_USAGE - systemCpuUsage) * processorCount * NANOS_PER_CORE;
+    return (int) Math.max(0, freeNanos / averageCost);
+  }
+
+  private double averageCost(Map<String, Integer> pathCounts) {
+    double total = 0;
+    int count = 0;
+
+    for (Map.Entry<String, Integer> entry : pathCounts.entrySet()) {
+      Double cost = pathCosts.get(entry.getKey());
+
+      if (cost != null) {
+        total += cost * entry.getValue();
+        count += entry.getValue();
+      }
+    }
+
+    if (count > 0) {
+      return total / count;
+    }
+
+    // No tracks playing, assume the most expensive path seen so far
+    double maximum = 0;
+
+    for (double cost : pathCosts.values()) {
+      maximum = Math.max(maximum, cost);
+    }
+
+    return maximum;
+  }
+}
@@ -0,0 +1,176 @@
+package com.sedmelluq.discord.lavaplayer.node.standalone;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.function.Consumer;
+
+/**
+ * Blocking streams over a non-blocking socket channel which stays registered with the selector of the server. Reading
+ * and writing happen directly on the calling threads, the selector is only used to wait until the channel is ready.
+ * The blocking mode of the channel itself cannot be used for this, as reading from and writing to it would then be
+ * serialised by the same lock.
+ */
+class ChannelStreams {
+  private final SocketChannel channel;
+  private final SelectionKey key;
+  private final Consumer<Runnable> selectorExecutor;
+  private final ByteBuffer pendingInput;
+  private final Object lock;
+  private final InputStream inputStream;
+  private final OutputStream outputStream;
+  private int readyOps;
+  private boolean closed;
+
+  /**
+   * @param channel Socket channel in non-blocking mode
+   * @param key Selection key of the channel
+   * @param selectorExecutor Runs a task on the selector thread
+   * @param pendingInput Data already read from the channel which should be returned before reading from it again
+   */
+  ChannelStreams(SocketChannel channel, SelectionKey key, Consumer<Runnable> selectorExecutor, ByteBuffer pendingInput) {
+    this.channel = channel;
+    this.key = key;
+    this.selectorExecutor = selectorExecutor;
+    this.pendingInput = pendingInput;
+    this.lock = new Object();
+    this.inputStream = new ChannelInputStream();
+    this.outputStream = new ChannelOutputStream();
+  }
+
+  /**
+   * @return Blocking input stream for the channel
+   */
+  InputStream getInputStream() {
+    return inputStream;
+  }
+
+  /**
+   * @return Blocking output stream for the channel
+   */
+  OutputStream getOutputStream() {
+    return outputStream;
+  }
+
+  /**
+   * Called from the selector thread when the channel has become ready for the operations it was waiting for.
+   */
+  void ready() {
+    int ops = key.readyOps();
+    key.interestOps(key.interestOps() & ~ops);
+
+    synchronized (lock) {
+      readyOps |= ops;
+      lock.notifyAll();
+    }
+  }
+
+  /**
+   * Closes the channel and wakes up any threads waiting for it.
+   */
+  void close() {
+    synchronized (lock) {
+      closed = true;
+      lock.notifyAll();
+    }
+
+    try {
+      channel.close();
+    } catch (IOException e) {
+      // Nothing to do about it.
+    }
+  }
+
+  private void awaitReady(int op) throws IOException {
+    synchronized (lock) {
+      readyOps &= ~op;
+    }
+
+    selectorExecutor.accept(() -> {
+      if (key.isValid()) {
+        key.interestOps(key.interestOps() | op);
+      }
+    });
+
+    synchronized (lock) {
+      while ((readyOps & op) == 0) {
+        if (closed || !key.isValid()) {
+          throw new ClosedChannelException();
+        }
+
+        try {
+          lock.wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException();
+        }
+      }
+    }
+  }
+
+  private class ChannelInputStream extends InputStream {
+    @Override
+    public int read() throws IOException {
+      byte[] buffer = new byte[1];
+      return read(buffer, 0, 1) == -1 ? -1 : buffer[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      if (length == 0) {
+        return 0;
+      }
+
+      if (pendingInput.hasRemaining()) {
+        int chunk = Math.min(length, pendingInput.remaining());
+        pendingInput.get(buffer, offset, chunk);
+        return chunk;
+      }
+
+      ByteBuffer target = ByteBuffer.wrap(buffer, offset, length);
+
+      while (true) {
+        int read = channel.read(target);
+
+        if (read != 0) {
+          return read;
+        }
+
+        awaitReady(SelectionKey.OP_READ);
+      }
+    }
+
+    @Override
+    public void close() {
+      ChannelStreams.this.close();
+    }
+  }
+
+  private class ChannelOutputStream extends OutputStream {
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] buffer, int offset, int length) throws IOException {
+      ByteBuffer source = ByteBuffer.wrap(buffer, offset, length);
+
+      while (source.hasRemaining()) {
+        if (channel.write(source) == 0) {
+          awaitReady(SelectionKey.OP_WRITE);
+        }
+      }
+    }
+
+    @Override
+    public void close() {
+      ChannelStreams.this.close();
+    }
+  }
+}
@@ -0,0 +1,558 @@
+package com.sedmelluq.discord.lavaplayer.node.standalone;
+
+import com.sedmelluq.discord.lavaplayer.node.StatisticsManager;
+import com.sedmelluq.discord.lavaplayer.node.message.MessageHandlerRegistry;
+import com.sedmelluq.discord.lavaplayer.node.message.MessageOutput;
+import com.sedmelluq.discord.lavaplayer.node.stream.StreamConnectionManager;
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessage;
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessageMapper;
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteStreamProtocol;
+import com.sedmelluq.discord.lavaplayer.tools.DaemonThreadFactory;
+import com.sedmelluq.discord.lavaplayer.tools.ExecutorTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal HTTP/1.1 server for the node API built directly on NIO. A single selector thread accepts connections and
+ * parses requests, tick requests are processed by a fixed pool of worker threads and streaming connections are handed
+ * over to the stream connection manager once the upgrade response has been sent.
+ */
+public class NioNodeServer {
+  private static final Logger log = LoggerFactory.getLogger(NioNodeServer.class);
+
+  private static final int MAXIMUM_HEADER_SIZE = 16384;
+  private static final int MAXIMUM_BODY_SIZE = 16 * 1024 * 1024;
+  private static final byte[] HEADER_END = new byte[] { '\r', '\n', '\r', '\n' };
+  private static final long ACCEPT_RETRY_DELAY = 1000;
+
+  private final InetSocketAddress address;
+  private final MessageHandlerRegistry messageHandlerRegistry;
+  private final StatisticsManager statisticsManager;
+  private final StreamConnectionManager streamConnectionManager;
+  private final RemoteMessageMapper mapper;
+  private final ExecutorService workerExecutor;
+  private final Queue<Runnable> selectorTasks;
+  private volatile boolean running;
+  private Selector selector;
+  private ServerSocketChannel serverChannel;
+  private Thread selectorThread;
+  private long acceptResumeTime;
+
+  /**
+   * @param address Address to listen on
+   * @param workerCount Number of threads used for processing tick requests
+   * @param messageHandlerRegistry Registry of message handlers
+   * @param statisticsManager Statistics manager of the node
+   * @param streamConnectionManager Manager for streaming connections
+   */
+  public NioNodeServer(InetSocketAddress address, int workerCount, MessageHandlerRegistry messageHandlerRegistry,
+                       StatisticsManager statisticsManager, StreamConnectionManager streamConnectionManager) {
+
+    this.address = address;
+    this.messageHandlerRegistry = messageHandlerRegistry;
+    this.statisticsManager = statisticsManager;
+    this.streamConnectionManager = streamConnectionManager;
+    this.mapper = new RemoteMessageMapper();
+    this.workerExecutor = Executors.newFixedThreadPool(workerCount, new DaemonThreadFactory("node-worker"));
+    this.selectorTasks = new ConcurrentLinkedQueue<>();
+  }
+
+  /**
+   * Binds the server socket and starts the selector thread.
+   * @throws IOException If binding the socket fails
+   */
+  public void start() throws IOException {
+    selector = Selector.open();
+    serverChannel = ServerSocketChannel.open();
+    serverChannel.bind(address);
+    serverChannel.configureBlocking(false);
+    serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+    running = true;
+
+    selectorThread = new Thread(this::runSelector, "node-selector");
+    selectorThread.start();
+  }
+
+  /**
+   * @return The port the server is listening on
+   */
+  public int getPort() {
+    return serverChannel.socket().getLocalPort();
+  }
+
+  /**
+   * Stops accepting connections and closes all connections which are still handled by the server.
+   */
+  public void shutdown() {
+    running = false;
+    selector.wakeup();
+
+    try {
+      selectorThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    ExecutorTools.shutdownExecutor(workerExecutor, "node worker");
+  }
+
+  private void runOnSelector(Runnable task) {
+    selectorTasks.add(task);
+    selector.wakeup();
+  }
+
+  private void runSelector() {
+    try {
+      while (running) {
+        selector.select(acceptResumeTime != 0 ? ACCEPT_RETRY_DELAY : 0);
+        resumeAcceptingIfDue();
+
+        Runnable task;
+        while ((task = selectorTasks.poll()) != null) {
+          runSelectorTask(task);
+        }
+
+        Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+
+        while (iterator.hasNext()) {
+          SelectionKey key = iterator.next();
+          iterator.remove();
+
+          if (key.isValid()) {
+            processKey(key);
+          }
+        }
+      }
+    } catch (Exception e) {
+      log.error("Selector loop of the node server failed.", e);
+    } finally {
+      closeAll();
+    }
+  }
+
+  private void runSelectorTask(Runnable task) {
+    try {
+      task.run();
+    } catch (Exception e) {
+      log.error("Selector task of the node server failed.", e);
+    }
+  }
+
+  private void processKey(SelectionKey key) {
+    if (key.isAcceptable()) {
+      try {
+        acceptConnection();
+      } catch (IOException e) {
+        // Most likely out of file descriptors, retrying immediately would just spin on the same error
+        log.error("Failed to accept a node API connection, pausing accepting for {} ms.", ACCEPT_RETRY_DELAY, e);
+        key.interestOps(0);
+        acceptResumeTime = System.currentTimeMillis() + ACCEPT_RETRY_DELAY;
+      }
+    } else if (key.attachment() instanceof ChannelStreams) {
+      try {
+        ((ChannelStreams) key.attachment()).ready();
+      } catch (Exception e) {
+        log.debug("Closing streaming connection due to an error.", e);
+        ((ChannelStreams) key.attachment()).close();
+      }
+    } else {
+      ((HttpConnection) key.attachment()).process();
+    }
+  }
+
+  private void resumeAcceptingIfDue() {
+    if (acceptResumeTime != 0 && System.currentTimeMillis() >= acceptResumeTime) {
+      acceptResumeTime = 0;
+      serverChannel.keyFor(selector).interestOps(SelectionKey.OP_ACCEPT);
+    }
+  }
+
+  private void acceptConnection() throws IOException {
+    SocketChannel channel;
+
+    while ((channel = serverChannel.accept()) != null) {
+      try {
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+
+        SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+        key.attach(new HttpConnection(channel, key));
+      } catch (IOException e) {
+        log.debug("Failed to set up accepted node API connection.", e);
+        closeQuietly(channel);
+      }
+    }
+  }
+
+  private void closeAll() {
+    for (SelectionKey key : selector.keys()) {
+      if (key.attachment() instanceof ChannelStreams) {
+        ((ChannelStreams) key.attachment()).close();
+      } else {
+        closeQuietly(key);
+      }
+    }
+
+    closeQuietly(serverChannel);
+    closeQuietly(selector);
+  }
+
+  private static void closeQuietly(SelectionKey key) {
+    key.cancel();
+    closeQuietly(key.channel());
+  }
+
+  private static void closeQuietly(AutoCloseable closeable) {
+    try {
+      closeable.close();
+    } catch (Exception e) {
+      log.debug("Failed to close {}.", closeable, e);
+    }
+  }
+
+  private byte[] processTick(byte[] body) throws IOException {
+    DataInputStream input = new DataInputStream(new ByteArrayInputStream(body));
+    ByteArrayOutputStream responseBytes = new ByteArrayOutputStream();
+    DataOutputStream output = new DataOutputStream(responseBytes);
+    MessageOutput messageOutput = new MessageOutput(mapper, output);
+    RemoteMessage message;
+
+    try {
+      while ((message = mapper.decode(input)) != null) {
+        messageHandlerRegistry.processMessage(message, messageOutput);
+      }
+    } catch (EOFException e) {
+      log.debug("Tick request ended without an end marker.");
+    }
+
+    messageOutput.send(statisticsManager.getStatistics());
+    mapper.endOutput(output);
+
+    return responseBytes.toByteArray();
+  }
+
+  private static byte[] buildResponse(String status, Map<String, String> headers, byte[] body) {
+    StringBuilder builder = new StringBuilder();
+    builder.append("HTTP/1.1 ").append(status).append("\r\n");
+
+    for (Map.Entry<String, String> header : headers.entrySet()) {
+      builder.append(header.getKey()).append(": ").append(header.getValue()).append("\r\n");
+    }
+
+    if (body != null) {
+      builder.append("Content-Length: ").append(body.length).append("\r\n");
+    }
+
+    builder.append("\r\n");
+
+    byte[] head = builder.toString().getBytes(StandardCharsets.ISO_8859_1);
+
+    if (body == null || body.length == 0) {
+      return head;
+    }
+
+    byte[] response = new byte[head.length + body.length];
+    System.arraycopy(head, 0, response, 0, head.length);
+    System.arraycopy(body, 0, response, head.length, body.length);
+    return response;
+  }
+
+  private static byte[] buildTextResponse(String status, String text) {
+    Map<String, String> headers = new HashMap<>();
+    headers.put("Content-Type", "text/plain;charset=UTF-8");
+    return buildResponse(status, headers, text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static int indexOf(ByteBuffer buffer, byte[] pattern) {
+    int limit = buffer.position() - pattern.length;
+
+    outer:
+    for (int i = 0; i <= limit; i++) {
+      for (int j = 0; j < pattern.length; j++) {
+        if (buffer.get(i + j) != pattern[j]) {
+          continue outer;
+        }
+      }
+
+      return i;
+    }
+
+    return -1;
+  }
+
+  private static ByteBuffer growBuffer(ByteBuffer buffer, int capacity) {
+    ByteBuffer grown = ByteBuffer.allocate(capacity);
+    buffer.flip();
+    grown.put(buffer);
+    return grown;
+  }
+
+  private static class Request {
+    private final String method;
+    private final String path;
+    private final Map<String, String> headers;
+    private final boolean keepAlive;
+    private byte[] body;
+
+    private Request(String method, String path, Map<String, String> headers, boolean keepAlive) {
+      this.method = method;
+      this.path = path;
+      this.headers = headers;
+      this.keepAlive = keepAlive;
+    }
+  }
+
+  private class HttpConnection {
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private ByteBuffer input;
+    private ByteBuffer output;
+    private Request request;
+    private int bodyLength;
+    private Runnable afterWrite;
+
+    private HttpConnection(SocketChannel channel, SelectionKey key) {
+      this.channel = channel;
+      this.key = key;
+      this.input = ByteBuffer.allocate(4096);
+    }
+
+    private void process() {
+      try {
+        if (key.isWritable()) {
+          continueWriting();
+        } else if (key.isReadable()) {
+          if (!input.hasRemaining()) {
+            input = growBuffer(input, input.capacity() * 2);
+          }
+
+          if (channel.read(input) < 0) {
+            closeQuietly(key);
+            return;
+          }
+
+          processInput();
+        }
+      } catch (Exception e) {
+        log.debug("Closing node API connection due to an error.", e);
+        closeQuietly(key);
+      }
+    }
+
+    private void processInput() throws IOException {
+      if (request == null && !readHeaders()) {
+        return;
+      }
+
+      if (input.position() < bodyLength) {
+        if (input.capacity() < bodyLength) {
+          input = growBuffer(input, bodyLength);
+        }
+
+        return;
+      }
+
+      request.body = new byte[bodyLength];
+      input.flip();
+      input.get(request.body);
+      input.compact();
+
+      Request completed = request;
+      request = null;
+      key.interestOps(0);
+
+      dispatch(completed);
+    }
+
+    private boolean readHeaders() throws IOException {
+      int headerEnd = indexOf(input, HEADER_END);
+
+      if (headerEnd < 0) {
+        if (input.position() >= MAXIMUM_HEADER_SIZE) {
+          respondAndClose(buildTextResponse("431 Request Header Fields Too Large", "Headers too large"));
+        }
+
+        return false;
+      }
+
+      byte[] headerBytes = new byte[headerEnd];
+      input.flip();
+      input.get(headerBytes);
+      input.position(headerEnd + HEADER_END.length);
+      input.compact();
+
+      String[] lines = new String(headerBytes, StandardCharsets.ISO_8859_1).split("\r\n");
+      String[] requestLine = lines[0].split(" ");
+
+      if (requestLine.length < 3) {
+        respondAndClose(buildTextResponse("400 Bad Request", "Malformed request line"));
+        return false;
+      }
+
+      Map<String, String> headers = new HashMap<>();
+
+      for (int i = 1; i < lines.length; i++) {
+        int separator = lines[i].indexOf(':');
+
+        if (separator > 0) {
+          headers.put(lines[i].substring(0, separator).trim().toLowerCase(), lines[i].substring(separator + 1).trim());
+        }
+      }
+
+      if (headers.containsKey("transfer-encoding")) {
+        respondAndClose(buildTextResponse("411 Length Required", "Chunked requests are not supported"));
+        return false;
+      }
+
+      String connectionHeader = headers.get("connection");
+      boolean keepAlive = "HTTP/1.1".equals(requestLine[2]) ?
+          !"close".equalsIgnoreCase(connectionHeader) : "keep-alive".equalsIgnoreCase(connectionHeader);
+
+      String path = requestLine[1];
+      int queryStart = path.indexOf('?');
+
+      request = new Request(requestLine[0], queryStart >= 0 ? path.substring(0, queryStart) : path, headers, keepAlive);
+      bodyLength = headers.containsKey("content-length") ? Integer.parseInt(headers.get("content-length")) : 0;
+
+      if (bodyLength < 0 || bodyLength > MAXIMUM_BODY_SIZE) {
+        respondAndClose(buildTextResponse("413 Payload Too Large", "Request body too large"));
+        return false;
+      }
+
+      return true;
+    }
+
+    private void dispatch(Request request) throws IOException {
+      if ("/tick".equals(request.path)) {
+        workerExecutor.execute(() -> handleTick(request));
+      } else if (RemoteStreamProtocol.PATH.equals(request.path)) {
+        handleStream(request);
+      } else if ("/drain".equals(request.path) && "POST".equals(request.method)) {
+        log.info("Node is draining, masters will move its tracks to other nodes.");
+
+        statisticsManager.setDraining(true);
+        respond(request, buildTextResponse("200 OK", "draining"));
+      } else if ("/drain".equals(request.path) && "DELETE".equals(request.method)) {
+        log.info("Node is no longer draining.");
+
+        statisticsManager.setDraining(false);
+        respond(request, buildTextResponse("200 OK", "active"));
+      } else {
+        respond(request, buildTextResponse("404 Not Found", "Not found"));
+      }
+    }
+
+    private void handleTick(Request request) {
+      byte[] response;
+
+      try {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Content-Type", "application/octet-stream");
+        response = buildResponse("200 OK", headers, processTick(request.body));
+      } catch (Exception e) {
+        log.error("Failed to process a tick request.", e);
+        response = buildTextResponse("500 Internal Server Error", "Failed to process the request");
+      }
+
+      byte[] finalResponse = response;
+
+      runOnSelector(() -> {
+        try {
+          respond(request, finalResponse);
+        } catch (Exception e) {
+          log.debug("Closing node API connection due to an error.", e);
+          closeQuietly(key);
+        }
+      });
+    }
+
+    private void handleStream(Request request) throws IOException {
+      if (!RemoteStreamProtocol.UPGRADE_PROTOCOL.equals(request.headers.get("upgrade"))) {
+        respond(request, buildTextResponse("400 Bad Request", "Expected an upgrade request"));
+        return;
+      }
+
+      int version = RemoteStreamProtocol.negotiateVersion(request.headers.get(RemoteStreamProtocol.VERSION_HEADER.toLowerCase()));
+
+      Map<String, String> headers = new HashMap<>();
+      headers.put("Connection", "Upgrade");
+      headers.put("Upgrade", RemoteStreamProtocol.UPGRADE_PROTOCOL);
+      headers.put(RemoteStreamProtocol.VERSION_HEADER, String.valueOf(version));
+
+      startWriting(buildResponse("101 Switching Protocols", headers, null), () -> {
+        input.flip();
+
+        ChannelStreams streams = new ChannelStreams(channel, key, NioNodeServer.this::runOnSelector, input);
+        key.attach(streams);
+        key.interestOps(0);
+
+        streamConnectionManager.open(streams.getInputStream(), streams.getOutputStream(), version, streams::close);
+      });
+    }
+
+    private void respond(Request request, byte[] response) throws IOException {
+      startWriting(response, () -> {
+        if (!request.keepAlive) {
+          closeQuietly(key);
+          return;
+        }
+
+        key.interestOps(SelectionKey.OP_READ);
+
+        try {
+          processInput();
+        } catch (Exception e) {
+          log.debug("Closing node API connection due to an error.", e);
+          closeQuietly(key);
+        }
+      });
+    }
+
+    private void respondAndClose(byte[] response) throws IOException {
+      key.interestOps(0);
+      startWriting(response, () -> closeQuietly(key));
+    }
+
+    private void startWriting(byte[] response, Runnable completion) throws IOException {
+      output = ByteBuffer.wrap(response);
+      afterWrite = completion;
+      continueWriting();
+    }
+
+    private void continueWriting() throws IOException {
+      channel.write(output);
+
+      if (output.hasRemaining()) {
+        key.interestOps(SelectionKey.OP_WRITE);
+      } else {
+        Runnable completion = afterWrite;
+        output = null;
+        afterWrite = null;
+        key.interestOps(0);
+        completion.run();
+      }
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package com.sedmelluq.discord.lavaplayer.node.standalone;
+
+import com.sedmelluq.discord.lavaplayer.node.AdmissionPolicy;
+import com.sedmelluq.discord.lavaplayer.node.PlayingTrackManager;
+import com.sedmelluq.discord.lavaplayer.node.StatisticsManager;
+import com.sedmelluq.discord.lavaplayer.node.message.MessageHandlerRegistry;
+import com.sedmelluq.discord.lavaplayer.node.stream.StreamConnectionManager;
+import com.sedmelluq.discord.lavaplayer.tools.DaemonThreadFactory;
+import com.sedmelluq.discord.lavaplayer.tools.ExecutorTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Node entry point which does not use Spring. It runs the same message handlers as the Spring application, but wires
+ * them manually and serves the node API with {@link NioNodeServer}. The port is taken from the first argument or the
+ * server.port system property and defaults to 8080, the worker count from the node.workers system property. Admission
+ * thresholds are read from system properties with the same names as in the Spring application.
+ */
+public class StandaloneNodeApplication {
+  private static final Logger log = LoggerFactory.getLogger(StandaloneNodeApplication.class);
+
+  private static final int DEFAULT_PORT = 8080;
+  private static final int DEFAULT_WORKER_COUNT = 2;
+
+  private final StatisticsManager statisticsManager;
+  private final PlayingTrackManager playingTrackManager;
+  private final StreamConnectionManager streamConnectionManager;
+  private final ScheduledExecutorService scheduledExecutor;
+  private final NioNodeServer server;
+
+  /**
+   * @param address Address to listen on
+   * @param workerCount Number of threads used for processing tick requests
+   */
+  public StandaloneNodeApplication(InetSocketAddress address, int workerCount) {
+    statisticsManager = new StatisticsManager();
+    AdmissionPolicy admissionPolicy = new AdmissionPolicy(statisticsManager, System::getProperty);
+    playingTrackManager = new PlayingTrackManager(statisticsManager, admissionPolicy);
+
+    MessageHandlerRegistry messageHandlerRegistry = new MessageHandlerRegistry();
+    messageHandlerRegistry.postProcessAfterInitialization(playingTrackManager, "playingTrackManager");
+
+    streamConnectionManager = new StreamConnectionManager(messageHandlerRegistry, playingTrackManager, statisticsManager);
+    scheduledExecutor = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("node-scheduler"));
+    server = new NioNodeServer(address, workerCount, messageHandlerRegistry, statisticsManager, streamConnectionManager);
+  }
+
+  /**
+   * Starts the scheduled tasks of the node and the server.
+   * @throws IOException If binding the server socket fails
+   */
+  public void start() throws IOException {
+    scheduledExecutor.scheduleAtFixedRate(statisticsManager::pollStatistics, 0, 1000, TimeUnit.MILLISECONDS);
+    scheduledExecutor.scheduleWithFixedDelay(playingTrackManager::stopAbandonedTracks, 5000, 5000, TimeUnit.MILLISECONDS);
+    scheduledExecutor.scheduleAtFixedRate(playingTrackManager::sampleTrackCosts, 1000, 1000, TimeUnit.MILLISECONDS);
+
+    server.start();
+  }
+
+  /**
+   * @return The port the server is listening on
+   */
+  public int getPort() {
+    return server.getPort();
+  }
+
+  /**
+   * Stops the server, closes all streaming connections and stops the scheduled tasks.
+   */
+  public void shutdown() {
+    server.shutdown();
+    streamConnectionManager.shutdown();
+    ExecutorTools.shutdownExecutor(scheduledExecutor, "node scheduler");
+  }
+
+  public static void main(String[] args) throws IOException {
+    long startTime = System.nanoTime();
+
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : Integer.getInteger("server.port", DEFAULT_PORT);
+    int workerCount = Integer.getInteger("node.workers", DEFAULT_WORKER_COUNT);
+
+    StandaloneNodeApplication application = new StandaloneNodeApplication(new InetSocketAddress(port), workerCount);
+    application.start();
+
+    Runtime.getRuntime().addShutdownHook(new Thread(application::shutdown, "node-shutdown"));
+
+    log.info("Node started on port {} with {} worker threads in {} ms.", application.getPort(), workerCount,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+  }
+}
@@ -0,0 +1,152 @@
+package com.sedmelluq.discord.lavaplayer.node.stream;
+
+import com.sedmelluq.discord.lavaplayer.node.PlayingTrackManager;
+import com.sedmelluq.discord.lavaplayer.node.StatisticsManager;
+import com.sedmelluq.discord.lavaplayer.node.message.MessageHandlerRegistry;
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessage;
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessageMapper;
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteStreamProtocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * Streaming connection from a master. One thread reads the messages from the master and passes them to the message
+ * handlers, another one pushes the frames of the tracks of this connection as long as they have frame credit left.
+ * Messages that arrive together are processed as one batch, so their responses are flushed and the frames for their
+ * credit are pushed together.
+ */
+public class StreamConnection {
+  private static final Logger log = LoggerFactory.getLogger(StreamConnection.class);
+
+  private static final long IDLE_PUSH_INTERVAL = 10;
+
+  private final MessageHandlerRegistry messageHandlerRegistry;
+  private final PlayingTrackManager playingTrackManager;
+  private final StatisticsManager statisticsManager;
+  private final RemoteMessageMapper mapper;
+  private final DataInputStream input;
+  private final StreamMessageOutput output;
+  private final Object pushSignal;
+  private final Consumer<StreamConnection> closeListener;
+  private volatile boolean pushRequested;
+  private volatile boolean closed;
+
+  public StreamConnection(MessageHandlerRegistry messageHandlerRegistry, PlayingTrackManager playingTrackManager,
+                          StatisticsManager statisticsManager, InputStream inputStream, OutputStream outputStream,
+                          int version, Consumer<StreamConnection> closeListener) {
+
+    this.messageHandlerRegistry = messageHandlerRegistry;
+    this.playingTrackManager = playingTrackManager;
+    this.statisticsManager = statisticsManager;
+    this.mapper = new RemoteMessageMapper(version);
+    this.input = new DataInputStream(new BufferedInputStream(inputStream));
+    this.output = new StreamMessageOutput(mapper, new DataOutputStream(new BufferedOutputStream(outputStream)), this);
+    this.pushSignal = new Object();
+    this.closeListener = closeListener;
+  }
+
+  public void start(ExecutorService executorService) {
+    executorService.submit(this::readMessages);
+    executorService.submit(this::pushFrames);
+  }
+
+  public void close() {
+    if (!closed) {
+      closed = true;
+      wakeUp();
+      closeListener.accept(this);
+    }
+  }
+
+  public boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Request frames to be pushed, called when the credit of a track increases. The thread that pushes frames is woken
+   * up once all messages which have already arrived from the master have been processed.
+   */
+  public void requestPush() {
+    pushRequested = true;
+  }
+
+  /**
+   * Wake up the thread that pushes frames.
+   */
+  public void wakeUp() {
+    synchronized (pushSignal) {
+      pushSignal.notifyAll();
+    }
+  }
+
+  private void readMessages() {
+    try {
+      while (!closed) {
+        RemoteMessage message = mapper.decode(input);
+
+        if (message != null) {
+          messageHandlerRegistry.processMessage(message, output);
+        }
+
+        if (input.available() == 0) {
+          output.flush();
+
+          if (pushRequested) {
+            pushRequested = false;
+            wakeUp();
+          }
+        }
+      }
+    } catch (EOFException e) {
+      log.info("Streaming connection closed by master.");
+    } catch (Throwable e) {
+      if (!closed) {
+        log.warn("Streaming connection failed with an exception.", e);
+      }
+    } finally {
+      close();
+    }
+  }
+
+  private void pushFrames() {
+    long lastStatisticsTime = 0;
+
+    try {
+      while (!closed) {
+        boolean sentFrames = playingTrackManager.pushFrames(output);
+        long now = System.currentTimeMillis();
+
+        if (now - lastStatisticsTime >= RemoteStreamProtocol.STATISTICS_INTERVAL_MS) {
+          output.send(statisticsManager.getStatistics());
+          lastStatisticsTime = now;
+        }
+
+        output.flush();
+
+        if (!sentFrames) {
+          synchronized (pushSignal) {
+            pushSignal.wait(IDLE_PUSH_INTERVAL);
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Throwable e) {
+      if (!closed) {
+        log.warn("Pushing frames to the streaming connection failed.", e);
+      }
+    } finally {
+      close();
+    }
+  }
+}
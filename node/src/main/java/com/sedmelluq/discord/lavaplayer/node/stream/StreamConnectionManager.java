@@ -0,0 +1,64 @@
+package com.sedmelluq.discord.lavaplayer.node.stream;
+
+import com.sedmelluq.discord.lavaplayer.node.PlayingTrackManager;
+import com.sedmelluq.discord.lavaplayer.node.StatisticsManager;
+import com.sedmelluq.discord.lavaplayer.node.message.MessageHandlerRegistry;
+import com.sedmelluq.discord.lavaplayer.tools.DaemonThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Component
+public class StreamConnectionManager {
+  private static final Logger log = LoggerFactory.getLogger(StreamConnectionManager.class);
+
+  private final MessageHandlerRegistry messageHandlerRegistry;
+  private final PlayingTrackManager playingTrackManager;
+  private final StatisticsManager statisticsManager;
+  private final ExecutorService executorService;
+  private final Set<StreamConnection> connections;
+
+  @Autowired
+  public StreamConnectionManager(MessageHandlerRegistry messageHandlerRegistry, PlayingTrackManager playingTrackManager,
+                                 StatisticsManager statisticsManager) {
+
+    this.messageHandlerRegistry = messageHandlerRegistry;
+    this.playingTrackManager = playingTrackManager;
+    this.statisticsManager = statisticsManager;
+    this.executorService = Executors.newCachedThreadPool(new DaemonThreadFactory("stream"));
+    this.connections = ConcurrentHashMap.newKeySet();
+  }
+
+  public StreamConnection open(InputStream input, OutputStream output, int version, Runnable closeHandler) {
+    StreamConnection connection = new StreamConnection(messageHandlerRegistry, playingTrackManager, statisticsManager,
+        input, output, version, closed -> {
+          connections.remove(closed);
+          closeHandler.run();
+        });
+
+    connections.add(connection);
+
+    log.info("Opened streaming connection with protocol version {}, {} connections active.", version, connections.size());
+
+    connection.start(executorService);
+    return connection;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    for (StreamConnection connection : connections) {
+      connection.close();
+    }
+
+    executorService.shutdownNow();
+  }
+}
@@ -0,0 +1,48 @@
+package com.sedmelluq.discord.lavaplayer.node.stream;
+
+import com.sedmelluq.discord.lavaplayer.node.message.MessageOutput;
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessage;
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessageMapper;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Message output of a streaming connection. Messages may be sent from multiple threads, they are written to a buffer
+ * which is sent to the master on flush.
+ */
+public class StreamMessageOutput extends MessageOutput {
+  private final DataOutputStream output;
+  private final StreamConnection connection;
+  private boolean pending;
+
+  public StreamMessageOutput(RemoteMessageMapper mapper, DataOutputStream output, StreamConnection connection) {
+    super(mapper, output);
+    this.output = output;
+    this.connection = connection;
+  }
+
+  /**
+   * @return The connection this output belongs to
+   */
+  public StreamConnection getConnection() {
+    return connection;
+  }
+
+  @Override
+  public synchronized void send(RemoteMessage message) {
+    super.send(message);
+    pending = true;
+  }
+
+  /**
+   * Send all buffered messages to the master.
+   * @throws IOException When writing to the connection fails
+   */
+  public synchronized void flush() throws IOException {
+    if (pending) {
+      output.flush();
+      pending = false;
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package com.sedmelluq.discord.lavaplayer.node.stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.http.HttpUpgradeHandler;
+import javax.servlet.http.WebConnection;
+import java.io.IOException;
+
+/**
+ * Takes over the HTTP connection after a successful upgrade to the streaming protocol.
+ */
+public class StreamUpgradeHandler implements HttpUpgradeHandler {
+  private static final Logger log = LoggerFactory.getLogger(StreamUpgradeHandler.class);
+
+  private StreamConnectionManager connectionManager;
+  private int version;
+  private StreamConnection connection;
+
+  public void setConnection(StreamConnectionManager connectionManager, int version) {
+    this.connectionManager = connectionManager;
+    this.version = version;
+  }
+
+  @Override
+  public void init(WebConnection webConnection) {
+    try {
+      connection = connectionManager.open(webConnection.getInputStream(), webConnection.getOutputStream(), version, () -> {
+        try {
+          webConnection.close();
+        } catch (Exception e) {
+          log.debug("Failed to close streaming connection.", e);
+        }
+      });
+    } catch (IOException e) {
+      log.warn("Failed to open streaming connection.", e);
+    }
+  }
+
+  @Override
+  public void destroy() {
+    if (connection != null) {
+      connection.close();
+    }
+  }
+}